@@ -4,7 +4,24 @@
 
 package com.mycompany.comiccollectorsystem;
 
+import com.mycompany.comiccollectorsystem.catalogo.BenchmarkBusquedas;
+import com.mycompany.comiccollectorsystem.catalogo.precios.BenchmarkPrecios;
+import com.mycompany.comiccollectorsystem.replicacion.ConsolaSeguidor;
+import com.mycompany.comiccollectorsystem.simulacion.CargaConsola;
+import com.mycompany.comiccollectorsystem.simulacion.PruebaEscalabilidad;
+import com.mycompany.comiccollectorsystem.simulacion.SimuladorCarga;
+import com.mycompany.comiccollectorsystem.sucursales.ConsolaSucursales;
+import com.mycompany.comiccollectorsystem.sucursales.RedSucursales;
 import com.mycompany.comiccollectorsystem.utils.menu.Menu;
+import com.mycompany.comiccollectorsystem.utils.menu.ProcesadorComandos;
+import com.mycompany.comiccollectorsystem.utils.menu.ServidorConsola;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  *
@@ -12,8 +29,119 @@ import com.mycompany.comiccollectorsystem.utils.menu.Menu;
  */
 public class ComicCollectorSystem {
 
+    /**
+     * Punto de entrada.
+     * <ul>
+     * <li>Sin argumentos: menú interactivo.</li>
+     * <li>{@code --lider <puerto>}: menú interactivo que replica el catálogo a seguidores.</li>
+     * <li>{@code --seguidor <host:puerto>}: réplica de solo lectura de un líder.</li>
+     * <li>{@code --guion <archivo|-> [--silencioso]}: ejecuta comandos desde un archivo o la entrada
+     * estándar, sin interacción, y muestra un resumen de rendimiento.</li>
+     * <li>{@code --simular [clave=valor ...]}: simulador de carga concurrente (ver {@link SimuladorCarga}).</li>
+     * <li>{@code --benchmark-precios [clave=valor ...]}: compara las operaciones de precios escalares y
+     * vectoriales (ver {@link BenchmarkPrecios}).</li>
+     * <li>{@code --benchmark-busquedas [clave=valor ...]}: compara el costo de los fallos de rutina
+     * informados con resultados y con excepciones (ver {@link BenchmarkBusquedas}).</li>
+     * <li>{@code --servidor <puerto>}: servidor de consola por TCP, una sesión del menú por conexión
+     * (ver {@link ServidorConsola}).</li>
+     * <li>{@code --sucursales [directorio]}: consola de varias sucursales, cada una con su archivo
+     * CSV en el directorio ({@code sucursales} por defecto; ver {@link RedSucursales}).</li>
+     * <li>{@code --carga-consola [clave=valor ...]}: abre muchas sesiones contra el servidor de consola
+     * y mide sus latencias (ver {@link CargaConsola}).</li>
+     * <li>{@code --escalabilidad [clave=valor ...]}: mide carga, memoria, latencias y guardado con
+     * catálogos de 10^5 a 10^7 cómics (ver {@link PruebaEscalabilidad}).</li>
+     * </ul>
+     *
+     * @param args Argumentos de línea de comandos.
+     */
     public static void main(String[] args)  {
+        if (args.length >= 1 && args[0].equals("--simular")) {
+            try {
+                new SimuladorCarga(Arrays.copyOfRange(args, 1, args.length)).ejecutar();
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Error en la simulacion: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--benchmark-precios")) {
+            try {
+                new BenchmarkPrecios(Arrays.copyOfRange(args, 1, args.length)).ejecutar();
+            } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+                System.out.println("Error en el benchmark: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--benchmark-busquedas")) {
+            try {
+                new BenchmarkBusquedas(Arrays.copyOfRange(args, 1, args.length)).ejecutar();
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Error en el benchmark: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--carga-consola")) {
+            try {
+                new CargaConsola(Arrays.copyOfRange(args, 1, args.length)).ejecutar();
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Error en la carga de consola: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--escalabilidad")) {
+            try {
+                new PruebaEscalabilidad(Arrays.copyOfRange(args, 1, args.length)).ejecutar();
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Error en la prueba de escalabilidad: " + e.getMessage());
+            }
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--servidor")) {
+            ServidorConsola servidor = new ServidorConsola(new Menu());
+            try {
+                servidor.iniciar(Integer.parseInt(args[1]));
+            } catch (IOException e) {
+                System.out.println("Error al iniciar el servidor de consola: " + e.getMessage());
+                return;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::cerrar));
+            servidor.aceptar();
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--sucursales")) {
+            new ConsolaSucursales(Path.of(args.length >= 2 ? args[1] : "sucursales")).mostrarMenu();
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--seguidor")) {
+            new ConsolaSeguidor(args[1]).mostrarMenu();
+            return;
+        }
+
         Menu menu = new Menu();
+        if (args.length >= 2 && args[0].equals("--guion")) {
+            ejecutarGuion(menu, args[1], Arrays.asList(args).contains("--silencioso"));
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--lider")) {
+            menu.habilitarReplicacion(Integer.parseInt(args[1]));
+        }
         menu.mostrarMenu();
     }
+
+    /**
+     * Ejecuta el menú en modo por comandos.
+     *
+     * @param menu       Menú sobre el que se ejecutan los comandos.
+     * @param origen     Ruta del archivo de comandos, o {@code -} para la entrada estándar.
+     * @param silencioso Si es {@code true}, solo se muestra el resumen.
+     */
+    private static void ejecutarGuion(Menu menu, String origen, boolean silencioso) {
+        ProcesadorComandos procesador = new ProcesadorComandos(menu, silencioso);
+        try (BufferedReader entrada = origen.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(origen), StandardCharsets.UTF_8)) {
+            procesador.ejecutar(entrada);
+        } catch (IOException e) {
+            System.out.println("Error al leer los comandos: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,27 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.auditoria;
+
+/**
+ * Acciones que quedan registradas en la auditoría.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public enum AccionAuditoria {
+    /** Alta de un usuario. */
+    REGISTRO,
+    /** Alta de un cómic en el catálogo. */
+    ALTA,
+    /** Baja de un cómic del catálogo. */
+    BAJA,
+    /** Reserva de un cómic. */
+    RESERVA,
+    /** Vencimiento de una reserva. */
+    EXPIRACION,
+    /** Compra de un cómic reservado. */
+    COMPRA
+}
@@ -0,0 +1,152 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.auditoria;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Anillo preasignado de entradas de auditoría, con varios productores y un solo consumidor.
+ * <p>
+ * Las entradas viven en arreglos paralelos creados una sola vez, así que registrar no crea
+ * objetos. Cada productor reserva la siguiente secuencia con un CAS, escribe los campos de
+ * su casilla y la publica escribiendo la secuencia en {@code publicadas} con semántica de
+ * liberación. El consumidor lee en orden las casillas publicadas y, al terminar un lote,
+ * avanza {@code consumidas} para devolverlas a los productores. Si el anillo está lleno, la
+ * entrada se descarta y se cuenta: un productor nunca espera al consumidor.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class AnilloAuditoria {
+    private final int mascara;
+    private final long[] instantes;
+    private final AccionAuditoria[] acciones;
+    private final String[] actores;
+    private final String[] codigos;
+    private final int[] precios;
+    /** Secuencia publicada en cada casilla; -1 si nunca se publicó. */
+    private final AtomicLongArray publicadas;
+    private final AtomicLong siguiente = new AtomicLong();
+    private final AtomicLong consumidas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+
+    /**
+     * Recibe las entradas que drena el consumidor.
+     */
+    @FunctionalInterface
+    public interface LectorAuditoria {
+        /**
+         * Recibe una entrada.
+         *
+         * @param instante Instante en milisegundos desde la época.
+         * @param accion   Acción registrada.
+         * @param actor    RUT de quien la hizo, o {@code null} si la hizo el sistema.
+         * @param codigo   Código del cómic o RUT del usuario afectado.
+         * @param precio   Precio del cómic, o 0 si no corresponde.
+         */
+        void leer(long instante, AccionAuditoria accion, String actor, String codigo, int precio);
+    }
+
+    /**
+     * Crea un anillo vacío.
+     *
+     * @param capacidad Cantidad mínima de casillas; se redondea a la siguiente potencia de 2.
+     */
+    public AnilloAuditoria(int capacidad) {
+        if (capacidad <= 0 || capacidad > 1 << 30) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y 2^30.");
+        }
+        int casillas = Integer.highestOneBit(capacidad);
+        if (casillas < capacidad) {
+            casillas <<= 1;
+        }
+        this.mascara = casillas - 1;
+        this.instantes = new long[casillas];
+        this.acciones = new AccionAuditoria[casillas];
+        this.actores = new String[casillas];
+        this.codigos = new String[casillas];
+        this.precios = new int[casillas];
+        this.publicadas = new AtomicLongArray(casillas);
+        for (int i = 0; i < casillas; i++) {
+            publicadas.set(i, -1);
+        }
+    }
+
+    /**
+     * Registra una entrada sin bloquear ni crear objetos.
+     *
+     * @param accion Acción registrada.
+     * @param actor  RUT de quien la hizo, o {@code null} si la hizo el sistema.
+     * @param codigo Código del cómic o RUT del usuario afectado.
+     * @param precio Precio del cómic, o 0 si no corresponde.
+     * @return {@code true} si se registró; {@code false} si el anillo estaba lleno.
+     */
+    public boolean publicar(AccionAuditoria accion, String actor, String codigo, int precio) {
+        long secuencia;
+        do {
+            secuencia = siguiente.get();
+            if (secuencia - consumidas.get() > mascara) {
+                descartadas.incrementAndGet();
+                return false;
+            }
+        } while (!siguiente.compareAndSet(secuencia, secuencia + 1));
+        int casilla = (int) (secuencia & mascara);
+        instantes[casilla] = System.currentTimeMillis();
+        acciones[casilla] = accion;
+        actores[casilla] = actor;
+        codigos[casilla] = codigo;
+        precios[casilla] = precio;
+        publicadas.lazySet(casilla, secuencia);
+        return true;
+    }
+
+    /**
+     * Entrega al lector las entradas publicadas, en orden de secuencia. Solo debe llamarlo
+     * un hilo. Se detiene en la primera casilla reservada que todavía no se publicó.
+     *
+     * @param lector Destino de las entradas.
+     * @param maximo Cantidad máxima de entradas a entregar.
+     * @return Cantidad de entradas entregadas.
+     */
+    public int drenar(LectorAuditoria lector, int maximo) {
+        long inicio = consumidas.get();
+        long secuencia = inicio;
+        while (secuencia - inicio < maximo) {
+            int casilla = (int) (secuencia & mascara);
+            if (publicadas.get(casilla) != secuencia) {
+                break;
+            }
+            lector.leer(instantes[casilla], acciones[casilla], actores[casilla], codigos[casilla], precios[casilla]);
+            actores[casilla] = null;
+            codigos[casilla] = null;
+            secuencia++;
+        }
+        if (secuencia != inicio) {
+            consumidas.lazySet(secuencia);
+        }
+        return (int) (secuencia - inicio);
+    }
+
+    /**
+     * Devuelve la cantidad de entradas descartadas por encontrar el anillo lleno.
+     *
+     * @return Entradas descartadas.
+     */
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    /**
+     * Devuelve la cantidad de casillas del anillo.
+     *
+     * @return Capacidad.
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.auditoria;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de auditoría: quién registró, agregó, eliminó, reservó o compró qué.
+ * <p>
+ * Implementa el patrón Singleton. Las operaciones del dominio escriben en un
+ * {@link AnilloAuditoria} sin bloquear, y un único hilo ({@code auditoria}) lo drena en lotes
+ * hacia {@code auditoria.log} dentro de {@code comic.auditoria.directorio} ({@code auditoria}
+ * por defecto), una línea {@code instante;accion;actor;codigo;precio} por entrada. Cuando el
+ * archivo supera {@code comic.auditoria.maximoBytes} (10 MB por defecto) se rota a
+ * {@code auditoria.1.log}, corriendo los anteriores, y se conservan
+ * {@code comic.auditoria.archivos} (5 por defecto). La capacidad del anillo es
+ * {@code comic.auditoria.capacidad} (8192 por defecto).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class RegistroAuditoria {
+    private static final int CAPACIDAD = Integer.getInteger("comic.auditoria.capacidad", 8192);
+    private static final long MAXIMO_BYTES = Long.getLong("comic.auditoria.maximoBytes", 10L * 1024 * 1024);
+    private static final int ARCHIVOS = Integer.getInteger("comic.auditoria.archivos", 5);
+    private static final int TAMANO_LOTE = 1024;
+    /** Espera máxima del hilo cuando el anillo está vacío. */
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AnilloAuditoria anillo;
+    private final Path directorio;
+    private final Thread hilo;
+    private final AnilloAuditoria.LectorAuditoria lector = this::escribir;
+    private final StringBuilder linea = new StringBuilder(96);
+    private BufferedWriter escritor;
+    private long bytesArchivo;
+    private volatile long escritas;
+    private volatile boolean activo = true;
+
+    /**
+     * Constructor privado (patrón Singleton).
+     */
+    private RegistroAuditoria() {
+        this.anillo = new AnilloAuditoria(CAPACIDAD);
+        this.directorio = Path.of(System.getProperty("comic.auditoria.directorio", "auditoria"));
+        this.hilo = new Thread(this::drenar, "auditoria");
+        this.hilo.setDaemon(true);
+        this.hilo.start();
+    }
+
+    /** Instancia única (Singleton), creada al primer uso sin sincronizar a quien registra. */
+    private static class Contenedor {
+        private static final RegistroAuditoria INSTANCIA = new RegistroAuditoria();
+    }
+
+    /**
+     * Devuelve la instancia única de {@code RegistroAuditoria}, iniciando su hilo la primera vez.
+     *
+     * @return instancia única del registro.
+     */
+    public static RegistroAuditoria getInstancia() {
+        return Contenedor.INSTANCIA;
+    }
+
+    /**
+     * Registra una acción sin bloquear. Si el anillo está lleno, la entrada se descarta.
+     *
+     * @param accion Acción registrada.
+     * @param actor  RUT de quien la hizo, o {@code null} si la hizo el sistema.
+     * @param codigo Código del cómic o RUT del usuario afectado.
+     * @param precio Precio del cómic, o 0 si no corresponde.
+     */
+    public void registrar(AccionAuditoria accion, String actor, String codigo, int precio) {
+        anillo.publicar(accion, actor, codigo, precio);
+    }
+
+    /**
+     * Escribe las entradas pendientes, cierra el archivo y detiene el hilo. Las acciones
+     * registradas después ya no se escriben.
+     */
+    public void cerrar() {
+        if (!activo) {
+            return;
+        }
+        activo = false;
+        LockSupport.unpark(hilo);
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (anillo.getDescartadas() > 0) {
+            System.out.println("Auditoria: " + anillo.getDescartadas()
+                    + " entradas descartadas por anillo lleno.");
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de entradas escritas en archivo.
+     *
+     * @return Entradas escritas.
+     */
+    public long getEscritas() {
+        return escritas;
+    }
+
+    /**
+     * Devuelve la cantidad de entradas descartadas por encontrar el anillo lleno.
+     *
+     * @return Entradas descartadas.
+     */
+    public long getDescartadas() {
+        return anillo.getDescartadas();
+    }
+
+    /**
+     * Bucle del hilo: drena lotes y, si no hay nada, espera cada vez más (hasta
+     * {@link #ESPERA_MAXIMA_NANOS}); los productores nunca lo despiertan.
+     */
+    private void drenar() {
+        long espera = 1000;
+        while (true) {
+            boolean seguir = activo;
+            int leidas = anillo.drenar(lector, TAMANO_LOTE);
+            if (leidas > 0) {
+                espera = 1000;
+                continue;
+            }
+            vaciar();
+            if (!seguir) {
+                break;
+            }
+            LockSupport.parkNanos(espera);
+            espera = Math.min(espera * 2, ESPERA_MAXIMA_NANOS);
+        }
+        cerrarArchivo();
+    }
+
+    private void escribir(long instante, AccionAuditoria accion, String actor, String codigo, int precio) {
+        linea.setLength(0);
+        linea.append(instante).append(';').append(accion.name()).append(';')
+                .append(actor == null ? "-" : actor).append(';')
+                .append(codigo == null ? "-" : codigo).append(';').append(precio).append('\n');
+        try {
+            if (escritor == null || bytesArchivo + linea.length() > MAXIMO_BYTES) {
+                rotar();
+            }
+            escritor.append(linea);
+            bytesArchivo += linea.length();
+            escritas++;
+        } catch (IOException e) {
+            System.out.println("Error al escribir la auditoria: " + e.getMessage());
+            cerrarArchivo();
+        }
+    }
+
+    /**
+     * Cierra el archivo actual, si supera el tamaño máximo lo corre a {@code auditoria.1.log}
+     * (y los anteriores uno más, descartando el último) y abre el archivo actual.
+     */
+    private void rotar() throws IOException {
+        cerrarArchivo();
+        Files.createDirectories(directorio);
+        Path actual = directorio.resolve("auditoria.log");
+        long tamano = Files.exists(actual) ? Files.size(actual) : 0;
+        if (tamano + linea.length() > MAXIMO_BYTES && tamano > 0) {
+            Files.deleteIfExists(directorio.resolve("auditoria." + (ARCHIVOS - 1) + ".log"));
+            for (int i = ARCHIVOS - 2; i >= 1; i--) {
+                Path origen = directorio.resolve("auditoria." + i + ".log");
+                if (Files.exists(origen)) {
+                    Files.move(origen, directorio.resolve("auditoria." + (i + 1) + ".log"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (ARCHIVOS > 1) {
+                Files.move(actual, directorio.resolve("auditoria.1.log"), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(actual);
+            }
+            tamano = 0;
+        }
+        escritor = Files.newBufferedWriter(actual, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        bytesArchivo = tamano;
+    }
+
+    private void vaciar() {
+        if (escritor == null) {
+            return;
+        }
+        try {
+            escritor.flush();
+        } catch (IOException e) {
+            System.out.println("Error al escribir la auditoria: " + e.getMessage());
+            cerrarArchivo();
+        }
+    }
+
+    private void cerrarArchivo() {
+        if (escritor == null) {
+            return;
+        }
+        try {
+            escritor.close();
+        } catch (IOException e) {
+            System.out.println("Error al cerrar la auditoria: " + e.getMessage());
+        }
+        escritor = null;
+    }
+}
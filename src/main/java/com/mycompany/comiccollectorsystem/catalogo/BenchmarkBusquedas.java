@@ -0,0 +1,225 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicNoEncontradoException;
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.usuario.tipos.Cliente;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Mide el costo de informar un fallo de rutina con un resultado o con una excepción.
+ * <p>
+ * Compara, para una búsqueda por código que no encuentra nada y una compra sin reservas, la
+ * variante que devuelve {@code Optional} o {@code Resultado}, la que lanza la excepción del
+ * dominio (sin traza) y, como referencia, la misma excepción con traza, que es lo que costaba
+ * antes. Cada medición corre a {@code profundidad} llamadas de la base de la pila, porque el
+ * costo de capturar la traza crece con ella. Por cada caso ejecuta iteraciones de
+ * calentamiento (para el JIT) y luego mide; informa la mediana y el mínimo en nanosegundos
+ * por operación y el costo relativo a la variante sin excepciones.
+ * </p>
+ * <p>
+ * Parámetros ({@code clave=valor}): {@code comics} (100), {@code operaciones} por iteración
+ * (100000), {@code calentamiento} (5), {@code iteraciones} (15), {@code profundidad} (32) y
+ * {@code salida} (benchmark-busquedas.csv).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class BenchmarkBusquedas {
+    private final int cantidadComics;
+    private final int operaciones;
+    private final int calentamiento;
+    private final int iteraciones;
+    private final int profundidad;
+    private final String archivoSalida;
+
+    /**
+     * Crea el benchmark a partir de parámetros {@code clave=valor}.
+     *
+     * @param parametros Parámetros del benchmark.
+     */
+    public BenchmarkBusquedas(String[] parametros) {
+        Map<String, String> valores = new HashMap<>();
+        for (String parametro : parametros) {
+            int separador = parametro.indexOf('=');
+            if (separador > 0) {
+                valores.put(parametro.substring(0, separador).trim(), parametro.substring(separador + 1).trim());
+            }
+        }
+        this.cantidadComics = Integer.parseInt(valores.getOrDefault("comics", "100"));
+        this.operaciones = Integer.parseInt(valores.getOrDefault("operaciones", "100000"));
+        this.calentamiento = Integer.parseInt(valores.getOrDefault("calentamiento", "5"));
+        this.iteraciones = Integer.parseInt(valores.getOrDefault("iteraciones", "15"));
+        this.profundidad = Integer.parseInt(valores.getOrDefault("profundidad", "32"));
+        this.archivoSalida = valores.getOrDefault("salida", "benchmark-busquedas.csv");
+        if (cantidadComics <= 0 || operaciones <= 0 || iteraciones <= 0 || calentamiento < 0 || profundidad < 0) {
+            throw new IllegalArgumentException("comics, operaciones e iteraciones deben ser mayores que cero.");
+        }
+    }
+
+    /**
+     * Ejecuta el benchmark y escribe los resultados en pantalla y en el archivo de salida.
+     *
+     * @throws IOException Si no se puede escribir el archivo de salida.
+     */
+    public void ejecutar() throws IOException {
+        ArrayList<Comic> comics = new ArrayList<>(cantidadComics);
+        for (int i = 0; i < cantidadComics; i++) {
+            comics.add(new Comic(String.format(Locale.ROOT, "BENCH%06d", i), "Titulo " + i, "Autor " + (i % 50),
+                    "Editorial " + (i % 7), 1000 + i, "manga"));
+        }
+        String existente = comics.get(cantidadComics / 2).getCodigo();
+        String inexistente = String.format(Locale.ROOT, "BENCH%06d", cantidadComics);
+        Cliente cliente = new Cliente("11111111-1", "Bench", "Marca", 2);
+        List<Comic> sinReservas = new ArrayList<>();
+        List<Comic> ventas = new ArrayList<>();
+
+        // casos de cada grupo: el primero es la referencia sin excepciones
+        Map<String, Map<String, LongSupplier>> grupos = new LinkedHashMap<>();
+        Map<String, LongSupplier> buscarEncontrado = new LinkedHashMap<>();
+        buscarEncontrado.put("optional", () -> Comic.buscarPorCodigo(comics, existente).isPresent() ? 1 : 0);
+        buscarEncontrado.put("excepcion", () -> {
+            try {
+                return Comic.buscarComicPorCodigo(comics, existente).getPrecio();
+            } catch (ComicNoEncontradoException e) {
+                return 0;
+            }
+        });
+        grupos.put("buscar_encontrado", buscarEncontrado);
+
+        Map<String, LongSupplier> buscarFallido = new LinkedHashMap<>();
+        buscarFallido.put("optional", () -> Comic.buscarPorCodigo(comics, inexistente).isPresent() ? 1 : 0);
+        buscarFallido.put("excepcion", () -> {
+            try {
+                return Comic.buscarComicPorCodigo(comics, inexistente).getPrecio();
+            } catch (ComicNoEncontradoException e) {
+                return e.getMessage().length();
+            }
+        });
+        buscarFallido.put("excepcion_con_traza", () -> {
+            try {
+                return buscarConTraza(comics, inexistente).getPrecio();
+            } catch (Exception e) {
+                return e.getMessage().length();
+            }
+        });
+        grupos.put("buscar_no_encontrado", buscarFallido);
+
+        Map<String, LongSupplier> comprarSinReservas = new LinkedHashMap<>();
+        comprarSinReservas.put("resultado", () -> cliente.intentarComprar(sinReservas, ventas).esExito() ? 1 : 0);
+        comprarSinReservas.put("excepcion", () -> {
+            try {
+                cliente.comprarComic(sinReservas, ventas);
+                return 1;
+            } catch (ComicYaCompradoException e) {
+                return e.getMessage().length();
+            }
+        });
+        comprarSinReservas.put("excepcion_con_traza", () -> {
+            try {
+                comprarConTraza(cliente, sinReservas, ventas);
+                return 1;
+            } catch (Exception e) {
+                return e.getMessage().length();
+            }
+        });
+        grupos.put("comprar_sin_reservas", comprarSinReservas);
+
+        System.out.printf(Locale.ROOT, "Comics: %d, operaciones: %d, calentamiento: %d, iteraciones: %d, profundidad: %d%n",
+                cantidadComics, operaciones, calentamiento, iteraciones, profundidad);
+        System.out.printf(Locale.ROOT, "%-22s %-20s %12s %12s %10s%n", "caso", "variante", "mediana_ns", "minimo_ns",
+                "relativo");
+
+        try (BufferedWriter salida = Files.newBufferedWriter(Path.of(archivoSalida))) {
+            salida.write("caso,variante,comics,profundidad,mediana_ns_por_op,minimo_ns_por_op,relativo");
+            salida.newLine();
+            for (Map.Entry<String, Map<String, LongSupplier>> grupo : grupos.entrySet()) {
+                double medianaBase = 0;
+                for (Map.Entry<String, LongSupplier> variante : grupo.getValue().entrySet()) {
+                    double[] tiempos = medir(variante.getValue());
+                    if (medianaBase == 0) {
+                        medianaBase = tiempos[0];
+                    }
+                    double relativo = tiempos[0] / medianaBase;
+                    System.out.printf(Locale.ROOT, "%-22s %-20s %12.1f %12.1f %9.2fx%n", grupo.getKey(),
+                            variante.getKey(), tiempos[0], tiempos[1], relativo);
+                    salida.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.1f,%.2f", grupo.getKey(),
+                            variante.getKey(), cantidadComics, profundidad, tiempos[0], tiempos[1], relativo));
+                    salida.newLine();
+                }
+            }
+        }
+        System.out.println("Resultados guardados en " + archivoSalida);
+    }
+
+    /**
+     * Mide un caso.
+     *
+     * @return Mediana y mínimo en nanosegundos por operación.
+     */
+    private double[] medir(LongSupplier operacion) {
+        long sumidero = 0;
+        for (int i = 0; i < calentamiento; i++) {
+            sumidero += enProfundidad(profundidad, operacion);
+        }
+        double[] tiempos = new double[iteraciones];
+        for (int i = 0; i < iteraciones; i++) {
+            long inicio = System.nanoTime();
+            sumidero += enProfundidad(profundidad, operacion);
+            tiempos[i] = (System.nanoTime() - inicio) / (double) operaciones;
+        }
+        if (sumidero == 42) {
+            // evita que el JIT descarte las llamadas por no usar su resultado
+            System.out.print("");
+        }
+        Arrays.sort(tiempos);
+        return new double[] { tiempos[iteraciones / 2], tiempos[0] };
+    }
+
+    /**
+     * Ejecuta las operaciones de una iteración con {@code nivel} llamadas más en la pila.
+     */
+    private long enProfundidad(int nivel, LongSupplier operacion) {
+        if (nivel > 0) {
+            return enProfundidad(nivel - 1, operacion) + 1;
+        }
+        long suma = 0;
+        for (int i = 0; i < operaciones; i++) {
+            suma += operacion.getAsLong();
+        }
+        return suma;
+    }
+
+    /**
+     * Búsqueda que falla con una excepción que captura la traza, como antes de que las
+     * excepciones del dominio la omitieran.
+     */
+    private static Comic buscarConTraza(List<Comic> comics, String codigo) throws Exception {
+        return Comic.buscarPorCodigo(comics, codigo)
+                .orElseThrow(() -> new Exception("Comic llamado " + codigo + " no encontrado."));
+    }
+
+    /**
+     * Compra que falla con una excepción que captura la traza.
+     */
+    private static void comprarConTraza(Cliente cliente, List<Comic> reservas, List<Comic> ventas) throws Exception {
+        cliente.intentarComprar(reservas, ventas).obtenerOLanzar(Exception::new);
+    }
+}
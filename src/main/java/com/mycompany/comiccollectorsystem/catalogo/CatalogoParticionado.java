@@ -0,0 +1,334 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicNoEncontradoException;
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaReservadoException;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo de cómics dividido en particiones por hash del código.
+ * <p>
+ * Cada {@link ParticionCatalogo} tiene su propio hilo y su propia cola, por lo que las
+ * operaciones sobre códigos de particiones distintas avanzan en paralelo sin competir.
+ * Las operaciones de un solo cómic (agregar, eliminar, buscar, reservar) van a una única
+ * partición; los listados y las búsquedas por título se reparten entre todas las
+ * particiones y sus resultados se combinan. La compra y el listado de reservas de un
+ * cliente solo visitan las particiones donde ese cliente tiene reservas.
+ * </p>
+ * <p>
+ * Las lecturas usan la versión inmutable vigente de cada partición y nunca esperan a las
+ * escrituras. Cada partición se lee de forma consistente, aunque un listado combinado no
+ * es una foto atómica de todas las particiones a la vez.
+ * </p>
+ * <p>
+ * Es seguro para hilos: puede compartirse entre muchas sesiones concurrentes.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CatalogoParticionado {
+    private final ParticionCatalogo[] particiones;
+    /** Índices de las particiones con reservas de cada cliente, mantenidos por las propias particiones. */
+    private final ConcurrentHashMap<String, Set<Integer>> particionesPorCliente;
+
+    /**
+     * Crea un catálogo con una partición por procesador disponible.
+     */
+    public CatalogoParticionado() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un catálogo con la cantidad de particiones indicada.
+     *
+     * @param cantidadParticiones Número de particiones (y de hilos).
+     */
+    public CatalogoParticionado(int cantidadParticiones) {
+        if (cantidadParticiones <= 0) {
+            throw new IllegalArgumentException("La cantidad de particiones debe ser mayor que cero.");
+        }
+        this.particiones = new ParticionCatalogo[cantidadParticiones];
+        this.particionesPorCliente = new ConcurrentHashMap<>();
+        for (int i = 0; i < cantidadParticiones; i++) {
+            particiones[i] = new ParticionCatalogo(i, particionesPorCliente);
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de particiones.
+     *
+     * @return Número de particiones.
+     */
+    public int getCantidadParticiones() {
+        return particiones.length;
+    }
+
+    /**
+     * Carga una lista de cómics, repartiéndolos entre las particiones.
+     *
+     * @param comics Cómics a cargar.
+     */
+    public void cargar(List<Comic> comics) {
+        List<CompletableFuture<Void>> pendientes = new ArrayList<>(comics.size());
+        for (Comic comic : comics) {
+            pendientes.add(particion(comic.getCodigo()).agregar(comic));
+        }
+        CompletableFuture.allOf(pendientes.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Agrega un cómic al catálogo.
+     *
+     * @param comic Cómic a agregar.
+     */
+    public void agregar(Comic comic) {
+        esperar(particion(comic.getCodigo()).agregar(comic));
+    }
+
+    /**
+     * Elimina un cómic disponible.
+     *
+     * @param codigo Código del cómic.
+     * @return Cómic eliminado, o vacío si no estaba disponible.
+     */
+    public Optional<Comic> eliminar(String codigo) {
+        return esperar(particion(codigo).eliminar(codigo));
+    }
+
+    /**
+     * Reemplaza los datos de un cómic que sigue disponible; si está reservado o no existe,
+     * no hace nada.
+     *
+     * @param comic Cómic con los datos nuevos.
+     * @return Cómic reemplazado, o vacío si no estaba disponible.
+     */
+    public Optional<Comic> reemplazar(Comic comic) {
+        return esperar(particion(comic.getCodigo()).reemplazar(comic));
+    }
+
+    /**
+     * Agrega un cómic solo si su código no está ni disponible ni reservado.
+     *
+     * @param comic Cómic a agregar.
+     * @return {@code true} si se agregó.
+     */
+    public boolean agregarSiLibre(Comic comic) {
+        return esperar(particion(comic.getCodigo()).agregarSiLibre(comic));
+    }
+
+    /**
+     * Indica si un cómic está reservado por algún cliente.
+     *
+     * @param codigo Código del cómic.
+     * @return {@code true} si está reservado.
+     */
+    public boolean estaReservado(String codigo) {
+        return esperar(particion(codigo).estaReservado(codigo));
+    }
+
+    /**
+     * Busca un cómic disponible por código.
+     *
+     * @param codigo Código del cómic.
+     * @return Cómic encontrado, o vacío.
+     */
+    public Optional<Comic> buscar(String codigo) {
+        return particion(codigo).buscar(codigo);
+    }
+
+    /**
+     * Reserva un cómic para un cliente, sin lanzar excepciones si no se puede.
+     *
+     * @param rut    RUT del cliente.
+     * @param codigo Código del cómic.
+     * @return Cómic reservado, o un fallo {@link Resultado.Motivo#NO_ENCONTRADO} (también si ya es
+     * del mismo cliente) o {@link Resultado.Motivo#YA_RESERVADO} (si lo reservó otro cliente).
+     */
+    public Resultado<Comic> intentarReservar(String rut, String codigo) {
+        return esperar(particion(codigo).reservar(rut, codigo));
+    }
+
+    /**
+     * Reserva un cómic para un cliente.
+     *
+     * @param rut    RUT del cliente.
+     * @param codigo Código del cómic.
+     * @return Cómic reservado.
+     * @throws ComicNoEncontradoException Si el cómic no existe.
+     * @throws ComicYaReservadoException  Si el cómic ya está reservado.
+     * @see #intentarReservar(String, String)
+     */
+    public Comic reservar(String rut, String codigo) throws ComicNoEncontradoException, ComicYaReservadoException {
+        Resultado<Comic> resultado = intentarReservar(rut, codigo);
+        if (resultado instanceof Resultado.Fallo<Comic> fallo) {
+            if (fallo.motivo() == Resultado.Motivo.YA_RESERVADO) {
+                throw new ComicYaReservadoException(fallo.mensaje());
+            }
+            throw new ComicNoEncontradoException(fallo.mensaje());
+        }
+        return ((Resultado.Exito<Comic>) resultado).valor();
+    }
+
+    /**
+     * Devuelve un cómic reservado a la lista de disponibles (por ejemplo, al expirar la reserva).
+     *
+     * @param codigo Código del cómic.
+     * @return {@code true} si el cómic estaba reservado.
+     */
+    public boolean liberar(String codigo) {
+        return esperar(particion(codigo).liberar(codigo));
+    }
+
+    /**
+     * Compra todas las reservas de un cliente, visitando solo las particiones donde las
+     * tiene, sin lanzar excepciones si no tiene reservas.
+     *
+     * @param rut RUT del cliente.
+     * @return Cómics comprados, o un fallo {@link Resultado.Motivo#SIN_RESERVAS}.
+     */
+    public Resultado<List<Comic>> intentarComprar(String rut) {
+        List<CompletableFuture<List<Comic>>> parciales = new ArrayList<>();
+        for (int indice : particionesDe(rut)) {
+            parciales.add(particiones[indice].comprar(rut));
+        }
+        List<Comic> comprados = combinar(parciales);
+        if (comprados.isEmpty()) {
+            return Resultado.fallo(Resultado.Motivo.SIN_RESERVAS, "No hay reservas para mostrar.");
+        }
+        return Resultado.exito(comprados);
+    }
+
+    /**
+     * Compra todas las reservas de un cliente.
+     *
+     * @param rut RUT del cliente.
+     * @return Cómics comprados.
+     * @throws ComicYaCompradoException Si el cliente no tiene reservas.
+     * @see #intentarComprar(String)
+     */
+    public List<Comic> comprar(String rut) throws ComicYaCompradoException {
+        return intentarComprar(rut).obtenerOLanzar(ComicYaCompradoException::new);
+    }
+
+    /**
+     * Lista las reservas vigentes de un cliente.
+     *
+     * @param rut RUT del cliente.
+     * @return Cómics reservados por el cliente, ordenados por título.
+     */
+    public List<Comic> reservasDe(String rut) {
+        List<CompletableFuture<List<Comic>>> parciales = new ArrayList<>();
+        for (int indice : particionesDe(rut)) {
+            parciales.add(particiones[indice].reservasDe(rut));
+        }
+        List<Comic> reservas = combinar(parciales);
+        Collections.sort(reservas);
+        return reservas;
+    }
+
+    /**
+     * Cuenta los cómics disponibles sin pasar por las colas de las particiones.
+     *
+     * @return Cantidad de cómics disponibles.
+     */
+    public int cantidadDisponibles() {
+        int total = 0;
+        for (ParticionCatalogo particion : particiones) {
+            total += particion.cantidadDisponibles();
+        }
+        return total;
+    }
+
+    /**
+     * Lista los cómics disponibles de todas las particiones, ordenados por título.
+     *
+     * @return Cómics disponibles ordenados.
+     */
+    public List<Comic> listarDisponibles() {
+        List<Comic> comics = new ArrayList<>();
+        for (ParticionCatalogo particion : particiones) {
+            comics.addAll(particion.listarDisponibles());
+        }
+        Collections.sort(comics);
+        return comics;
+    }
+
+    /**
+     * Busca cómics disponibles cuyo título contenga el texto indicado, en todas las particiones.
+     *
+     * @param texto Texto a buscar (sin distinguir mayúsculas).
+     * @return Cómics encontrados, ordenados por título.
+     */
+    public List<Comic> buscarPorTitulo(String texto) {
+        List<Comic> comics = new ArrayList<>();
+        for (ParticionCatalogo particion : particiones) {
+            comics.addAll(particion.buscarPorTitulo(texto));
+        }
+        Collections.sort(comics);
+        return comics;
+    }
+
+    /**
+     * Cuenta los cómics disponibles, reservados y vendidos de todas las particiones.
+     *
+     * @return Arreglo {@code {disponibles, reservados, vendidos}}.
+     */
+    public int[] contar() {
+        List<CompletableFuture<int[]>> parciales = new ArrayList<>(particiones.length);
+        for (ParticionCatalogo particion : particiones) {
+            parciales.add(particion.contar());
+        }
+        int[] total = new int[3];
+        for (CompletableFuture<int[]> parcial : parciales) {
+            int[] conteo = parcial.join();
+            for (int i = 0; i < total.length; i++) {
+                total[i] += conteo[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Detiene los hilos de todas las particiones.
+     */
+    public void cerrar() {
+        for (ParticionCatalogo particion : particiones) {
+            particion.cerrar();
+        }
+    }
+
+    private ParticionCatalogo particion(String codigo) {
+        return particiones[Math.floorMod(ParticionCatalogo.clave(codigo).hashCode(), particiones.length)];
+    }
+
+    private List<Integer> particionesDe(String rut) {
+        Set<Integer> indices = particionesPorCliente.get(rut);
+        return indices == null ? List.of() : List.copyOf(indices);
+    }
+
+    private static List<Comic> combinar(List<CompletableFuture<List<Comic>>> parciales) {
+        List<Comic> comics = new ArrayList<>();
+        for (CompletableFuture<List<Comic>> parcial : parciales) {
+            comics.addAll(parcial.join());
+        }
+        return comics;
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        return futuro.join();
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.colecciones.FiltroBloom;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Catálogo de solo lectura que decodifica los cómics del CSV a medida que se consultan.
+ * <p>
+ * Al abrirse no crea ningún {@link Comic}: construye (o carga desde {@code comic.csv.idx})
+ * un índice compacto código → posición en el archivo, guardado como arreglos primitivos
+ * (hash del código y desplazamiento de la fila), y un {@link FiltroBloom} que descarta sin
+ * tocar el índice los códigos que no existen. Cuando se pide un cómic, su fila se lee del
+ * archivo mapeado en memoria y se decodifica; los más usados quedan en una caché LRU
+ * acotada ({@code comic.catalogo.cache}, 1024 por defecto).
+ * </p>
+ * <p>
+ * El índice guardado incluye el tamaño, la fecha de modificación y la identidad (inodo) del
+ * CSV; si el archivo cambió o se reemplazó (por ejemplo, al persistir altas y bajas), el
+ * índice se reconstruye en la siguiente consulta. Los métodos están sincronizados.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CatalogoPerezoso {
+    private static final int MAGICO = 0x43494458; // "CIDX"
+    private static final int VERSION_INDICE = 2;
+    private static final long SEGMENTO = 1L << 30;
+    /** Bytes extra mapeados al final de cada segmento para que ninguna fila quede partida. */
+    private static final long SOLAPE = 1L << 16;
+    private static final int CAPACIDAD_CACHE = Integer.getInteger("comic.catalogo.cache", 1024);
+
+    private final Path archivo;
+    private final Path archivoIndice;
+    private final Map<String, Comic> cache;
+    private final CSVParser parser;
+
+    private long tamanoArchivo;
+    private long modificadoMs;
+    /** Identidad del archivo (inodo), para detectar reemplazos atómicos con igual tamaño y fecha. */
+    private Object claveArchivo;
+    private MappedByteBuffer[] segmentos;
+    private int cantidad;
+    private int[] hashes;
+    private long[] desplazamientos;
+    /** Tabla de direccionamiento abierto: índice de entrada + 1, o 0 si la celda está libre. */
+    private int[] tabla;
+    private FiltroBloom filtro;
+
+    private long aciertosCache;
+    private long lecturasArchivo;
+    private long descartesFiltro;
+
+    private CatalogoPerezoso(Path archivo) {
+        this.archivo = archivo.toAbsolutePath();
+        this.archivoIndice = Path.of(this.archivo + ".idx");
+        this.parser = new CSVParser();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Comic> mayor) {
+                return size() > CAPACIDAD_CACHE;
+            }
+        };
+    }
+
+    /**
+     * Abre el catálogo sobre un archivo CSV, reutilizando su índice si sigue vigente.
+     *
+     * @param archivo Archivo CSV del catálogo.
+     * @return Catálogo abierto.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public static CatalogoPerezoso abrir(Path archivo) throws IOException {
+        CatalogoPerezoso catalogo = new CatalogoPerezoso(archivo);
+        catalogo.preparar();
+        return catalogo;
+    }
+
+    /**
+     * Busca un cómic por código (sin distinguir mayúsculas).
+     *
+     * @param codigo Código del cómic.
+     * @return Cómic encontrado, o vacío si no está en el archivo.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public synchronized Optional<Comic> buscar(String codigo) throws IOException {
+        if (archivoCambio()) {
+            preparar();
+        }
+        String clave = ParticionCatalogo.clave(codigo.trim());
+        Comic comic = cache.get(clave);
+        if (comic != null) {
+            aciertosCache++;
+            return Optional.of(comic);
+        }
+        int hash = clave.hashCode();
+        if (!filtro.puedeContener(hash)) {
+            descartesFiltro++;
+            return Optional.empty();
+        }
+        int mascara = tabla.length - 1;
+        for (int i = mezclar(hash) & mascara; tabla[i] != 0; i = (i + 1) & mascara) {
+            int entrada = tabla[i] - 1;
+            if (hashes[entrada] != hash) {
+                continue;
+            }
+            lecturasArchivo++;
+            Comic candidato = decodificar(desplazamientos[entrada]);
+            if (candidato != null && ParticionCatalogo.clave(candidato.getCodigo()).equals(clave)) {
+                cache.put(clave, candidato);
+                return Optional.of(candidato);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Recorre todos los cómics del archivo en orden, decodificándolos uno a uno sin
+     * guardarlos en la caché.
+     *
+     * @param accion Acción a ejecutar con cada cómic.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public synchronized void recorrer(Consumer<Comic> accion) throws IOException {
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(archivo, StandardCharsets.UTF_8))) {
+            reader.readNext();
+            String[] fila;
+            while ((fila = reader.readNext()) != null) {
+                Comic comic = Comic.desdeFilaCSV(fila);
+                if (comic != null) {
+                    accion.accept(comic);
+                }
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("CSV invalido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de cómics indexados.
+     *
+     * @return Número de filas de datos del archivo.
+     */
+    public synchronized int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve un resumen del uso del catálogo.
+     *
+     * @return Cómics indexados, en caché, aciertos de caché, lecturas del archivo y
+     *         códigos descartados por el filtro.
+     */
+    public synchronized String estadisticas() {
+        return "Indexados: " + cantidad + ", en cache: " + cache.size() + ", aciertos de cache: " + aciertosCache
+                + ", lecturas del archivo: " + lecturasArchivo + ", descartados por el filtro: " + descartesFiltro;
+    }
+
+    /**
+     * Mapea el archivo y carga o reconstruye el índice.
+     */
+    private void preparar() throws IOException {
+        BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+        tamanoArchivo = atributos.size();
+        modificadoMs = atributos.lastModifiedTime().toMillis();
+        claveArchivo = atributos.fileKey();
+        cache.clear();
+        mapear();
+        if (!cargarIndice()) {
+            construirIndice();
+            guardarIndice();
+        }
+        construirTabla();
+    }
+
+    private boolean archivoCambio() throws IOException {
+        BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+        return atributos.size() != tamanoArchivo || atributos.lastModifiedTime().toMillis() != modificadoMs
+                || !Objects.equals(atributos.fileKey(), claveArchivo);
+    }
+
+    private void mapear() throws IOException {
+        int cantidadSegmentos = (int) Math.max(1, (tamanoArchivo + SEGMENTO - 1) / SEGMENTO);
+        segmentos = new MappedByteBuffer[cantidadSegmentos];
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            for (int i = 0; i < cantidadSegmentos; i++) {
+                long inicio = i * SEGMENTO;
+                long largo = Math.min(tamanoArchivo - inicio, SEGMENTO + SOLAPE);
+                segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.max(largo, 0));
+            }
+        }
+    }
+
+    /**
+     * Recorre el archivo una vez registrando el hash del código y la posición de cada fila.
+     * Las comillas se siguen para no cortar filas con saltos de línea dentro de un campo.
+     */
+    private void construirIndice() throws IOException {
+        hashes = new int[1024];
+        desplazamientos = new long[1024];
+        cantidad = 0;
+
+        ByteArrayOutputStream codigo = new ByteArrayOutputStream(32);
+        byte[] bloque = new byte[1 << 16];
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            long posicion = 0;
+            long inicioFila = 0;
+            boolean entreComillas = false;
+            boolean primerCampo = true;
+            boolean encabezado = true;
+            int leidos;
+            while ((leidos = entrada.read(bloque)) != -1) {
+                for (int i = 0; i < leidos; i++, posicion++) {
+                    byte b = bloque[i];
+                    if (b == '"') {
+                        entreComillas = !entreComillas;
+                    } else if (!entreComillas && b == ',') {
+                        primerCampo = false;
+                    } else if (!entreComillas && b == '\n') {
+                        if (!encabezado) {
+                            registrarFila(codigo, inicioFila);
+                        }
+                        encabezado = false;
+                        primerCampo = true;
+                        codigo.reset();
+                        inicioFila = posicion + 1;
+                    } else if (primerCampo && b != '\r') {
+                        codigo.write(b);
+                    }
+                }
+            }
+            if (!encabezado) {
+                registrarFila(codigo, inicioFila);
+            }
+        }
+    }
+
+    /**
+     * Agrega una fila al índice si tiene código.
+     */
+    private void registrarFila(ByteArrayOutputStream codigo, long inicioFila) {
+        if (codigo.size() == 0) {
+            return;
+        }
+        if (cantidad == hashes.length) {
+            hashes = Arrays.copyOf(hashes, cantidad * 2);
+            desplazamientos = Arrays.copyOf(desplazamientos, cantidad * 2);
+        }
+        hashes[cantidad] = hashCodigo(codigo);
+        desplazamientos[cantidad] = inicioFila;
+        cantidad++;
+    }
+
+    private static int hashCodigo(ByteArrayOutputStream codigo) {
+        return ParticionCatalogo.clave(codigo.toString(StandardCharsets.UTF_8).trim()).hashCode();
+    }
+
+    private void construirTabla() {
+        int tamano = Integer.highestOneBit(Math.max(cantidad, 1) * 2 - 1) << 1;
+        tabla = new int[Math.max(tamano, 2)];
+        filtro = new FiltroBloom(cantidad);
+        int mascara = tabla.length - 1;
+        for (int entrada = 0; entrada < cantidad; entrada++) {
+            int i = mezclar(hashes[entrada]) & mascara;
+            while (tabla[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            tabla[i] = entrada + 1;
+            filtro.agregar(hashes[entrada]);
+        }
+    }
+
+    private static int mezclar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Lee y decodifica la fila que comienza en la posición indicada.
+     */
+    private Comic decodificar(long desplazamiento) throws IOException {
+        MappedByteBuffer segmento = segmentos[(int) (desplazamiento / SEGMENTO)];
+        int inicio = (int) (desplazamiento % SEGMENTO);
+        int fin = inicio;
+        boolean entreComillas = false;
+        while (fin < segmento.limit()) {
+            byte b = segmento.get(fin);
+            if (b == '"') {
+                entreComillas = !entreComillas;
+            } else if (b == '\n' && !entreComillas) {
+                break;
+            }
+            fin++;
+        }
+        byte[] bytes = new byte[fin - inicio];
+        segmento.get(inicio, bytes);
+        String linea = new String(bytes, StandardCharsets.UTF_8);
+        if (linea.endsWith("\r")) {
+            linea = linea.substring(0, linea.length() - 1);
+        }
+        String[] fila = parser.parseLine(linea);
+        return fila == null ? null : Comic.desdeFilaCSV(fila);
+    }
+
+    private boolean cargarIndice() {
+        if (!Files.exists(archivoIndice)) {
+            return false;
+        }
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivoIndice), 1 << 16))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION_INDICE
+                    || entrada.readLong() != tamanoArchivo || entrada.readLong() != modificadoMs
+                    || !entrada.readUTF().equals(textoClaveArchivo())) {
+                return false;
+            }
+            int leidos = entrada.readInt();
+            int[] hashesLeidos = new int[leidos];
+            long[] desplazamientosLeidos = new long[leidos];
+            for (int i = 0; i < leidos; i++) {
+                hashesLeidos[i] = entrada.readInt();
+                desplazamientosLeidos[i] = entrada.readLong();
+            }
+            cantidad = leidos;
+            hashes = hashesLeidos;
+            desplazamientos = desplazamientosLeidos;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Identidad del archivo tal como se guarda en el índice; vacía si el sistema de archivos
+     * no la informa.
+     */
+    private String textoClaveArchivo() {
+        return claveArchivo == null ? "" : claveArchivo.toString();
+    }
+
+    /**
+     * Guarda el índice junto al CSV. Si no se puede escribir, se sigue con el índice en
+     * memoria y se reconstruirá en el próximo arranque.
+     */
+    private void guardarIndice() {
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(archivoIndice.getParent(), "comic", ".idx.tmp");
+            try (DataOutputStream salida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporal), 1 << 16))) {
+                salida.writeInt(MAGICO);
+                salida.writeInt(VERSION_INDICE);
+                salida.writeLong(tamanoArchivo);
+                salida.writeLong(modificadoMs);
+                salida.writeUTF(textoClaveArchivo());
+                salida.writeInt(cantidad);
+                for (int i = 0; i < cantidad; i++) {
+                    salida.writeInt(hashes[i]);
+                    salida.writeLong(desplazamientos[i]);
+                }
+            }
+            Files.move(temporal, archivoIndice, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar el indice del catalogo: " + e.getMessage());
+        } finally {
+            if (temporal != null) {
+                try {
+                    Files.deleteIfExists(temporal);
+                } catch (IOException e) {
+                    // ignorar
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.colecciones.MapaPersistente;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Catálogo de cómics con versiones inmutables.
+ * <p>
+ * Cada escritura crea una versión nueva a partir de la anterior sobre un
+ * {@link MapaPersistente}, compartiendo la estructura no modificada, y la publica con una
+ * operación atómica. Los lectores toman la versión vigente y trabajan sobre ella sin
+ * bloquear ni ser bloqueados por los escritores, y nunca ven una edición a medio aplicar.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CatalogoVersionado {
+
+    /**
+     * Versión inmutable del catálogo.
+     *
+     * @param numero Número de versión, creciente desde 0.
+     * @param comics Cómics por código normalizado.
+     */
+    public record Version(long numero, MapaPersistente<String, Comic> comics) {
+    }
+
+    private final AtomicReference<Version> actual;
+
+    /**
+     * Crea un catálogo vacío en la versión 0.
+     */
+    public CatalogoVersionado() {
+        this.actual = new AtomicReference<>(new Version(0, MapaPersistente.vacio()));
+    }
+
+    /**
+     * Devuelve la versión vigente. Nunca bloquea.
+     *
+     * @return Versión actual del catálogo.
+     */
+    public Version instantanea() {
+        return actual.get();
+    }
+
+    /**
+     * Aplica un cambio y publica la versión resultante de forma atómica.
+     * Si otro escritor publicó antes, el cambio se vuelve a aplicar sobre la versión nueva.
+     *
+     * @param cambio Función que recibe los cómics vigentes y devuelve los nuevos.
+     * @return Versión publicada (la misma si el cambio no modificó nada).
+     */
+    public Version actualizar(UnaryOperator<MapaPersistente<String, Comic>> cambio) {
+        while (true) {
+            Version vigente = actual.get();
+            MapaPersistente<String, Comic> comics = cambio.apply(vigente.comics());
+            if (comics == vigente.comics()) {
+                return vigente;
+            }
+            Version nueva = new Version(vigente.numero() + 1, comics);
+            if (actual.compareAndSet(vigente, nueva)) {
+                return nueva;
+            }
+        }
+    }
+
+    /**
+     * Agrega o reemplaza un cómic.
+     *
+     * @param clave Código normalizado.
+     * @param comic Cómic a publicar.
+     * @return Versión publicada.
+     */
+    public Version agregar(String clave, Comic comic) {
+        return actualizar(comics -> comics.con(clave, comic));
+    }
+
+    /**
+     * Quita un cómic.
+     *
+     * @param clave Código normalizado.
+     * @return Versión publicada.
+     */
+    public Version eliminar(String clave) {
+        return actualizar(comics -> comics.sin(clave));
+    }
+}
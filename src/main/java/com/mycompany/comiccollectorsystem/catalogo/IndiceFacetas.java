@@ -0,0 +1,297 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.colecciones.MapaBits;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de facetas (editorial, autor y tipo) de los cómics disponibles.
+ * <p>
+ * A cada cómic disponible se le asigna un número y, por cada valor distinto de cada faceta,
+ * se guarda un {@link MapaBits} con los números de los cómics disponibles que lo tienen. Al
+ * quitar un cómic su número se libera y lo reutiliza la siguiente alta, así que el índice no
+ * retiene los cómics vendidos o eliminados y sus mapas de bits se mantienen densos. Un filtro
+ * une (OR) los valores elegidos dentro de una faceta e intersecta (AND) las facetas entre
+ * sí; los conteos por valor son cardinalidades de intersecciones, sin recorrer cómics.
+ * </p>
+ * <p>
+ * Se mantiene con los eventos del bus: las altas y las reservas vencidas agregan, y las
+ * bajas, reservas y ventas quitan. Como el bus es asíncrono, un cambio se refleja en el
+ * índice poco después de hecho. Las consultas toman el cerrojo de lectura y las
+ * actualizaciones el de escritura, una vez por lote de eventos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class IndiceFacetas implements SuscriptorEventos {
+
+    /**
+     * Atributos por los que se puede filtrar.
+     */
+    public enum Faceta {
+        EDITORIAL, AUTOR, TIPO;
+
+        String valor(Comic comic) {
+            return switch (this) {
+                case EDITORIAL -> comic.getEditorial();
+                case AUTOR -> comic.getAutor();
+                case TIPO -> comic.getTipoComic();
+            };
+        }
+    }
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    /** Número de cada cómic disponible, por código normalizado. */
+    private final HashMap<String, Integer> numeroPorCodigo = new HashMap<>();
+    /** Cómic de cada número; {@code null} en los números libres. */
+    private final ArrayList<Comic> comicPorNumero = new ArrayList<>();
+    /** Pila de números libres para reutilizar. */
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+    /** Mapa de bits por valor normalizado, para cada faceta. */
+    private final EnumMap<Faceta, HashMap<String, MapaBits>> indices = new EnumMap<>(Faceta.class);
+    /** Texto original (el primero visto) de cada valor normalizado, para mostrarlo. */
+    private final EnumMap<Faceta, HashMap<String, String>> nombres = new EnumMap<>(Faceta.class);
+    private final MapaBits disponibles = new MapaBits();
+
+    /**
+     * Crea un índice vacío.
+     */
+    public IndiceFacetas() {
+        for (Faceta faceta : Faceta.values()) {
+            indices.put(faceta, new HashMap<>());
+            nombres.put(faceta, new HashMap<>());
+        }
+    }
+
+    /**
+     * Indexa un conjunto de cómics disponibles.
+     *
+     * @param comics Cómics a indexar.
+     */
+    public void cargar(Collection<Comic> comics) {
+        cerrojo.writeLock().lock();
+        try {
+            for (Comic comic : comics) {
+                agregarSinCerrojo(comic);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega (o vuelve a marcar como disponible) un cómic.
+     *
+     * @param comic Cómic disponible.
+     */
+    public void agregar(Comic comic) {
+        cerrojo.writeLock().lock();
+        try {
+            agregarSinCerrojo(comic);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un cómic de los disponibles.
+     *
+     * @param codigo Código del cómic.
+     */
+    public void quitar(String codigo) {
+        cerrojo.writeLock().lock();
+        try {
+            quitarSinCerrojo(codigo);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el índice con un lote de eventos del bus.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        cerrojo.writeLock().lock();
+        try {
+            for (EventoDominio evento : lote) {
+                if (evento instanceof ComicAgregado agregado) {
+                    agregarSinCerrojo(agregado.comic());
+                } else if (evento instanceof ReservaExpirada expirada) {
+                    agregarSinCerrojo(expirada.comic());
+                } else if (evento instanceof ComicEliminado eliminado) {
+                    quitarSinCerrojo(eliminado.comic().getCodigo());
+                } else if (evento instanceof ComicReservado reservado) {
+                    quitarSinCerrojo(reservado.comic().getCodigo());
+                } else if (evento instanceof ComicVendido vendido) {
+                    quitarSinCerrojo(vendido.comic().getCodigo());
+                }
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los cómics disponibles que cumplen la selección, ordenados por título.
+     * Dentro de una faceta basta con uno de los valores; entre facetas deben cumplirse todas.
+     * Una faceta sin valores elegidos no filtra.
+     *
+     * @param seleccion Valores elegidos por faceta (sin distinguir mayúsculas).
+     * @return Cómics encontrados.
+     */
+    public List<Comic> filtrar(Map<Faceta, ? extends Collection<String>> seleccion) {
+        cerrojo.readLock().lock();
+        try {
+            MapaBits resultado = aplicar(seleccion, null);
+            List<Comic> comics = new ArrayList<>(resultado.cardinalidad());
+            resultado.recorrer(numero -> comics.add(comicPorNumero.get(numero)));
+            Collections.sort(comics);
+            return comics;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta cuántos cómics tendría cada valor de una faceta si se agregara a la selección.
+     * La selección de la propia faceta no se aplica, para que sus otros valores sigan
+     * apareciendo con su conteo.
+     *
+     * @param faceta    Faceta a contar.
+     * @param seleccion Valores elegidos por faceta.
+     * @return Conteo por valor (texto original), de mayor a menor, sin valores en cero.
+     */
+    public Map<String, Integer> contar(Faceta faceta, Map<Faceta, ? extends Collection<String>> seleccion) {
+        cerrojo.readLock().lock();
+        try {
+            MapaBits filtro = aplicar(seleccion, faceta);
+            List<Map.Entry<String, Integer>> conteos = new ArrayList<>();
+            for (Map.Entry<String, MapaBits> valor : indices.get(faceta).entrySet()) {
+                int cantidad = valor.getValue().cardinalidadAnd(filtro);
+                if (cantidad > 0) {
+                    conteos.add(Map.entry(nombres.get(faceta).get(valor.getKey()), cantidad));
+                }
+            }
+            conteos.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> resultado = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> conteo : conteos) {
+                resultado.put(conteo.getKey(), conteo.getValue());
+            }
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de cómics disponibles indexados.
+     *
+     * @return Cantidad de cómics disponibles.
+     */
+    public int getCantidadDisponibles() {
+        cerrojo.readLock().lock();
+        try {
+            return disponibles.cardinalidad();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el conjunto de cómics que cumple la selección, omitiendo una faceta.
+     */
+    private MapaBits aplicar(Map<Faceta, ? extends Collection<String>> seleccion, Faceta omitida) {
+        MapaBits resultado = disponibles;
+        for (Map.Entry<Faceta, ? extends Collection<String>> elegida : seleccion.entrySet()) {
+            if (elegida.getKey() == omitida || elegida.getValue() == null || elegida.getValue().isEmpty()) {
+                continue;
+            }
+            MapaBits union = new MapaBits();
+            for (String valor : elegida.getValue()) {
+                MapaBits bits = indices.get(elegida.getKey()).get(normalizar(valor));
+                if (bits != null) {
+                    union = union.or(bits);
+                }
+            }
+            resultado = resultado.and(union);
+        }
+        return resultado;
+    }
+
+    private void agregarSinCerrojo(Comic comic) {
+        String codigo = ParticionCatalogo.clave(comic.getCodigo());
+        // si ya estaba, se reemplaza por la versión nueva
+        quitarSinCerrojo(codigo);
+        int numero;
+        if (cantidadLibres > 0) {
+            numero = libres[--cantidadLibres];
+            comicPorNumero.set(numero, comic);
+        } else {
+            numero = comicPorNumero.size();
+            comicPorNumero.add(comic);
+        }
+        numeroPorCodigo.put(codigo, numero);
+        for (Faceta faceta : Faceta.values()) {
+            String valor = faceta.valor(comic);
+            String clave = normalizar(valor);
+            indices.get(faceta).computeIfAbsent(clave, c -> new MapaBits()).agregar(numero);
+            nombres.get(faceta).putIfAbsent(clave, valor.trim());
+        }
+        disponibles.agregar(numero);
+    }
+
+    private void quitarSinCerrojo(String codigo) {
+        Integer numero = numeroPorCodigo.remove(ParticionCatalogo.clave(codigo));
+        if (numero == null) {
+            return;
+        }
+        Comic comic = comicPorNumero.get(numero);
+        for (Faceta faceta : Faceta.values()) {
+            String clave = normalizar(faceta.valor(comic));
+            MapaBits bits = indices.get(faceta).get(clave);
+            bits.quitar(numero);
+            if (bits.estaVacio()) {
+                indices.get(faceta).remove(clave);
+                nombres.get(faceta).remove(clave);
+            }
+        }
+        disponibles.quitar(numero);
+        comicPorNumero.set(numero, null);
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = numero;
+    }
+
+    private static String normalizar(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.colecciones.MapaBits;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas para buscar títulos y autores con errores de tipeo.
+ * <p>
+ * Cada título y autor normalizado (como en {@link TrieTitulos}) se parte en trigramas de
+ * caracteres, con un espacio de relleno en los bordes de cada palabra, y por cada trigrama
+ * se guarda un {@link MapaBits} con los cómics que lo contienen. Una búsqueda cuenta, solo
+ * en esas listas, cuántos trigramas comparte cada cómic con el texto buscado: una edición
+ * cambia a lo sumo tres trigramas, así que los cómics que comparten menos de
+ * {@code trigramas - 3 * distancia} se descartan sin compararlos.
+ * </p>
+ * <p>
+ * Los candidatos que quedan se verifican con una distancia de Levenshtein acotada (se
+ * abandona apenas supera el máximo) contra el texto completo y contra cada grupo de
+ * palabras seguidas del mismo largo que la búsqueda, y se ordenan por distancia y luego
+ * por similitud. Se mantiene con los eventos del bus, igual que {@link IndiceFacetas}: el
+ * número de un cómic que deja de estar disponible se libera y lo reutiliza el siguiente que
+ * se agrega, así que el índice solo guarda los cómics disponibles.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class IndiceNGramas implements SuscriptorEventos {
+    private static final int N = 3;
+    private static final int DISTANCIA_MAXIMA = 3;
+
+    /**
+     * Cómic encontrado y qué tan parecido es a la búsqueda.
+     *
+     * @param comic     Cómic encontrado.
+     * @param distancia Ediciones necesarias para llegar del texto buscado al del cómic.
+     * @param similitud Entre 0 y 1 (1 es idéntico): caracteres de la búsqueda que coinciden,
+     *                  sobre el largo del título o autor completo; a igual distancia gana el
+     *                  texto que la búsqueda cubre mejor.
+     */
+    public record Coincidencia(Comic comic, int distancia, double similitud) {
+    }
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final HashMap<String, Integer> numeroPorCodigo = new HashMap<>();
+    /** Cómic de cada número; {@code null} en los números libres. */
+    private final ArrayList<Comic> comicPorNumero = new ArrayList<>();
+    /** Textos normalizados (título y autor) de cada cómic, por número. */
+    private final ArrayList<String[]> textosPorNumero = new ArrayList<>();
+    /** Pila de números libres para reutilizar. */
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+    private final HashMap<String, MapaBits> listas = new HashMap<>();
+
+    /**
+     * Indexa un conjunto de cómics disponibles.
+     *
+     * @param comics Cómics a indexar.
+     */
+    public void cargar(Collection<Comic> comics) {
+        cerrojo.writeLock().lock();
+        try {
+            for (Comic comic : comics) {
+                agregarSinCerrojo(comic);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega (o vuelve a marcar como disponible) un cómic.
+     *
+     * @param comic Cómic disponible.
+     */
+    public void agregar(Comic comic) {
+        cerrojo.writeLock().lock();
+        try {
+            agregarSinCerrojo(comic);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un cómic de los disponibles.
+     *
+     * @param codigo Código del cómic.
+     */
+    public void quitar(String codigo) {
+        cerrojo.writeLock().lock();
+        try {
+            quitarSinCerrojo(codigo);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el índice con un lote de eventos del bus.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        cerrojo.writeLock().lock();
+        try {
+            for (EventoDominio evento : lote) {
+                if (evento instanceof ComicAgregado agregado) {
+                    agregarSinCerrojo(agregado.comic());
+                } else if (evento instanceof ReservaExpirada expirada) {
+                    agregarSinCerrojo(expirada.comic());
+                } else if (evento instanceof ComicEliminado eliminado) {
+                    quitarSinCerrojo(eliminado.comic().getCodigo());
+                } else if (evento instanceof ComicReservado reservado) {
+                    quitarSinCerrojo(reservado.comic().getCodigo());
+                } else if (evento instanceof ComicVendido vendido) {
+                    quitarSinCerrojo(vendido.comic().getCodigo());
+                }
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca cómics disponibles cuyo título o autor se parece al texto indicado. La distancia
+     * permitida crece con el largo del texto: una edición cada cuatro caracteres, entre 1 y 3.
+     *
+     * @param texto  Texto buscado (sin distinguir mayúsculas ni acentos).
+     * @param maximo Cantidad máxima de resultados.
+     * @return Coincidencias, de la más parecida a la menos parecida.
+     */
+    public List<Coincidencia> buscar(String texto, int maximo) {
+        String buscado = TrieTitulos.normalizar(texto);
+        if (buscado.length() < N - 1 || maximo <= 0) {
+            return List.of();
+        }
+        int distanciaMaxima = Math.max(1, Math.min(DISTANCIA_MAXIMA, buscado.length() / 4));
+        Set<String> trigramas = trigramas(buscado);
+        int minimoComunes = Math.max(1, trigramas.size() - N * distanciaMaxima);
+        int palabras = buscado.split(" ").length;
+
+        cerrojo.readLock().lock();
+        try {
+            // solo se cuentan los cómics que aparecen en alguna lista de la búsqueda
+            HashMap<Integer, Integer> comunes = new HashMap<>();
+            for (String trigrama : trigramas) {
+                MapaBits lista = listas.get(trigrama);
+                if (lista != null) {
+                    lista.recorrer(numero -> comunes.merge(numero, 1, Integer::sum));
+                }
+            }
+            List<Coincidencia> coincidencias = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> candidato : comunes.entrySet()) {
+                if (candidato.getValue() < minimoComunes) {
+                    continue;
+                }
+                int numero = candidato.getKey();
+                int mejor = Integer.MAX_VALUE;
+                int largo = buscado.length();
+                int cubiertos = 0;
+                for (String textoComic : textosPorNumero.get(numero)) {
+                    for (String fragmento : fragmentos(textoComic, palabras)) {
+                        if (mejor == 0) {
+                            break;
+                        }
+                        int distancia = distanciaAcotada(buscado, fragmento, Math.min(mejor - 1, distanciaMaxima));
+                        if (distancia < mejor) {
+                            mejor = distancia;
+                            largo = Math.max(buscado.length(), textoComic.length());
+                            cubiertos = Math.max(0, buscado.length() - distancia);
+                        }
+                    }
+                }
+                if (mejor <= distanciaMaxima) {
+                    coincidencias.add(new Coincidencia(comicPorNumero.get(numero), mejor,
+                            (double) cubiertos / largo));
+                }
+            }
+            coincidencias.sort(Comparator.comparingInt(Coincidencia::distancia)
+                    .thenComparing(Comparator.comparingDouble(Coincidencia::similitud).reversed())
+                    .thenComparing(Coincidencia::comic));
+            return List.copyOf(coincidencias.subList(0, Math.min(maximo, coincidencias.size())));
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la distancia de Levenshtein entre dos textos, abandonando en cuanto supera el
+     * máximo. Solo se calcula la franja de la matriz a menos de {@code maximo} de la diagonal.
+     *
+     * @param a      Primer texto.
+     * @param b      Segundo texto.
+     * @param maximo Distancia máxima de interés.
+     * @return La distancia, o {@code maximo + 1} si es mayor que el máximo.
+     */
+    static int distanciaAcotada(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) {
+            return maximo + 1;
+        }
+        int fuera = maximo + 1;
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j <= maximo ? j : fuera;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int desde = Math.max(1, i - maximo);
+            int hasta = Math.min(b.length(), i + maximo);
+            actual[0] = i <= maximo ? i : fuera;
+            if (desde > 1) {
+                actual[desde - 1] = fuera;
+            }
+            int minimoFila = actual[0];
+            for (int j = desde; j <= hasta; j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                actual[j] = Math.min(valor, fuera);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (hasta < b.length()) {
+                actual[hasta + 1] = fuera;
+            }
+            if (minimoFila > maximo) {
+                return fuera;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return Math.min(anterior[b.length()], fuera);
+    }
+
+    private void agregarSinCerrojo(Comic comic) {
+        String codigo = ParticionCatalogo.clave(comic.getCodigo());
+        quitarSinCerrojo(codigo);
+        String[] textos = { TrieTitulos.normalizar(comic.getTitulo()), TrieTitulos.normalizar(comic.getAutor()) };
+        int numero;
+        if (cantidadLibres > 0) {
+            numero = libres[--cantidadLibres];
+            comicPorNumero.set(numero, comic);
+            textosPorNumero.set(numero, textos);
+        } else {
+            numero = comicPorNumero.size();
+            comicPorNumero.add(comic);
+            textosPorNumero.add(textos);
+        }
+        numeroPorCodigo.put(codigo, numero);
+        for (String trigrama : trigramas(textos)) {
+            listas.computeIfAbsent(trigrama, t -> new MapaBits()).agregar(numero);
+        }
+    }
+
+    private void quitarSinCerrojo(String codigo) {
+        Integer numero = numeroPorCodigo.remove(ParticionCatalogo.clave(codigo));
+        if (numero == null) {
+            return;
+        }
+        for (String trigrama : trigramas(textosPorNumero.get(numero))) {
+            MapaBits lista = listas.get(trigrama);
+            lista.quitar(numero);
+            if (lista.estaVacio()) {
+                listas.remove(trigrama);
+            }
+        }
+        comicPorNumero.set(numero, null);
+        textosPorNumero.set(numero, null);
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = numero;
+    }
+
+    /**
+     * Devuelve los trigramas distintos de uno o más textos, con un espacio de relleno en los
+     * bordes de cada palabra.
+     */
+    private static Set<String> trigramas(String... textos) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (String texto : textos) {
+            String relleno = " " + texto + " ";
+            for (int i = 0; i + N <= relleno.length(); i++) {
+                trigramas.add(relleno.substring(i, i + N));
+            }
+        }
+        return trigramas;
+    }
+
+    /**
+     * Devuelve el texto completo y cada grupo de {@code palabras} palabras seguidas.
+     */
+    private static List<String> fragmentos(String texto, int palabras) {
+        List<String> fragmentos = new ArrayList<>();
+        fragmentos.add(texto);
+        String[] partes = texto.split(" ");
+        for (int i = 0; i + palabras <= partes.length && palabras < partes.length; i++) {
+            fragmentos.add(String.join(" ", Arrays.copyOfRange(partes, i, i + palabras)));
+        }
+        return fragmentos;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Partición del catálogo atendida por un único hilo.
+ * <p>
+ * Todas las escrituras se encolan en la cola propia de la partición y se ejecutan en su
+ * hilo, por lo que el estado interno no necesita sincronización y dos particiones nunca
+ * compiten entre sí. Los cómics disponibles se publican en un {@link CatalogoVersionado}:
+ * las lecturas (búsqueda por código, listados, búsqueda por título) usan la versión
+ * vigente directamente, sin pasar por la cola ni esperar a las escrituras.
+ * </p>
+ * <p>
+ * La partición anota su índice en el mapa compartido de particiones por cliente cuando un
+ * cliente pasa a tener reservas en ella, y lo quita cuando deja de tenerlas. Como solo el
+ * hilo de la partición toca su propio índice, el mapa nunca omite una partición con reservas.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+class ParticionCatalogo {
+    private final int indice;
+    private final ExecutorService hilo;
+    /** Cómics disponibles por código normalizado; solo el hilo de la partición escribe. */
+    private final CatalogoVersionado disponibles;
+    /** RUT del cliente que reservó cada cómic, por código normalizado. */
+    private final HashMap<String, String> titulares;
+    /** Cómics reservados por RUT de cliente. */
+    private final HashMap<String, ArrayList<Comic>> reservasPorCliente;
+    /** Índices de las particiones donde cada cliente tiene reservas; compartido entre particiones. */
+    private final ConcurrentHashMap<String, Set<Integer>> particionesPorCliente;
+    private int vendidos;
+
+    /**
+     * Crea la partición y su hilo.
+     *
+     * @param indice                Índice de la partición, usado para nombrar el hilo.
+     * @param particionesPorCliente Mapa compartido de particiones con reservas de cada cliente.
+     */
+    ParticionCatalogo(int indice, ConcurrentHashMap<String, Set<Integer>> particionesPorCliente) {
+        this.indice = indice;
+        this.particionesPorCliente = particionesPorCliente;
+        this.hilo = Executors.newSingleThreadExecutor(tarea -> {
+            Thread thread = new Thread(tarea, "catalogo-particion-" + indice);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.disponibles = new CatalogoVersionado();
+        this.titulares = new HashMap<>();
+        this.reservasPorCliente = new HashMap<>();
+    }
+
+    /**
+     * Normaliza un código para usarlo como clave (los códigos no distinguen mayúsculas).
+     *
+     * @param codigo Código del cómic.
+     * @return Código normalizado.
+     */
+    static String clave(String codigo) {
+        return codigo.toUpperCase(Locale.ROOT);
+    }
+
+    CompletableFuture<Void> agregar(Comic comic) {
+        return ejecutar(() -> {
+            disponibles.agregar(clave(comic.getCodigo()), comic);
+            return null;
+        });
+    }
+
+    CompletableFuture<Optional<Comic>> eliminar(String codigo) {
+        return ejecutar(() -> Optional.ofNullable(quitarDisponible(clave(codigo))));
+    }
+
+    Optional<Comic> buscar(String codigo) {
+        return Optional.ofNullable(disponibles.instantanea().comics().obtener(clave(codigo)));
+    }
+
+    CompletableFuture<Resultado<Comic>> reservar(String rut, String codigo) {
+        return ejecutar(() -> {
+            String clave = clave(codigo);
+            Comic comic = quitarDisponible(clave);
+            if (comic == null) {
+                String titular = titulares.get(clave);
+                if (rut.equals(titular)) {
+                    // como en Cliente.intentarReservar: ya no está disponible, pero no hay conflicto
+                    return Resultado.fallo(Resultado.Motivo.NO_ENCONTRADO,
+                            "El comic " + codigo + " ya esta en sus reservas.");
+                }
+                if (titular != null) {
+                    return Resultado.fallo(Resultado.Motivo.YA_RESERVADO, "El comic " + codigo + " ya esta reservado.");
+                }
+                return Resultado.fallo(Resultado.Motivo.NO_ENCONTRADO, "Comic llamado " + codigo + " no encontrado.");
+            }
+            titulares.put(clave, rut);
+            ArrayList<Comic> reservas = reservasPorCliente.get(rut);
+            if (reservas == null) {
+                reservas = new ArrayList<>();
+                reservasPorCliente.put(rut, reservas);
+                particionesPorCliente.compute(rut, (r, indices) -> {
+                    Set<Integer> resultado = indices != null ? indices : ConcurrentHashMap.newKeySet();
+                    resultado.add(indice);
+                    return resultado;
+                });
+            }
+            reservas.add(comic);
+            return Resultado.exito(comic);
+        });
+    }
+
+    CompletableFuture<Boolean> liberar(String codigo) {
+        return ejecutar(() -> {
+            String clave = clave(codigo);
+            String rut = titulares.remove(clave);
+            if (rut == null) {
+                return false;
+            }
+            ArrayList<Comic> reservas = reservasPorCliente.get(rut);
+            for (int i = 0; i < reservas.size(); i++) {
+                Comic comic = reservas.get(i);
+                if (clave(comic.getCodigo()).equals(clave)) {
+                    reservas.remove(i);
+                    disponibles.agregar(clave, comic);
+                    break;
+                }
+            }
+            if (reservas.isEmpty()) {
+                reservasPorCliente.remove(rut);
+                olvidarCliente(rut);
+            }
+            return true;
+        });
+    }
+
+    CompletableFuture<List<Comic>> comprar(String rut) {
+        return ejecutar(() -> {
+            ArrayList<Comic> reservas = reservasPorCliente.remove(rut);
+            if (reservas == null) {
+                return List.of();
+            }
+            olvidarCliente(rut);
+            for (Comic comic : reservas) {
+                titulares.remove(clave(comic.getCodigo()));
+            }
+            vendidos += reservas.size();
+            return reservas;
+        });
+    }
+
+    CompletableFuture<List<Comic>> reservasDe(String rut) {
+        return ejecutar(() -> {
+            ArrayList<Comic> reservas = reservasPorCliente.get(rut);
+            return reservas == null ? List.of() : List.copyOf(reservas);
+        });
+    }
+
+    CompletableFuture<Boolean> estaReservado(String codigo) {
+        return ejecutar(() -> titulares.containsKey(clave(codigo)));
+    }
+
+    CompletableFuture<Optional<Comic>> reemplazar(Comic comic) {
+        return ejecutar(() -> {
+            String clave = clave(comic.getCodigo());
+            Comic anterior = disponibles.instantanea().comics().obtener(clave);
+            if (anterior != null) {
+                disponibles.agregar(clave, comic);
+            }
+            return Optional.ofNullable(anterior);
+        });
+    }
+
+    CompletableFuture<Boolean> agregarSiLibre(Comic comic) {
+        return ejecutar(() -> {
+            String clave = clave(comic.getCodigo());
+            if (titulares.containsKey(clave) || disponibles.instantanea().comics().obtener(clave) != null) {
+                return false;
+            }
+            disponibles.agregar(clave, comic);
+            return true;
+        });
+    }
+
+    int cantidadDisponibles() {
+        return disponibles.instantanea().comics().tamano();
+    }
+
+    List<Comic> listarDisponibles() {
+        return disponibles.instantanea().comics().valores();
+    }
+
+    List<Comic> buscarPorTitulo(String texto) {
+        String buscado = texto.toLowerCase(Locale.ROOT);
+        List<Comic> encontrados = new ArrayList<>();
+        disponibles.instantanea().comics().recorrer((clave, comic) -> {
+            if (comic.getTitulo().toLowerCase(Locale.ROOT).contains(buscado)) {
+                encontrados.add(comic);
+            }
+        });
+        return encontrados;
+    }
+
+    CompletableFuture<int[]> contar() {
+        return ejecutar(() -> new int[] {
+            disponibles.instantanea().comics().tamano(), titulares.size(), vendidos });
+    }
+
+    /**
+     * Quita esta partición de las del cliente, que ya no tiene reservas en ella. Solo se
+     * invoca desde el hilo de la partición.
+     *
+     * @param rut RUT del cliente.
+     */
+    private void olvidarCliente(String rut) {
+        particionesPorCliente.computeIfPresent(rut, (r, indices) -> {
+            indices.remove(indice);
+            return indices.isEmpty() ? null : indices;
+        });
+    }
+
+    /**
+     * Quita un cómic de los disponibles. Solo se invoca desde el hilo de la partición.
+     *
+     * @param clave Código normalizado.
+     * @return Cómic quitado, o {@code null} si no estaba disponible.
+     */
+    private Comic quitarDisponible(String clave) {
+        Comic comic = disponibles.instantanea().comics().obtener(clave);
+        if (comic != null) {
+            disponibles.eliminar(clave);
+        }
+        return comic;
+    }
+
+    void cerrar() {
+        hilo.shutdown();
+    }
+
+    /**
+     * Encola una operación en el hilo de la partición.
+     *
+     * @param operacion Operación a ejecutar.
+     * @param <T>       Tipo del resultado.
+     * @return Resultado futuro; falla con la excepción que lance la operación.
+     */
+    private <T> CompletableFuture<T> ejecutar(Callable<T> operacion) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        hilo.execute(() -> {
+            try {
+                resultado.complete(operacion.call());
+            } catch (Exception e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        return resultado;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recarga en caliente del archivo del catálogo.
+ * <p>
+ * Vigila el directorio del archivo con un {@link WatchService}. Cuando el archivo se crea o
+ * cambia, espera a que deje de cambiar ({@code comic.recarga.esperaMs}, 500 ms por defecto),
+ * lo lee fila por fila y lo compara por código con la huella (un hash de 64 bits de los
+ * campos) de cada fila conocida. Solo las filas nuevas o distintas se convierten en
+ * {@link Comic}; los códigos conocidos que ya no están se informan como eliminados. La
+ * diferencia se entrega a un {@link AplicadorRecarga}, que la aplica de una vez sobre el
+ * catálogo en memoria. Leer el archivo es lineal en sus filas, pero lo que se aplica depende
+ * solo de cuántas cambiaron.
+ * </p>
+ * <p>
+ * Si el archivo no se puede leer, no es válido o no tiene filas (por ejemplo, porque se está
+ * escribiendo), la recarga se omite y el catálogo queda como estaba. Las filas cuyo precio no
+ * es un número se informan con su número de línea y se omiten: no se agregan ni modifican, y
+ * si el código ya estaba, el cómic conocido se conserva. Las escrituras del propio
+ * sistema en el archivo también se detectan, pero como sus filas ya coinciden con la memoria
+ * no producen cambios.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class RecargaCatalogo {
+    private static final long ESPERA_MS = Long.getLong("comic.recarga.esperaMs", 500);
+
+    private final Path archivo;
+    private final AplicadorRecarga aplicador;
+    /** Huella de la última versión aplicada de cada código; se usa dentro de {@link #recargar()}. */
+    private final HashMap<String, Long> huellas = new HashMap<>();
+    private WatchService vigilante;
+    private Thread hilo;
+    private volatile boolean activa;
+
+    /**
+     * Diferencia entre el archivo y el catálogo conocido.
+     *
+     * @param agregados   Cómics con códigos nuevos.
+     * @param modificados Cómics cuyos campos cambiaron, con los valores del archivo.
+     * @param eliminados  Códigos conocidos que ya no están en el archivo.
+     * @param filas       Filas leídas del archivo.
+     */
+    public record Diferencia(List<Comic> agregados, List<Comic> modificados, Set<String> eliminados, int filas) {
+
+        /**
+         * Indica si la diferencia no tiene cambios.
+         *
+         * @return {@code true} si no hay nada que aplicar.
+         */
+        public boolean vacia() {
+            return agregados.isEmpty() && modificados.isEmpty() && eliminados.isEmpty();
+        }
+    }
+
+    /**
+     * Aplica una diferencia al catálogo en memoria.
+     */
+    @FunctionalInterface
+    public interface AplicadorRecarga {
+        /**
+         * Aplica la diferencia de forma atómica respecto de las demás operaciones del catálogo.
+         *
+         * @param diferencia Cambios leídos del archivo.
+         * @return Códigos que no se aplicaron por ahora (por ejemplo, cómics reservados); se
+         * vuelven a comparar en la próxima recarga.
+         */
+        Set<String> aplicar(Diferencia diferencia);
+    }
+
+    /**
+     * Crea la recarga sobre el catálogo ya cargado.
+     *
+     * @param archivo   Archivo a vigilar.
+     * @param comics    Cómics cargados desde el archivo, para calcular las huellas iniciales.
+     * @param aplicador Destino de las diferencias.
+     */
+    public RecargaCatalogo(Path archivo, Collection<Comic> comics, AplicadorRecarga aplicador) {
+        this.archivo = archivo.toAbsolutePath();
+        this.aplicador = aplicador;
+        for (Comic comic : comics) {
+            huellas.put(comic.getCodigo(), huella(comic));
+        }
+    }
+
+    /**
+     * Empieza a vigilar el archivo en un hilo propio ({@code recarga-catalogo}).
+     *
+     * @throws IOException Si no se puede vigilar el directorio.
+     */
+    public void iniciar() throws IOException {
+        vigilante = archivo.getFileSystem().newWatchService();
+        archivo.getParent().register(vigilante, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        activa = true;
+        hilo = new Thread(this::vigilar, "recarga-catalogo");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Deja de vigilar el archivo. Una recarga en curso termina de aplicarse.
+     */
+    public void cerrar() {
+        activa = false;
+        if (vigilante != null) {
+            try {
+                vigilante.close();
+            } catch (IOException e) {
+                System.out.println("Error al cerrar la recarga del catalogo: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lee el archivo y aplica la diferencia. Lo usa el hilo de recarga; se expone para
+     * recargar a pedido.
+     *
+     * @return Diferencia aplicada, o {@code null} si el archivo no se pudo leer.
+     */
+    public synchronized Diferencia recargar() {
+        Diferencia diferencia;
+        try {
+            diferencia = diferenciar();
+        } catch (IOException | CsvValidationException e) {
+            System.out.println("Recarga del catalogo omitida: " + e.getMessage());
+            return null;
+        }
+        if (diferencia.vacia()) {
+            return diferencia;
+        }
+        Set<String> pendientes = aplicador.aplicar(diferencia);
+        for (String codigo : diferencia.eliminados()) {
+            if (!pendientes.contains(codigo)) {
+                huellas.remove(codigo);
+            }
+        }
+        actualizarHuellas(diferencia.agregados(), pendientes);
+        actualizarHuellas(diferencia.modificados(), pendientes);
+        System.out.println("Cambios en el catalogo: " + diferencia.agregados().size() + " filas nuevas, "
+                + diferencia.modificados().size() + " modificadas, " + diferencia.eliminados().size()
+                + " quitadas (" + diferencia.filas() + " filas leidas).");
+        return diferencia;
+    }
+
+    private void actualizarHuellas(List<Comic> comics, Set<String> pendientes) {
+        for (Comic comic : comics) {
+            if (!pendientes.contains(comic.getCodigo())) {
+                huellas.put(comic.getCodigo(), huella(comic));
+            }
+        }
+    }
+
+    /**
+     * Compara el archivo con las huellas conocidas sin crear cómics para las filas iguales.
+     */
+    private Diferencia diferenciar() throws IOException, CsvValidationException {
+        List<Comic> agregados = new ArrayList<>();
+        List<Comic> modificados = new ArrayList<>();
+        Set<String> vistos = new HashSet<>(huellas.size() * 4 / 3 + 1);
+        int filas = 0;
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(archivo))) {
+            reader.readNext();
+            String[] fila;
+            while ((fila = reader.readNext()) != null) {
+                if (fila.length < 6) {
+                    continue;
+                }
+                filas++;
+                String codigo = fila[0];
+                if (!vistos.add(codigo)) {
+                    continue;
+                }
+                int precio;
+                try {
+                    precio = Integer.parseInt(fila[4].trim());
+                } catch (NumberFormatException e) {
+                    // un código conocido queda como visto para que no se elimine hasta que se corrija
+                    System.out.println("Recarga del catalogo: linea " + reader.getLinesRead()
+                            + " omitida, precio no valido: " + fila[4]);
+                    if (!huellas.containsKey(codigo)) {
+                        vistos.remove(codigo);
+                    }
+                    continue;
+                }
+                Long conocida = huellas.get(codigo);
+                if (conocida == null) {
+                    agregados.add(new Comic(fila[0], fila[1], fila[2], fila[3], precio, fila[5]));
+                } else if (conocida != huella(fila[0], fila[1], fila[2], fila[3], String.valueOf(precio), fila[5])) {
+                    modificados.add(new Comic(fila[0], fila[1], fila[2], fila[3], precio, fila[5]));
+                }
+            }
+        }
+        if (filas == 0 && !huellas.isEmpty()) {
+            throw new IOException("el archivo no tiene filas");
+        }
+        Set<String> eliminados = new HashSet<>();
+        if (vistos.size() - agregados.size() < huellas.size()) {
+            for (String codigo : huellas.keySet()) {
+                if (!vistos.contains(codigo)) {
+                    eliminados.add(codigo);
+                }
+            }
+        }
+        return new Diferencia(agregados, modificados, eliminados, filas);
+    }
+
+    /**
+     * Bucle del hilo: espera eventos del archivo, deja que se calme y recarga.
+     */
+    private void vigilar() {
+        while (activa) {
+            try {
+                WatchKey clave = vigilante.take();
+                boolean cambio = contieneArchivo(clave);
+                // seguir juntando eventos mientras el archivo se siga escribiendo
+                while ((clave = vigilante.poll(ESPERA_MS, TimeUnit.MILLISECONDS)) != null) {
+                    cambio |= contieneArchivo(clave);
+                }
+                if (cambio && activa) {
+                    recargar();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private boolean contieneArchivo(WatchKey clave) {
+        boolean contiene = false;
+        for (WatchEvent<?> evento : clave.pollEvents()) {
+            if (evento.context() instanceof Path nombre && nombre.equals(archivo.getFileName())) {
+                contiene = true;
+            }
+        }
+        clave.reset();
+        return contiene;
+    }
+
+    private static long huella(Comic comic) {
+        return huella(comic.getCodigo(), comic.getTitulo(), comic.getAutor(), comic.getEditorial(),
+                String.valueOf(comic.getPrecio()), comic.getTipoComic());
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits de los campos de una fila, separados para que "ab","c" y "a","bc"
+     * no coincidan.
+     */
+    private static long huella(String... campos) {
+        long hash = 0xcbf29ce484222325L;
+        for (String campo : campos) {
+            for (int i = 0; i < campo.length(); i++) {
+                hash ^= campo.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol radix para autocompletar títulos y autores de los cómics disponibles.
+ * <p>
+ * Se indexan el título y el autor normalizados (minúsculas, sin acentos, espacios simples)
+ * a partir de cada palabra, de modo que "knight" encuentra "The Dark Knight Returns". Las
+ * aristas guardan tramos de texto, no caracteres sueltos, y cada nodo guarda en caché los
+ * {@link #TOP_K} primeros cómics (por título) de todo su subárbol: buscar un prefijo solo
+ * recorre el prefijo, sin importar cuántos cómics coincidan.
+ * </p>
+ * <p>
+ * Agregar actualiza las cachés del camino de cada clave; quitar borra las entradas y
+ * recalcula esas cachés desde abajo a partir de las de los hijos. Se mantiene con los
+ * eventos del bus, igual que {@link IndiceFacetas}, con un cerrojo de lectura y escritura.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class TrieTitulos implements SuscriptorEventos {
+    /** Cantidad de sugerencias que guarda cada nodo. */
+    public static final int TOP_K = 10;
+    private static final Comic[] VACIO = new Comic[0];
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final Nodo raiz = new Nodo("");
+    /** Cómics indexados por código normalizado, para poder quitarlos con sus claves. */
+    private final HashMap<String, Comic> indexados = new HashMap<>();
+
+    /**
+     * Nodo del árbol. La etiqueta es el tramo de texto de la arista que llega a él.
+     */
+    private static final class Nodo {
+        String etiqueta;
+        char[] primeros = new char[0];
+        Nodo[] hijos = new Nodo[0];
+        /** Cómics cuya clave termina exactamente en este nodo. */
+        List<Comic> propios = List.of();
+        /** Primeros {@link #TOP_K} cómics del subárbol, ordenados. */
+        Comic[] mejores = VACIO;
+
+        Nodo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        Nodo hijo(char primero) {
+            int i = Arrays.binarySearch(primeros, primero);
+            return i >= 0 ? hijos[i] : null;
+        }
+
+        void ponerHijo(Nodo hijo) {
+            char primero = hijo.etiqueta.charAt(0);
+            int i = Arrays.binarySearch(primeros, primero);
+            if (i >= 0) {
+                hijos[i] = hijo;
+                return;
+            }
+            i = -i - 1;
+            char[] nuevosPrimeros = new char[primeros.length + 1];
+            Nodo[] nuevosHijos = new Nodo[hijos.length + 1];
+            System.arraycopy(primeros, 0, nuevosPrimeros, 0, i);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, i);
+            nuevosPrimeros[i] = primero;
+            nuevosHijos[i] = hijo;
+            System.arraycopy(primeros, i, nuevosPrimeros, i + 1, primeros.length - i);
+            System.arraycopy(hijos, i, nuevosHijos, i + 1, hijos.length - i);
+            primeros = nuevosPrimeros;
+            hijos = nuevosHijos;
+        }
+
+        void quitarHijo(char primero) {
+            int i = Arrays.binarySearch(primeros, primero);
+            if (i < 0) {
+                return;
+            }
+            char[] nuevosPrimeros = new char[primeros.length - 1];
+            Nodo[] nuevosHijos = new Nodo[hijos.length - 1];
+            System.arraycopy(primeros, 0, nuevosPrimeros, 0, i);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, i);
+            System.arraycopy(primeros, i + 1, nuevosPrimeros, i, primeros.length - i - 1);
+            System.arraycopy(hijos, i + 1, nuevosHijos, i, hijos.length - i - 1);
+            primeros = nuevosPrimeros;
+            hijos = nuevosHijos;
+        }
+
+        /** Ofrece un cómic a la caché; se queda si está entre los primeros. */
+        void ofrecer(Comic comic) {
+            for (Comic actual : mejores) {
+                if (actual == comic) {
+                    return;
+                }
+            }
+            if (mejores.length == TOP_K && comic.compareTo(mejores[TOP_K - 1]) >= 0) {
+                return;
+            }
+            int i = -Arrays.binarySearch(mejores, comic) - 1;
+            Comic[] nuevos = Arrays.copyOf(mejores, Math.min(mejores.length + 1, TOP_K));
+            System.arraycopy(mejores, i, nuevos, i + 1, nuevos.length - i - 1);
+            nuevos[i] = comic;
+            mejores = nuevos;
+        }
+
+        /** Recalcula la caché a partir de los cómics propios y las cachés de los hijos. */
+        void recalcular() {
+            Set<Comic> candidatos = new LinkedHashSet<>(propios);
+            for (Nodo hijo : hijos) {
+                candidatos.addAll(Arrays.asList(hijo.mejores));
+            }
+            Comic[] ordenados = candidatos.toArray(VACIO);
+            Arrays.sort(ordenados);
+            mejores = Arrays.copyOf(ordenados, Math.min(ordenados.length, TOP_K));
+        }
+    }
+
+    /**
+     * Indexa un conjunto de cómics disponibles.
+     *
+     * @param comics Cómics a indexar.
+     */
+    public void cargar(Collection<Comic> comics) {
+        cerrojo.writeLock().lock();
+        try {
+            for (Comic comic : comics) {
+                agregarSinCerrojo(comic);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un cómic disponible.
+     *
+     * @param comic Cómic a indexar.
+     */
+    public void agregar(Comic comic) {
+        cerrojo.writeLock().lock();
+        try {
+            agregarSinCerrojo(comic);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un cómic del índice.
+     *
+     * @param codigo Código del cómic.
+     */
+    public void quitar(String codigo) {
+        cerrojo.writeLock().lock();
+        try {
+            quitarSinCerrojo(codigo);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el índice con un lote de eventos del bus.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        cerrojo.writeLock().lock();
+        try {
+            for (EventoDominio evento : lote) {
+                if (evento instanceof ComicAgregado agregado) {
+                    agregarSinCerrojo(agregado.comic());
+                } else if (evento instanceof ReservaExpirada expirada) {
+                    agregarSinCerrojo(expirada.comic());
+                } else if (evento instanceof ComicEliminado eliminado) {
+                    quitarSinCerrojo(eliminado.comic().getCodigo());
+                } else if (evento instanceof ComicReservado reservado) {
+                    quitarSinCerrojo(reservado.comic().getCodigo());
+                } else if (evento instanceof ComicVendido vendido) {
+                    quitarSinCerrojo(vendido.comic().getCodigo());
+                }
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los primeros cómics (por título) cuyo título o autor tiene una palabra que
+     * empieza con el texto indicado.
+     *
+     * @param prefijo Texto escrito (sin distinguir mayúsculas ni acentos).
+     * @return Hasta {@link #TOP_K} cómics, ordenados por título.
+     */
+    public List<Comic> completar(String prefijo) {
+        String buscado = normalizar(prefijo);
+        if (buscado.isEmpty()) {
+            return List.of();
+        }
+        cerrojo.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            int i = 0;
+            while (i < buscado.length()) {
+                Nodo hijo = nodo.hijo(buscado.charAt(i));
+                if (hijo == null) {
+                    return List.of();
+                }
+                String etiqueta = hijo.etiqueta;
+                int comunes = comunes(etiqueta, buscado, i);
+                if (comunes < etiqueta.length() && i + comunes < buscado.length()) {
+                    return List.of();
+                }
+                i += comunes;
+                nodo = hijo;
+            }
+            return List.of(nodo.mejores);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private void agregarSinCerrojo(Comic comic) {
+        String codigo = ParticionCatalogo.clave(comic.getCodigo());
+        if (indexados.containsKey(codigo)) {
+            quitarSinCerrojo(codigo);
+        }
+        indexados.put(codigo, comic);
+        for (String clave : claves(comic)) {
+            Nodo nodo = raiz;
+            nodo.ofrecer(comic);
+            int i = 0;
+            while (i < clave.length()) {
+                Nodo hijo = nodo.hijo(clave.charAt(i));
+                if (hijo == null) {
+                    hijo = new Nodo(clave.substring(i));
+                    nodo.ponerHijo(hijo);
+                    i = clave.length();
+                } else {
+                    int comunes = comunes(hijo.etiqueta, clave, i);
+                    if (comunes < hijo.etiqueta.length()) {
+                        hijo = dividir(nodo, hijo, comunes);
+                    }
+                    i += comunes;
+                }
+                nodo = hijo;
+                nodo.ofrecer(comic);
+            }
+            if (!nodo.propios.contains(comic)) {
+                List<Comic> propios = new ArrayList<>(nodo.propios);
+                propios.add(comic);
+                nodo.propios = propios;
+            }
+        }
+    }
+
+    private void quitarSinCerrojo(String codigo) {
+        Comic comic = indexados.remove(ParticionCatalogo.clave(codigo));
+        if (comic == null) {
+            return;
+        }
+        // primero se quitan todas las entradas, después se recalculan los caminos desde abajo,
+        // para que ninguna caché recupere el cómic desde otra clave todavía no quitada
+        List<Nodo> afectados = new ArrayList<>();
+        List<Nodo> padres = new ArrayList<>();
+        List<Integer> profundidades = new ArrayList<>();
+        for (String clave : claves(comic)) {
+            Nodo nodo = raiz;
+            afectados.add(raiz);
+            padres.add(null);
+            profundidades.add(0);
+            int i = 0;
+            int profundidad = 0;
+            while (nodo != null && i < clave.length()) {
+                Nodo padre = nodo;
+                nodo = nodo.hijo(clave.charAt(i));
+                if (nodo != null) {
+                    i += nodo.etiqueta.length();
+                    afectados.add(nodo);
+                    padres.add(padre);
+                    profundidades.add(++profundidad);
+                }
+            }
+            if (nodo != null && nodo.propios.contains(comic)) {
+                List<Comic> propios = new ArrayList<>(nodo.propios);
+                propios.remove(comic);
+                nodo.propios = propios.isEmpty() ? List.of() : propios;
+            }
+        }
+        Integer[] orden = new Integer[afectados.size()];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, Comparator.comparingInt((Integer i) -> profundidades.get(i)).reversed());
+        for (Integer i : orden) {
+            Nodo nodo = afectados.get(i);
+            nodo.recalcular();
+            Nodo padre = padres.get(i);
+            if (padre != null && nodo.propios.isEmpty() && nodo.hijos.length == 0) {
+                padre.quitarHijo(nodo.etiqueta.charAt(0));
+            }
+        }
+    }
+
+    /**
+     * Divide la arista hacia {@code hijo} después de {@code comunes} caracteres.
+     *
+     * @return Nodo intermedio nuevo.
+     */
+    private static Nodo dividir(Nodo padre, Nodo hijo, int comunes) {
+        Nodo intermedio = new Nodo(hijo.etiqueta.substring(0, comunes));
+        intermedio.mejores = hijo.mejores.clone();
+        hijo.etiqueta = hijo.etiqueta.substring(comunes);
+        padre.ponerHijo(intermedio);
+        intermedio.ponerHijo(hijo);
+        return intermedio;
+    }
+
+    private static int comunes(String etiqueta, String texto, int desde) {
+        int maximo = Math.min(etiqueta.length(), texto.length() - desde);
+        int i = 0;
+        while (i < maximo && etiqueta.charAt(i) == texto.charAt(desde + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Devuelve las claves de un cómic: título y autor normalizados, desde cada palabra.
+     */
+    private static Set<String> claves(Comic comic) {
+        Set<String> claves = new LinkedHashSet<>();
+        for (String texto : new String[] { comic.getTitulo(), comic.getAutor() }) {
+            String normalizado = normalizar(texto);
+            int inicio = 0;
+            while (inicio < normalizado.length()) {
+                claves.add(normalizado.substring(inicio));
+                int espacio = normalizado.indexOf(' ', inicio);
+                if (espacio < 0) {
+                    break;
+                }
+                inicio = espacio + 1;
+            }
+        }
+        return claves;
+    }
+
+    /**
+     * Normaliza un texto: minúsculas, sin acentos y con espacios simples.
+     *
+     * @param texto Texto original.
+     * @return Texto normalizado.
+     */
+    public static String normalizar(String texto) {
+        String descompuesto = Normalizer.isNormalized(texto, Normalizer.Form.NFD) ? texto
+                : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(descompuesto.length());
+        boolean espacio = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.isWhitespace(c)) {
+                espacio = normalizado.length() > 0;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                if (espacio) {
+                    normalizado.append(' ');
+                    espacio = false;
+                }
+                normalizado.append(c);
+            }
+        }
+        return normalizado.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compara las implementaciones escalar y vectorial de {@link ColumnaPrecios}.
+ * <p>
+ * Genera una columna de precios aleatorios y, para cada operación, ejecuta varias
+ * iteraciones de calentamiento (para que el compilador JIT optimice ambas versiones) y
+ * luego mide las iteraciones indicadas. Informa la mediana y el mínimo en milisegundos y
+ * la aceleración de la versión vectorial, y comprueba que ambas den el mismo resultado.
+ * </p>
+ * <p>
+ * Parámetros ({@code clave=valor}): {@code filas} (10000000), {@code calentamiento} (10),
+ * {@code iteraciones} (20), {@code desde} y {@code hasta} (rango del filtro, 10000 a 20000)
+ * y {@code salida} (benchmark-precios.csv). La versión vectorial requiere iniciar la JVM
+ * con {@code --add-modules jdk.incubator.vector}.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class BenchmarkPrecios {
+    private static final int PRECIO_MINIMO = 500;
+    private static final int PRECIO_MAXIMO = 50000;
+
+    private final int filas;
+    private final int calentamiento;
+    private final int iteraciones;
+    private final int desde;
+    private final int hasta;
+    private final String archivoSalida;
+
+    /**
+     * Crea el benchmark a partir de parámetros {@code clave=valor}.
+     *
+     * @param parametros Parámetros del benchmark.
+     */
+    public BenchmarkPrecios(String[] parametros) {
+        Map<String, String> valores = new HashMap<>();
+        for (String parametro : parametros) {
+            int separador = parametro.indexOf('=');
+            if (separador > 0) {
+                valores.put(parametro.substring(0, separador).trim(), parametro.substring(separador + 1).trim());
+            }
+        }
+        this.filas = Integer.parseInt(valores.getOrDefault("filas", "10000000"));
+        this.calentamiento = Integer.parseInt(valores.getOrDefault("calentamiento", "10"));
+        this.iteraciones = Integer.parseInt(valores.getOrDefault("iteraciones", "20"));
+        this.desde = Integer.parseInt(valores.getOrDefault("desde", "10000"));
+        this.hasta = Integer.parseInt(valores.getOrDefault("hasta", "20000"));
+        this.archivoSalida = valores.getOrDefault("salida", "benchmark-precios.csv");
+        if (filas <= 0 || iteraciones <= 0 || calentamiento < 0) {
+            throw new IllegalArgumentException("filas e iteraciones deben ser mayores que cero.");
+        }
+    }
+
+    /**
+     * Ejecuta el benchmark y escribe los resultados en pantalla y en el archivo de salida.
+     *
+     * @throws IOException Si no se puede escribir el archivo de salida.
+     */
+    public void ejecutar() throws IOException {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        int[] precios = new int[filas];
+        for (int i = 0; i < filas; i++) {
+            precios[i] = aleatorio.nextInt(PRECIO_MINIMO, PRECIO_MAXIMO + 1);
+        }
+
+        List<KernelesPrecios> implementaciones = new ArrayList<>();
+        implementaciones.add(ColumnaPrecios.escalares());
+        if (ColumnaPrecios.vectoriales() != null) {
+            implementaciones.add(ColumnaPrecios.vectoriales());
+        } else {
+            System.out.println("Vector API no disponible (inicie con --add-modules jdk.incubator.vector);"
+                    + " solo se mide la version escalar.");
+        }
+
+        Map<String, ToLongFunction<ColumnaPrecios>> operaciones = new LinkedHashMap<>();
+        operaciones.put("suma", ColumnaPrecios::suma);
+        operaciones.put("minimo", ColumnaPrecios::minimo);
+        operaciones.put("maximo", ColumnaPrecios::maximo);
+        operaciones.put("contar_entre", columna -> columna.contarEntre(desde, hasta));
+        operaciones.put("filtrar_entre", columna -> {
+            int[] posiciones = columna.filtrarEntre(desde, hasta);
+            return posiciones.length == 0 ? 0 : posiciones.length * 31L + posiciones[posiciones.length - 1];
+        });
+
+        System.out.printf(Locale.ROOT, "Filas: %d, calentamiento: %d, iteraciones: %d%n", filas, calentamiento, iteraciones);
+        System.out.printf(Locale.ROOT, "%-14s %-16s %12s %12s %12s%n", "operacion", "implementacion", "mediana_ms",
+                "minimo_ms", "aceleracion");
+
+        try (BufferedWriter salida = Files.newBufferedWriter(Path.of(archivoSalida))) {
+            salida.write("operacion,implementacion,filas,mediana_ms,minimo_ms,filas_por_segundo,aceleracion");
+            salida.newLine();
+            for (Map.Entry<String, ToLongFunction<ColumnaPrecios>> operacion : operaciones.entrySet()) {
+                double medianaBase = 0;
+                Long resultadoBase = null;
+                for (KernelesPrecios kerneles : implementaciones) {
+                    ColumnaPrecios columna = new ColumnaPrecios(precios, kerneles);
+                    double[] tiempos = medir(columna, operacion.getValue());
+                    long resultado = operacion.getValue().applyAsLong(columna);
+                    if (resultadoBase == null) {
+                        resultadoBase = resultado;
+                        medianaBase = tiempos[0];
+                    } else if (resultado != resultadoBase) {
+                        throw new IllegalStateException("Resultados distintos en " + operacion.getKey() + ": "
+                                + resultadoBase + " y " + resultado);
+                    }
+                    double aceleracion = medianaBase / tiempos[0];
+                    System.out.printf(Locale.ROOT, "%-14s %-16s %12.3f %12.3f %11.2fx%n", operacion.getKey(),
+                            kerneles.nombre(), tiempos[0], tiempos[1], aceleracion);
+                    salida.write(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.0f,%.2f", operacion.getKey(),
+                            kerneles.nombre(), filas, tiempos[0], tiempos[1], filas / (tiempos[0] / 1000.0),
+                            aceleracion));
+                    salida.newLine();
+                }
+            }
+        }
+        System.out.println("Resultados guardados en " + archivoSalida);
+    }
+
+    /**
+     * Mide una operación.
+     *
+     * @return Mediana y mínimo en milisegundos.
+     */
+    private double[] medir(ColumnaPrecios columna, ToLongFunction<ColumnaPrecios> operacion) {
+        long sumidero = 0;
+        for (int i = 0; i < calentamiento; i++) {
+            sumidero += operacion.applyAsLong(columna);
+        }
+        double[] tiempos = new double[iteraciones];
+        for (int i = 0; i < iteraciones; i++) {
+            long inicio = System.nanoTime();
+            sumidero += operacion.applyAsLong(columna);
+            tiempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+        }
+        if (sumidero == 42) {
+            // evita que el JIT descarte las llamadas por no usar su resultado
+            System.out.print("");
+        }
+        Arrays.sort(tiempos);
+        return new double[] { tiempos[iteraciones / 2], tiempos[0] };
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Columna de precios en un arreglo {@code int[]} contiguo, para filtrar y agregar sin
+ * recorrer objetos {@link Comic}.
+ * <p>
+ * Las posiciones de la columna coinciden con el orden en que se agregaron los precios
+ * (por ejemplo, el de la lista de la que se creó con {@link #desde(Collection)}), de modo
+ * que las posiciones que devuelve {@link #filtrarEntre(int, int)} sirven de índice en esa
+ * lista. Las sumas se devuelven como {@code long} y no se desbordan.
+ * </p>
+ * <p>
+ * Si la JVM se inició con {@code --add-modules jdk.incubator.vector}, las operaciones usan
+ * la Vector API; si no, o si se define {@code -Dcomic.precios.escalar=true}, usan la
+ * implementación escalar con los mismos resultados. No es segura para hilos mientras se
+ * agregan precios.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ColumnaPrecios {
+    private static final KernelesPrecios ESCALARES = new KernelesEscalares();
+    private static final KernelesPrecios VECTORIALES = cargarVectoriales();
+
+    private final KernelesPrecios kerneles;
+    private int[] precios;
+    private int cantidad;
+
+    /**
+     * Crea una columna vacía.
+     *
+     * @param capacidad Capacidad inicial.
+     */
+    public ColumnaPrecios(int capacidad) {
+        this(capacidad, predeterminados());
+    }
+
+    ColumnaPrecios(int capacidad, KernelesPrecios kerneles) {
+        this.precios = new int[Math.max(capacidad, 1)];
+        this.kerneles = kerneles;
+    }
+
+    ColumnaPrecios(int[] precios, KernelesPrecios kerneles) {
+        this.precios = precios;
+        this.cantidad = precios.length;
+        this.kerneles = kerneles;
+    }
+
+    /**
+     * Crea una columna con los precios de los cómics, en el orden de la colección.
+     *
+     * @param comics Cómics de los que se toman los precios.
+     * @return Columna nueva.
+     */
+    public static ColumnaPrecios desde(Collection<Comic> comics) {
+        ColumnaPrecios columna = new ColumnaPrecios(comics.size());
+        for (Comic comic : comics) {
+            columna.agregar(comic.getPrecio());
+        }
+        return columna;
+    }
+
+    /**
+     * Indica si las operaciones usan la Vector API.
+     *
+     * @return {@code true} si el módulo {@code jdk.incubator.vector} está disponible y habilitado.
+     */
+    public static boolean esVectorial() {
+        return predeterminados() != ESCALARES;
+    }
+
+    /**
+     * Agrega un precio al final de la columna.
+     *
+     * @param precio Precio a agregar.
+     */
+    public void agregar(int precio) {
+        if (cantidad == precios.length) {
+            precios = Arrays.copyOf(precios, cantidad * 2);
+        }
+        precios[cantidad++] = precio;
+    }
+
+    /**
+     * Devuelve la cantidad de precios.
+     *
+     * @return Número de precios.
+     */
+    public int tamano() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve el precio en la posición indicada.
+     *
+     * @param posicion Posición en la columna.
+     * @return Precio.
+     */
+    public int obtener(int posicion) {
+        if (posicion < 0 || posicion >= cantidad) {
+            throw new IndexOutOfBoundsException(posicion);
+        }
+        return precios[posicion];
+    }
+
+    /**
+     * Suma todos los precios.
+     *
+     * @return Suma, o 0 si la columna está vacía.
+     */
+    public long suma() {
+        return kerneles.suma(precios, cantidad);
+    }
+
+    /**
+     * Devuelve el menor precio.
+     *
+     * @return Menor precio.
+     * @throws IllegalStateException Si la columna está vacía.
+     */
+    public int minimo() {
+        validarNoVacia();
+        return kerneles.minimo(precios, cantidad);
+    }
+
+    /**
+     * Devuelve el mayor precio.
+     *
+     * @return Mayor precio.
+     * @throws IllegalStateException Si la columna está vacía.
+     */
+    public int maximo() {
+        validarNoVacia();
+        return kerneles.maximo(precios, cantidad);
+    }
+
+    /**
+     * Devuelve el precio promedio.
+     *
+     * @return Promedio, o 0 si la columna está vacía.
+     */
+    public double promedio() {
+        return cantidad == 0 ? 0 : (double) suma() / cantidad;
+    }
+
+    /**
+     * Cuenta los precios entre dos valores, ambos incluidos.
+     *
+     * @param desde Precio mínimo.
+     * @param hasta Precio máximo.
+     * @return Cantidad de precios en el rango.
+     */
+    public int contarEntre(int desde, int hasta) {
+        return kerneles.contarEntre(precios, cantidad, desde, hasta);
+    }
+
+    /**
+     * Devuelve las posiciones de los precios entre dos valores, ambos incluidos, en orden.
+     *
+     * @param desde Precio mínimo.
+     * @param hasta Precio máximo.
+     * @return Posiciones en la columna.
+     */
+    public int[] filtrarEntre(int desde, int hasta) {
+        int[] salida = new int[cantidad];
+        int encontrados = kerneles.filtrarEntre(precios, cantidad, desde, hasta, salida);
+        return Arrays.copyOf(salida, encontrados);
+    }
+
+    private void validarNoVacia() {
+        if (cantidad == 0) {
+            throw new IllegalStateException("La columna de precios esta vacia.");
+        }
+    }
+
+    static KernelesPrecios escalares() {
+        return ESCALARES;
+    }
+
+    /**
+     * Devuelve la implementación vectorial, o {@code null} si no está disponible.
+     */
+    static KernelesPrecios vectoriales() {
+        return VECTORIALES;
+    }
+
+    private static KernelesPrecios predeterminados() {
+        return VECTORIALES == null || Boolean.getBoolean("comic.precios.escalar") ? ESCALARES : VECTORIALES;
+    }
+
+    private static KernelesPrecios cargarVectoriales() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return new KernelesVectoriales();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+import com.mycompany.comiccollectorsystem.catalogo.TrieTitulos;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reglas de promoción compiladas para cotizar un carrito de una sola pasada.
+ * <p>
+ * Al compilar, los descuentos porcentuales y las promociones "lleva N" quedan en tablas hash
+ * por editorial y por tipo normalizados (ver {@link TrieTitulos#normalizar}), y los umbrales
+ * del carrito en un arreglo ordenado. Cotizar consulta esas tablas una vez por cómic y busca
+ * el umbral en forma binaria, así que el costo depende del tamaño del carrito y no de la
+ * cantidad de reglas activas. Los precios del carrito se copian a una {@link ColumnaPrecios}
+ * para sumar el subtotal; si no hay reglas por editorial ni por tipo, los cómics no se
+ * recorren de nuevo.
+ * </p>
+ * <p>
+ * Los descuentos se aplican en este orden:
+ * </p>
+ * <ol>
+ *   <li>A cada cómic, el mayor porcentaje entre el de su editorial y el de su tipo (no se
+ *   acumulan).</li>
+ *   <li>Por cada N cómics de un grupo "lleva N" (primero por editorial, si no por tipo), el
+ *   de menor precio ya descontado es gratis.</li>
+ *   <li>Al resto del carrito, el porcentaje del mayor umbral alcanzado.</li>
+ * </ol>
+ * <p>
+ * Los montos son {@code long}, las sumas fallan con {@link ArithmeticException} en vez de
+ * desbordarse y los descuentos porcentuales se redondean hacia abajo. Una vez compilado es
+ * inmutable y seguro para hilos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public final class EvaluadorPrecios {
+    /** Textos normalizados que se guardan; las editoriales y tipos distintos son pocos. */
+    private static final int MAXIMO_NORMALIZADOS = 4096;
+    private static volatile EvaluadorPrecios vigente;
+
+    private final HashMap<String, Descuento> porcentajePorEditorial = new HashMap<>();
+    private final HashMap<String, Descuento> porcentajePorTipo = new HashMap<>();
+    private final HashMap<String, Grupo> llevaNPorEditorial = new HashMap<>();
+    private final HashMap<String, Grupo> llevaNPorTipo = new HashMap<>();
+    private final long[] umbrales;
+    private final Descuento[] descuentosUmbral;
+    private final int cantidadReglas;
+    private final ConcurrentHashMap<String, String> normalizados = new ConcurrentHashMap<>();
+
+    /**
+     * Resultado de cotizar un carrito.
+     *
+     * @param subtotal   Suma de los precios de lista.
+     * @param descuento  Suma de todos los descuentos.
+     * @param total      Monto a pagar.
+     * @param descuentos Monto descontado por cada promoción aplicada, en orden de aplicación.
+     */
+    public record Cotizacion(long subtotal, long descuento, long total, Map<String, Long> descuentos) {
+
+        /**
+         * Reparte el total entre los cómics cotizados en proporción a su precio de lista. El
+         * último recibe el resto del redondeo, así que los montos siempre suman {@link #total()}.
+         *
+         * @param carrito Los mismos cómics, en el mismo orden, que se pasaron a {@code cotizar}.
+         * @return Monto cobrado por cada cómic del carrito.
+         * @throws ArithmeticException Si algún monto no cabe en un {@code long}.
+         */
+        public long[] prorratear(List<Comic> carrito) {
+            long[] montos = new long[carrito.size()];
+            long asignado = 0;
+            for (int i = 0; i < montos.length - 1; i++) {
+                montos[i] = subtotal == 0 ? 0
+                        : Math.multiplyExact(total, (long) carrito.get(i).getPrecio()) / subtotal;
+                asignado += montos[i];
+            }
+            if (montos.length > 0) {
+                montos[montos.length - 1] = total - asignado;
+            }
+            return montos;
+        }
+    }
+
+    private record Descuento(int porcentaje, String etiqueta) {
+    }
+
+    private record Grupo(int cantidad, String etiqueta) {
+    }
+
+    /** Precios ya descontados de los cómics de un grupo "lleva N" del carrito. */
+    private static final class Acumulado {
+        private long[] netos = new long[4];
+        private int cantidad;
+
+        private void agregar(long neto) {
+            if (cantidad == netos.length) {
+                netos = Arrays.copyOf(netos, cantidad * 2);
+            }
+            netos[cantidad++] = neto;
+        }
+    }
+
+    private EvaluadorPrecios(List<ReglaPromocion> reglas) {
+        HashMap<Long, Descuento> porUmbral = new HashMap<>();
+        for (ReglaPromocion regla : reglas) {
+            switch (regla) {
+                case ReglaPromocion.DescuentoPorcentaje descuento -> {
+                    String clave = TrieTitulos.normalizar(descuento.valor());
+                    Descuento nuevo = new Descuento(descuento.porcentaje(),
+                            descuento.porcentaje() + "% " + descuento.valor());
+                    porcentajes(descuento.campo()).merge(clave, nuevo,
+                            (actual, otro) -> otro.porcentaje() > actual.porcentaje() ? otro : actual);
+                }
+                case ReglaPromocion.LlevaN llevaN -> {
+                    String clave = TrieTitulos.normalizar(llevaN.valor());
+                    Grupo nuevo = new Grupo(llevaN.cantidad(),
+                            "Lleva " + llevaN.cantidad() + " paga " + (llevaN.cantidad() - 1) + " " + llevaN.valor());
+                    gruposLlevaN(llevaN.campo()).merge(clave, nuevo,
+                            (actual, otro) -> otro.cantidad() < actual.cantidad() ? otro : actual);
+                }
+                case ReglaPromocion.UmbralCarrito umbral -> porUmbral.merge(umbral.minimo(),
+                        new Descuento(umbral.porcentaje(), umbral.porcentaje() + "% desde " + umbral.minimo()),
+                        (actual, otro) -> otro.porcentaje() > actual.porcentaje() ? otro : actual);
+            }
+        }
+        this.umbrales = porUmbral.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        this.descuentosUmbral = new Descuento[umbrales.length];
+        Descuento mejor = null;
+        for (int i = 0; i < umbrales.length; i++) {
+            // un umbral mayor nunca debe descontar menos que uno menor ya alcanzado
+            Descuento propio = porUmbral.get(umbrales[i]);
+            if (mejor == null || propio.porcentaje() >= mejor.porcentaje()) {
+                mejor = propio;
+            }
+            descuentosUmbral[i] = mejor;
+        }
+        this.cantidadReglas = reglas.size();
+    }
+
+    /**
+     * Compila un conjunto de reglas.
+     *
+     * @param reglas Reglas a compilar.
+     * @return Evaluador de las reglas.
+     */
+    public static EvaluadorPrecios compilar(List<ReglaPromocion> reglas) {
+        return new EvaluadorPrecios(reglas);
+    }
+
+    /**
+     * Devuelve el evaluador de las promociones vigentes. La primera vez compila las reglas
+     * del archivo {@code comic.promociones.archivo} ({@code promociones.txt} por defecto);
+     * si no existe o tiene errores, no hay promociones.
+     *
+     * @return Evaluador vigente.
+     */
+    public static EvaluadorPrecios vigente() {
+        EvaluadorPrecios evaluador = vigente;
+        if (evaluador == null) {
+            synchronized (EvaluadorPrecios.class) {
+                evaluador = vigente;
+                if (evaluador == null) {
+                    evaluador = cargar(Path.of(System.getProperty("comic.promociones.archivo", "promociones.txt")));
+                    vigente = evaluador;
+                }
+            }
+        }
+        return evaluador;
+    }
+
+    /**
+     * Reemplaza las promociones vigentes. Las cotizaciones en curso terminan con las anteriores.
+     *
+     * @param evaluador Nuevo evaluador.
+     */
+    public static void usar(EvaluadorPrecios evaluador) {
+        vigente = evaluador;
+    }
+
+    private static EvaluadorPrecios cargar(Path archivo) {
+        if (!Files.exists(archivo)) {
+            return compilar(List.of());
+        }
+        try {
+            EvaluadorPrecios evaluador = compilar(ReglaPromocion.leer(archivo));
+            System.out.println("Promociones cargadas: " + evaluador.getCantidadReglas() + ".");
+            return evaluador;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error al cargar las promociones: " + e.getMessage());
+            return compilar(List.of());
+        }
+    }
+
+    /**
+     * Cotiza un carrito.
+     *
+     * @param carrito Cómics a pagar.
+     * @return Subtotal, descuentos y total del carrito.
+     * @throws ArithmeticException Si algún monto no cabe en un {@code long}.
+     */
+    public Cotizacion cotizar(Collection<Comic> carrito) {
+        ColumnaPrecios precios = ColumnaPrecios.desde(carrito);
+        long subtotal = precios.suma();
+        long descuento = 0;
+        Map<String, Long> descuentos = null;
+        IdentityHashMap<Grupo, Acumulado> grupos = null;
+        boolean porComic = !porcentajePorEditorial.isEmpty() || !porcentajePorTipo.isEmpty()
+                || !llevaNPorEditorial.isEmpty() || !llevaNPorTipo.isEmpty();
+        int posicion = 0;
+        for (Comic comic : carrito) {
+            if (!porComic) {
+                break;
+            }
+            long precio = precios.obtener(posicion++);
+            String editorial = normalizado(comic.getEditorial());
+            String tipo = normalizado(comic.getTipoComic());
+            Descuento porcentaje = mayor(porcentajePorEditorial.get(editorial), porcentajePorTipo.get(tipo));
+            long neto = precio;
+            if (porcentaje != null) {
+                long monto = precio * porcentaje.porcentaje() / 100;
+                if (monto > 0) {
+                    neto -= monto;
+                    descuento = Math.addExact(descuento, monto);
+                    descuentos = sumar(descuentos, porcentaje.etiqueta(), monto);
+                }
+            }
+            Grupo grupo = llevaNPorEditorial.get(editorial);
+            if (grupo == null) {
+                grupo = llevaNPorTipo.get(tipo);
+            }
+            if (grupo != null) {
+                if (grupos == null) {
+                    grupos = new IdentityHashMap<>();
+                }
+                grupos.computeIfAbsent(grupo, g -> new Acumulado()).agregar(neto);
+            }
+        }
+        if (grupos != null) {
+            for (Map.Entry<Grupo, Acumulado> entrada : grupos.entrySet()) {
+                Acumulado acumulado = entrada.getValue();
+                int gratis = acumulado.cantidad / entrada.getKey().cantidad();
+                if (gratis == 0) {
+                    continue;
+                }
+                Arrays.sort(acumulado.netos, 0, acumulado.cantidad);
+                long monto = 0;
+                for (int i = 0; i < gratis; i++) {
+                    monto = Math.addExact(monto, acumulado.netos[i]);
+                }
+                if (monto > 0) {
+                    descuento = Math.addExact(descuento, monto);
+                    descuentos = sumar(descuentos, entrada.getKey().etiqueta(), monto);
+                }
+            }
+        }
+        long restante = subtotal - descuento;
+        int indice = Arrays.binarySearch(umbrales, restante);
+        indice = indice >= 0 ? indice : -indice - 2;
+        if (indice >= 0) {
+            Descuento umbral = descuentosUmbral[indice];
+            long monto = Math.multiplyExact(restante, umbral.porcentaje()) / 100;
+            if (monto > 0) {
+                descuento = Math.addExact(descuento, monto);
+                descuentos = sumar(descuentos, umbral.etiqueta(), monto);
+            }
+        }
+        return new Cotizacion(subtotal, descuento, subtotal - descuento,
+                descuentos == null ? Map.of() : Collections.unmodifiableMap(descuentos));
+    }
+
+    /**
+     * Devuelve la cantidad de reglas compiladas.
+     *
+     * @return Cantidad de reglas.
+     */
+    public int getCantidadReglas() {
+        return cantidadReglas;
+    }
+
+    private HashMap<String, Descuento> porcentajes(ReglaPromocion.Campo campo) {
+        return campo == ReglaPromocion.Campo.EDITORIAL ? porcentajePorEditorial : porcentajePorTipo;
+    }
+
+    private HashMap<String, Grupo> gruposLlevaN(ReglaPromocion.Campo campo) {
+        return campo == ReglaPromocion.Campo.EDITORIAL ? llevaNPorEditorial : llevaNPorTipo;
+    }
+
+    private String normalizado(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String normalizado = normalizados.get(texto);
+        if (normalizado == null) {
+            normalizado = TrieTitulos.normalizar(texto);
+            if (normalizados.size() < MAXIMO_NORMALIZADOS) {
+                normalizados.put(texto, normalizado);
+            }
+        }
+        return normalizado;
+    }
+
+    private static Descuento mayor(Descuento a, Descuento b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.porcentaje() >= b.porcentaje() ? a : b;
+    }
+
+    private static Map<String, Long> sumar(Map<String, Long> descuentos, String etiqueta, long monto) {
+        if (descuentos == null) {
+            descuentos = new LinkedHashMap<>();
+        }
+        descuentos.merge(etiqueta, monto, Math::addExact);
+        return descuentos;
+    }
+}
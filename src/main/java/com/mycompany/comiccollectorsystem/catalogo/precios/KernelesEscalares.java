@@ -0,0 +1,69 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+/**
+ * Implementación elemento a elemento. Se usa cuando la Vector API no está disponible.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+final class KernelesEscalares implements KernelesPrecios {
+
+    @Override
+    public String nombre() {
+        return "escalar";
+    }
+
+    @Override
+    public long suma(int[] precios, int n) {
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += precios[i];
+        }
+        return total;
+    }
+
+    @Override
+    public int minimo(int[] precios, int n) {
+        int minimo = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minimo = Math.min(minimo, precios[i]);
+        }
+        return minimo;
+    }
+
+    @Override
+    public int maximo(int[] precios, int n) {
+        int maximo = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            maximo = Math.max(maximo, precios[i]);
+        }
+        return maximo;
+    }
+
+    @Override
+    public int contarEntre(int[] precios, int n, int desde, int hasta) {
+        int cantidad = 0;
+        for (int i = 0; i < n; i++) {
+            if (precios[i] >= desde && precios[i] <= hasta) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public int filtrarEntre(int[] precios, int n, int desde, int hasta, int[] salida) {
+        int cantidad = 0;
+        for (int i = 0; i < n; i++) {
+            if (precios[i] >= desde && precios[i] <= hasta) {
+                salida[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+}
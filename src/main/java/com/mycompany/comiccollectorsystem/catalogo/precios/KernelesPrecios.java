@@ -0,0 +1,37 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+/**
+ * Operaciones sobre los primeros {@code n} elementos de un arreglo de precios.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+interface KernelesPrecios {
+
+    /**
+     * Nombre de la implementación, para mostrar en reportes y benchmarks.
+     *
+     * @return Nombre corto.
+     */
+    String nombre();
+
+    long suma(int[] precios, int n);
+
+    int minimo(int[] precios, int n);
+
+    int maximo(int[] precios, int n);
+
+    int contarEntre(int[] precios, int n, int desde, int hasta);
+
+    /**
+     * Escribe en {@code salida} las posiciones cuyos precios están en {@code [desde, hasta]}.
+     *
+     * @return Cantidad de posiciones escritas.
+     */
+    int filtrarEntre(int[] precios, int n, int desde, int hasta, int[] salida);
+}
@@ -0,0 +1,142 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación con la Vector API ({@code jdk.incubator.vector}), que procesa tantos
+ * precios por instrucción como permita el procesador.
+ * <p>
+ * Solo se carga si el módulo está presente ({@code --add-modules jdk.incubator.vector});
+ * {@link ColumnaPrecios} lo comprueba antes de crearla.
+ * </p>
+ * <p>
+ * La suma no convierte cada carril a {@code long}: separa cada precio en sus 16 bits bajos
+ * y altos y los acumula en carriles {@code int}, que no pueden desbordarse antes de
+ * {@link #BLOQUE_SUMA} iteraciones; al cerrar cada bloque los acumuladores se pasan a
+ * {@code long}.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+final class KernelesVectoriales implements KernelesPrecios {
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+    private static final int BLOQUE_SUMA = 1 << 15;
+
+    @Override
+    public String nombre() {
+        return "vectorial-" + ESPECIE.vectorBitSize();
+    }
+
+    @Override
+    public long suma(int[] precios, int n) {
+        int carriles = ESPECIE.length();
+        int limite = ESPECIE.loopBound(n);
+        long total = 0;
+        int i = 0;
+        while (i < limite) {
+            int finBloque = (int) Math.min(limite, i + (long) BLOQUE_SUMA * carriles);
+            IntVector bajos = IntVector.zero(ESPECIE);
+            IntVector altos = IntVector.zero(ESPECIE);
+            for (; i < finBloque; i += carriles) {
+                IntVector v = IntVector.fromArray(ESPECIE, precios, i);
+                bajos = bajos.add(v.and(0xFFFF));
+                altos = altos.add(v.lanewise(VectorOperators.ASHR, 16));
+            }
+            for (int carril = 0; carril < carriles; carril++) {
+                total += bajos.lane(carril) + ((long) altos.lane(carril) << 16);
+            }
+        }
+        for (; i < n; i++) {
+            total += precios[i];
+        }
+        return total;
+    }
+
+    @Override
+    public int minimo(int[] precios, int n) {
+        int limite = ESPECIE.loopBound(n);
+        IntVector acumulado = IntVector.broadcast(ESPECIE, Integer.MAX_VALUE);
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            acumulado = acumulado.min(IntVector.fromArray(ESPECIE, precios, i));
+        }
+        int minimo = acumulado.reduceLanes(VectorOperators.MIN);
+        for (; i < n; i++) {
+            minimo = Math.min(minimo, precios[i]);
+        }
+        return minimo;
+    }
+
+    @Override
+    public int maximo(int[] precios, int n) {
+        int limite = ESPECIE.loopBound(n);
+        IntVector acumulado = IntVector.broadcast(ESPECIE, Integer.MIN_VALUE);
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            acumulado = acumulado.max(IntVector.fromArray(ESPECIE, precios, i));
+        }
+        int maximo = acumulado.reduceLanes(VectorOperators.MAX);
+        for (; i < n; i++) {
+            maximo = Math.max(maximo, precios[i]);
+        }
+        return maximo;
+    }
+
+    @Override
+    public int contarEntre(int[] precios, int n, int desde, int hasta) {
+        int limite = ESPECIE.loopBound(n);
+        int cantidad = 0;
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            cantidad += enRango(IntVector.fromArray(ESPECIE, precios, i), desde, hasta).trueCount();
+        }
+        for (; i < n; i++) {
+            if (precios[i] >= desde && precios[i] <= hasta) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    @Override
+    public int filtrarEntre(int[] precios, int n, int desde, int hasta, int[] salida) {
+        int carriles = ESPECIE.length();
+        int limite = ESPECIE.loopBound(n);
+        int cantidad = 0;
+        int i = 0;
+        for (; i < limite; i += carriles) {
+            VectorMask<Integer> mascara = enRango(IntVector.fromArray(ESPECIE, precios, i), desde, hasta);
+            if (mascara.allTrue()) {
+                for (int carril = 0; carril < carriles; carril++) {
+                    salida[cantidad++] = i + carril;
+                }
+            } else if (mascara.anyTrue()) {
+                // extraer los carriles marcados sin depender de compress, que no es intrínseco en todos los procesadores
+                long bits = mascara.toLong();
+                while (bits != 0) {
+                    salida[cantidad++] = i + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        for (; i < n; i++) {
+            if (precios[i] >= desde && precios[i] <= hasta) {
+                salida[cantidad++] = i;
+            }
+        }
+        return cantidad;
+    }
+
+    private static VectorMask<Integer> enRango(IntVector v, int desde, int hasta) {
+        return v.compare(VectorOperators.GE, desde).and(v.compare(VectorOperators.LE, hasta));
+    }
+}
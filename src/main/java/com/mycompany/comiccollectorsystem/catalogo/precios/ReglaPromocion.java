@@ -0,0 +1,179 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.catalogo.precios;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Regla de promoción aplicada al pagar un carrito.
+ * <p>
+ * Las reglas se escriben una por línea, con campos separados por {@code ;} (las líneas vacías
+ * y las que empiezan con {@code #} se ignoran):
+ * </p>
+ * <ul>
+ *   <li>{@code porcentaje;editorial|tipo;valor;porcentaje}: descuento sobre cada cómic de esa
+ *   editorial o tipo.</li>
+ *   <li>{@code llevan;editorial|tipo;valor;cantidad}: por cada {@code cantidad} cómics de esa
+ *   editorial o tipo, el más barato es gratis.</li>
+ *   <li>{@code umbral;monto;porcentaje}: descuento sobre el carrito cuando, después de los
+ *   demás descuentos, alcanza el monto.</li>
+ * </ul>
+ * <p>
+ * Las reglas no se evalúan una por una: {@link EvaluadorPrecios#compilar} las convierte en
+ * índices para aplicarlas al carrito de una sola pasada.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public sealed interface ReglaPromocion {
+
+    /**
+     * Atributo del cómic al que se aplica una regla.
+     */
+    enum Campo {
+        EDITORIAL, TIPO
+    }
+
+    /**
+     * Descuento porcentual sobre cada cómic de una editorial o tipo.
+     *
+     * @param campo      Atributo comparado.
+     * @param valor      Editorial o tipo (sin distinguir mayúsculas ni tildes).
+     * @param porcentaje Porcentaje de descuento, de 1 a 100.
+     */
+    record DescuentoPorcentaje(Campo campo, String valor, int porcentaje) implements ReglaPromocion {
+        public DescuentoPorcentaje {
+            validar(porcentaje);
+        }
+    }
+
+    /**
+     * Promoción "lleva N, paga N - 1" dentro de una editorial o tipo.
+     *
+     * @param campo    Atributo comparado.
+     * @param valor    Editorial o tipo (sin distinguir mayúsculas ni tildes).
+     * @param cantidad Cómics necesarios para llevarse uno gratis; al menos 2.
+     */
+    record LlevaN(Campo campo, String valor, int cantidad) implements ReglaPromocion {
+        public LlevaN {
+            if (cantidad < 2) {
+                throw new IllegalArgumentException("La cantidad de lleva N debe ser al menos 2.");
+            }
+        }
+    }
+
+    /**
+     * Descuento porcentual sobre el carrito a partir de un monto.
+     *
+     * @param minimo     Monto desde el que se aplica.
+     * @param porcentaje Porcentaje de descuento, de 1 a 100.
+     */
+    record UmbralCarrito(long minimo, int porcentaje) implements ReglaPromocion {
+        public UmbralCarrito {
+            if (minimo < 0) {
+                throw new IllegalArgumentException("El monto minimo no puede ser negativo.");
+            }
+            validar(porcentaje);
+        }
+    }
+
+    /**
+     * Lee las reglas de un archivo.
+     *
+     * @param archivo Archivo de reglas.
+     * @return Reglas en el orden del archivo.
+     * @throws IOException Si no se puede leer el archivo.
+     * @throws IllegalArgumentException Si una línea no es una regla válida; el mensaje indica
+     * el número de línea.
+     */
+    static List<ReglaPromocion> leer(Path archivo) throws IOException {
+        List<ReglaPromocion> reglas = new ArrayList<>();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            int numero = 0;
+            while ((linea = lector.readLine()) != null) {
+                numero++;
+                linea = linea.strip();
+                if (linea.isEmpty() || linea.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    reglas.add(desdeLinea(linea));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Linea " + numero + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return reglas;
+    }
+
+    /**
+     * Interpreta una línea con el formato descrito en {@link ReglaPromocion}.
+     *
+     * @param linea Línea a interpretar.
+     * @return Regla descrita por la línea.
+     * @throws IllegalArgumentException Si la línea no es una regla válida.
+     */
+    static ReglaPromocion desdeLinea(String linea) {
+        String[] campos = linea.split(";", -1);
+        for (int i = 0; i < campos.length; i++) {
+            campos[i] = campos[i].strip();
+        }
+        String tipo = campos[0].toLowerCase(Locale.ROOT);
+        try {
+            switch (tipo) {
+                case "porcentaje":
+                    exigirCampos(campos, 4);
+                    return new DescuentoPorcentaje(campo(campos[1]), valor(campos[2]), Integer.parseInt(campos[3]));
+                case "llevan":
+                    exigirCampos(campos, 4);
+                    return new LlevaN(campo(campos[1]), valor(campos[2]), Integer.parseInt(campos[3]));
+                case "umbral":
+                    exigirCampos(campos, 3);
+                    return new UmbralCarrito(Long.parseLong(campos[1]), Integer.parseInt(campos[2]));
+                default:
+                    throw new IllegalArgumentException("Tipo de regla desconocido: " + campos[0]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Numero invalido en la regla '" + linea + "'.", e);
+        }
+    }
+
+    private static void exigirCampos(String[] campos, int cantidad) {
+        if (campos.length != cantidad) {
+            throw new IllegalArgumentException("La regla " + campos[0] + " necesita " + cantidad + " campos.");
+        }
+    }
+
+    private static Campo campo(String texto) {
+        return switch (texto.toLowerCase(Locale.ROOT)) {
+            case "editorial" -> Campo.EDITORIAL;
+            case "tipo" -> Campo.TIPO;
+            default -> throw new IllegalArgumentException("Campo desconocido: " + texto);
+        };
+    }
+
+    private static String valor(String texto) {
+        if (texto.isEmpty()) {
+            throw new IllegalArgumentException("El valor de la regla no puede estar vacio.");
+        }
+        return texto;
+    }
+
+    private static void validar(int porcentaje) {
+        if (porcentaje < 1 || porcentaje > 100) {
+            throw new IllegalArgumentException("El porcentaje debe estar entre 1 y 100.");
+        }
+    }
+}
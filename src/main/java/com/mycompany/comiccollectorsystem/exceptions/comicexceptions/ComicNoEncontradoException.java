@@ -10,6 +10,6 @@ package com.mycompany.comiccollectorsystem.exceptions.comicexceptions;
  */
 public class ComicNoEncontradoException extends Exception{
     public ComicNoEncontradoException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, false, false);
     }
 }
@@ -10,6 +10,6 @@ package com.mycompany.comiccollectorsystem.exceptions.comicexceptions;
  */
 public class ComicYaCompradoException extends Exception {
     public ComicYaCompradoException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, false, false);
     }
 }
@@ -10,6 +10,6 @@ package com.mycompany.comiccollectorsystem.exceptions.comicexceptions;
  */
 public class ComicYaEliminadoException extends Exception{
     public ComicYaEliminadoException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, false, false);
     }
 }
@@ -10,6 +10,6 @@ package com.mycompany.comiccollectorsystem.exceptions.comicexceptions;
  */
 public class ComicYaReservadoException extends Exception{
     public ComicYaReservadoException(String mensaje) {
-        super(mensaje);
+        super(mensaje, null, false, false);
     }
 }
\ No newline at end of file
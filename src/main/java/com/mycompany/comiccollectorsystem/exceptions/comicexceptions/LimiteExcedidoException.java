@@ -0,0 +1,15 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.exceptions.comicexceptions;
+
+/**
+ *
+ * @author ambar
+ */
+public class LimiteExcedidoException extends Exception{
+    public LimiteExcedidoException(String mensaje) {
+        super(mensaje, null, false, false);
+    }
+}
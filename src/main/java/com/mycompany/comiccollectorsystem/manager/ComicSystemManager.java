@@ -5,13 +5,15 @@
 package com.mycompany.comiccollectorsystem.manager;
 
 import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Administrador central del sistema de cómics.
  * <p>
  * Implementa el patrón Singleton para garantizar una única instancia,
- * administrando usuarios mediante un mapa global.
+ * administrando usuarios mediante un mapa global. El mapa es concurrente porque las
+ * sesiones del servidor de consola registran y buscan usuarios desde hilos distintos.
  * </p>
  *
  * @author ambar
@@ -20,7 +22,7 @@ import java.util.HashMap;
  */
 public class ComicSystemManager {
     /** Mapa que asocia RUT a instancia de {@link Usuario}. */
-    private HashMap<String, Usuario> usuarios;
+    private Map<String, Usuario> usuarios;
      /** Instancia única de la clase (Singleton). */
     private static ComicSystemManager instancia;
 
@@ -29,7 +31,7 @@ public class ComicSystemManager {
      * y asegurar que solo exista una instancia (patrón Singleton).
      */
     private ComicSystemManager() {
-        this.usuarios = new HashMap<>();
+        this.usuarios = new ConcurrentHashMap<>();
     }
     
     /**
@@ -39,7 +41,7 @@ public class ComicSystemManager {
      *
      * @return instancia única de {@code ComicSystemManager}.
      */
-    public static ComicSystemManager getInstancia() {
+    public static synchronized ComicSystemManager getInstancia() {
         if (instancia == null) {
             instancia = new ComicSystemManager();
         }
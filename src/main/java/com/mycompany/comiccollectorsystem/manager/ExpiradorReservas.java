@@ -0,0 +1,212 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.manager;
+
+import com.mycompany.comiccollectorsystem.auditoria.AccionAuditoria;
+import com.mycompany.comiccollectorsystem.auditoria.RegistroAuditoria;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.eventos.BusEventos;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.temporizador.RuedaTemporizadora;
+import com.mycompany.comiccollectorsystem.utils.temporizador.Temporizador;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Controla el tiempo de vida de las reservas de cómics.
+ * <p>
+ * Cada reserva registra un {@link Temporizador} en una {@link RuedaTemporizadora}.
+ * Al vencer, el cómic se devuelve a disponibles con la acción recibida (por ejemplo,
+ * liberándolo en el catálogo particionado) y, si de verdad seguía reservado, se publica su
+ * expiración. Comprar un cómic cancela su temporizador.
+ * </p>
+ * <p>
+ * Es seguro para hilos. La rueda no lo es, así que se usa solo dentro del monitor del
+ * expirador, que se mantiene apenas lo necesario para mover la rueda: los cómics vencidos
+ * se juntan ahí y se devuelven al catálogo y se publican después de soltarlo. Para no
+ * tomarlo en cada operación, {@link #hayVencidas} responde sin sincronizar si ya venció
+ * alguna reserva: todas duran lo mismo, así que los temporizadores vencen en el orden en
+ * que se programaron y basta mirar el más antiguo que sigue pendiente.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ExpiradorReservas {
+    /** Resolución de la rueda: un segundo por tick. */
+    private static final long DURACION_TICK_MS = 1000;
+
+    private final RuedaTemporizadora rueda;
+    /** Temporizador activo por código de cómic reservado. */
+    private final HashMap<String, Temporizador> temporizadores;
+    /** Temporizadores en el orden en que se programaron (que es el de su vencimiento). */
+    private final ArrayDeque<Temporizador> enOrden;
+    /** Cómics cuyo temporizador venció mientras se movía la rueda; se vacía al soltar el monitor. */
+    private final List<Comic> vencidos;
+    /** Vencimiento del temporizador pendiente más antiguo; {@code Long.MAX_VALUE} si no hay. */
+    private volatile long proximoVencimientoMs = Long.MAX_VALUE;
+    private final long ttlMs;
+    /** Devuelve a disponibles el cómic cuya reserva venció; {@code false} si ya no estaba reservado. */
+    private final Predicate<Comic> devolver;
+
+    /**
+     * Crea un expirador con el tiempo de vida indicado para cada reserva.
+     *
+     * @param ttlMs    Tiempo de vida de una reserva en milisegundos.
+     * @param devolver Devuelve a disponibles el cómic vencido e indica si seguía reservado.
+     */
+    public ExpiradorReservas(long ttlMs, Predicate<Comic> devolver) {
+        this.ttlMs = ttlMs;
+        this.devolver = devolver;
+        this.rueda = new RuedaTemporizadora(DURACION_TICK_MS, System.currentTimeMillis());
+        this.temporizadores = new HashMap<>();
+        this.enOrden = new ArrayDeque<>();
+        this.vencidos = new ArrayList<>();
+    }
+
+    /**
+     * Registra la reserva de un cómic. Si el cómic ya tenía un temporizador, se reemplaza.
+     *
+     * @param comic Cómic reservado.
+     */
+    public void registrarReserva(Comic comic) {
+        List<Comic> devueltos;
+        synchronized (this) {
+            // la rueda programa desde su tick actual: se pone al día para que el vencimiento sea exacto
+            devueltos = avanzar();
+            String codigo = comic.getCodigo();
+            Temporizador anterior = temporizadores.remove(codigo);
+            if (anterior != null) {
+                anterior.cancelar();
+            }
+            Temporizador temporizador = rueda.programar(ttlMs, () -> {
+                temporizadores.remove(codigo);
+                vencidos.add(comic);
+            });
+            temporizadores.put(codigo, temporizador);
+            enOrden.addLast(temporizador);
+            actualizarProximoVencimiento();
+        }
+        devolver(devueltos);
+    }
+
+    /**
+     * Cancela el vencimiento de una reserva porque el cómic fue comprado.
+     *
+     * @param comic Cómic comprado.
+     */
+    public synchronized void confirmarCompra(Comic comic) {
+        Temporizador temporizador = temporizadores.remove(comic.getCodigo());
+        if (temporizador != null) {
+            temporizador.cancelar();
+        }
+    }
+
+    /**
+     * Indica si el cómic tiene una reserva pendiente de vencer.
+     *
+     * @param codigo Código del cómic.
+     * @return {@code true} si está reservado.
+     */
+    public synchronized boolean estaReservado(String codigo) {
+        return temporizadores.containsKey(codigo);
+    }
+
+    /**
+     * Procesa las reservas vencidas hasta el instante actual. Los cómics se devuelven a
+     * disponibles sin mantener el monitor del expirador.
+     *
+     * @return Cantidad de reservas que expiraron.
+     */
+    public int procesarVencidas() {
+        List<Comic> devueltos;
+        synchronized (this) {
+            devueltos = avanzar();
+        }
+        devolver(devueltos);
+        return devueltos.size();
+    }
+
+    /**
+     * Indica, sin tocar la rueda, si alguna reserva ya venció y falta procesarla. Puede
+     * responder {@code true} por una reserva que se acaba de comprar; nunca responde
+     * {@code false} si hay una vencida.
+     *
+     * @param ahoraMs Instante actual en milisegundos.
+     * @return {@code true} si conviene llamar a {@link #procesarVencidas()}.
+     */
+    public boolean hayVencidas(long ahoraMs) {
+        return ahoraMs >= proximoVencimientoMs;
+    }
+
+    /**
+     * Devuelve el tiempo de vida configurado para las reservas.
+     *
+     * @return Tiempo de vida en milisegundos.
+     */
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    /**
+     * Devuelve la cantidad de reservas con vencimiento pendiente.
+     *
+     * @return Número de reservas pendientes.
+     */
+    public synchronized int getReservasPendientes() {
+        return rueda.getPendientes();
+    }
+
+    /**
+     * Mueve la rueda hasta el instante actual y entrega los cómics que vencieron. Se invoca
+     * con el monitor tomado.
+     *
+     * @return Cómics cuyas reservas vencieron.
+     */
+    private List<Comic> avanzar() {
+        rueda.avanzarHasta(System.currentTimeMillis());
+        actualizarProximoVencimiento();
+        if (vencidos.isEmpty()) {
+            return List.of();
+        }
+        List<Comic> devueltos = new ArrayList<>(vencidos);
+        vencidos.clear();
+        return devueltos;
+    }
+
+    /**
+     * Devuelve a disponibles los cómics vencidos y publica la expiración de los que seguían
+     * reservados (uno comprado mientras tanto ya no se devuelve).
+     *
+     * @param devueltos Cómics cuyas reservas vencieron.
+     */
+    private void devolver(List<Comic> devueltos) {
+        for (Comic comic : devueltos) {
+            if (devolver.test(comic)) {
+                BusEventos.getInstancia().publicar(new ReservaExpirada(comic));
+                RegistroAuditoria.getInstancia().registrar(AccionAuditoria.EXPIRACION, null, comic.getCodigo(),
+                        comic.getPrecio());
+                System.out.println("La reserva del comic " + comic.getCodigo() + " - " + comic.getTitulo()
+                        + " expiro y vuelve a estar disponible.");
+            }
+        }
+    }
+
+    /**
+     * Descarta los temporizadores vencidos o cancelados del frente de la cola y publica el
+     * vencimiento del siguiente.
+     */
+    private void actualizarProximoVencimiento() {
+        while (!enOrden.isEmpty() && !enOrden.peekFirst().estaPendiente()) {
+            enOrden.pollFirst();
+        }
+        Temporizador primero = enOrden.peekFirst();
+        proximoVencimientoMs = primero == null ? Long.MAX_VALUE : rueda.instanteVencimiento(primero);
+    }
+}
@@ -11,34 +11,68 @@ import com.opencsv.exceptions.CsvValidationException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.SecureRandom;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * Representa un cómic con atributos como código, título, autor, editorial, precio y tipo.
- * Implementa {@link Comparable} para permitir orden alfabético por título.
+ * Implementa {@link Comparable} para permitir orden alfabético por título según las reglas
+ * del español, usando el código como desempate.
  * <p>
  * Proporciona también métodos estáticos para buscar por código y leer/escribir desde/hacia CSV.
  * </p>
+ * <p>
+ * Es inmutable: una vez creado no cambia, por lo que puede compartirse entre versiones del
+ * catálogo y leerse desde varios hilos sin sincronización.
+ * </p>
  *
  * @author ambar
  * @version 1.0
  * @since 2025-06-30
  */
 public class Comic implements Comparable<Comic>{
+    /**
+     * Archivo CSV donde se persiste el catálogo.
+     */
+    public static final String ARCHIVO_CSV = "comic.csv";
+
     /**
      * Código único del cómic.
      */
-    private String codigo;
+    private final String codigo;
     private static final SecureRandom random = new SecureRandom();
     private static final Set<String> usados = new HashSet<>();
-    private String titulo;
-    private String autor;
-    private String editorial;
-    private int precio;
-    private String tipoComic;
+    private final String titulo;
+    private final String autor;
+    private final String editorial;
+    private final int precio;
+    private final String tipoComic;
+    /**
+     * Clave de ordenación del título, calculada una sola vez al crear el cómic.
+     */
+    private final CollationKey claveTitulo;
+
+    /**
+     * Collator en español por hilo: {@link Collator} no es seguro para hilos. Ignora
+     * mayúsculas y usa los acentos solo como desempate, de modo que "Ébano" se ordena
+     * junto a "ebano" y no después de la "z".
+     */
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator collator = Collator.getInstance(Locale.of("es"));
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    });
 
     /**
      * Constructor que admite código.
@@ -57,6 +91,7 @@ public class Comic implements Comparable<Comic>{
         this.editorial = editorial;
         this.precio = precio;
         this.tipoComic = tipoComic;
+        this.claveTitulo = COLLATOR.get().getCollationKey(titulo);
     }
 
     /**
@@ -69,12 +104,7 @@ public class Comic implements Comparable<Comic>{
      * @param tipoComic  Categoría del cómic.
      */
     public Comic(String titulo, String autor, String editorial, int precio, String tipoComic) {
-        this.codigo = generarCodigoUnico();
-        this.titulo = titulo;
-        this.autor = autor;
-        this.editorial = editorial;
-        this.precio = precio;
-        this.tipoComic = tipoComic;
+        this(generarCodigoUnico(), titulo, autor, editorial, precio, tipoComic);
     }
 
 
@@ -82,50 +112,26 @@ public class Comic implements Comparable<Comic>{
         return codigo;
     }
 
-    public void setCodigo(String codigo) {
-        this.codigo = codigo;
-    }
-
     public String getTitulo() {
         return titulo;
     }
 
-    public void setTitulo(String titulo) {
-        this.titulo = titulo;
-    }
-
     public String getAutor() {
         return autor;
     }
 
-    public void setAutor(String autor) {
-        this.autor = autor;
-    }
-
     public String getEditorial() {
         return editorial;
     }
 
-    public void setEditorial(String editorial) {
-        this.editorial = editorial;
-    }
-
     public int getPrecio() {
         return precio;
     }
 
-    public void setPrecio(int precio) {
-        this.precio = precio;
-    }
-
     public String getTipoComic() {
         return tipoComic;
     }
 
-    public void setTipoComic(String tipoComic) {
-        this.tipoComic = tipoComic;
-    }
-
     /**
      * Determina el tipo de cómic según una opción numérica.
      *
@@ -158,7 +164,7 @@ public class Comic implements Comparable<Comic>{
      *
      * @return Código nuevo válido.
      */
-    private String generarCodigoUnico() {
+    private static String generarCodigoUnico() {
         String codigo;
         do {
             int aleatorio = random.nextInt(9000) + 1000;
@@ -167,6 +173,25 @@ public class Comic implements Comparable<Comic>{
         return codigo;
     }
 
+    /**
+     * Busca un cómic en la lista por su código, sin lanzar excepciones si no está.
+     *
+     * @param comics Lista donde buscar.
+     * @param codigo Código del cómic a encontrar (sin distinguir mayúsculas).
+     * @return Cómic encontrado, o vacío si no está o la lista o el código están vacíos.
+     */
+    public static Optional<Comic> buscarPorCodigo(List<Comic> comics, String codigo) {
+        if (comics == null || codigo == null || codigo.isEmpty()) {
+            return Optional.empty();
+        }
+        for (Comic comic : comics) {
+            if (comic.getCodigo().equalsIgnoreCase(codigo)) {
+                return Optional.of(comic);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Busca un cómic en la lista por su código.
      *
@@ -174,6 +199,7 @@ public class Comic implements Comparable<Comic>{
      * @param codigo Código del cómic a encontrar.
      * @return Instancia encontrada.
      * @throws ComicNoEncontradoException Si no se encuentra o lista/código inválidos.
+     * @see #buscarPorCodigo(List, String)
      */
     public static Comic buscarComicPorCodigo(ArrayList<Comic> comics, String codigo) throws ComicNoEncontradoException {
 
@@ -185,13 +211,11 @@ public class Comic implements Comparable<Comic>{
             throw new ComicNoEncontradoException("El nombre del comic a buscar no puede estar vacío.");
         }
 
-        for (Comic comic : comics) {
-            if (comic.getCodigo().equalsIgnoreCase(codigo)) {
-                return comic;
-            }
+        Optional<Comic> comic = buscarPorCodigo(comics, codigo);
+        if (comic.isEmpty()) {
+            throw new ComicNoEncontradoException("Comic llamado " + codigo + " no encontrado.");
         }
-
-        throw new ComicNoEncontradoException("Comic llamado " + codigo + " no encontrado.");
+        return comic.get();
     }
 
     /**
@@ -211,32 +235,30 @@ public class Comic implements Comparable<Comic>{
      * @throws CsvValidationException Si el CSV no es válido.
      */
     public static ArrayList<Comic> cargarComicsDesdeCSV() throws CsvValidationException {
+        return cargarComicsDesdeCSV(Path.of(ARCHIVO_CSV));
+    }
+
+    /**
+     * Carga cómics desde el archivo CSV indicado, con los mismos encabezados que {@link #ARCHIVO_CSV}.
+     *
+     * @param archivo Archivo a leer.
+     * @return Lista de cómics leída desde el CSV.
+     * @throws CsvValidationException Si el CSV no es válido.
+     */
+    public static ArrayList<Comic> cargarComicsDesdeCSV(Path archivo) throws CsvValidationException {
         ArrayList<Comic> comics = new ArrayList<>();
 
         // System.out.println(new java.io.File(".").getAbsolutePath());
 
-        try (CSVReader reader = new CSVReader(new FileReader("comic.csv"))) {
+        try (CSVReader reader = new CSVReader(new FileReader(archivo.toFile()))) {
 
             String[] proximaLinea;
             reader.readNext();
 
             while ((proximaLinea = reader.readNext()) != null) {
 
-                if (proximaLinea.length >= 6) {
-
-                    String codigo = proximaLinea[0];
-                    String titulo = proximaLinea[1];
-                    String autor = proximaLinea[2];
-                    String editorial = proximaLinea[3];
-                    int precio = 0;
-                    try {
-                        precio = Integer.parseInt(proximaLinea[4]);
-                    } catch (NumberFormatException e) {
-                        // ignorar
-                    }
-                    String tipoComic = proximaLinea[5];
-
-                    Comic comic = new Comic(codigo, titulo, autor, editorial, precio, tipoComic);
+                Comic comic = desdeFilaCSV(proximaLinea);
+                if (comic != null) {
                     comics.add(comic);
                 }
             }
@@ -248,6 +270,25 @@ public class Comic implements Comparable<Comic>{
         return comics;
     }
 
+    /**
+     * Crea un cómic a partir de una fila del CSV.
+     *
+     * @param fila Campos de la fila: código, título, autor, editorial, precio y tipo.
+     * @return Cómic leído, o {@code null} si la fila no tiene todos los campos.
+     */
+    public static Comic desdeFilaCSV(String[] fila) {
+        if (fila.length < 6) {
+            return null;
+        }
+        int precio = 0;
+        try {
+            precio = Integer.parseInt(fila[4]);
+        } catch (NumberFormatException e) {
+            // ignorar
+        }
+        return new Comic(fila[0], fila[1], fila[2], fila[3], precio, fila[5]);
+    }
+
     /**
      * Guarda la lista de cómics en un archivo CSV, sobrescribiéndolo.
      *
@@ -256,7 +297,7 @@ public class Comic implements Comparable<Comic>{
      */
     public static void guardarComicsenCSV(ArrayList<Comic> comics) throws IOException {
         try (
-                FileWriter writer = new FileWriter("comic.csv");
+                FileWriter writer = new FileWriter(ARCHIVO_CSV);
                 CSVWriter csvWriter = new CSVWriter(writer);) {
 
             String[] header = { "codigo", "titulo", "autor", "editorial", "precio", "tipoComic" };
@@ -280,14 +321,90 @@ public class Comic implements Comparable<Comic>{
     }
 
     /**
-     * Compara dos cómics por título.
+     * Aplica cambios puntuales al archivo CSV sin reescribirlo desde el catálogo en memoria.
+     * <p>
+     * Copia las filas existentes omitiendo los códigos eliminados o reemplazados, agrega al final
+     * los cómics nuevos y sustituye el archivo de forma atómica.
+     * </p>
+     *
+     * @param agregados  Cómics a agregar (o reemplazar si su código ya existe).
+     * @param eliminados Códigos de los cómics a quitar del archivo.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    public static void aplicarCambiosEnCSV(Collection<Comic> agregados, Set<String> eliminados) throws IOException {
+        aplicarCambiosEnCSV(Path.of(ARCHIVO_CSV), agregados, eliminados);
+    }
+
+    /**
+     * Aplica cambios puntuales al archivo CSV indicado, igual que
+     * {@link #aplicarCambiosEnCSV(Collection, Set)} con {@link #ARCHIVO_CSV}.
+     *
+     * @param destino    Archivo a modificar; se crea si no existe.
+     * @param agregados  Cómics a agregar (o reemplazar si su código ya existe).
+     * @param eliminados Códigos de los cómics a quitar del archivo.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    public static void aplicarCambiosEnCSV(Path destino, Collection<Comic> agregados, Set<String> eliminados)
+            throws IOException {
+        Path archivo = destino.toAbsolutePath();
+        Set<String> omitidos = new HashSet<>(eliminados);
+        for (Comic comic : agregados) {
+            omitidos.add(comic.getCodigo());
+        }
+
+        Path temporal = Files.createTempFile(archivo.getParent(), "comic", ".csv.tmp");
+        try {
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(temporal))) {
+                String[] header = { "codigo", "titulo", "autor", "editorial", "precio", "tipoComic" };
+                csvWriter.writeNext(header);
+
+                if (Files.exists(archivo)) {
+                    try (CSVReader reader = new CSVReader(Files.newBufferedReader(archivo))) {
+                        String[] fila;
+                        reader.readNext();
+                        while ((fila = reader.readNext()) != null) {
+                            if (fila.length >= 6 && !omitidos.contains(fila[0])) {
+                                csvWriter.writeNext(fila);
+                            }
+                        }
+                    } catch (CsvValidationException e) {
+                        throw new IOException("El archivo " + archivo.getFileName() + " no es valido: " + e.getMessage(), e);
+                    }
+                }
+
+                for (Comic comic : agregados) {
+                    String[] data = {
+                            comic.getCodigo(),
+                            comic.getTitulo(),
+                            comic.getAutor(),
+                            comic.getEditorial(),
+                            String.valueOf(comic.getPrecio()),
+                            comic.getTipoComic()
+                    };
+                    csvWriter.writeNext(data);
+                }
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Compara dos cómics por título según el orden alfabético español, y por código
+     * cuando los títulos son equivalentes, para que dos cómics distintos con el mismo
+     * título no se consideren iguales (por ejemplo, dentro de un {@link java.util.TreeSet}).
      *
      * @param o Otro cómic a comparar.
-     * @return Resultado de la comparación lexicográfica.
+     * @return Resultado de la comparación.
      */
     @Override
     public int compareTo(Comic o) {
-        return this.titulo.compareTo(o.titulo);
+        int resultado = this.claveTitulo.compareTo(o.claveTitulo);
+        if (resultado != 0) {
+            return resultado;
+        }
+        return this.codigo.compareTo(o.codigo);
     }
 
 }
@@ -0,0 +1,117 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.models.resultado;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resultado de una operación del dominio que puede fallar por motivos habituales (un código
+ * que no existe, un cómic ya reservado, un cliente sin reservas).
+ * <p>
+ * Es un {@link Exito} con el valor obtenido o un {@link Fallo} con su {@link Motivo} y un
+ * mensaje para el usuario. Las variantes {@code intentar...} de búsqueda, reserva y compra
+ * lo devuelven en vez de lanzar una excepción, para que un fallo de rutina cueste lo mismo
+ * que un éxito; quien prefiera excepciones puede usar {@link #obtenerOLanzar}.
+ * </p>
+ *
+ * @param <T> Tipo del valor en caso de éxito.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public sealed interface Resultado<T> permits Resultado.Exito, Resultado.Fallo {
+
+    /**
+     * Motivo por el que falló una operación.
+     */
+    enum Motivo {
+        /** El cómic no existe o no está disponible. */
+        NO_ENCONTRADO,
+        /** El cómic ya está reservado por otro cliente. */
+        YA_RESERVADO,
+        /** El cliente no tiene reservas que comprar. */
+        SIN_RESERVAS,
+        /** El usuario no tiene permiso para la operación. */
+        SIN_PERMISO,
+        /** Faltan datos o no son válidos. */
+        DATOS_INVALIDOS
+    }
+
+    /**
+     * Operación exitosa.
+     *
+     * @param valor Valor obtenido.
+     * @param <T>   Tipo del valor.
+     */
+    record Exito<T>(T valor) implements Resultado<T> {
+    }
+
+    /**
+     * Operación fallida.
+     *
+     * @param motivo  Motivo del fallo.
+     * @param mensaje Mensaje para el usuario.
+     * @param <T>     Tipo del valor que se esperaba.
+     */
+    record Fallo<T>(Motivo motivo, String mensaje) implements Resultado<T> {
+    }
+
+    /**
+     * Crea un resultado exitoso.
+     *
+     * @param valor Valor obtenido.
+     * @param <T>   Tipo del valor.
+     * @return Resultado exitoso.
+     */
+    static <T> Resultado<T> exito(T valor) {
+        return new Exito<>(valor);
+    }
+
+    /**
+     * Crea un resultado fallido.
+     *
+     * @param motivo  Motivo del fallo.
+     * @param mensaje Mensaje para el usuario.
+     * @param <T>     Tipo del valor que se esperaba.
+     * @return Resultado fallido.
+     */
+    static <T> Resultado<T> fallo(Motivo motivo, String mensaje) {
+        return new Fallo<>(motivo, mensaje);
+    }
+
+    /**
+     * Indica si la operación tuvo éxito.
+     *
+     * @return {@code true} si es un {@link Exito}.
+     */
+    default boolean esExito() {
+        return this instanceof Exito;
+    }
+
+    /**
+     * Devuelve el valor, si la operación tuvo éxito.
+     *
+     * @return Valor obtenido, o vacío si falló.
+     */
+    default Optional<T> comoOptional() {
+        return this instanceof Exito<T> exito ? Optional.ofNullable(exito.valor()) : Optional.empty();
+    }
+
+    /**
+     * Devuelve el valor o lanza la excepción que corresponde al fallo.
+     *
+     * @param excepcion Crea la excepción a partir del mensaje del fallo.
+     * @param <E>       Tipo de la excepción.
+     * @return Valor obtenido.
+     * @throws E Si la operación falló.
+     */
+    default <E extends Exception> T obtenerOLanzar(Function<String, E> excepcion) throws E {
+        if (this instanceof Fallo<T> fallo) {
+            throw excepcion.apply(fallo.mensaje());
+        }
+        return ((Exito<T>) this).valor();
+    }
+}
@@ -4,9 +4,11 @@
  */
 package com.mycompany.comiccollectorsystem.models.usuario;
 
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
 import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
 import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaReservadoException;
 import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.InputMismatchException;
@@ -212,9 +214,74 @@ public abstract class Usuario {
      * @param comics   Lista de cómics disponibles.
      * @param reservas Lista de cómics reservados.
      * @param codigo   Código del cómic a reservar.
+     * @return Cómic reservado, o un fallo con su motivo.
+     */
+    public abstract Resultado<Comic> intentarReservar(List<Comic> comics, List<Comic> reservas, String codigo);
+
+    /**
+     * Compra los cómics de la lista de reservas.
+     *
+     * @param reservas Lista de cómics reservados.
+     * @param ventas   Lista de cómics vendidos.
+     * @return Cómics comprados, o un fallo con su motivo.
+     */
+    public abstract Resultado<List<Comic>> intentarComprar(List<Comic> reservas, List<Comic> ventas);
+
+    /**
+     * Agrega un nuevo cómic al catálogo particionado.
+     *
+     * @param catalogo  Catálogo compartido.
+     * @param titulo    Título del cómic.
+     * @param autor     Autor del cómic.
+     * @param editorial Editorial del cómic.
+     * @param precio    Precio del cómic.
+     * @param tipoComic Tipo de cómic.
+     * @return Cómic agregado, o un fallo con su motivo.
+     */
+    public abstract Resultado<Comic> intentarAgregarComic(CatalogoParticionado catalogo, String titulo, String autor,
+                                                          String editorial, int precio, String tipoComic);
+
+    /**
+     * Elimina del catálogo particionado un cómic disponible.
+     *
+     * @param catalogo Catálogo compartido.
+     * @param codigo   Código del cómic a eliminar.
+     * @return Cómic eliminado, o un fallo con su motivo.
+     */
+    public abstract Resultado<Comic> intentarEliminarComic(CatalogoParticionado catalogo, String codigo);
+
+    /**
+     * Reserva un cómic del catálogo particionado a nombre de este usuario.
+     *
+     * @param catalogo Catálogo compartido.
+     * @param codigo   Código del cómic a reservar.
+     * @return Cómic reservado, o un fallo con su motivo.
+     */
+    public abstract Resultado<Comic> intentarReservar(CatalogoParticionado catalogo, String codigo);
+
+    /**
+     * Compra las reservas que este usuario tiene en el catálogo particionado.
+     *
+     * @param catalogo Catálogo compartido.
+     * @return Cómics comprados, o un fallo con su motivo.
+     */
+    public abstract Resultado<List<Comic>> intentarComprar(CatalogoParticionado catalogo);
+
+    /**
+     * Reserva un cómic de la lista. Si el código no está entre los disponibles no hace nada.
+     *
+     * @param comics   Lista de cómics disponibles.
+     * @param reservas Lista de cómics reservados.
+     * @param codigo   Código del cómic a reservar.
      * @throws ComicYaReservadoException Si el cómic ya está reservado.
+     * @see #intentarReservar(List, List, String)
      */
-    public abstract void reservarComic(List<Comic> comics, List<Comic> reservas, String codigo) throws ComicYaReservadoException;
+    public void reservarComic(List<Comic> comics, List<Comic> reservas, String codigo) throws ComicYaReservadoException {
+        if (intentarReservar(comics, reservas, codigo) instanceof Resultado.Fallo<Comic> fallo
+                && fallo.motivo() != Resultado.Motivo.NO_ENCONTRADO) {
+            throw new ComicYaReservadoException(fallo.mensaje());
+        }
+    }
 
     /**
      * Compra un cómic de la lista de reservas.
@@ -222,6 +289,9 @@ public abstract class Usuario {
      * @param reservas Lista de cómics reservados.
      * @param ventas   Lista de cómics vendidos.
      * @throws ComicYaCompradoException Si el cómic ya ha sido comprado.
+     * @see #intentarComprar(List, List)
      */
-    public abstract void comprarComic(List<Comic> reservas, List<Comic> ventas) throws ComicYaCompradoException;
+    public void comprarComic(List<Comic> reservas, List<Comic> ventas) throws ComicYaCompradoException {
+        intentarComprar(reservas, ventas).obtenerOLanzar(ComicYaCompradoException::new);
+    }
 }
@@ -4,14 +4,21 @@
  */
 package com.mycompany.comiccollectorsystem.models.usuario.tipos;
 
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaReservadoException;
+import com.mycompany.comiccollectorsystem.auditoria.AccionAuditoria;
+import com.mycompany.comiccollectorsystem.auditoria.RegistroAuditoria;
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
 import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
 import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
+import com.mycompany.comiccollectorsystem.utils.eventos.BusEventos;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.UsuarioRegistrado;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Clase que representa a un administrador en el sistema.
@@ -96,6 +103,8 @@ public class Administrador extends Usuario {
             return false;
         }
         usuarios.put(rut, usuario);
+        BusEventos.getInstancia().publicar(new UsuarioRegistrado(usuario));
+        RegistroAuditoria.getInstancia().registrar(AccionAuditoria.REGISTRO, getRut(), rut, 0);
         System.out.println("Cliente registrado correctamente: "
                 + usuario.getNombre() + " " + usuario.getApellido());
         return true;
@@ -162,6 +171,9 @@ public class Administrador extends Usuario {
         if (validarComic(titulo, autor, editorial, precio, tipoComic)) {
             Comic nuevoComic = new Comic(titulo, autor, editorial, precio, tipoComic);
             comics.add(nuevoComic);
+            BusEventos.getInstancia().publicar(new ComicAgregado(nuevoComic, getRut()));
+            RegistroAuditoria.getInstancia().registrar(AccionAuditoria.ALTA, getRut(), nuevoComic.getCodigo(),
+                    precio);
             System.out.println("Comic agregado correctamente.");
             return;
         }
@@ -189,6 +201,9 @@ public class Administrador extends Usuario {
             Comic libro = comics.get(i);
             if (libro.getCodigo().equalsIgnoreCase(codigo)) {
                 comics.remove(i);
+                BusEventos.getInstancia().publicar(new ComicEliminado(libro, getRut()));
+                RegistroAuditoria.getInstancia().registrar(AccionAuditoria.BAJA, getRut(), libro.getCodigo(),
+                        libro.getPrecio());
                 System.out.println("El comic con el codigo " + codigo + " fue eliminado.");
                 return;
             }
@@ -196,16 +211,64 @@ public class Administrador extends Usuario {
         System.out.println("No se encontro ningun comic con el codigo " + codigo);
     }
 
+    /**
+     * Agrega un cómic al catálogo particionado si los datos son válidos.
+     *
+     * @param catalogo  Catálogo compartido.
+     * @param titulo    Título del cómic.
+     * @param autor     Autor del cómic.
+     * @param editorial Editorial del cómic.
+     * @param precio    Precio del cómic.
+     * @param tipoComic Tipo o categoría del cómic.
+     * @return Cómic agregado, o un fallo si algún dato no es válido.
+     */
+    @Override
+    public Resultado<Comic> intentarAgregarComic(CatalogoParticionado catalogo, String titulo, String autor,
+                                                 String editorial, int precio, String tipoComic) {
+        if (!validarComic(titulo, autor, editorial, precio, tipoComic)) {
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "Comic no fue agregado.");
+        }
+        Comic nuevoComic = new Comic(titulo, autor, editorial, precio, tipoComic);
+        catalogo.agregar(nuevoComic);
+        BusEventos.getInstancia().publicar(new ComicAgregado(nuevoComic, getRut()));
+        RegistroAuditoria.getInstancia().registrar(AccionAuditoria.ALTA, getRut(), nuevoComic.getCodigo(), precio);
+        return Resultado.exito(nuevoComic);
+    }
+
+    /**
+     * Elimina del catálogo particionado un cómic disponible. Los cómics reservados no se eliminan.
+     *
+     * @param catalogo Catálogo compartido.
+     * @param codigo   Código del cómic a eliminar.
+     * @return Cómic eliminado, o un fallo si el código está vacío o no hay un cómic disponible con él.
+     */
+    @Override
+    public Resultado<Comic> intentarEliminarComic(CatalogoParticionado catalogo, String codigo) {
+        if (codigo == null || codigo.isBlank()) {
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "El campo codigo no puede estar vacio.");
+        }
+        Optional<Comic> eliminado = catalogo.eliminar(codigo.trim());
+        if (eliminado.isEmpty()) {
+            return Resultado.fallo(Resultado.Motivo.NO_ENCONTRADO,
+                    "No se encontro ningun comic con el codigo " + codigo);
+        }
+        Comic libro = eliminado.get();
+        BusEventos.getInstancia().publicar(new ComicEliminado(libro, getRut()));
+        RegistroAuditoria.getInstancia().registrar(AccionAuditoria.BAJA, getRut(), libro.getCodigo(),
+                libro.getPrecio());
+        return Resultado.exito(libro);
+    }
+
     /**
      * No permite que un administrador compre cómics.
      *
      * @param reservas Lista de cómics reservados.
      * @param ventas   Lista de cómics vendidos.
-     * @throws ComicYaCompradoException Siempre, ya que un administrador no puede comprar.
+     * @return Siempre un fallo, ya que un administrador no puede comprar.
      */
     @Override
-    public void comprarComic(List<Comic> reservas, List<Comic> ventas) throws ComicYaCompradoException {
-        throw new ComicYaCompradoException("Este usuario no tiene permisos para comprar comics.");
+    public Resultado<List<Comic>> intentarComprar(List<Comic> reservas, List<Comic> ventas) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no tiene permisos para comprar comics.");
     }
 
     /**
@@ -214,10 +277,33 @@ public class Administrador extends Usuario {
      * @param comics   Lista de cómics disponibles.
      * @param reservas Lista de cómics reservados.
      * @param codigo   Código del cómic a reservar.
-     * @throws ComicYaReservadoException Siempre, ya que un administrador no puede reservar.
+     * @return Siempre un fallo, ya que un administrador no puede reservar.
+     */
+    @Override
+    public Resultado<Comic> intentarReservar(List<Comic> comics, List<Comic> reservas, String codigo) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no tiene permisos para reservar comics.");
+    }
+
+    /**
+     * No permite que un administrador compre cómics del catálogo particionado.
+     *
+     * @param catalogo Catálogo compartido.
+     * @return Siempre un fallo, ya que un administrador no puede comprar.
+     */
+    @Override
+    public Resultado<List<Comic>> intentarComprar(CatalogoParticionado catalogo) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no tiene permisos para comprar comics.");
+    }
+
+    /**
+     * No permite que un administrador reserve cómics del catálogo particionado.
+     *
+     * @param catalogo Catálogo compartido.
+     * @param codigo   Código del cómic a reservar.
+     * @return Siempre un fallo, ya que un administrador no puede reservar.
      */
     @Override
-    public void reservarComic(List<Comic> comics, List<Comic> reservas, String codigo) throws ComicYaReservadoException {
-        throw new ComicYaReservadoException("Este usuario no tiene permisos para reservar comics.");
+    public Resultado<Comic> intentarReservar(CatalogoParticionado catalogo, String codigo) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no tiene permisos para reservar comics.");
     }
-}
\ No newline at end of file
+}
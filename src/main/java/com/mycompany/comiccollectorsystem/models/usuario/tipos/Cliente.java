@@ -4,15 +4,25 @@
  */
 package com.mycompany.comiccollectorsystem.models.usuario.tipos;
 
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaReservadoException;
+import com.mycompany.comiccollectorsystem.auditoria.AccionAuditoria;
+import com.mycompany.comiccollectorsystem.auditoria.RegistroAuditoria;
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
+import com.mycompany.comiccollectorsystem.catalogo.precios.EvaluadorPrecios;
 import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
 import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
+import com.mycompany.comiccollectorsystem.utils.eventos.BusEventos;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.CompraCompletada;
+import com.mycompany.comiccollectorsystem.utils.eventos.UsuarioRegistrado;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Representa a un cliente en el sistema, con capacidades para reservar y comprar cómics.
@@ -98,6 +108,8 @@ public class Cliente extends Usuario {
             return false;
         }
         usuarios.put(rut, usuario);
+        BusEventos.getInstancia().publicar(new UsuarioRegistrado(usuario));
+        RegistroAuditoria.getInstancia().registrar(AccionAuditoria.REGISTRO, getRut(), rut, 0);
         System.out.println("Cliente registrado correctamente: "
                 + usuario.getNombre() + " " + usuario.getApellido());
         return true;
@@ -138,26 +150,88 @@ public class Cliente extends Usuario {
     }
 
     /**
-     * Compra todos los cómics reservados, moviéndolos a ventas y calculando el total.
+     * No permite agregar cómics al catálogo particionado.
+     *
+     * @return Siempre un fallo, porque el cliente no tiene permiso.
+     */
+    @Override
+    public Resultado<Comic> intentarAgregarComic(CatalogoParticionado catalogo, String titulo, String autor,
+                                                 String editorial, int precio, String tipoComic) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no puede agregar comics.");
+    }
+
+    /**
+     * No permite eliminar cómics del catálogo particionado.
+     *
+     * @return Siempre un fallo, porque el cliente no tiene permiso.
+     */
+    @Override
+    public Resultado<Comic> intentarEliminarComic(CatalogoParticionado catalogo, String codigo) {
+        return Resultado.fallo(Resultado.Motivo.SIN_PERMISO, "Este usuario no puede eliminar comics.");
+    }
+
+    /**
+     * Compra todos los cómics reservados, moviéndolos a ventas y calculando el total con las
+     * promociones vigentes ({@link EvaluadorPrecios#vigente()}).
      *
      * @param reservas Lista de cómics reservados.
      * @param ventas   Lista de cómics vendidos.
-     * @throws ComicYaCompradoException Si no hay reservas disponibles.
+     * @return Cómics comprados, o un fallo si no hay reservas.
      */
     @Override
-    public void comprarComic(List<Comic> reservas, List<Comic> ventas)
-            throws ComicYaCompradoException {
+    public Resultado<List<Comic>> intentarComprar(List<Comic> reservas, List<Comic> ventas) {
         if (reservas == null || reservas.isEmpty()) {
-            throw new ComicYaCompradoException("No hay reservas para mostrar.");
+            return Resultado.fallo(Resultado.Motivo.SIN_RESERVAS, "No hay reservas para mostrar.");
         }
-        int sumaPrecios = 0;
         HashSet<Comic> copiaReservas = new HashSet<>(reservas);
         for (Comic comic : copiaReservas) {
-            sumaPrecios += comic.getPrecio();
             ventas.add(comic);
             reservas.remove(comic);
         }
-        System.out.println("Total a pagar: " + sumaPrecios);
+        List<Comic> comprados = new ArrayList<>(copiaReservas);
+        cobrar(comprados);
+        return Resultado.exito(comprados);
+    }
+
+    /**
+     * Compra las reservas del cliente en el catálogo particionado y calcula el total con las
+     * promociones vigentes.
+     *
+     * @param catalogo Catálogo compartido.
+     * @return Cómics comprados, o un fallo si no hay reservas.
+     */
+    @Override
+    public Resultado<List<Comic>> intentarComprar(CatalogoParticionado catalogo) {
+        Resultado<List<Comic>> resultado = catalogo.intentarComprar(getRut());
+        if (resultado instanceof Resultado.Exito<List<Comic>> exito) {
+            cobrar(exito.valor());
+        }
+        return resultado;
+    }
+
+    /**
+     * Publica la venta de los cómics comprados, la registra en la auditoría y muestra el total.
+     *
+     * @param comprados Cómics que el cliente acaba de comprar.
+     */
+    private void cobrar(Collection<Comic> comprados) {
+        List<Comic> carrito = List.copyOf(comprados);
+        EvaluadorPrecios.Cotizacion cotizacion = EvaluadorPrecios.vigente().cotizar(carrito);
+        long[] cobrados = cotizacion.prorratear(carrito);
+        for (int i = 0; i < carrito.size(); i++) {
+            Comic comic = carrito.get(i);
+            BusEventos.getInstancia().publicar(new ComicVendido(comic, getRut(), cobrados[i]));
+            RegistroAuditoria.getInstancia().registrar(AccionAuditoria.COMPRA, getRut(), comic.getCodigo(),
+                    comic.getPrecio());
+        }
+        BusEventos.getInstancia().publicar(new CompraCompletada(carrito, getRut(), cotizacion.total()));
+        if (cotizacion.descuento() > 0) {
+            System.out.println("Subtotal: " + cotizacion.subtotal());
+            for (Map.Entry<String, Long> descuento : cotizacion.descuentos().entrySet()) {
+                System.out.println("Promocion " + descuento.getKey() + ": -" + descuento.getValue());
+            }
+        }
+        System.out.println("Total a pagar: " + cotizacion.total());
     }
 
     /**
@@ -166,19 +240,18 @@ public class Cliente extends Usuario {
      * @param comics   Lista actual de cómics disponibles.
      * @param reservas Lista donde se almacenan las reservas.
      * @param codigo   Código del cómic a reservar.
-     * @throws ComicYaReservadoException Si falta información o no hay cómics disponibles.
+     * @return Cómic reservado, o un fallo si falta información o el cómic no está disponible.
      */
     @Override
-    public void reservarComic(List<Comic> comics, List<Comic> reservas, String codigo)
-            throws ComicYaReservadoException {
+    public Resultado<Comic> intentarReservar(List<Comic> comics, List<Comic> reservas, String codigo) {
         if (codigo == null || codigo.isEmpty()) {
-            throw new ComicYaReservadoException("El codigo no puede estar vacio.");
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "El codigo no puede estar vacio.");
         }
         if (comics == null || comics.isEmpty()) {
-            throw new ComicYaReservadoException("No hay comics para mostrar");
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "No hay comics para mostrar");
         }
         if (reservas == null) {
-            throw new ComicYaReservadoException("No hay reservas para mostrar.");
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "No hay reservas para mostrar.");
         }
         Integer index = null;
         for (int i = 0; i < comics.size(); i++) {
@@ -189,10 +262,37 @@ public class Cliente extends Usuario {
             }
         }
         if (index == null) {
-            return;
+            return Resultado.fallo(Resultado.Motivo.NO_ENCONTRADO, "Comic llamado " + codigo + " no encontrado.");
         }
         Comic comicIndexado = comics.get(index);
         reservas.add(comicIndexado);
         comics.remove(comicIndexado);
+        BusEventos.getInstancia().publicar(new ComicReservado(comicIndexado, getRut()));
+        RegistroAuditoria.getInstancia().registrar(AccionAuditoria.RESERVA, getRut(), comicIndexado.getCodigo(),
+                comicIndexado.getPrecio());
+        return Resultado.exito(comicIndexado);
+    }
+
+    /**
+     * Reserva un cómic del catálogo particionado a nombre del cliente. La partición del
+     * cómic decide si sigue disponible, sin recorrer el catálogo.
+     *
+     * @param catalogo Catálogo compartido.
+     * @param codigo   Código del cómic a reservar.
+     * @return Cómic reservado, o un fallo si el código está vacío o el cómic no está disponible.
+     */
+    @Override
+    public Resultado<Comic> intentarReservar(CatalogoParticionado catalogo, String codigo) {
+        if (codigo == null || codigo.isBlank()) {
+            return Resultado.fallo(Resultado.Motivo.DATOS_INVALIDOS, "El codigo no puede estar vacio.");
+        }
+        Resultado<Comic> resultado = catalogo.intentarReservar(getRut(), codigo.trim());
+        if (resultado instanceof Resultado.Exito<Comic> exito) {
+            Comic reservado = exito.valor();
+            BusEventos.getInstancia().publicar(new ComicReservado(reservado, getRut()));
+            RegistroAuditoria.getInstancia().registrar(AccionAuditoria.RESERVA, getRut(), reservado.getCodigo(),
+                    reservado.getPrecio());
+        }
+        return resultado;
     }
-}
\ No newline at end of file
+}
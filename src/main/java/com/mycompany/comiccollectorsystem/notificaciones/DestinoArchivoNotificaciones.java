@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.notificaciones;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Destino que agrega cada aviso como una línea de un archivo de texto local:
+ * {@code fecha;rut;codigo;titulo}. Sirve para pruebas y como registro de lo enviado.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class DestinoArchivoNotificaciones implements DestinoNotificaciones {
+    private final Path archivo;
+
+    /**
+     * Crea el destino sobre un archivo, que se crea si no existe.
+     *
+     * @param archivo Archivo de avisos.
+     */
+    public DestinoArchivoNotificaciones(Path archivo) {
+        this.archivo = archivo;
+    }
+
+    /**
+     * Agrega el lote al final del archivo con una sola escritura.
+     *
+     * @param lote Avisos a entregar.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    @Override
+    public void entregar(List<Notificacion> lote) throws IOException {
+        String fecha = LocalDateTime.now().withNano(0).toString();
+        try (BufferedWriter writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Notificacion notificacion : lote) {
+                writer.write(fecha + ";" + notificacion.rutCliente() + ";" + notificacion.comic().getCodigo() + ";"
+                        + notificacion.comic().getTitulo());
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.notificaciones;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino al que {@link MotorNotificaciones} entrega los avisos (archivo, correo, cola...).
+ * <p>
+ * Recibe los avisos en lotes, siempre desde el mismo hilo, así que no necesita ser seguro
+ * para hilos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public interface DestinoNotificaciones {
+
+    /**
+     * Entrega un lote de avisos.
+     *
+     * @param lote Avisos a entregar; la lista se reutiliza después de la llamada.
+     * @throws IOException Si no se pudieron entregar.
+     */
+    void entregar(List<Notificacion> lote) throws IOException;
+}
@@ -0,0 +1,149 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.notificaciones;
+
+import com.mycompany.comiccollectorsystem.catalogo.TrieTitulos;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Listas de deseos de los clientes, por código de cómic.
+ * <p>
+ * Para cada código se guardan los RUT de los clientes que esperan ese cómic. Si se conoce
+ * el título del cómic deseado, el código también queda asociado a su título normalizado
+ * (como en {@link TrieTitulos}): así una reposición, que llega con un código nuevo, avisa a
+ * quienes esperaban otro ejemplar del mismo título.
+ * </p>
+ * <p>
+ * Cada deseo se cumple una sola vez: {@link #tomar} quita y devuelve los conjuntos de
+ * interesados tal como están, sin copiarlos, de modo que su costo no depende de cuántos
+ * clientes esperan el cómic. Si el aviso no llega a entregarse, {@link #restaurar} devuelve
+ * el deseo a la lista. Es seguro para hilos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ListaDeseos {
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    /** Clientes que esperan cada código (normalizado), en orden de llegada. */
+    private final HashMap<String, LinkedHashSet<String>> interesadosPorCodigo = new HashMap<>();
+    /** Códigos deseados de cada título normalizado. */
+    private final HashMap<String, HashSet<String>> codigosPorTitulo = new HashMap<>();
+    /** Título normalizado de cada código deseado, si se conoce. */
+    private final HashMap<String, String> tituloPorCodigo = new HashMap<>();
+
+    /**
+     * Agrega un cómic a la lista de deseos de un cliente.
+     *
+     * @param rutCliente RUT del cliente.
+     * @param codigo     Código del cómic deseado.
+     * @param comic      Cómic deseado, si se conoce (por ejemplo, uno ya vendido); puede ser {@code null}.
+     * @return {@code false} si el cliente ya esperaba ese código.
+     */
+    public boolean desear(String rutCliente, String codigo, Comic comic) {
+        cerrojo.writeLock().lock();
+        try {
+            return desearSinCerrojo(rutCliente, codigo, comic);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a agregar los deseos de avisos que no se pudieron entregar, asociados al título
+     * del cómic, para que esos clientes reciban el aviso la próxima vez que ese título quede
+     * disponible.
+     *
+     * @param avisos Avisos no entregados.
+     */
+    public void restaurar(List<Notificacion> avisos) {
+        cerrojo.writeLock().lock();
+        try {
+            for (Notificacion aviso : avisos) {
+                desearSinCerrojo(aviso.rutCliente(), aviso.comic().getCodigo(), aviso.comic());
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita y devuelve a los interesados en un cómic que acaba de quedar disponible: los que
+     * esperaban su código y los que esperaban otro código del mismo título.
+     *
+     * @param comic Cómic disponible.
+     * @return Conjuntos de RUT, uno por código deseado; un cliente puede estar en más de uno.
+     */
+    public List<Set<String>> tomar(Comic comic) {
+        cerrojo.writeLock().lock();
+        try {
+            List<Set<String>> grupos = new ArrayList<>();
+            tomarSinCerrojo(clave(comic.getCodigo()), grupos);
+            HashSet<String> codigos = codigosPorTitulo.get(TrieTitulos.normalizar(comic.getTitulo()));
+            if (codigos != null) {
+                for (String codigo : new ArrayList<>(codigos)) {
+                    tomarSinCerrojo(codigo, grupos);
+                }
+            }
+            return grupos;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve cuántos clientes esperan un código.
+     *
+     * @param codigo Código del cómic.
+     * @return Cantidad de interesados.
+     */
+    public int cantidadInteresados(String codigo) {
+        cerrojo.readLock().lock();
+        try {
+            LinkedHashSet<String> interesados = interesadosPorCodigo.get(clave(codigo));
+            return interesados == null ? 0 : interesados.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private boolean desearSinCerrojo(String rutCliente, String codigo, Comic comic) {
+        String clave = clave(codigo);
+        if (comic != null && !tituloPorCodigo.containsKey(clave)) {
+            String titulo = TrieTitulos.normalizar(comic.getTitulo());
+            tituloPorCodigo.put(clave, titulo);
+            codigosPorTitulo.computeIfAbsent(titulo, t -> new HashSet<>()).add(clave);
+        }
+        return interesadosPorCodigo.computeIfAbsent(clave, c -> new LinkedHashSet<>()).add(rutCliente);
+    }
+
+    private void tomarSinCerrojo(String clave, List<Set<String>> grupos) {
+        LinkedHashSet<String> interesados = interesadosPorCodigo.remove(clave);
+        if (interesados != null) {
+            grupos.add(interesados);
+        }
+        String titulo = tituloPorCodigo.remove(clave);
+        if (titulo != null) {
+            HashSet<String> codigos = codigosPorTitulo.get(titulo);
+            codigos.remove(clave);
+            if (codigos.isEmpty()) {
+                codigosPorTitulo.remove(titulo);
+            }
+        }
+    }
+
+    private static String clave(String codigo) {
+        return codigo.trim().toUpperCase(Locale.ROOT);
+    }
+}
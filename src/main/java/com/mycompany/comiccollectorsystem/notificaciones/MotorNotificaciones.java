@@ -0,0 +1,178 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.notificaciones;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avisa a los clientes cuando un cómic de su {@link ListaDeseos} vuelve a estar disponible.
+ * <p>
+ * Escucha en el bus los cómics agregados (altas y reposiciones) y las reservas vencidas.
+ * Por cada uno, el hilo del bus solo toma los interesados de la lista de deseos (sin
+ * recorrerlos) y encola la difusión; un hilo propio recorre a los interesados y entrega los
+ * avisos al {@link DestinoNotificaciones} en lotes de {@code comic.notificaciones.lote}
+ * (1000 por defecto). Así, un título con cientos de miles de interesados no frena el bus ni,
+ * por contrapresión, la operación del administrador que lo repuso.
+ * </p>
+ * <p>
+ * Como {@link ListaDeseos#tomar} ya quitó los deseos, un lote que el destino rechaza no se
+ * descarta: se reintenta en el mismo hilo hasta {@code comic.notificaciones.reintentos}
+ * veces (3 por defecto), con pausas que se duplican desde medio segundo. Si sigue fallando,
+ * sus deseos vuelven a la lista para avisar la próxima vez que el título quede disponible.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class MotorNotificaciones implements SuscriptorEventos {
+    private static final int TAMANO_LOTE = Integer.getInteger("comic.notificaciones.lote", 1000);
+    private static final int REINTENTOS = Integer.getInteger("comic.notificaciones.reintentos", 3);
+    private static final long PAUSA_REINTENTO_MS = 500;
+
+    private final ListaDeseos listaDeseos;
+    private final DestinoNotificaciones destino;
+    private final ScheduledExecutorService difusiones;
+    private final AtomicLong entregadas;
+    private final AtomicLong fallidas;
+
+    /**
+     * Crea el motor.
+     *
+     * @param listaDeseos Listas de deseos de los clientes.
+     * @param destino     Destino de los avisos.
+     */
+    public MotorNotificaciones(ListaDeseos listaDeseos, DestinoNotificaciones destino) {
+        this.listaDeseos = listaDeseos;
+        this.destino = destino;
+        this.difusiones = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("notificaciones").factory());
+        this.entregadas = new AtomicLong();
+        this.fallidas = new AtomicLong();
+    }
+
+    /**
+     * Encola la difusión de los cómics que quedaron disponibles en el lote.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        for (EventoDominio evento : lote) {
+            if (evento instanceof ComicAgregado agregado) {
+                difundir(agregado.comic());
+            } else if (evento instanceof ReservaExpirada expirada) {
+                difundir(expirada.comic());
+            }
+        }
+    }
+
+    /**
+     * Devuelve cuántos avisos se entregaron.
+     *
+     * @return Avisos entregados.
+     */
+    public long getEntregadas() {
+        return entregadas.get();
+    }
+
+    /**
+     * Devuelve cuántos avisos no se pudieron entregar tras agotar los reintentos; sus deseos
+     * volvieron a la lista.
+     *
+     * @return Avisos fallidos.
+     */
+    public long getFallidas() {
+        return fallidas.get();
+    }
+
+    /**
+     * Espera a que terminen las difusiones y los reintentos pendientes y detiene el hilo.
+     * Debe llamarse después de cerrar el bus de eventos.
+     */
+    public void cerrar() {
+        difusiones.close();
+    }
+
+    private void difundir(Comic comic) {
+        List<Set<String>> grupos = listaDeseos.tomar(comic);
+        if (!grupos.isEmpty()) {
+            difusiones.execute(() -> entregar(comic, grupos));
+        }
+    }
+
+    /**
+     * Recorre a los interesados y entrega los avisos en lotes. Corre en el hilo de difusión.
+     */
+    private void entregar(Comic comic, List<Set<String>> grupos) {
+        // un cliente que esperaba dos ejemplares del mismo título recibe un solo aviso
+        Set<String> avisados = grupos.size() > 1 ? new HashSet<>() : null;
+        List<Notificacion> pendientes = new ArrayList<>(TAMANO_LOTE);
+        for (Set<String> interesados : grupos) {
+            for (String rut : interesados) {
+                if (avisados != null && !avisados.add(rut)) {
+                    continue;
+                }
+                pendientes.add(new Notificacion(rut, comic));
+                if (pendientes.size() == TAMANO_LOTE) {
+                    enviar(pendientes);
+                }
+            }
+        }
+        if (!pendientes.isEmpty()) {
+            enviar(pendientes);
+        }
+    }
+
+    private void enviar(List<Notificacion> pendientes) {
+        enviar(List.copyOf(pendientes), 0);
+        pendientes.clear();
+    }
+
+    /**
+     * Entrega un lote y, si el destino falla, programa el siguiente intento o, agotados los
+     * reintentos, devuelve los deseos a la lista. Corre en el hilo de difusión.
+     *
+     * @param lote    Avisos a entregar; no se modifica.
+     * @param intento Intentos fallidos previos.
+     */
+    private void enviar(List<Notificacion> lote, int intento) {
+        try {
+            destino.entregar(lote);
+            entregadas.addAndGet(lote.size());
+            return;
+        } catch (IOException | RuntimeException e) {
+            if (intento < REINTENTOS) {
+                try {
+                    difusiones.schedule(() -> enviar(lote, intento + 1), PAUSA_REINTENTO_MS << intento,
+                            TimeUnit.MILLISECONDS);
+                    System.out.println("Error al entregar " + lote.size() + " avisos, se reintentara: "
+                            + e.getMessage());
+                    return;
+                } catch (RejectedExecutionException cerrado) {
+                    // el motor se está cerrando: no quedan reintentos
+                }
+            }
+            System.out.println("Error al entregar " + lote.size() + " avisos; se avisara cuando el comic vuelva "
+                    + "a estar disponible: " + e.getMessage());
+        }
+        fallidas.addAndGet(lote.size());
+        listaDeseos.restaurar(lote);
+    }
+}
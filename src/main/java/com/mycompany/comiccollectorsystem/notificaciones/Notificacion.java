@@ -0,0 +1,19 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.notificaciones;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+
+/**
+ * Aviso a un cliente de que un cómic de su lista de deseos está disponible.
+ *
+ * @param rutCliente RUT del cliente avisado.
+ * @param comic      Cómic disponible.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record Notificacion(String rutCliente, Comic comic) {
+}
@@ -0,0 +1,154 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.recomendaciones;
+
+import com.mycompany.comiccollectorsystem.catalogo.TrieTitulos;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.colecciones.ResumenFrecuentes;
+import com.mycompany.comiccollectorsystem.utils.eventos.CompraCompletada;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recomendaciones del tipo "quienes compraron X también compraron Y".
+ * <p>
+ * Como cada código es un ejemplar que deja el catálogo al venderse, las coocurrencias se
+ * cuentan por título normalizado (como en {@link TrieTitulos}): cada título vendido recibe un
+ * número, y cada compra completada suma una coocurrencia entre cada par de títulos comprados
+ * juntos. La fila de cada título de esta matriz dispersa es un {@link ResumenFrecuentes} de
+ * {@link #CAPACIDAD_FILA} entradas: la memoria por título queda acotada aunque crezcan el
+ * catálogo y las ventas, a cambio de olvidar las coocurrencias raras.
+ * </p>
+ * <p>
+ * Las recomendaciones de las filas que cambian se recalculan al procesar cada lote y se
+ * guardan en una caché acotada ({@code comic.recomendaciones.cache}, 1024 por defecto, se
+ * descarta la más antigua); las consultas las leen de ahí y solo recalculan si la fila quedó
+ * fuera. Se mantiene con los eventos {@link CompraCompletada} del bus.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class MotorRecomendaciones implements SuscriptorEventos {
+    /** Cantidad de recomendaciones por título. */
+    public static final int TOP_K = 5;
+    /** Coocurrencias guardadas por título. */
+    private static final int CAPACIDAD_FILA = 32;
+    /** Cómics de una misma compra que se consideran, para acotar los pares por compra. */
+    private static final int MAXIMO_POR_COMPRA = 50;
+    private static final int CAPACIDAD_CACHE = Integer.getInteger("comic.recomendaciones.cache", 1024);
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final HashMap<String, Integer> numeroPorTitulo = new HashMap<>();
+    /** Último cómic vendido de cada título, para mostrar el título tal como se escribió. */
+    private final ArrayList<Comic> comicPorNumero = new ArrayList<>();
+    private final ArrayList<ResumenFrecuentes> filas = new ArrayList<>();
+    private final Map<Integer, int[]> cache;
+    private long compras;
+
+    /**
+     * Crea un motor sin compras.
+     */
+    public MotorRecomendaciones() {
+        this.cache = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> mayor) {
+                return size() > CAPACIDAD_CACHE;
+            }
+        };
+    }
+
+    /**
+     * Actualiza las coocurrencias con un lote de eventos del bus.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        cerrojo.writeLock().lock();
+        try {
+            Set<Integer> cambiadas = new HashSet<>();
+            for (EventoDominio evento : lote) {
+                if (evento instanceof CompraCompletada compra) {
+                    registrarSinCerrojo(compra.comics(), cambiadas);
+                }
+            }
+            for (Integer numero : cambiadas) {
+                cache.remove(numero);
+                cache.put(numero, filas.get(numero).mayores(TOP_K));
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los títulos más comprados junto con el del cómic indicado.
+     *
+     * @param comic Cómic consultado.
+     * @return Un cómic vendido por cada título recomendado (hasta {@link #TOP_K}), del más al
+     * menos frecuente; vacío si el título nunca se vendió junto a otro.
+     */
+    public List<Comic> recomendar(Comic comic) {
+        cerrojo.readLock().lock();
+        try {
+            Integer numero = numeroPorTitulo.get(TrieTitulos.normalizar(comic.getTitulo()));
+            if (numero == null) {
+                return List.of();
+            }
+            int[] mayores = cache.get(numero);
+            if (mayores == null) {
+                mayores = filas.get(numero).mayores(TOP_K);
+            }
+            List<Comic> recomendados = new ArrayList<>(mayores.length);
+            for (int otro : mayores) {
+                recomendados.add(comicPorNumero.get(otro));
+            }
+            return recomendados;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private void registrarSinCerrojo(List<Comic> comics, Set<Integer> cambiadas) {
+        compras++;
+        int cantidad = Math.min(comics.size(), MAXIMO_POR_COMPRA);
+        int[] numeros = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            numeros[i] = numero(comics.get(i));
+        }
+        for (int i = 0; i < cantidad; i++) {
+            for (int j = 0; j < cantidad; j++) {
+                if (numeros[i] != numeros[j]) {
+                    filas.get(numeros[i]).agregar(numeros[j]);
+                }
+            }
+            cambiadas.add(numeros[i]);
+        }
+    }
+
+    private int numero(Comic comic) {
+        String titulo = TrieTitulos.normalizar(comic.getTitulo());
+        Integer numero = numeroPorTitulo.get(titulo);
+        if (numero == null) {
+            numero = comicPorNumero.size();
+            numeroPorTitulo.put(titulo, numero);
+            comicPorNumero.add(comic);
+            filas.add(new ResumenFrecuentes(CAPACIDAD_FILA));
+        } else {
+            comicPorNumero.set(numero, comic);
+        }
+        return numero;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Estado replicado del catálogo: cómics disponibles, reservados y vendidos.
+ * <p>
+ * El líder mantiene una copia para generar instantáneas y cada seguidor aplica sobre la
+ * suya los mismos {@link RegistroCambio}, en el mismo orden.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CatalogoReplica {
+    private final LinkedHashMap<String, Comic> disponibles;
+    private final LinkedHashMap<String, Comic> reservados;
+    private final ArrayList<Comic> vendidos;
+
+    /**
+     * Crea un catálogo vacío.
+     */
+    public CatalogoReplica() {
+        this.disponibles = new LinkedHashMap<>();
+        this.reservados = new LinkedHashMap<>();
+        this.vendidos = new ArrayList<>();
+    }
+
+    /**
+     * Crea un catálogo con los cómics disponibles indicados.
+     *
+     * @param comics Cómics disponibles iniciales.
+     */
+    public CatalogoReplica(Collection<Comic> comics) {
+        this();
+        for (Comic comic : comics) {
+            disponibles.put(comic.getCodigo(), comic);
+        }
+    }
+
+    /**
+     * Aplica un cambio sobre el catálogo.
+     *
+     * @param registro Cambio a aplicar.
+     */
+    public synchronized void aplicar(RegistroCambio registro) {
+        Comic comic = registro.comic();
+        String codigo = comic.getCodigo();
+        switch (registro.tipo()) {
+            case AGREGADO:
+                disponibles.put(codigo, comic);
+                break;
+            case ELIMINADO:
+                disponibles.remove(codigo);
+                break;
+            case RESERVADO:
+                disponibles.remove(codigo);
+                reservados.put(codigo, comic);
+                break;
+            case LIBERADO:
+                reservados.remove(codigo);
+                disponibles.put(codigo, comic);
+                break;
+            case VENDIDO:
+                reservados.remove(codigo);
+                disponibles.remove(codigo);
+                vendidos.add(comic);
+                break;
+        }
+    }
+
+    /**
+     * Devuelve una copia independiente del catálogo.
+     *
+     * @return Copia del catálogo.
+     */
+    public synchronized CatalogoReplica copiar() {
+        CatalogoReplica copia = new CatalogoReplica();
+        copia.disponibles.putAll(disponibles);
+        copia.reservados.putAll(reservados);
+        copia.vendidos.addAll(vendidos);
+        return copia;
+    }
+
+    /**
+     * Escribe el catálogo completo como instantánea.
+     *
+     * @param salida Flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public synchronized void escribir(DataOutputStream salida) throws IOException {
+        escribirComics(salida, disponibles.values());
+        escribirComics(salida, reservados.values());
+        escribirComics(salida, vendidos);
+    }
+
+    /**
+     * Lee una instantánea completa del catálogo.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Catálogo leído.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public static CatalogoReplica leer(DataInputStream entrada) throws IOException {
+        CatalogoReplica catalogo = new CatalogoReplica();
+        for (Comic comic : leerComics(entrada)) {
+            catalogo.disponibles.put(comic.getCodigo(), comic);
+        }
+        for (Comic comic : leerComics(entrada)) {
+            catalogo.reservados.put(comic.getCodigo(), comic);
+        }
+        catalogo.vendidos.addAll(leerComics(entrada));
+        return catalogo;
+    }
+
+    public synchronized List<Comic> getDisponibles() {
+        return new ArrayList<>(disponibles.values());
+    }
+
+    public synchronized List<Comic> getReservados() {
+        return new ArrayList<>(reservados.values());
+    }
+
+    public synchronized List<Comic> getVendidos() {
+        return new ArrayList<>(vendidos);
+    }
+
+    private static void escribirComics(DataOutputStream salida, Collection<Comic> comics) throws IOException {
+        salida.writeInt(comics.size());
+        for (Comic comic : comics) {
+            RegistroCambio.escribirComic(salida, comic);
+        }
+    }
+
+    private static List<Comic> leerComics(DataInputStream entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        List<Comic> comics = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            comics.add(RegistroCambio.leerComic(entrada));
+        }
+        return comics;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Consola de solo lectura para un proceso seguidor de replicación.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ConsolaSeguidor {
+    private final Scanner scanner;
+    private final SeguidorReplicacion seguidor;
+
+    /**
+     * Crea la consola para el líder indicado.
+     *
+     * @param direccion Dirección del líder en formato {@code host:puerto}.
+     */
+    public ConsolaSeguidor(String direccion) {
+        int separador = direccion.lastIndexOf(':');
+        if (separador <= 0) {
+            throw new IllegalArgumentException("La direccion del lider debe tener el formato host:puerto");
+        }
+        String host = direccion.substring(0, separador);
+        int puerto = Integer.parseInt(direccion.substring(separador + 1));
+        this.scanner = new Scanner(System.in);
+        this.seguidor = new SeguidorReplicacion(host, puerto);
+    }
+
+    /**
+     * Muestra el menú del seguidor hasta que el usuario decida salir.
+     */
+    public void mostrarMenu() {
+        seguidor.iniciar();
+        int opcion;
+        do {
+            System.out.println("\n===== COMIC COLLECTOR SYSTEM (REPLICA) =====");
+            System.out.println("1. Ver comics");
+            System.out.println("2. Ver estado de replicacion");
+            System.out.println("3. Salir");
+            System.out.println("Seleccione una opcion: ");
+
+            try {
+                opcion = Integer.parseInt(scanner.nextLine());
+            } catch (NumberFormatException e) {
+                opcion = 0;
+            }
+
+            switch (opcion) {
+                case 1:
+                    verComics();
+                    break;
+                case 2:
+                    System.out.println(seguidor.metricas());
+                    break;
+                case 3:
+                    System.out.println("Replica detenida.");
+                    break;
+                default:
+                    System.out.println("La opcion seleccionada no es valida.");
+                    break;
+            }
+        } while (opcion != 3);
+
+        seguidor.detener();
+    }
+
+    private void verComics() {
+        CatalogoReplica catalogo = seguidor.getCatalogo();
+        imprimir("LISTA DE COMICS", catalogo.getDisponibles(), "No hay comics disponibles.");
+        imprimir("LISTA DE COMICS RESERVADOS", catalogo.getReservados(), "No hay comics reservados.");
+        imprimir("LISTA DE COMICS VENDIDOS", catalogo.getVendidos(), "No hay comics vendidos.");
+    }
+
+    private void imprimir(String titulo, List<Comic> comics, String mensajeVacio) {
+        System.out.println("\n===== " + titulo + " =====");
+        if (comics.isEmpty()) {
+            System.out.println(mensajeVacio);
+        }
+        for (Comic comic : comics) {
+            System.out.println(comic.mostrarInformacionComic());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.ReservaExpirada;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Líder de replicación del catálogo.
+ * <p>
+ * Se suscribe al bus de eventos, asigna a cada cambio un número de secuencia y lo envía
+ * por TCP a todos los seguidores conectados. Un seguidor nuevo recibe primero una
+ * instantánea del catálogo en la secuencia actual y luego los cambios posteriores.
+ * Cada seguidor confirma la última secuencia aplicada, lo que permite medir su retraso.
+ * </p>
+ * <p>
+ * Protocolo (big-endian, {@link DataOutputStream}):
+ * líder → seguidor: {@code 'S'} secuencia + instantánea, {@code 'R'} registro,
+ * {@code 'H'} latido con la última secuencia; seguidor → líder: {@code 'A'} secuencia aplicada.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class LiderReplicacion implements SuscriptorEventos {
+    static final byte INSTANTANEA = 'S';
+    static final byte REGISTRO = 'R';
+    static final byte LATIDO = 'H';
+    static final byte CONFIRMACION = 'A';
+
+    /** Registros que pueden quedar pendientes por seguidor antes de desconectarlo. */
+    private static final int CAPACIDAD_SEGUIDOR = 10_000;
+    /** Intervalo de latidos cuando no hay cambios. */
+    private static final long INTERVALO_LATIDO_MS = 1000;
+
+    private final CatalogoReplica catalogo;
+    private final List<SesionSeguidor> seguidores;
+    /** Última secuencia asignada; protegida por {@code this}. */
+    private long ultimaSecuencia;
+    private ServerSocket servidor;
+    private volatile boolean activo;
+
+    /**
+     * Crea un líder cuyo estado inicial es el catálogo indicado.
+     *
+     * @param comicsIniciales Cómics disponibles al iniciar.
+     */
+    public LiderReplicacion(List<Comic> comicsIniciales) {
+        this.catalogo = new CatalogoReplica(comicsIniciales);
+        this.seguidores = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Abre el puerto de replicación y comienza a aceptar seguidores.
+     *
+     * @param puerto Puerto TCP local.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public void iniciar(int puerto) throws IOException {
+        servidor = new ServerSocket(puerto);
+        activo = true;
+        Thread aceptador = new Thread(this::aceptar, "replicacion-lider");
+        aceptador.setDaemon(true);
+        aceptador.start();
+        System.out.println("Replicacion: lider escuchando en el puerto " + puerto);
+    }
+
+    /**
+     * Convierte los eventos del lote en registros ordenados y los envía a los seguidores.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        synchronized (this) {
+            for (EventoDominio evento : lote) {
+                RegistroCambio registro = convertir(evento);
+                if (registro == null) {
+                    continue;
+                }
+                catalogo.aplicar(registro);
+                for (SesionSeguidor seguidor : seguidores) {
+                    seguidor.enviar(registro);
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve las métricas de replicación de cada seguidor.
+     *
+     * @return Texto con la secuencia del líder y el retraso de cada seguidor.
+     */
+    public synchronized String metricas() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Secuencia del lider: ").append(ultimaSecuencia)
+                .append(" | Seguidores: ").append(seguidores.size());
+        for (SesionSeguidor seguidor : seguidores) {
+            sb.append(System.lineSeparator())
+                    .append(seguidor.nombre)
+                    .append(" | confirmada: ").append(seguidor.secuenciaConfirmada)
+                    .append(" | retraso: ").append(ultimaSecuencia - seguidor.secuenciaConfirmada)
+                    .append(" registros | pendientes de envio: ").append(seguidor.cola.size());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Cierra el puerto de replicación y desconecta a los seguidores.
+     */
+    public void cerrar() {
+        activo = false;
+        try {
+            if (servidor != null) {
+                servidor.close();
+            }
+        } catch (IOException e) {
+            // ignorar
+        }
+        for (SesionSeguidor seguidor : seguidores) {
+            seguidor.cerrar();
+        }
+    }
+
+    /**
+     * Traduce un evento del dominio a un registro de cambio con la siguiente secuencia.
+     *
+     * @param evento Evento publicado en el bus.
+     * @return Registro de cambio, o {@code null} si el evento no se replica.
+     */
+    private RegistroCambio convertir(EventoDominio evento) {
+        TipoCambio tipo;
+        Comic comic;
+        String rut;
+        if (evento instanceof ComicAgregado agregado) {
+            tipo = TipoCambio.AGREGADO;
+            comic = agregado.comic();
+            rut = agregado.rutAdministrador();
+        } else if (evento instanceof ComicEliminado eliminado) {
+            tipo = TipoCambio.ELIMINADO;
+            comic = eliminado.comic();
+            rut = eliminado.rutAdministrador();
+        } else if (evento instanceof ComicReservado reservado) {
+            tipo = TipoCambio.RESERVADO;
+            comic = reservado.comic();
+            rut = reservado.rutCliente();
+        } else if (evento instanceof ReservaExpirada expirada) {
+            tipo = TipoCambio.LIBERADO;
+            comic = expirada.comic();
+            rut = "";
+        } else if (evento instanceof ComicVendido vendido) {
+            tipo = TipoCambio.VENDIDO;
+            comic = vendido.comic();
+            rut = vendido.rutCliente();
+        } else {
+            return null;
+        }
+        return new RegistroCambio(++ultimaSecuencia, System.currentTimeMillis(), tipo, comic, rut);
+    }
+
+    /**
+     * Acepta seguidores mientras el líder esté activo.
+     */
+    private void aceptar() {
+        int contador = 0;
+        while (activo) {
+            try {
+                Socket socket = servidor.accept();
+                SesionSeguidor seguidor;
+                synchronized (this) {
+                    seguidor = new SesionSeguidor("seguidor-" + (++contador) + " " + socket.getRemoteSocketAddress(),
+                            socket, catalogo.copiar(), ultimaSecuencia);
+                    seguidores.add(seguidor);
+                }
+                seguidor.iniciar();
+            } catch (IOException e) {
+                if (activo) {
+                    System.err.println("Replicacion: error al aceptar seguidor: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Conexión con un seguidor: envía la instantánea inicial y luego los registros en orden.
+     */
+    private class SesionSeguidor {
+        private final String nombre;
+        private final Socket socket;
+        private final BlockingQueue<RegistroCambio> cola;
+        private final CatalogoReplica instantanea;
+        private final long secuenciaInstantanea;
+        private volatile long secuenciaConfirmada;
+
+        SesionSeguidor(String nombre, Socket socket, CatalogoReplica instantanea, long secuenciaInstantanea) {
+            this.nombre = nombre;
+            this.socket = socket;
+            this.cola = new ArrayBlockingQueue<>(CAPACIDAD_SEGUIDOR);
+            this.instantanea = instantanea;
+            this.secuenciaInstantanea = secuenciaInstantanea;
+        }
+
+        void iniciar() {
+            Thread emisor = new Thread(this::emitir, "replicacion-" + nombre);
+            emisor.setDaemon(true);
+            emisor.start();
+            Thread receptor = new Thread(this::recibirConfirmaciones, "replicacion-ack-" + nombre);
+            receptor.setDaemon(true);
+            receptor.start();
+        }
+
+        /**
+         * Encola un registro; si el seguidor no da abasto se le desconecta para que
+         * vuelva a iniciar desde una instantánea.
+         */
+        void enviar(RegistroCambio registro) {
+            if (!cola.offer(registro)) {
+                System.err.println("Replicacion: " + nombre + " no da abasto, se desconecta.");
+                cerrar();
+            }
+        }
+
+        void emitir() {
+            try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                salida.writeByte(INSTANTANEA);
+                salida.writeLong(secuenciaInstantanea);
+                instantanea.escribir(salida);
+                salida.flush();
+
+                List<RegistroCambio> lote = new ArrayList<>();
+                while (!socket.isClosed()) {
+                    RegistroCambio registro = cola.poll(INTERVALO_LATIDO_MS, TimeUnit.MILLISECONDS);
+                    if (registro == null) {
+                        long secuenciaLider;
+                        synchronized (LiderReplicacion.this) {
+                            secuenciaLider = ultimaSecuencia;
+                        }
+                        salida.writeByte(LATIDO);
+                        salida.writeLong(secuenciaLider);
+                    } else {
+                        lote.add(registro);
+                        cola.drainTo(lote);
+                        for (RegistroCambio pendiente : lote) {
+                            salida.writeByte(REGISTRO);
+                            pendiente.escribir(salida);
+                        }
+                        lote.clear();
+                    }
+                    salida.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // el seguidor se desconectó
+            } finally {
+                cerrar();
+            }
+        }
+
+        void recibirConfirmaciones() {
+            try {
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                while (entrada.readByte() == CONFIRMACION) {
+                    secuenciaConfirmada = entrada.readLong();
+                }
+            } catch (IOException e) {
+                // el seguidor se desconectó
+            } finally {
+                cerrar();
+            }
+        }
+
+        void cerrar() {
+            seguidores.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // ignorar
+            }
+        }
+    }
+}
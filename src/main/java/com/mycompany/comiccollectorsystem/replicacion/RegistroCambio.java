@@ -0,0 +1,88 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Cambio ordenado del catálogo o de las ventas enviado del líder a los seguidores.
+ *
+ * @param secuencia Número de secuencia asignado por el líder, consecutivo desde 1.
+ * @param instanteMs Instante en que el líder registró el cambio.
+ * @param tipo      Tipo de cambio.
+ * @param comic     Cómic afectado.
+ * @param rut       RUT del usuario que originó el cambio, o cadena vacía.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record RegistroCambio(long secuencia, long instanteMs, TipoCambio tipo, Comic comic, String rut) {
+
+    /**
+     * Escribe el registro en el flujo.
+     *
+     * @param salida Flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void escribir(DataOutputStream salida) throws IOException {
+        salida.writeLong(secuencia);
+        salida.writeLong(instanteMs);
+        salida.writeByte(tipo.ordinal());
+        escribirComic(salida, comic);
+        salida.writeUTF(rut == null ? "" : rut);
+    }
+
+    /**
+     * Lee un registro desde el flujo.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Registro leído.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public static RegistroCambio leer(DataInputStream entrada) throws IOException {
+        long secuencia = entrada.readLong();
+        long instanteMs = entrada.readLong();
+        TipoCambio tipo = TipoCambio.values()[entrada.readByte()];
+        Comic comic = leerComic(entrada);
+        String rut = entrada.readUTF();
+        return new RegistroCambio(secuencia, instanteMs, tipo, comic, rut);
+    }
+
+    /**
+     * Escribe los datos de un cómic en el flujo.
+     *
+     * @param salida Flujo de salida.
+     * @param comic  Cómic a escribir.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    static void escribirComic(DataOutputStream salida, Comic comic) throws IOException {
+        salida.writeUTF(comic.getCodigo());
+        salida.writeUTF(comic.getTitulo());
+        salida.writeUTF(comic.getAutor());
+        salida.writeUTF(comic.getEditorial());
+        salida.writeInt(comic.getPrecio());
+        salida.writeUTF(comic.getTipoComic());
+    }
+
+    /**
+     * Lee los datos de un cómic desde el flujo.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Cómic leído.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    static Comic leerComic(DataInputStream entrada) throws IOException {
+        String codigo = entrada.readUTF();
+        String titulo = entrada.readUTF();
+        String autor = entrada.readUTF();
+        String editorial = entrada.readUTF();
+        int precio = entrada.readInt();
+        String tipoComic = entrada.readUTF();
+        return new Comic(codigo, titulo, autor, editorial, precio, tipoComic);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Seguidor de replicación del catálogo.
+ * <p>
+ * Se conecta al líder, carga la instantánea inicial y aplica en orden los registros
+ * recibidos sobre su propio {@link CatalogoReplica}. Si la conexión se pierde, se vuelve
+ * a conectar y se reinicia desde una instantánea nueva.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class SeguidorReplicacion {
+    /** Espera entre intentos de reconexión. */
+    private static final long ESPERA_RECONEXION_MS = 1000;
+
+    private final String host;
+    private final int puerto;
+    private volatile CatalogoReplica catalogo;
+    private volatile long secuenciaAplicada;
+    private volatile long secuenciaLider;
+    private volatile long retrasoMs;
+    private volatile boolean conectado;
+    private volatile boolean activo;
+    private Socket socket;
+
+    /**
+     * Crea un seguidor para el líder indicado.
+     *
+     * @param host   Host del líder.
+     * @param puerto Puerto de replicación del líder.
+     */
+    public SeguidorReplicacion(String host, int puerto) {
+        this.host = host;
+        this.puerto = puerto;
+        this.catalogo = new CatalogoReplica();
+    }
+
+    /**
+     * Inicia la replicación en un hilo propio.
+     */
+    public void iniciar() {
+        activo = true;
+        Thread hilo = new Thread(this::replicar, "replicacion-seguidor");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Detiene la replicación y cierra la conexión.
+     */
+    public void detener() {
+        activo = false;
+        cerrarSocket();
+    }
+
+    /**
+     * Devuelve el catálogo replicado.
+     *
+     * @return Catálogo local del seguidor.
+     */
+    public CatalogoReplica getCatalogo() {
+        return catalogo;
+    }
+
+    /**
+     * Devuelve las métricas de replicación del seguidor.
+     *
+     * @return Texto con secuencias aplicadas, retraso en registros y en milisegundos.
+     */
+    public String metricas() {
+        return "Conectado: " + (conectado ? "si" : "no")
+                + " | secuencia aplicada: " + secuenciaAplicada
+                + " | secuencia del lider: " + secuenciaLider
+                + " | retraso: " + Math.max(0, secuenciaLider - secuenciaAplicada) + " registros, "
+                + retrasoMs + " ms";
+    }
+
+    /**
+     * Bucle de conexión y reconexión con el líder.
+     */
+    private void replicar() {
+        while (activo) {
+            try {
+                socket = new Socket(host, puerto);
+                conectado = true;
+                recibir(socket);
+            } catch (IOException e) {
+                // líder no disponible o conexión perdida
+            } finally {
+                conectado = false;
+                cerrarSocket();
+            }
+            if (activo) {
+                try {
+                    Thread.sleep(ESPERA_RECONEXION_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee la instantánea y los registros del líder, confirmando cada lote aplicado.
+     *
+     * @param socket Conexión con el líder.
+     * @throws IOException Si la conexión falla o el protocolo no es válido.
+     */
+    private void recibir(Socket socket) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        if (entrada.readByte() != LiderReplicacion.INSTANTANEA) {
+            throw new IOException("Se esperaba una instantanea del lider.");
+        }
+        long secuencia = entrada.readLong();
+        CatalogoReplica nuevo = CatalogoReplica.leer(entrada);
+        catalogo = nuevo;
+        secuenciaAplicada = secuencia;
+        secuenciaLider = Math.max(secuenciaLider, secuencia);
+        confirmar(salida);
+
+        while (activo) {
+            byte tipo = entrada.readByte();
+            if (tipo == LiderReplicacion.LATIDO) {
+                secuenciaLider = entrada.readLong();
+                if (secuenciaAplicada >= secuenciaLider) {
+                    retrasoMs = 0;
+                }
+                continue;
+            }
+            if (tipo != LiderReplicacion.REGISTRO) {
+                throw new IOException("Mensaje de replicacion desconocido: " + tipo);
+            }
+            RegistroCambio registro = RegistroCambio.leer(entrada);
+            if (registro.secuencia() != secuenciaAplicada + 1) {
+                throw new IOException("Secuencia fuera de orden: se esperaba " + (secuenciaAplicada + 1)
+                        + " y llego " + registro.secuencia());
+            }
+            nuevo.aplicar(registro);
+            secuenciaAplicada = registro.secuencia();
+            secuenciaLider = Math.max(secuenciaLider, registro.secuencia());
+            retrasoMs = Math.max(0, System.currentTimeMillis() - registro.instanteMs());
+
+            if (entrada.available() == 0) {
+                confirmar(salida);
+            }
+        }
+    }
+
+    private void confirmar(DataOutputStream salida) throws IOException {
+        salida.writeByte(LiderReplicacion.CONFIRMACION);
+        salida.writeLong(secuenciaAplicada);
+        salida.flush();
+    }
+
+    private void cerrarSocket() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // ignorar
+        }
+    }
+}
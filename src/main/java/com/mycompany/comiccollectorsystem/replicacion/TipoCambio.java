@@ -0,0 +1,25 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.replicacion;
+
+/**
+ * Tipos de cambio que el líder replica hacia los seguidores.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public enum TipoCambio {
+    /** Cómic agregado al catálogo. */
+    AGREGADO,
+    /** Cómic eliminado del catálogo. */
+    ELIMINADO,
+    /** Cómic reservado por un cliente. */
+    RESERVADO,
+    /** Reserva vencida; el cómic vuelve a estar disponible. */
+    LIBERADO,
+    /** Cómic vendido. */
+    VENDIDO
+}
@@ -0,0 +1,341 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.simulacion;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.menu.Menu;
+import com.mycompany.comiccollectorsystem.utils.menu.ServidorConsola;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga del {@link ServidorConsola}.
+ * <p>
+ * Abre muchas sesiones TCP a la vez, cada una en su propio hilo virtual. Todas se registran
+ * como clientes y esperan a que las demás estén abiertas; luego cada una recorre el menú de
+ * texto como lo haría un vendedor (buscar, ver cómics, filtrar, reservar y comprar) y mide
+ * cuánto tarda el servidor en volver a mostrar el menú. Informa, en pantalla y en CSV, las
+ * sesiones abiertas a la vez, el rendimiento y los percentiles de latencia por operación.
+ * </p>
+ * <p>
+ * Parámetros ({@code clave=valor}): {@code sesiones} (200), {@code operaciones} por sesión
+ * (20), {@code host} (localhost), {@code puerto} (0: levanta un servidor en este mismo
+ * proceso sobre {@code comic.csv}), {@code salida} (carga-consola.csv) y {@code mezcla}
+ * (por ejemplo {@code buscar:40,ver:10,filtrar:10,reservar:25,comprar:15}).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CargaConsola {
+    private static final String PROMPT = "Seleccione una opcion: ";
+
+    /**
+     * Operaciones que ejecuta cada sesión, además del registro.
+     */
+    enum Operacion {
+        REGISTRAR, BUSCAR, VER, FILTRAR, RESERVAR, COMPRAR
+    }
+
+    private final int cantidadSesiones;
+    private final int operacionesPorSesion;
+    private final String host;
+    private final int puerto;
+    private final String archivoSalida;
+    private final EnumMap<Operacion, Integer> mezcla;
+
+    private List<String> codigos;
+    private final AtomicInteger fallidas = new AtomicInteger();
+
+    /**
+     * Crea la prueba a partir de parámetros {@code clave=valor}.
+     *
+     * @param parametros Parámetros de la prueba.
+     */
+    public CargaConsola(String[] parametros) {
+        Map<String, String> valores = new HashMap<>();
+        for (String parametro : parametros) {
+            int separador = parametro.indexOf('=');
+            if (separador > 0) {
+                valores.put(parametro.substring(0, separador).trim(), parametro.substring(separador + 1).trim());
+            }
+        }
+        this.cantidadSesiones = Integer.parseInt(valores.getOrDefault("sesiones", "200"));
+        this.operacionesPorSesion = Integer.parseInt(valores.getOrDefault("operaciones", "20"));
+        this.host = valores.getOrDefault("host", "localhost");
+        this.puerto = Integer.parseInt(valores.getOrDefault("puerto", "0"));
+        this.archivoSalida = valores.getOrDefault("salida", "carga-consola.csv");
+        this.mezcla = leerMezcla(valores.getOrDefault("mezcla", "buscar:40,ver:10,filtrar:10,reservar:25,comprar:15"));
+
+        if (cantidadSesiones <= 0 || operacionesPorSesion < 0) {
+            throw new IllegalArgumentException("Debe haber al menos una sesion.");
+        }
+    }
+
+    /**
+     * Ejecuta la prueba y escribe el informe.
+     *
+     * @throws IOException Si no se puede iniciar el servidor local o escribir el CSV.
+     */
+    public void ejecutar() throws IOException {
+        try {
+            codigos = new ArrayList<>();
+            for (Comic comic : Comic.cargarComicsDesdeCSV()) {
+                codigos.add(comic.getCodigo());
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("No se pudo leer el catalogo: " + e.getMessage(), e);
+        }
+        if (codigos.isEmpty()) {
+            codigos.add("C001");
+        }
+
+        ServidorConsola servidor = null;
+        int puertoDestino = puerto;
+        if (puerto == 0) {
+            servidor = new ServidorConsola(new Menu());
+            servidor.iniciar(0);
+            ServidorConsola aceptador = servidor;
+            Thread.ofPlatform().daemon().name("servidor-consola").start(aceptador::aceptar);
+            puertoDestino = servidor.getPuerto();
+        }
+        System.out.println("Carga de consola: " + cantidadSesiones + " sesiones, " + operacionesPorSesion
+                + " operaciones por sesion, " + host + ":" + puertoDestino + ".");
+
+        CountDownLatch abiertas = new CountDownLatch(cantidadSesiones);
+        AtomicInteger maximoAbiertas = new AtomicInteger();
+        List<EnumMap<Operacion, MuestrasLatencia>> resultadosPorSesion = new ArrayList<>(cantidadSesiones);
+        long inicio = System.nanoTime();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < cantidadSesiones; i++) {
+                EnumMap<Operacion, MuestrasLatencia> muestras = nuevasMuestras();
+                resultadosPorSesion.add(muestras);
+                int numero = i;
+                int destino = puertoDestino;
+                ServidorConsola local = servidor;
+                hilos.submit(() -> sesion(numero, destino, muestras, abiertas, () -> {
+                    if (local != null) {
+                        maximoAbiertas.accumulateAndGet(local.getSesionesAbiertas(), Math::max);
+                    }
+                }));
+            }
+        }
+        long duracionNs = System.nanoTime() - inicio;
+        if (servidor != null) {
+            servidor.cerrar();
+        }
+
+        EnumMap<Operacion, MuestrasLatencia> totales = nuevasMuestras();
+        for (EnumMap<Operacion, MuestrasLatencia> muestras : resultadosPorSesion) {
+            for (Operacion operacion : Operacion.values()) {
+                totales.get(operacion).combinar(muestras.get(operacion));
+            }
+        }
+        informar(totales, duracionNs, servidor != null ? maximoAbiertas.get() : -1);
+    }
+
+    /**
+     * Una sesión: conecta, se registra, espera a las demás y ejecuta sus operaciones.
+     */
+    private void sesion(int numero, int destino, EnumMap<Operacion, MuestrasLatencia> muestras,
+            CountDownLatch abiertas, Runnable alAbrir) {
+        boolean contada = false;
+        try (Socket conexion = new Socket(host, destino);
+                BufferedReader entrada = new BufferedReader(
+                        new InputStreamReader(conexion.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter salida = new BufferedWriter(
+                        new OutputStreamWriter(conexion.getOutputStream(), StandardCharsets.UTF_8))) {
+            esperarMenu(entrada, null);
+
+            long inicio = System.nanoTime();
+            String respuesta = enviar(salida, entrada, "1", rutSintetico(numero), "Sesion" + numero, "Carga", "2");
+            muestras.get(Operacion.REGISTRAR).registrar(System.nanoTime() - inicio,
+                    respuesta.contains("Registro exitoso."), false);
+
+            abiertas.countDown();
+            contada = true;
+            abiertas.await();
+            alAbrir.run();
+
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            int pesoTotal = 0;
+            for (int peso : mezcla.values()) {
+                pesoTotal += peso;
+            }
+            for (int i = 0; i < operacionesPorSesion; i++) {
+                Operacion operacion = elegir(aleatorio.nextInt(pesoTotal));
+                String codigo = codigos.get(aleatorio.nextInt(codigos.size()));
+                inicio = System.nanoTime();
+                boolean exito;
+                switch (operacion) {
+                    case BUSCAR:
+                        exito = enviar(salida, entrada, "2", codigo).contains("Comic encontrado.");
+                        break;
+                    case VER:
+                        exito = enviar(salida, entrada, "4").contains("LISTA DE COMICS");
+                        break;
+                    case FILTRAR:
+                        exito = enviar(salida, entrada, "13", "", "", "").contains("Total:");
+                        break;
+                    case RESERVAR:
+                        exito = enviar(salida, entrada, "5", codigo).contains("La reserva vence");
+                        break;
+                    default:
+                        exito = enviar(salida, entrada, "6").contains("Total a pagar");
+                        break;
+                }
+                muestras.get(operacion).registrar(System.nanoTime() - inicio, exito, false);
+            }
+            salida.write("10");
+            salida.newLine();
+            salida.flush();
+        } catch (IOException e) {
+            fallidas.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!contada) {
+                abiertas.countDown();
+            }
+        }
+    }
+
+    /**
+     * Envía las líneas de una opción del menú y devuelve lo que responde el servidor hasta
+     * volver a mostrar el menú.
+     */
+    private static String enviar(BufferedWriter salida, BufferedReader entrada, String... lineas) throws IOException {
+        for (String linea : lineas) {
+            salida.write(linea);
+            salida.newLine();
+        }
+        salida.flush();
+        StringBuilder respuesta = new StringBuilder();
+        esperarMenu(entrada, respuesta);
+        return respuesta.toString();
+    }
+
+    private static void esperarMenu(BufferedReader entrada, StringBuilder respuesta) throws IOException {
+        String linea;
+        while ((linea = entrada.readLine()) != null) {
+            if (linea.endsWith(PROMPT)) {
+                return;
+            }
+            if (respuesta != null) {
+                respuesta.append(linea).append('\n');
+            }
+        }
+        throw new IOException("El servidor cerro la conexion.");
+    }
+
+    /**
+     * Muestra el informe y lo escribe como CSV.
+     */
+    private void informar(EnumMap<Operacion, MuestrasLatencia> totales, long duracionNs, int maximoAbiertas)
+            throws IOException {
+        double segundos = duracionNs / 1_000_000_000.0;
+        List<String> filas = new ArrayList<>();
+        filas.add("operacion,cantidad,exitos,ops_por_segundo,p50_us,p90_us,p99_us,p999_us,max_us");
+
+        MuestrasLatencia global = new MuestrasLatencia();
+        for (Operacion operacion : Operacion.values()) {
+            MuestrasLatencia muestras = totales.get(operacion);
+            global.combinar(muestras);
+            filas.add(fila(operacion.name().toLowerCase(Locale.ROOT), muestras, segundos));
+        }
+        filas.add(fila("total", global, segundos));
+
+        Path salida = Path.of(archivoSalida);
+        try (BufferedWriter writer = Files.newBufferedWriter(salida)) {
+            for (String fila : filas) {
+                writer.write(fila);
+                writer.newLine();
+            }
+        }
+
+        System.out.println("\n===== RESULTADO DE LA CARGA DE CONSOLA =====");
+        for (String fila : filas) {
+            System.out.println(fila);
+        }
+        if (maximoAbiertas >= 0) {
+            System.out.println("Sesiones abiertas a la vez: " + maximoAbiertas);
+        }
+        System.out.println("Sesiones fallidas: " + fallidas.get());
+        System.out.printf(Locale.ROOT, "Duracion: %.3f s%n", segundos);
+        System.out.println("Resultados guardados en: " + salida.toAbsolutePath());
+    }
+
+    private static String fila(String nombre, MuestrasLatencia muestras, double segundos) {
+        muestras.ordenar();
+        int cantidad = muestras.getCantidad();
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                nombre, cantidad, muestras.getExitos(), segundos > 0 ? cantidad / segundos : 0.0,
+                muestras.percentilUs(50), muestras.percentilUs(90), muestras.percentilUs(99),
+                muestras.percentilUs(99.9), muestras.percentilUs(100));
+    }
+
+    private Operacion elegir(int valor) {
+        int acumulado = 0;
+        for (Map.Entry<Operacion, Integer> entrada : mezcla.entrySet()) {
+            acumulado += entrada.getValue();
+            if (valor < acumulado) {
+                return entrada.getKey();
+            }
+        }
+        return Operacion.BUSCAR;
+    }
+
+    private static EnumMap<Operacion, MuestrasLatencia> nuevasMuestras() {
+        EnumMap<Operacion, MuestrasLatencia> muestras = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            muestras.put(operacion, new MuestrasLatencia());
+        }
+        return muestras;
+    }
+
+    private static EnumMap<Operacion, Integer> leerMezcla(String texto) {
+        EnumMap<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] valor = parte.split(":");
+            if (valor.length != 2) {
+                throw new IllegalArgumentException("Mezcla no valida: " + parte);
+            }
+            Operacion operacion = Operacion.valueOf(valor[0].trim().toUpperCase(Locale.ROOT));
+            int peso = Integer.parseInt(valor[1].trim());
+            if (operacion != Operacion.REGISTRAR && peso > 0) {
+                mezcla.put(operacion, peso);
+            }
+        }
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operacion.");
+        }
+        return mezcla;
+    }
+
+    private static String rutSintetico(int numero) {
+        return String.format(Locale.ROOT, "%d.%03d.%03d-%d",
+                50 + numero / 1_000_000, (numero / 1000) % 1000, numero % 1000, numero % 10);
+    }
+}
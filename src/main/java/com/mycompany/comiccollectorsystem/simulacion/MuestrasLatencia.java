@@ -0,0 +1,89 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Muestras de latencia y resultados de una operación simulada.
+ * <p>
+ * Cada hilo virtual usa sus propias muestras sin sincronización; al final se combinan
+ * con {@link #combinar(MuestrasLatencia)} para calcular percentiles.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+class MuestrasLatencia {
+    private long[] latenciasNs;
+    private int cantidad;
+    private long exitos;
+    private long conflictos;
+
+    MuestrasLatencia() {
+        this.latenciasNs = new long[256];
+    }
+
+    /**
+     * Registra una ejecución.
+     *
+     * @param latenciaNs Duración en nanosegundos.
+     * @param exito      {@code true} si la operación tuvo efecto.
+     * @param conflicto  {@code true} si falló por competir con otro usuario por el mismo cómic.
+     */
+    void registrar(long latenciaNs, boolean exito, boolean conflicto) {
+        if (cantidad == latenciasNs.length) {
+            latenciasNs = Arrays.copyOf(latenciasNs, cantidad * 2);
+        }
+        latenciasNs[cantidad++] = latenciaNs;
+        if (exito) {
+            exitos++;
+        }
+        if (conflicto) {
+            conflictos++;
+        }
+    }
+
+    void combinar(MuestrasLatencia otras) {
+        if (cantidad + otras.cantidad > latenciasNs.length) {
+            latenciasNs = Arrays.copyOf(latenciasNs, cantidad + otras.cantidad);
+        }
+        System.arraycopy(otras.latenciasNs, 0, latenciasNs, cantidad, otras.cantidad);
+        cantidad += otras.cantidad;
+        exitos += otras.exitos;
+        conflictos += otras.conflictos;
+    }
+
+    void ordenar() {
+        Arrays.sort(latenciasNs, 0, cantidad);
+    }
+
+    /**
+     * Devuelve el percentil indicado en microsegundos. Requiere {@link #ordenar()} previo.
+     *
+     * @param percentil Percentil entre 0 y 100.
+     * @return Latencia en microsegundos.
+     */
+    double percentilUs(double percentil) {
+        if (cantidad == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * cantidad) - 1;
+        return latenciasNs[Math.max(0, Math.min(cantidad - 1, indice))] / 1000.0;
+    }
+
+    int getCantidad() {
+        return cantidad;
+    }
+
+    long getExitos() {
+        return exitos;
+    }
+
+    long getConflictos() {
+        return conflictos;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.simulacion;
+
+import com.mycompany.comiccollectorsystem.auditoria.RegistroAuditoria;
+import com.mycompany.comiccollectorsystem.catalogo.IndiceFacetas;
+import com.mycompany.comiccollectorsystem.catalogo.IndiceNGramas;
+import com.mycompany.comiccollectorsystem.catalogo.TrieTitulos;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
+import com.mycompany.comiccollectorsystem.models.usuario.tipos.Cliente;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Prueba de escalabilidad del sistema completo con catálogos de tamaño de producción.
+ * <p>
+ * Por cada tamaño genera (o reutiliza) un {@code comic.csv} sintético con ese número de filas
+ * y un conjunto de clientes proporcional, y mide las piezas del dominio sobre las que trabaja
+ * el menú, llamándolas directamente: tiempo de carga del CSV, memoria retenida por cómic,
+ * tiempo y memoria de los índices de búsqueda (facetas, títulos y trigramas), memoria por
+ * usuario, latencia de buscar por código, reservar y comprar con {@link Cliente} sobre listas
+ * propias, y tiempo de guardar los cambios en una copia del CSV. No pasa por {@code Menu}, así
+ * que no incluye su catálogo particionado, el control de admisión ni la expiración de reservas.
+ * La memoria se mide con el heap usado después de forzar la recolección, así que es una
+ * aproximación; conviene fijar {@code -Xmx} para que las corridas sean comparables.
+ * </p>
+ * <p>
+ * Reservar y comprar registran auditoría y publican eventos igual que en el menú. El registro
+ * de auditoría se desvía a {@code auditoria} dentro del directorio de la prueba, para no
+ * mezclar sus entradas con las del sistema, y se cierra al terminar. En este modo nadie se
+ * suscribe al bus, así que publicar no entrega los eventos a ningún suscriptor (ni
+ * persistencia, ni reportes, ni notificaciones).
+ * </p>
+ * <p>
+ * Los resultados se escriben como CSV, una fila por tamaño, para comparar corridas y detectar
+ * regresiones en {@link Comic}, los índices o las operaciones de los usuarios. Si un tamaño no
+ * cabe en el heap, su fila queda con estado {@code sin_memoria} y se sigue con el siguiente.
+ * Durante las mediciones se descarta lo que las operaciones escriben en consola.
+ * </p>
+ * <p>
+ * Parámetros ({@code clave=valor}): {@code tamanos} separados por coma
+ * (100000,1000000,10000000), {@code usuarios} por cada 100 cómics (10), {@code operaciones}
+ * medidas de cada tipo (200), {@code indices} (true), {@code directorio} de los CSV generados
+ * (escalabilidad), {@code regenerar} (false) y {@code salida} (escalabilidad.csv).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class PruebaEscalabilidad {
+    private static final String[] PALABRAS = {"Sombra", "Legado", "Guardianes", "Noche", "Ciudad", "Eterno",
+        "Furia", "Reino", "Cronicas", "Imperio", "Abismo", "Leyenda", "Tormenta", "Acero", "Fantasma", "Origen",
+        "Dragon", "Ultimo", "Codigo", "Invierno", "Vengador", "Luna", "Sangre", "Destino", "Hielo", "Fuego",
+        "Oscuro", "Titan", "Heroe", "Caos", "Alba", "Espectro"};
+    private static final String[] TIPOS = {"manga", "superheroes", "novela grafica", "humor", "ciencia ficcion",
+        "terror"};
+    private static final String ENCABEZADO = "filas,usuarios,estado,csv_mb,carga_ms,heap_comic_bytes,indices_ms,"
+            + "heap_indices_comic_bytes,heap_usuario_bytes,buscar_p50_us,buscar_p99_us,reservar_p50_us,"
+            + "reservar_p99_us,comprar_p50_us,comprar_p99_us,guardar_ms,heap_maximo_mb";
+
+    private final long[] tamanos;
+    private final int usuariosPorCien;
+    private final int operaciones;
+    private final boolean indices;
+    private final Path directorio;
+    private final boolean regenerar;
+    private final String archivoSalida;
+
+    /**
+     * Crea la prueba a partir de parámetros {@code clave=valor}.
+     *
+     * @param parametros Parámetros de la prueba.
+     */
+    public PruebaEscalabilidad(String[] parametros) {
+        Map<String, String> valores = new HashMap<>();
+        for (String parametro : parametros) {
+            int separador = parametro.indexOf('=');
+            if (separador > 0) {
+                valores.put(parametro.substring(0, separador).trim(), parametro.substring(separador + 1).trim());
+            }
+        }
+        String[] listaTamanos = valores.getOrDefault("tamanos", "100000,1000000,10000000").split(",");
+        this.tamanos = new long[listaTamanos.length];
+        for (int i = 0; i < listaTamanos.length; i++) {
+            tamanos[i] = Long.parseLong(listaTamanos[i].trim());
+            if (tamanos[i] <= 0 || tamanos[i] > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Tamano fuera de rango: " + tamanos[i]);
+            }
+        }
+        this.usuariosPorCien = Integer.parseInt(valores.getOrDefault("usuarios", "10"));
+        this.operaciones = Integer.parseInt(valores.getOrDefault("operaciones", "200"));
+        this.indices = Boolean.parseBoolean(valores.getOrDefault("indices", "true"));
+        this.directorio = Path.of(valores.getOrDefault("directorio", "escalabilidad"));
+        this.regenerar = Boolean.parseBoolean(valores.getOrDefault("regenerar", "false"));
+        this.archivoSalida = valores.getOrDefault("salida", "escalabilidad.csv");
+        if (operaciones <= 0 || usuariosPorCien < 0) {
+            throw new IllegalArgumentException("operaciones debe ser mayor que cero y usuarios no puede ser negativo.");
+        }
+    }
+
+    /**
+     * Ejecuta la prueba para cada tamaño y escribe el informe.
+     *
+     * @throws IOException Si no se pueden generar los CSV o escribir el informe.
+     */
+    public void ejecutar() throws IOException {
+        Files.createDirectories(directorio);
+        // antes del primer uso del registro, que lee el directorio al crearse
+        System.setProperty("comic.auditoria.directorio", directorio.resolve("auditoria").toString());
+        List<String> filas = new ArrayList<>();
+        filas.add(ENCABEZADO);
+        System.out.println("Prueba de escalabilidad: heap maximo " + heapMaximoMb() + " MB, "
+                + Runtime.getRuntime().availableProcessors() + " procesadores.");
+        try {
+            for (long tamano : tamanos) {
+                Path archivo = directorio.resolve("comic-" + tamano + ".csv");
+                if (regenerar || !Files.exists(archivo)) {
+                    System.out.println("Generando " + archivo + "...");
+                    generar(archivo, (int) tamano);
+                }
+                System.out.println("Midiendo " + tamano + " comics...");
+                String fila = medir(archivo, (int) tamano);
+                System.out.println(fila);
+                filas.add(fila);
+            }
+        } finally {
+            RegistroAuditoria.getInstancia().cerrar();
+        }
+
+        Path salida = Path.of(archivoSalida);
+        try (BufferedWriter writer = Files.newBufferedWriter(salida)) {
+            for (String fila : filas) {
+                writer.write(fila);
+                writer.newLine();
+            }
+        }
+        System.out.println("\n===== RESULTADO DE LA PRUEBA DE ESCALABILIDAD =====");
+        for (String fila : filas) {
+            System.out.println(fila);
+        }
+        System.out.println("Resultados guardados en: " + salida.toAbsolutePath());
+    }
+
+    /**
+     * Mide un tamaño. Las referencias a los datos se sueltan antes de volver, para que el
+     * siguiente tamaño parta con el heap limpio.
+     */
+    private String medir(Path archivo, int tamano) throws IOException {
+        int cantidadUsuarios = (int) ((long) tamano * usuariosPorCien / 100);
+        double csvMb = Files.size(archivo) / (1024.0 * 1024.0);
+        Medicion medicion = new Medicion();
+        PrintStream consola = System.out;
+        try {
+            long heapInicial = heapUsado();
+            long inicio = System.nanoTime();
+            ArrayList<Comic> comics = Comic.cargarComicsDesdeCSV(archivo);
+            medicion.cargaMs = (System.nanoTime() - inicio) / 1_000_000;
+            long heapComics = heapUsado();
+            medicion.heapComic = (heapComics - heapInicial) / Math.max(1, comics.size());
+
+            Object[] indicesCargados = null;
+            if (indices) {
+                inicio = System.nanoTime();
+                IndiceFacetas facetas = new IndiceFacetas();
+                facetas.cargar(comics);
+                TrieTitulos titulos = new TrieTitulos();
+                titulos.cargar(comics);
+                IndiceNGramas ngramas = new IndiceNGramas();
+                ngramas.cargar(comics);
+                medicion.indicesMs = (System.nanoTime() - inicio) / 1_000_000;
+                indicesCargados = new Object[]{facetas, titulos, ngramas};
+            }
+            long heapIndices = heapUsado();
+            medicion.heapIndices = (heapIndices - heapComics) / Math.max(1, comics.size());
+
+            HashMap<String, Usuario> usuarios = new HashMap<>();
+            List<Cliente> clientes = new ArrayList<>(cantidadUsuarios);
+            for (int i = 0; i < cantidadUsuarios; i++) {
+                String rut = rut(i);
+                Cliente cliente = new Cliente(rut, "Nombre" + i, "Apellido" + (i % 1000), 2);
+                usuarios.put(rut, cliente);
+                clientes.add(cliente);
+            }
+            medicion.heapUsuario = cantidadUsuarios == 0 ? 0
+                    : (heapUsado() - heapIndices) / cantidadUsuarios;
+            if (clientes.isEmpty()) {
+                clientes.add(new Cliente(rut(0), "Nombre", "Apellido", 2));
+            }
+
+            System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+            try {
+                medirOperaciones(comics, clientes, archivo, medicion);
+            } finally {
+                System.setOut(consola);
+            }
+            medicion.estado = "ok";
+            // la memoria medida debe seguir retenida hasta el final de las operaciones
+            Reference.reachabilityFence(indicesCargados);
+            Reference.reachabilityFence(usuarios);
+        } catch (OutOfMemoryError e) {
+            medicion.estado = "sin_memoria";
+            System.out.println("Sin memoria con " + tamano + " comics (heap maximo " + heapMaximoMb() + " MB).");
+        } catch (CsvValidationException e) {
+            medicion.estado = "csv_invalido";
+            System.out.println("Error al leer " + archivo + ": " + e.getMessage());
+        }
+        heapUsado();
+        return String.format(Locale.ROOT, "%d,%d,%s,%.1f,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d",
+                tamano, cantidadUsuarios, medicion.estado, csvMb, medicion.cargaMs, medicion.heapComic,
+                medicion.indicesMs, medicion.heapIndices, medicion.heapUsuario,
+                medicion.buscar.percentilUs(50), medicion.buscar.percentilUs(99),
+                medicion.reservar.percentilUs(50), medicion.reservar.percentilUs(99),
+                medicion.comprar.percentilUs(50), medicion.comprar.percentilUs(99),
+                medicion.guardarMs, heapMaximoMb());
+    }
+
+    /**
+     * Mide buscar, reservar y comprar con códigos al azar, y luego guarda en una copia del
+     * CSV los cómics vendidos y uno agregado, como lo hace la persistencia del menú.
+     */
+    private void medirOperaciones(ArrayList<Comic> comics, List<Cliente> clientes, Path archivo,
+                                  Medicion medicion) throws IOException {
+        Random aleatorio = new Random(42);
+        int tamano = comics.size();
+        for (int i = 0; i < operaciones; i++) {
+            String codigo = comics.get(aleatorio.nextInt(tamano)).getCodigo();
+            long inicio = System.nanoTime();
+            boolean exito = Comic.buscarPorCodigo(comics, codigo).isPresent();
+            medicion.buscar.registrar(System.nanoTime() - inicio, exito, false);
+        }
+        medicion.buscar.ordenar();
+
+        ArrayList<Comic> reservas = new ArrayList<>();
+        for (int i = 0; i < operaciones; i++) {
+            Cliente cliente = clientes.get(aleatorio.nextInt(clientes.size()));
+            String codigo = comics.get(aleatorio.nextInt(comics.size())).getCodigo();
+            long inicio = System.nanoTime();
+            boolean exito = cliente.intentarReservar(comics, reservas, codigo).esExito();
+            medicion.reservar.registrar(System.nanoTime() - inicio, exito, false);
+        }
+        medicion.reservar.ordenar();
+        comics.addAll(reservas);
+        reservas.clear();
+
+        ArrayList<Comic> ventas = new ArrayList<>();
+        Set<String> vendidos = new HashSet<>();
+        for (int i = 0; i < operaciones && !comics.isEmpty(); i++) {
+            Cliente cliente = clientes.get(aleatorio.nextInt(clientes.size()));
+            cliente.intentarReservar(comics, reservas, comics.get(aleatorio.nextInt(comics.size())).getCodigo());
+            long inicio = System.nanoTime();
+            Resultado<List<Comic>> compra = cliente.intentarComprar(reservas, ventas);
+            medicion.comprar.registrar(System.nanoTime() - inicio, compra.esExito(), false);
+            if (compra instanceof Resultado.Exito<List<Comic>> exito) {
+                for (Comic comic : exito.valor()) {
+                    vendidos.add(comic.getCodigo());
+                }
+            }
+        }
+        medicion.comprar.ordenar();
+
+        Path copia = directorio.resolve("guardado-" + tamano + ".csv");
+        Files.copy(archivo, copia, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            List<Comic> agregados = List.of(new Comic("Agregado en la prueba", "Autor", "Editorial", 1000, "manga"));
+            long inicio = System.nanoTime();
+            Comic.aplicarCambiosEnCSV(copia, agregados, vendidos);
+            medicion.guardarMs = (System.nanoTime() - inicio) / 1_000_000;
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+    }
+
+    /**
+     * Escribe un CSV sintético con el mismo formato que {@link Comic#ARCHIVO_CSV}.
+     */
+    private static void generar(Path archivo, int tamano) throws IOException {
+        Random aleatorio = new Random(tamano);
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(temporal))) {
+            writer.writeNext(new String[]{"codigo", "titulo", "autor", "editorial", "precio", "tipoComic"});
+            String[] fila = new String[6];
+            for (int i = 0; i < tamano; i++) {
+                int palabras = PALABRAS.length;
+                fila[0] = String.format(Locale.ROOT, "E%08d", i);
+                fila[1] = PALABRAS[i % palabras] + " " + PALABRAS[(i / palabras) % palabras]
+                        + " " + (i / (palabras * palabras) + 1);
+                fila[2] = "Autor " + aleatorio.nextInt(Math.max(1, tamano / 20));
+                fila[3] = "Editorial " + aleatorio.nextInt(40);
+                fila[4] = String.valueOf(1000 + aleatorio.nextInt(20) * 500);
+                fila[5] = TIPOS[aleatorio.nextInt(TIPOS.length)];
+                writer.writeNext(fila);
+            }
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Genera un RUT con el formato que valida {@link Cliente}; no calcula el dígito verificador.
+     */
+    private static String rut(int numero) {
+        int cuerpo = 1_000_000 + numero;
+        return String.format(Locale.ROOT, "%d.%03d.%03d-%d", cuerpo / 1_000_000, cuerpo / 1000 % 1000,
+                cuerpo % 1000, numero % 10);
+    }
+
+    /**
+     * Heap usado después de pedir la recolección varias veces, para que se acerque a la
+     * memoria retenida.
+     */
+    private static long heapUsado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long heapMaximoMb() {
+        return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    }
+
+    /**
+     * Resultados de un tamaño.
+     */
+    private static class Medicion {
+        private String estado = "error";
+        private long cargaMs;
+        private long heapComic;
+        private long indicesMs;
+        private long heapIndices;
+        private long heapUsuario;
+        private long guardarMs;
+        private final MuestrasLatencia buscar = new MuestrasLatencia();
+        private final MuestrasLatencia reservar = new MuestrasLatencia();
+        private final MuestrasLatencia comprar = new MuestrasLatencia();
+    }
+}
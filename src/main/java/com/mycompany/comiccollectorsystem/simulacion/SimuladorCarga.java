@@ -0,0 +1,307 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.simulacion;
+
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import com.mycompany.comiccollectorsystem.models.usuario.tipos.Administrador;
+import com.mycompany.comiccollectorsystem.models.usuario.tipos.Cliente;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulador de carga concurrente para planificación de capacidad.
+ * <p>
+ * Genera clientes y administradores sintéticos y un catálogo del tamaño indicado, y ejecuta
+ * una mezcla configurable de búsquedas, reservas, compras, altas y bajas sobre un
+ * {@link CatalogoParticionado} desde muchos hilos virtuales. Al terminar informa el
+ * rendimiento, los percentiles de latencia y la tasa de conflictos de cada operación,
+ * en pantalla y en un archivo CSV.
+ * </p>
+ * <p>
+ * Mide el catálogo particionado, no las listas que usan {@link Cliente} y
+ * {@link Administrador} en el menú: de los usuarios sintéticos solo se usan el RUT y la
+ * validación de altas de {@link Administrador#validarComic}. Una reserva cuenta como
+ * conflicto solo si el cómic lo tiene reservado otro cliente.
+ * </p>
+ * <p>
+ * Parámetros ({@code clave=valor}): {@code clientes}, {@code administradores}, {@code comics},
+ * {@code operaciones}, {@code hilos}, {@code particiones}, {@code salida} y
+ * {@code mezcla} (por ejemplo {@code buscar:50,reservar:25,comprar:10,agregar:10,eliminar:5}).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class SimuladorCarga {
+
+    /**
+     * Operaciones que ejecuta el simulador.
+     */
+    enum Operacion {
+        BUSCAR, RESERVAR, COMPRAR, AGREGAR, ELIMINAR
+    }
+
+    private final int cantidadClientes;
+    private final int cantidadAdministradores;
+    private final int tamanoCatalogo;
+    private final long cantidadOperaciones;
+    private final int cantidadHilos;
+    private final int cantidadParticiones;
+    private final String archivoSalida;
+    private final EnumMap<Operacion, Integer> mezcla;
+
+    private CatalogoParticionado catalogo;
+    private List<Cliente> clientes;
+    private List<Administrador> administradores;
+    private final AtomicInteger siguienteCodigo = new AtomicInteger();
+
+    /**
+     * Crea el simulador a partir de parámetros {@code clave=valor}.
+     *
+     * @param parametros Parámetros de la simulación.
+     */
+    public SimuladorCarga(String[] parametros) {
+        Map<String, String> valores = new HashMap<>();
+        for (String parametro : parametros) {
+            int separador = parametro.indexOf('=');
+            if (separador > 0) {
+                valores.put(parametro.substring(0, separador).trim(), parametro.substring(separador + 1).trim());
+            }
+        }
+        this.cantidadClientes = Integer.parseInt(valores.getOrDefault("clientes", "1000"));
+        this.cantidadAdministradores = Integer.parseInt(valores.getOrDefault("administradores", "10"));
+        this.tamanoCatalogo = Integer.parseInt(valores.getOrDefault("comics", "100000"));
+        this.cantidadOperaciones = Long.parseLong(valores.getOrDefault("operaciones", "1000000"));
+        this.cantidadHilos = Integer.parseInt(valores.getOrDefault("hilos",
+                String.valueOf(cantidadClientes + cantidadAdministradores)));
+        this.cantidadParticiones = Integer.parseInt(valores.getOrDefault("particiones",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.archivoSalida = valores.getOrDefault("salida", "simulacion.csv");
+        this.mezcla = leerMezcla(valores.getOrDefault("mezcla", "buscar:50,reservar:25,comprar:10,agregar:10,eliminar:5"));
+
+        if (cantidadClientes <= 0 || cantidadAdministradores <= 0 || cantidadHilos <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos un cliente, un administrador y un hilo.");
+        }
+    }
+
+    /**
+     * Prepara los datos, ejecuta la simulación y escribe el informe.
+     *
+     * @throws IOException Si no se puede escribir el archivo CSV.
+     */
+    public void ejecutar() throws IOException {
+        preparar();
+
+        AtomicLong restantes = new AtomicLong(cantidadOperaciones);
+        List<EnumMap<Operacion, MuestrasLatencia>> resultadosPorHilo = new ArrayList<>(cantidadHilos);
+        long inicio = System.nanoTime();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < cantidadHilos; i++) {
+                EnumMap<Operacion, MuestrasLatencia> muestras = nuevasMuestras();
+                resultadosPorHilo.add(muestras);
+                hilos.submit(() -> trabajar(restantes, muestras));
+            }
+        }
+        long duracionNs = System.nanoTime() - inicio;
+        catalogo.cerrar();
+
+        EnumMap<Operacion, MuestrasLatencia> totales = nuevasMuestras();
+        for (EnumMap<Operacion, MuestrasLatencia> muestras : resultadosPorHilo) {
+            for (Operacion operacion : Operacion.values()) {
+                totales.get(operacion).combinar(muestras.get(operacion));
+            }
+        }
+        informar(totales, duracionNs);
+    }
+
+    /**
+     * Genera los usuarios sintéticos y carga el catálogo.
+     */
+    private void preparar() {
+        clientes = new ArrayList<>(cantidadClientes);
+        for (int i = 0; i < cantidadClientes; i++) {
+            clientes.add(new Cliente(rutSintetico(i), "Cliente" + i, "Simulado", 2));
+        }
+        administradores = new ArrayList<>(cantidadAdministradores);
+        for (int i = 0; i < cantidadAdministradores; i++) {
+            administradores.add(new Administrador(rutSintetico(cantidadClientes + i), "Admin" + i, "Simulado", 1));
+        }
+
+        catalogo = new CatalogoParticionado(cantidadParticiones);
+        List<Comic> comics = new ArrayList<>(tamanoCatalogo);
+        for (int i = 0; i < tamanoCatalogo; i++) {
+            comics.add(comicSintetico(siguienteCodigo.getAndIncrement()));
+        }
+        catalogo.cargar(comics);
+        System.out.println("Simulacion: " + cantidadClientes + " clientes, " + cantidadAdministradores
+                + " administradores, " + tamanoCatalogo + " comics, " + cantidadParticiones + " particiones, "
+                + cantidadHilos + " hilos virtuales, " + cantidadOperaciones + " operaciones.");
+    }
+
+    /**
+     * Bucle de un hilo virtual: toma operaciones del total hasta agotarlo.
+     */
+    private void trabajar(AtomicLong restantes, EnumMap<Operacion, MuestrasLatencia> muestras) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int pesoTotal = 0;
+        for (int peso : mezcla.values()) {
+            pesoTotal += peso;
+        }
+        while (restantes.getAndDecrement() > 0) {
+            Operacion operacion = elegir(aleatorio.nextInt(pesoTotal));
+            long inicio = System.nanoTime();
+            boolean exito = false;
+            boolean conflicto = false;
+            switch (operacion) {
+                case BUSCAR:
+                    exito = catalogo.buscar(codigoAleatorio(aleatorio)).isPresent();
+                    break;
+                case RESERVAR:
+                    Resultado<Comic> reserva = catalogo.intentarReservar(clienteAleatorio(aleatorio).getRut(),
+                            codigoAleatorio(aleatorio));
+                    exito = reserva.esExito();
+                    // YA_RESERVADO: lo tiene otro cliente; NO_ENCONTRADO: vendido, eliminado o ya es suyo
+                    conflicto = reserva instanceof Resultado.Fallo<Comic> fallo
+                            && fallo.motivo() == Resultado.Motivo.YA_RESERVADO;
+                    break;
+                case COMPRAR:
+                    // falla si el cliente no tiene reservas
+                    exito = catalogo.intentarComprar(clienteAleatorio(aleatorio).getRut()).esExito();
+                    break;
+                case AGREGAR:
+                    Administrador administrador = administradores.get(aleatorio.nextInt(administradores.size()));
+                    Comic comic = comicSintetico(siguienteCodigo.getAndIncrement());
+                    if (administrador.validarComic(comic.getTitulo(), comic.getAutor(), comic.getEditorial(),
+                            comic.getPrecio(), comic.getTipoComic())) {
+                        catalogo.agregar(comic);
+                        exito = true;
+                    }
+                    break;
+                case ELIMINAR:
+                    exito = catalogo.eliminar(codigoAleatorio(aleatorio)).isPresent();
+                    break;
+            }
+            muestras.get(operacion).registrar(System.nanoTime() - inicio, exito, conflicto);
+        }
+    }
+
+    /**
+     * Muestra el informe y lo escribe como CSV.
+     */
+    private void informar(EnumMap<Operacion, MuestrasLatencia> totales, long duracionNs) throws IOException {
+        double segundos = duracionNs / 1_000_000_000.0;
+        List<String> filas = new ArrayList<>();
+        filas.add("operacion,cantidad,exitos,conflictos,tasa_conflictos,ops_por_segundo,p50_us,p90_us,p99_us,p999_us,max_us");
+
+        MuestrasLatencia global = new MuestrasLatencia();
+        for (Operacion operacion : Operacion.values()) {
+            MuestrasLatencia muestras = totales.get(operacion);
+            global.combinar(muestras);
+            filas.add(fila(operacion.name().toLowerCase(Locale.ROOT), muestras, segundos));
+        }
+        filas.add(fila("total", global, segundos));
+
+        Path salida = Path.of(archivoSalida);
+        try (BufferedWriter writer = Files.newBufferedWriter(salida)) {
+            for (String fila : filas) {
+                writer.write(fila);
+                writer.newLine();
+            }
+        }
+
+        System.out.println("\n===== RESULTADO DE LA SIMULACION =====");
+        for (String fila : filas) {
+            System.out.println(fila);
+        }
+        System.out.printf(Locale.ROOT, "Duracion: %.3f s%n", segundos);
+        System.out.println("Resultados guardados en: " + salida.toAbsolutePath());
+    }
+
+    private String fila(String nombre, MuestrasLatencia muestras, double segundos) {
+        muestras.ordenar();
+        int cantidad = muestras.getCantidad();
+        double tasaConflictos = cantidad == 0 ? 0 : (double) muestras.getConflictos() / cantidad;
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.4f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                nombre, cantidad, muestras.getExitos(), muestras.getConflictos(), tasaConflictos,
+                segundos > 0 ? cantidad / segundos : 0.0,
+                muestras.percentilUs(50), muestras.percentilUs(90), muestras.percentilUs(99),
+                muestras.percentilUs(99.9), muestras.percentilUs(100));
+    }
+
+    private Operacion elegir(int valor) {
+        int acumulado = 0;
+        for (Map.Entry<Operacion, Integer> entrada : mezcla.entrySet()) {
+            acumulado += entrada.getValue();
+            if (valor < acumulado) {
+                return entrada.getKey();
+            }
+        }
+        return Operacion.BUSCAR;
+    }
+
+    private String codigoAleatorio(ThreadLocalRandom aleatorio) {
+        return codigoSintetico(aleatorio.nextInt(Math.max(1, siguienteCodigo.get())));
+    }
+
+    private Cliente clienteAleatorio(ThreadLocalRandom aleatorio) {
+        return clientes.get(aleatorio.nextInt(clientes.size()));
+    }
+
+    private static EnumMap<Operacion, MuestrasLatencia> nuevasMuestras() {
+        EnumMap<Operacion, MuestrasLatencia> muestras = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            muestras.put(operacion, new MuestrasLatencia());
+        }
+        return muestras;
+    }
+
+    private static EnumMap<Operacion, Integer> leerMezcla(String texto) {
+        EnumMap<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] valor = parte.split(":");
+            if (valor.length != 2) {
+                throw new IllegalArgumentException("Mezcla no valida: " + parte);
+            }
+            int peso = Integer.parseInt(valor[1].trim());
+            if (peso > 0) {
+                mezcla.put(Operacion.valueOf(valor[0].trim().toUpperCase(Locale.ROOT)), peso);
+            }
+        }
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operacion.");
+        }
+        return mezcla;
+    }
+
+    private static String codigoSintetico(int numero) {
+        return "SIM" + numero;
+    }
+
+    private static Comic comicSintetico(int numero) {
+        return new Comic(codigoSintetico(numero), "Titulo " + numero, "Autor " + (numero % 997),
+                "Editorial " + (numero % 31), 1000 + (numero % 9000), "comic");
+    }
+
+    private static String rutSintetico(int numero) {
+        return String.format(Locale.ROOT, "%d.%03d.%03d-%d",
+                10 + numero / 1_000_000, (numero / 1000) % 1000, numero % 1000, numero % 10);
+    }
+}
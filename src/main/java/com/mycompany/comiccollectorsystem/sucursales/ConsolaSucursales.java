@@ -0,0 +1,246 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.sucursales;
+
+import com.mycompany.comiccollectorsystem.catalogo.precios.ColumnaPrecios;
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.LimiteExcedidoException;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import com.mycompany.comiccollectorsystem.utils.admision.ControlAdmision;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * Consola para trabajar con varias sucursales (ver {@link RedSucursales}).
+ * <p>
+ * Las reservas y compras se hacen en la sucursal elegida, que es la única que se carga; las
+ * búsquedas por título y de disponibilidad consultan todas las sucursales en paralelo.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ConsolaSucursales {
+    private final Scanner scanner;
+    private final Path directorio;
+    private RedSucursales red;
+    private Sucursal sucursalActual;
+    private String rut;
+
+    /**
+     * Crea la consola sobre el directorio de las sucursales.
+     *
+     * @param directorio Directorio con un archivo CSV por sucursal.
+     */
+    public ConsolaSucursales(Path directorio) {
+        this.scanner = new Scanner(System.in);
+        this.directorio = directorio;
+    }
+
+    /**
+     * Muestra el menú de sucursales hasta que el usuario decida salir.
+     */
+    public void mostrarMenu() {
+        try {
+            red = new RedSucursales(directorio);
+        } catch (IOException e) {
+            System.out.println("Error al abrir las sucursales: " + e.getMessage());
+            return;
+        }
+        System.out.println("Sucursales en " + directorio.toAbsolutePath() + ": " + red.getSucursales().size());
+
+        int opcion;
+        do {
+            System.out.println("\n===== COMIC COLLECTOR SYSTEM (SUCURSALES) =====");
+            System.out.println("Sucursal actual: " + (sucursalActual == null ? "ninguna" : sucursalActual.getNombre()));
+            System.out.println("1. Ver sucursales");
+            System.out.println("2. Elegir sucursal");
+            System.out.println("3. Ver comics de la sucursal");
+            System.out.println("4. Buscar por titulo en todas las sucursales");
+            System.out.println("5. Ver disponibilidad de un codigo en todas las sucursales");
+            System.out.println("6. Reservar comic en la sucursal");
+            System.out.println("7. Comprar reservas de la sucursal");
+            System.out.println("8. Crear sucursal");
+            System.out.println("9. Salir");
+            System.out.println("Seleccione una opcion: ");
+
+            try {
+                opcion = Integer.parseInt(scanner.nextLine().trim());
+            } catch (NumberFormatException e) {
+                opcion = 0;
+            }
+
+            try {
+                switch (opcion) {
+                    case 1:
+                        verSucursales();
+                        break;
+                    case 2:
+                        elegirSucursal();
+                        break;
+                    case 3:
+                        verComics();
+                        break;
+                    case 4:
+                        System.out.println("Ingrese el titulo a buscar: ");
+                        mostrar(red.buscarPorTitulo(scanner.nextLine().trim()), "No hay comics con ese titulo.");
+                        break;
+                    case 5:
+                        System.out.println("Ingrese el codigo del comic: ");
+                        mostrar(red.disponibilidad(scanner.nextLine().trim()),
+                                "El comic no esta disponible en ninguna sucursal.");
+                        break;
+                    case 6:
+                        reservar();
+                        break;
+                    case 7:
+                        comprar();
+                        break;
+                    case 8:
+                        crearSucursal();
+                        break;
+                    case 9:
+                        System.out.println("Hasta pronto.");
+                        break;
+                    default:
+                        System.out.println("La opcion seleccionada no es valida.");
+                        break;
+                }
+            } catch (IllegalStateException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+        } while (opcion != 9);
+
+        red.cerrar();
+    }
+
+    private void verSucursales() {
+        List<Sucursal> sucursales = red.getSucursales();
+        if (sucursales.isEmpty()) {
+            System.out.println("No hay sucursales. Cree una o copie un archivo CSV en " + directorio + ".");
+        }
+        for (Sucursal sucursal : sucursales) {
+            if (sucursal.estaCargada()) {
+                int[] conteo = sucursal.contar();
+                System.out.println(sucursal.getNombre() + " - " + conteo[0] + " disponibles, " + conteo[1]
+                        + " reservados, " + conteo[2] + " vendidos");
+            } else {
+                System.out.println(sucursal.getNombre() + " - sin cargar");
+            }
+        }
+    }
+
+    private void elegirSucursal() {
+        System.out.println("Ingrese el nombre de la sucursal: ");
+        Optional<Sucursal> sucursal = red.getSucursal(scanner.nextLine().trim());
+        if (sucursal.isEmpty()) {
+            System.out.println("Error: no existe esa sucursal.");
+            return;
+        }
+        sucursalActual = sucursal.get();
+        System.out.println("Sucursal " + sucursalActual.getNombre() + ": " + sucursalActual.contar()[0]
+                + " comics disponibles.");
+    }
+
+    private void verComics() {
+        if (sucursalActual == null) {
+            System.out.println("Error: elija una sucursal.");
+            return;
+        }
+        System.out.println("\n===== LISTA DE COMICS (" + sucursalActual.getNombre() + ") =====");
+        List<Comic> comics = sucursalActual.listarDisponibles();
+        if (comics.isEmpty()) {
+            System.out.println("No hay comics disponibles.");
+        }
+        for (Comic comic : comics) {
+            System.out.println(comic.mostrarInformacionComic());
+        }
+    }
+
+    private void reservar() {
+        if (sucursalActual == null) {
+            System.out.println("Error: elija una sucursal.");
+            return;
+        }
+        pedirRut();
+        System.out.println("Ingrese el codigo del comic que quiere reservar: ");
+        String codigo = scanner.nextLine().trim();
+        if (!admitir("reservar")) {
+            return;
+        }
+        Resultado<Comic> resultado = sucursalActual.intentarReservar(rut, codigo);
+        if (resultado instanceof Resultado.Fallo<Comic> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
+        }
+        System.out.println("Reserva exitosa en " + sucursalActual.getNombre() + ": "
+                + ((Resultado.Exito<Comic>) resultado).valor().mostrarInformacionComic());
+    }
+
+    private void comprar() {
+        if (sucursalActual == null) {
+            System.out.println("Error: elija una sucursal.");
+            return;
+        }
+        pedirRut();
+        if (!admitir("comprar")) {
+            return;
+        }
+        Resultado<List<Comic>> resultado = sucursalActual.intentarComprar(rut);
+        if (resultado instanceof Resultado.Fallo<List<Comic>> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
+        }
+        List<Comic> comprados = ((Resultado.Exito<List<Comic>>) resultado).valor();
+        System.out.println("Usted ha comprado los siguientes comics en " + sucursalActual.getNombre() + ":");
+        for (Comic comic : comprados) {
+            System.out.println(comic.mostrarInformacionComic());
+        }
+        System.out.println("Total a pagar: " + ColumnaPrecios.desde(comprados).suma());
+    }
+
+    private void crearSucursal() {
+        System.out.println("Ingrese el nombre de la nueva sucursal: ");
+        try {
+            Sucursal sucursal = red.crearSucursal(scanner.nextLine().trim());
+            System.out.println("Sucursal creada: " + sucursal.getArchivo());
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    private void pedirRut() {
+        while (rut == null || rut.isEmpty()) {
+            System.out.println("Ingrese su RUT: ");
+            rut = scanner.nextLine().trim();
+        }
+    }
+
+    private boolean admitir(String operacion) {
+        try {
+            ControlAdmision.getInstancia().admitir(rut, operacion);
+            return true;
+        } catch (LimiteExcedidoException e) {
+            System.out.println("Error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void mostrar(RedSucursales.ConsultaRed consulta, String mensajeVacio) {
+        if (consulta.existencias().isEmpty()) {
+            System.out.println(mensajeVacio);
+        }
+        for (RedSucursales.Existencia existencia : consulta.existencias()) {
+            System.out.println(existencia.sucursal() + " | " + existencia.comic().mostrarInformacionComic());
+        }
+        for (String fallida : consulta.fallidas()) {
+            System.out.println("Error en la sucursal " + fallida);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.sucursales;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.opencsv.CSVWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Conjunto de sucursales, cada una con su archivo {@code <nombre>.csv} en un mismo directorio.
+ * <p>
+ * Al abrir la red solo se listan los archivos: cada {@link Sucursal} lee su catálogo cuando
+ * se usa por primera vez. Las consultas a todas las sucursales (búsqueda por título,
+ * disponibilidad de un código) se reparten en un hilo virtual por sucursal, que corren en
+ * paralelo (y cargan en paralelo las sucursales que aún no se habían leído); los resultados
+ * se combinan ordenados por cómic y sucursal. Si una sucursal falla, la consulta devuelve lo
+ * de las demás e informa cuál falló.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class RedSucursales {
+    private static final String EXTENSION = ".csv";
+    private static final int PARTICIONES = Integer.getInteger("comic.sucursales.particiones", 1);
+
+    private final Path directorio;
+    private final ConcurrentSkipListMap<String, Sucursal> sucursales;
+    private final ExecutorService consultas;
+
+    /**
+     * Abre la red sobre un directorio, creándolo si no existe. No lee ningún catálogo.
+     *
+     * @param directorio Directorio con un archivo CSV por sucursal.
+     * @throws IOException Si no se puede crear o listar el directorio.
+     */
+    public RedSucursales(Path directorio) throws IOException {
+        this.directorio = directorio.toAbsolutePath();
+        this.sucursales = new ConcurrentSkipListMap<>();
+        this.consultas = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sucursal-consulta-", 0).factory());
+        Files.createDirectories(this.directorio);
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(this.directorio, "*" + EXTENSION)) {
+            for (Path archivo : archivos) {
+                String nombreArchivo = archivo.getFileName().toString();
+                String nombre = nombreArchivo.substring(0, nombreArchivo.length() - EXTENSION.length());
+                sucursales.put(clave(nombre), new Sucursal(nombre, archivo, PARTICIONES));
+            }
+        }
+    }
+
+    /**
+     * Devuelve las sucursales de la red, ordenadas por nombre.
+     *
+     * @return Sucursales.
+     */
+    public List<Sucursal> getSucursales() {
+        return List.copyOf(sucursales.values());
+    }
+
+    /**
+     * Busca una sucursal por nombre, sin distinguir mayúsculas. No lee su catálogo.
+     *
+     * @param nombre Nombre de la sucursal.
+     * @return Sucursal encontrada, o vacío.
+     */
+    public Optional<Sucursal> getSucursal(String nombre) {
+        return Optional.ofNullable(sucursales.get(clave(nombre)));
+    }
+
+    /**
+     * Crea una sucursal nueva con un archivo vacío (solo encabezados).
+     *
+     * @param nombre Nombre de la sucursal: letras, dígitos, {@code -} o {@code _}.
+     * @return Sucursal creada.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    public Sucursal crearSucursal(String nombre) throws IOException {
+        if (nombre == null || !nombre.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("El nombre de la sucursal solo puede tener letras, digitos, - o _.");
+        }
+        if (sucursales.containsKey(clave(nombre))) {
+            throw new IllegalArgumentException("Ya existe la sucursal " + nombre + ".");
+        }
+        Path archivo = directorio.resolve(nombre + EXTENSION);
+        try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(archivo))) {
+            csvWriter.writeNext(new String[] { "codigo", "titulo", "autor", "editorial", "precio", "tipoComic" });
+        }
+        Sucursal sucursal = new Sucursal(nombre, archivo, PARTICIONES);
+        Sucursal existente = sucursales.putIfAbsent(clave(nombre), sucursal);
+        return existente != null ? existente : sucursal;
+    }
+
+    /**
+     * Busca en todas las sucursales, en paralelo, los cómics disponibles cuyo título contenga
+     * el texto indicado.
+     *
+     * @param texto Texto a buscar (sin distinguir mayúsculas).
+     * @return Ejemplares encontrados en cada sucursal.
+     */
+    public ConsultaRed buscarPorTitulo(String texto) {
+        return consultar(sucursal -> sucursal.buscarPorTitulo(texto));
+    }
+
+    /**
+     * Consulta en todas las sucursales, en paralelo, si el cómic con el código indicado está
+     * disponible.
+     *
+     * @param codigo Código del cómic.
+     * @return Sucursales donde está disponible.
+     */
+    public ConsultaRed disponibilidad(String codigo) {
+        return consultar(sucursal -> sucursal.buscar(codigo).map(List::of).orElse(List.of()));
+    }
+
+    /**
+     * Detiene los hilos de las consultas y de los catálogos cargados.
+     */
+    public void cerrar() {
+        consultas.close();
+        for (Sucursal sucursal : sucursales.values()) {
+            sucursal.cerrar();
+        }
+    }
+
+    /**
+     * Ejecuta una consulta en cada sucursal en su propio hilo virtual y combina los resultados.
+     */
+    private ConsultaRed consultar(Function<Sucursal, List<Comic>> consulta) {
+        Map<Sucursal, CompletableFuture<List<Comic>>> parciales = new LinkedHashMap<>();
+        for (Sucursal sucursal : sucursales.values()) {
+            parciales.put(sucursal, CompletableFuture.supplyAsync(() -> consulta.apply(sucursal), consultas));
+        }
+        List<Existencia> existencias = new ArrayList<>();
+        List<String> fallidas = new ArrayList<>();
+        for (Map.Entry<Sucursal, CompletableFuture<List<Comic>>> parcial : parciales.entrySet()) {
+            String nombre = parcial.getKey().getNombre();
+            try {
+                for (Comic comic : parcial.getValue().join()) {
+                    existencias.add(new Existencia(nombre, comic));
+                }
+            } catch (CompletionException e) {
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                fallidas.add(nombre + ": " + causa.getMessage());
+            }
+        }
+        existencias.sort(Comparator.comparing(Existencia::comic).thenComparing(Existencia::sucursal));
+        return new ConsultaRed(existencias, fallidas);
+    }
+
+    private static String clave(String nombre) {
+        return nombre.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Un cómic disponible en una sucursal.
+     *
+     * @param sucursal Nombre de la sucursal.
+     * @param comic    Cómic disponible.
+     */
+    public record Existencia(String sucursal, Comic comic) {
+    }
+
+    /**
+     * Resultado combinado de una consulta a todas las sucursales.
+     *
+     * @param existencias Ejemplares encontrados, ordenados por cómic y sucursal.
+     * @param fallidas    Sucursales que no pudieron responder, con el motivo.
+     */
+    public record ConsultaRed(List<Existencia> existencias, List<String> fallidas) {
+
+        /**
+         * Copia las listas para que el resultado no cambie después de devuelto.
+         */
+        public ConsultaRed {
+            existencias = List.copyOf(existencias);
+            fallidas = List.copyOf(fallidas);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.sucursales;
+
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
+import com.mycompany.comiccollectorsystem.utils.admision.ControlAdmision;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Una sucursal: su propio catálogo, inventario (disponibles, reservas y ventas) y archivo CSV.
+ * <p>
+ * El catálogo se lee del archivo de la sucursal la primera vez que se usa, de modo que abrir
+ * una sucursal no obliga a cargar las demás. Las altas, bajas y compras se aplican también
+ * al archivo (con {@link Comic#aplicarCambiosEnCSV(Path, Collection, Set)}, ocupando un cupo
+ * de operación costosa de {@link ControlAdmision}); las reservas son temporales y no lo
+ * modifican, igual que en el catálogo principal.
+ * </p>
+ * <p>
+ * Es segura para hilos: el catálogo es un {@link CatalogoParticionado} y las escrituras del
+ * archivo de una sucursal se hacen de a una.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class Sucursal {
+    private final String nombre;
+    private final Path archivo;
+    private final int particiones;
+    /** Catálogo de la sucursal; {@code null} hasta que se usa por primera vez. */
+    private volatile CatalogoParticionado catalogo;
+    /** Cerrojo de las escrituras del archivo, para que dos cambios no se pisen. */
+    private final Object guardado = new Object();
+
+    /**
+     * Crea una sucursal sin leer su archivo.
+     *
+     * @param nombre      Nombre de la sucursal.
+     * @param archivo     Archivo CSV de la sucursal.
+     * @param particiones Particiones del catálogo de la sucursal.
+     */
+    Sucursal(String nombre, Path archivo, int particiones) {
+        this.nombre = nombre;
+        this.archivo = archivo;
+        this.particiones = particiones;
+    }
+
+    /**
+     * Devuelve el nombre de la sucursal.
+     *
+     * @return Nombre de la sucursal.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Devuelve el archivo CSV de la sucursal.
+     *
+     * @return Ruta del archivo.
+     */
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Indica si el catálogo de la sucursal ya se leyó.
+     *
+     * @return {@code true} si está cargado.
+     */
+    public boolean estaCargada() {
+        return catalogo != null;
+    }
+
+    /**
+     * Busca un cómic disponible por código.
+     *
+     * @param codigo Código del cómic.
+     * @return Cómic encontrado, o vacío.
+     */
+    public Optional<Comic> buscar(String codigo) {
+        return catalogo().buscar(codigo);
+    }
+
+    /**
+     * Busca cómics disponibles cuyo título contenga el texto indicado.
+     *
+     * @param texto Texto a buscar (sin distinguir mayúsculas).
+     * @return Cómics encontrados, ordenados por título.
+     */
+    public List<Comic> buscarPorTitulo(String texto) {
+        return catalogo().buscarPorTitulo(texto);
+    }
+
+    /**
+     * Lista los cómics disponibles, ordenados por título.
+     *
+     * @return Cómics disponibles.
+     */
+    public List<Comic> listarDisponibles() {
+        return catalogo().listarDisponibles();
+    }
+
+    /**
+     * Cuenta los cómics disponibles, reservados y vendidos.
+     *
+     * @return Arreglo {@code {disponibles, reservados, vendidos}}.
+     */
+    public int[] contar() {
+        return catalogo().contar();
+    }
+
+    /**
+     * Agrega un cómic a la sucursal y a su archivo.
+     *
+     * @param comic Cómic a agregar.
+     */
+    public void agregar(Comic comic) {
+        catalogo().agregar(comic);
+        guardar(List.of(comic), Set.of());
+    }
+
+    /**
+     * Elimina un cómic disponible de la sucursal y de su archivo.
+     *
+     * @param codigo Código del cómic.
+     * @return Cómic eliminado, o vacío si no estaba disponible.
+     */
+    public Optional<Comic> eliminar(String codigo) {
+        Optional<Comic> eliminado = catalogo().eliminar(codigo);
+        eliminado.ifPresent(comic -> guardar(List.of(), Set.of(comic.getCodigo())));
+        return eliminado;
+    }
+
+    /**
+     * Reserva un cómic de la sucursal para un cliente.
+     *
+     * @param rut    RUT del cliente.
+     * @param codigo Código del cómic.
+     * @return Cómic reservado, o un fallo con su motivo.
+     */
+    public Resultado<Comic> intentarReservar(String rut, String codigo) {
+        return catalogo().intentarReservar(rut, codigo);
+    }
+
+    /**
+     * Compra las reservas de un cliente en la sucursal y las quita de su archivo.
+     *
+     * @param rut RUT del cliente.
+     * @return Cómics comprados, o un fallo si el cliente no tiene reservas en la sucursal.
+     */
+    public Resultado<List<Comic>> intentarComprar(String rut) {
+        Resultado<List<Comic>> resultado = catalogo().intentarComprar(rut);
+        if (resultado instanceof Resultado.Exito<List<Comic>> exito) {
+            Set<String> vendidos = new HashSet<>();
+            for (Comic comic : exito.valor()) {
+                vendidos.add(comic.getCodigo());
+            }
+            guardar(List.of(), vendidos);
+        }
+        return resultado;
+    }
+
+    /**
+     * Detiene los hilos del catálogo, si se había cargado.
+     */
+    void cerrar() {
+        CatalogoParticionado actual = catalogo;
+        if (actual != null) {
+            actual.cerrar();
+        }
+    }
+
+    /**
+     * Devuelve el catálogo, leyéndolo del archivo la primera vez.
+     *
+     * @throws IllegalStateException Si el archivo de la sucursal no es válido.
+     */
+    private CatalogoParticionado catalogo() {
+        CatalogoParticionado actual = catalogo;
+        if (actual == null) {
+            synchronized (this) {
+                actual = catalogo;
+                if (actual == null) {
+                    try {
+                        actual = new CatalogoParticionado(particiones);
+                        actual.cargar(Comic.cargarComicsDesdeCSV(archivo));
+                    } catch (CsvValidationException e) {
+                        actual.cerrar();
+                        throw new IllegalStateException("El archivo de la sucursal " + nombre + " no es valido: "
+                                + e.getMessage(), e);
+                    }
+                    catalogo = actual;
+                }
+            }
+        }
+        return actual;
+    }
+
+    private void guardar(Collection<Comic> agregados, Set<String> eliminados) {
+        synchronized (guardado) {
+            try (ControlAdmision.Permiso _ = ControlAdmision.getInstancia().esperarCostosa()) {
+                Comic.aplicarCambiosEnCSV(archivo, agregados, eliminados);
+            } catch (IOException e) {
+                System.err.println("Error al guardar los cambios de la sucursal " + nombre + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Se interrumpio el guardado de la sucursal " + nombre
+                        + "; los cambios no se escribieron.");
+            }
+        }
+    }
+}
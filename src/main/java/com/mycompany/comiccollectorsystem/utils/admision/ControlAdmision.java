@@ -0,0 +1,240 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.admision;
+
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.LimiteExcedidoException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Control de admisión de las operaciones del dominio ante picos de tráfico.
+ * <p>
+ * Implementa el patrón Singleton. Las operaciones frecuentes (reservar, comprar, agregar,
+ * eliminar) pasan por {@link #admitir}: una {@link CubetaTokens} por usuario y otra global.
+ * Las costosas (reportes, guardado del catálogo) ocupan un cupo de un
+ * {@link LimitadorConcurrencia}. Ninguna de las dos toma cerrojos: cada intento es un
+ * {@code compareAndSet}. Lo que no se admite falla con {@link LimiteExcedidoException} en
+ * lugar de sumarse a la contención.
+ * </p>
+ * <p>
+ * Cada cierto tiempo se descartan las cubetas de usuarios que ya se recargaron por completo:
+ * una cubeta llena es igual a una nueva, así que el usuario no pierde nada y el mapa no crece
+ * con cada RUT que alguna vez operó. Si el usuario opera justo mientras se descarta su
+ * cubeta, puede ganar a lo sumo una ficha de más.
+ * </p>
+ * <p>
+ * Se configura con propiedades del sistema, leídas al crear la instancia:
+ * {@code comic.admision.usuario.porSegundo} y {@code comic.admision.usuario.rafaga},
+ * {@code comic.admision.global.porSegundo} y {@code comic.admision.global.rafaga} (una tasa
+ * de 0, el valor por defecto, desactiva ese límite), {@code comic.admision.esperaMs} (cuánto
+ * puede esperar una operación a que se recargue una ficha antes de rechazarla, 0 por
+ * defecto), {@code comic.admision.costosas.maximo} (operaciones costosas simultáneas, tantas
+ * como procesadores y al menos 2 por defecto) y {@code comic.admision.costosas.esperaMs}
+ * (espera máxima por un cupo antes de rechazar, 5000 por defecto).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ControlAdmision {
+    /** Cada cuánto se buscan cubetas de usuarios inactivas para descartarlas. */
+    private static final long INTERVALO_LIMPIEZA_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /** Instancia única de la clase (Singleton). */
+    private static ControlAdmision instancia;
+
+    private final double porSegundoUsuario;
+    private final int rafagaUsuario;
+    /** Cubeta global; {@code null} si no hay límite global. */
+    private final CubetaTokens global;
+    private final ConcurrentHashMap<String, CubetaTokens> porUsuario;
+    /** Instante ({@link System#nanoTime()}) de la próxima limpieza de cubetas. */
+    private final AtomicLong proximaLimpieza;
+    private final long esperaNanos;
+    private final LimitadorConcurrencia costosas;
+    private final long esperaCostosasNanos;
+    private final LongAdder rechazadas;
+
+    /**
+     * Constructor privado (patrón Singleton).
+     */
+    private ControlAdmision() {
+        this.porSegundoUsuario = leerTasa("comic.admision.usuario.porSegundo");
+        this.rafagaUsuario = Integer.getInteger("comic.admision.usuario.rafaga", 10);
+        double porSegundoGlobal = leerTasa("comic.admision.global.porSegundo");
+        this.global = porSegundoGlobal > 0
+                ? new CubetaTokens(porSegundoGlobal, Integer.getInteger("comic.admision.global.rafaga", 100))
+                : null;
+        this.porUsuario = new ConcurrentHashMap<>();
+        this.proximaLimpieza = new AtomicLong(System.nanoTime() + INTERVALO_LIMPIEZA_NANOS);
+        this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("comic.admision.esperaMs", 0));
+        this.costosas = new LimitadorConcurrencia(Integer.getInteger("comic.admision.costosas.maximo",
+                Math.max(2, Runtime.getRuntime().availableProcessors())));
+        this.esperaCostosasNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("comic.admision.costosas.esperaMs", 5000));
+        this.rechazadas = new LongAdder();
+        if (porSegundoUsuario > 0) {
+            // valida la configuración al iniciar y no en la primera operación de cada usuario
+            new CubetaTokens(porSegundoUsuario, rafagaUsuario);
+        }
+    }
+
+    /**
+     * Devuelve la instancia única de {@code ControlAdmision}.
+     *
+     * @return instancia única del control de admisión.
+     */
+    public static synchronized ControlAdmision getInstancia() {
+        if (instancia == null) {
+            instancia = new ControlAdmision();
+        }
+        return instancia;
+    }
+
+    /**
+     * Admite una operación frecuente de un usuario, o la rechaza si el usuario o el sistema
+     * superaron su tasa. Primero se toma la ficha del usuario, para que quien excede su propio
+     * límite no gaste fichas del global; si luego el global la rechaza, la ficha del usuario
+     * se devuelve, porque la operación no se hizo.
+     *
+     * @param rut       RUT del usuario; {@code null} para aplicar solo el límite global.
+     * @param operacion Nombre de la operación, para el mensaje de error.
+     * @throws LimiteExcedidoException Si no hay fichas y no alcanzan a recargarse en la espera permitida.
+     */
+    public void admitir(String rut, String operacion) throws LimiteExcedidoException {
+        CubetaTokens cubeta = null;
+        if (rut != null && porSegundoUsuario > 0) {
+            descartarInactivas();
+            cubeta = porUsuario.get(rut);
+            if (cubeta == null) {
+                cubeta = porUsuario.computeIfAbsent(rut, r -> new CubetaTokens(porSegundoUsuario, rafagaUsuario));
+            }
+            tomar(cubeta, "Demasiadas solicitudes de " + operacion + " para este usuario");
+        }
+        if (global != null) {
+            try {
+                tomar(global, "El sistema esta recibiendo demasiadas solicitudes de " + operacion);
+            } catch (LimiteExcedidoException e) {
+                if (cubeta != null) {
+                    cubeta.devolver();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Ocupa un cupo para una operación costosa, esperando a lo sumo
+     * {@code comic.admision.costosas.esperaMs}.
+     *
+     * @param operacion Nombre de la operación, para el mensaje de error.
+     * @return Permiso que libera el cupo al cerrarse.
+     * @throws LimiteExcedidoException Si todos los cupos siguen ocupados tras la espera.
+     */
+    public Permiso intentarCostosa(String operacion) throws LimiteExcedidoException {
+        if (!costosas.entrar(esperaCostosasNanos)) {
+            rechazadas.increment();
+            throw new LimiteExcedidoException("Hay demasiadas operaciones costosas en curso ("
+                    + costosas.getMaximo() + "); no se pudo iniciar " + operacion + ". Intente mas tarde.");
+        }
+        return new Permiso(costosas);
+    }
+
+    /**
+     * Ocupa un cupo para una operación costosa que no puede descartarse (por ejemplo,
+     * guardar el catálogo), esperando lo que haga falta salvo que se interrumpa el hilo.
+     *
+     * @return Permiso que libera el cupo al cerrarse.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera; el flag queda limpio.
+     */
+    public Permiso esperarCostosa() throws InterruptedException {
+        // entrar devuelve false de inmediato si el hilo está interrumpido: sin esta
+        // comprobación el ciclo giraría sin pausa
+        while (!costosas.entrar(TimeUnit.SECONDS.toNanos(1))) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Se interrumpio la espera de un cupo para una operacion costosa.");
+            }
+        }
+        return new Permiso(costosas);
+    }
+
+    /**
+     * Devuelve cuántas operaciones se rechazaron desde que se creó la instancia.
+     *
+     * @return Operaciones rechazadas.
+     */
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    /**
+     * Descarta las cubetas llenas, como mucho una vez por {@link #INTERVALO_LIMPIEZA_NANOS}.
+     * Solo el hilo que gana el {@code compareAndSet} recorre el mapa.
+     */
+    private void descartarInactivas() {
+        long proxima = proximaLimpieza.get();
+        long ahora = System.nanoTime();
+        if (ahora - proxima < 0 || !proximaLimpieza.compareAndSet(proxima, ahora + INTERVALO_LIMPIEZA_NANOS)) {
+            return;
+        }
+        porUsuario.forEach((rut, cubeta) -> {
+            if (cubeta.estaLlena()) {
+                porUsuario.remove(rut, cubeta);
+            }
+        });
+    }
+
+    private void tomar(CubetaTokens cubeta, String mensaje) throws LimiteExcedidoException {
+        long limite = System.nanoTime() + esperaNanos;
+        long faltan;
+        while ((faltan = cubeta.intentarTomar()) > 0) {
+            if (System.nanoTime() + faltan > limite || Thread.currentThread().isInterrupted()) {
+                rechazadas.increment();
+                throw new LimiteExcedidoException(mensaje + ". Intente de nuevo en "
+                        + Math.max(1, TimeUnit.NANOSECONDS.toMillis(faltan)) + " ms.");
+            }
+            LockSupport.parkNanos(faltan);
+        }
+    }
+
+    private static double leerTasa(String propiedad) {
+        String valor = System.getProperty(propiedad, "0");
+        try {
+            double tasa = Double.parseDouble(valor);
+            if (tasa < 0 || Double.isNaN(tasa)) {
+                throw new IllegalArgumentException("La propiedad " + propiedad + " no puede ser negativa: " + valor);
+            }
+            return tasa;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La propiedad " + propiedad + " debe ser un numero: " + valor, e);
+        }
+    }
+
+    /**
+     * Cupo ocupado de una operación costosa. Cerrarlo más de una vez no tiene efecto.
+     */
+    public static final class Permiso implements AutoCloseable {
+        private final LimitadorConcurrencia limitador;
+        private final AtomicBoolean cerrado = new AtomicBoolean();
+
+        private Permiso(LimitadorConcurrencia limitador) {
+            this.limitador = limitador;
+        }
+
+        /**
+         * Libera el cupo.
+         */
+        @Override
+        public void close() {
+            if (cerrado.compareAndSet(false, true)) {
+                limitador.salir();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubeta de fichas sin cerrojos: limita una operación a {@code porSegundo} en promedio,
+ * con ráfagas de hasta {@code rafaga} seguidas.
+ * <p>
+ * En vez de guardar las fichas disponibles y la hora de la última recarga (dos valores que
+ * habría que cambiar juntos), guarda un único instante: cuándo quedaría llena la cubeta si
+ * no se tomaran más fichas. Tomar una ficha lo adelanta un intervalo ({@code 1 / porSegundo});
+ * se puede tomar mientras ese instante no se aleje del presente más de {@code rafaga}
+ * intervalos. Así cada intento es una lectura y un {@code compareAndSet} sobre un
+ * {@link AtomicLong}, y ningún hilo espera a otro.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class CubetaTokens {
+    private final long intervaloNanos;
+    private final long limiteNanos;
+    /** Instante ({@link System#nanoTime()}) en que la cubeta quedaría llena. */
+    private final AtomicLong llena;
+
+    /**
+     * Crea una cubeta llena.
+     *
+     * @param porSegundo Fichas que se recargan por segundo.
+     * @param rafaga     Capacidad de la cubeta.
+     */
+    public CubetaTokens(double porSegundo, int rafaga) {
+        if (porSegundo <= 0 || rafaga <= 0) {
+            throw new IllegalArgumentException("La tasa y la rafaga deben ser mayores que cero.");
+        }
+        this.intervaloNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo));
+        this.limiteNanos = intervaloNanos * rafaga;
+        this.llena = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Intenta tomar una ficha.
+     *
+     * @return 0 si la tomó; si no, los nanosegundos que faltan para que haya una.
+     */
+    public long intentarTomar() {
+        while (true) {
+            long ahora = System.nanoTime();
+            long actual = llena.get();
+            long siguiente = Math.max(actual, ahora) + intervaloNanos;
+            long exceso = siguiente - ahora - limiteNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (llena.compareAndSet(actual, siguiente)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devuelve una ficha tomada con {@link #intentarTomar()} que al final no se usó.
+     */
+    public void devolver() {
+        llena.addAndGet(-intervaloNanos);
+    }
+
+    /**
+     * Indica si la cubeta ya se recargó por completo, es decir, si equivale a una recién creada.
+     *
+     * @return {@code true} si está llena.
+     */
+    public boolean estaLlena() {
+        return llena.get() - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Devuelve las fichas disponibles en este momento.
+     *
+     * @return Fichas disponibles.
+     */
+    public long disponibles() {
+        long ahora = System.nanoTime();
+        long ocupado = Math.max(llena.get(), ahora) - ahora;
+        return (limiteNanos - ocupado) / intervaloNanos;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limita cuántas operaciones costosas corren a la vez, sin cerrojos.
+ * <p>
+ * Los cupos ocupados son un {@link AtomicInteger} que solo se incrementa con
+ * {@code compareAndSet} si no supera el máximo. Quien quiere esperar un cupo reintenta con
+ * pausas crecientes (hasta un milisegundo) en lugar de encolarse, así que no hay orden de
+ * llegada garantizado, pero tampoco un cerrojo que todos deban tomar para entrar o salir.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class LimitadorConcurrencia {
+    private static final long PAUSA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maximo;
+    private final AtomicInteger ocupados = new AtomicInteger();
+
+    /**
+     * Crea un limitador sin operaciones en curso.
+     *
+     * @param maximo Operaciones simultáneas permitidas.
+     */
+    public LimitadorConcurrencia(int maximo) {
+        if (maximo <= 0) {
+            throw new IllegalArgumentException("El maximo debe ser mayor que cero.");
+        }
+        this.maximo = maximo;
+    }
+
+    /**
+     * Ocupa un cupo si hay alguno libre.
+     *
+     * @return {@code true} si lo ocupó.
+     */
+    public boolean intentarEntrar() {
+        while (true) {
+            int actual = ocupados.get();
+            if (actual >= maximo) {
+                return false;
+            }
+            if (ocupados.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ocupa un cupo, esperando a lo sumo el tiempo indicado a que se libere uno.
+     *
+     * @param esperaNanos Espera máxima en nanosegundos; 0 para no esperar.
+     * @return {@code true} si lo ocupó.
+     */
+    public boolean entrar(long esperaNanos) {
+        long limite = System.nanoTime() + esperaNanos;
+        long pausa = 1_000;
+        while (!intentarEntrar()) {
+            long restante = limite - System.nanoTime();
+            if (restante <= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(pausa, restante));
+            pausa = Math.min(pausa * 2, PAUSA_MAXIMA_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Libera un cupo ocupado con {@link #intentarEntrar()} o {@link #entrar(long)}.
+     */
+    public void salir() {
+        ocupados.decrementAndGet();
+    }
+
+    /**
+     * Devuelve las operaciones en curso.
+     *
+     * @return Cupos ocupados.
+     */
+    public int getOcupados() {
+        return ocupados.get();
+    }
+
+    /**
+     * Devuelve las operaciones simultáneas permitidas.
+     *
+     * @return Máximo de cupos.
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+}
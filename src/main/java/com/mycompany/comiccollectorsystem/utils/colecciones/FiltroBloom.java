@@ -0,0 +1,76 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.colecciones;
+
+/**
+ * Filtro de Bloom sobre valores hash de 32 bits.
+ * <p>
+ * Responde "seguro que no está" o "puede que esté". Usa diez bits por elemento y siete
+ * funciones hash derivadas del valor original (doble hashing), lo que da alrededor de un
+ * 1 % de falsos positivos. No es seguro para hilos durante la carga; después de cargado
+ * puede consultarse desde cualquier hilo.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class FiltroBloom {
+    private static final int BITS_POR_ELEMENTO = 10;
+    private static final int FUNCIONES = 7;
+
+    private final long[] bits;
+    private final long cantidadBits;
+
+    /**
+     * Crea un filtro dimensionado para la cantidad de elementos indicada.
+     *
+     * @param elementosEsperados Cantidad aproximada de elementos que se agregarán.
+     */
+    public FiltroBloom(int elementosEsperados) {
+        long palabras = Math.max(1, ((long) Math.max(elementosEsperados, 1) * BITS_POR_ELEMENTO + 63) / 64);
+        this.bits = new long[(int) Math.min(palabras, Integer.MAX_VALUE - 8)];
+        this.cantidadBits = (long) bits.length * 64;
+    }
+
+    /**
+     * Agrega un elemento al filtro.
+     *
+     * @param hash Valor hash del elemento.
+     */
+    public void agregar(int hash) {
+        long h1 = mezclar(hash);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < FUNCIONES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Indica si el elemento puede estar en el filtro.
+     *
+     * @param hash Valor hash del elemento.
+     * @return {@code false} si el elemento seguro no fue agregado.
+     */
+    public boolean puedeContener(int hash) {
+        long h1 = mezclar(hash);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < FUNCIONES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mezclar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
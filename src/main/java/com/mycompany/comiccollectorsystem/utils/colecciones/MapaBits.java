@@ -0,0 +1,559 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.colecciones;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto comprimido de enteros no negativos, al estilo de los mapas de bits "roaring".
+ * <p>
+ * Los enteros se agrupan por sus 16 bits altos. Cada grupo se guarda en el contenedor
+ * más compacto según su densidad: un arreglo ordenado de los 16 bits bajos si tiene hasta
+ * 4096 elementos, o un mapa de bits de 65536 bits (8 KB) si tiene más. Así un conjunto
+ * disperso ocupa unos 2 bytes por elemento y uno denso, 1 bit por elemento.
+ * </p>
+ * <p>
+ * La intersección y la unión trabajan contenedor a contenedor (palabra a palabra entre
+ * mapas de bits) y {@link #cardinalidadAnd(MapaBits)} cuenta la intersección sin crearla.
+ * Las operaciones devuelven conjuntos nuevos que no comparten contenedores con los
+ * originales. No es seguro para hilos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public final class MapaBits {
+    private static final int LIMITE_ARREGLO = 4096;
+    private static final int PALABRAS = 1024;
+
+    /** 16 bits altos de cada contenedor, en orden. */
+    private char[] claves;
+    private Contenedor[] contenedores;
+    private int cantidad;
+
+    /**
+     * Crea un conjunto vacío.
+     */
+    public MapaBits() {
+        this.claves = new char[4];
+        this.contenedores = new Contenedor[4];
+    }
+
+    /**
+     * Agrega un entero.
+     *
+     * @param valor Entero no negativo.
+     */
+    public void agregar(int valor) {
+        char alto = (char) (valor >>> 16);
+        int i = buscarClave(alto);
+        if (i >= 0) {
+            contenedores[i] = contenedores[i].agregar((char) valor);
+            return;
+        }
+        i = -i - 1;
+        if (cantidad == claves.length) {
+            claves = Arrays.copyOf(claves, cantidad * 2);
+            contenedores = Arrays.copyOf(contenedores, cantidad * 2);
+        }
+        System.arraycopy(claves, i, claves, i + 1, cantidad - i);
+        System.arraycopy(contenedores, i, contenedores, i + 1, cantidad - i);
+        claves[i] = alto;
+        contenedores[i] = new ContenedorArreglo().agregar((char) valor);
+        cantidad++;
+    }
+
+    /**
+     * Quita un entero.
+     *
+     * @param valor Entero a quitar.
+     */
+    public void quitar(int valor) {
+        int i = buscarClave((char) (valor >>> 16));
+        if (i < 0) {
+            return;
+        }
+        Contenedor contenedor = contenedores[i].quitar((char) valor);
+        if (contenedor.cardinalidad() > 0) {
+            contenedores[i] = contenedor;
+            return;
+        }
+        System.arraycopy(claves, i + 1, claves, i, cantidad - i - 1);
+        System.arraycopy(contenedores, i + 1, contenedores, i, cantidad - i - 1);
+        cantidad--;
+        contenedores[cantidad] = null;
+    }
+
+    /**
+     * Indica si el entero está en el conjunto.
+     *
+     * @param valor Entero a buscar.
+     * @return {@code true} si está.
+     */
+    public boolean contiene(int valor) {
+        int i = buscarClave((char) (valor >>> 16));
+        return i >= 0 && contenedores[i].contiene((char) valor);
+    }
+
+    /**
+     * Devuelve la cantidad de enteros del conjunto.
+     *
+     * @return Cardinalidad.
+     */
+    public int cardinalidad() {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            total += contenedores[i].cardinalidad();
+        }
+        return total;
+    }
+
+    /**
+     * Indica si el conjunto está vacío.
+     *
+     * @return {@code true} si no tiene elementos.
+     */
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Devuelve la intersección con otro conjunto.
+     *
+     * @param otro Otro conjunto.
+     * @return Conjunto nuevo con los enteros presentes en ambos.
+     */
+    public MapaBits and(MapaBits otro) {
+        MapaBits resultado = new MapaBits();
+        int i = 0;
+        int j = 0;
+        while (i < cantidad && j < otro.cantidad) {
+            if (claves[i] < otro.claves[j]) {
+                i++;
+            } else if (claves[i] > otro.claves[j]) {
+                j++;
+            } else {
+                Contenedor interseccion = contenedores[i].and(otro.contenedores[j]);
+                if (interseccion.cardinalidad() > 0) {
+                    resultado.anexar(claves[i], interseccion);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la unión con otro conjunto.
+     *
+     * @param otro Otro conjunto.
+     * @return Conjunto nuevo con los enteros presentes en alguno de los dos.
+     */
+    public MapaBits or(MapaBits otro) {
+        MapaBits resultado = new MapaBits();
+        int i = 0;
+        int j = 0;
+        while (i < cantidad || j < otro.cantidad) {
+            if (j >= otro.cantidad || (i < cantidad && claves[i] < otro.claves[j])) {
+                resultado.anexar(claves[i], contenedores[i].copiar());
+                i++;
+            } else if (i >= cantidad || claves[i] > otro.claves[j]) {
+                resultado.anexar(otro.claves[j], otro.contenedores[j].copiar());
+                j++;
+            } else {
+                resultado.anexar(claves[i], contenedores[i].or(otro.contenedores[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta los enteros comunes con otro conjunto sin construir la intersección.
+     *
+     * @param otro Otro conjunto.
+     * @return Cardinalidad de la intersección.
+     */
+    public int cardinalidadAnd(MapaBits otro) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cantidad && j < otro.cantidad) {
+            if (claves[i] < otro.claves[j]) {
+                i++;
+            } else if (claves[i] > otro.claves[j]) {
+                j++;
+            } else {
+                total += contenedores[i].cardinalidadAnd(otro.contenedores[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Recorre los enteros del conjunto en orden ascendente.
+     *
+     * @param accion Acción a ejecutar con cada entero.
+     */
+    public void recorrer(IntConsumer accion) {
+        for (int i = 0; i < cantidad; i++) {
+            contenedores[i].recorrer(claves[i] << 16, accion);
+        }
+    }
+
+    /**
+     * Devuelve una copia independiente del conjunto.
+     *
+     * @return Copia.
+     */
+    public MapaBits copiar() {
+        MapaBits copia = new MapaBits();
+        for (int i = 0; i < cantidad; i++) {
+            copia.anexar(claves[i], contenedores[i].copiar());
+        }
+        return copia;
+    }
+
+    private int buscarClave(char alto) {
+        int bajo = 0;
+        int altoIndice = cantidad - 1;
+        while (bajo <= altoIndice) {
+            int medio = (bajo + altoIndice) >>> 1;
+            if (claves[medio] < alto) {
+                bajo = medio + 1;
+            } else if (claves[medio] > alto) {
+                altoIndice = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+
+    /** Agrega un contenedor al final; la clave debe ser mayor que todas las existentes. */
+    private void anexar(char clave, Contenedor contenedor) {
+        if (cantidad == claves.length) {
+            claves = Arrays.copyOf(claves, cantidad * 2);
+            contenedores = Arrays.copyOf(contenedores, cantidad * 2);
+        }
+        claves[cantidad] = clave;
+        contenedores[cantidad] = contenedor;
+        cantidad++;
+    }
+
+    /**
+     * Contenedor de los 16 bits bajos de un grupo.
+     */
+    private abstract static class Contenedor {
+        abstract Contenedor agregar(char valor);
+
+        abstract Contenedor quitar(char valor);
+
+        abstract boolean contiene(char valor);
+
+        abstract int cardinalidad();
+
+        abstract Contenedor and(Contenedor otro);
+
+        abstract Contenedor or(Contenedor otro);
+
+        abstract int cardinalidadAnd(Contenedor otro);
+
+        abstract void recorrer(int base, IntConsumer accion);
+
+        abstract Contenedor copiar();
+    }
+
+    /**
+     * Contenedor disperso: arreglo ordenado de hasta {@link #LIMITE_ARREGLO} valores.
+     */
+    private static final class ContenedorArreglo extends Contenedor {
+        char[] valores;
+        int cantidad;
+
+        ContenedorArreglo() {
+            this.valores = new char[4];
+        }
+
+        ContenedorArreglo(char[] valores, int cantidad) {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        Contenedor agregar(char valor) {
+            int i = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (i >= 0) {
+                return this;
+            }
+            if (cantidad == LIMITE_ARREGLO) {
+                return aBits().agregar(valor);
+            }
+            i = -i - 1;
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(Math.max(cantidad * 2, 4), LIMITE_ARREGLO));
+            }
+            System.arraycopy(valores, i, valores, i + 1, cantidad - i);
+            valores[i] = valor;
+            cantidad++;
+            return this;
+        }
+
+        @Override
+        Contenedor quitar(char valor) {
+            int i = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (i >= 0) {
+                System.arraycopy(valores, i + 1, valores, i, cantidad - i - 1);
+                cantidad--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contiene(char valor) {
+            return Arrays.binarySearch(valores, 0, cantidad, valor) >= 0;
+        }
+
+        @Override
+        int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        Contenedor and(Contenedor otro) {
+            char[] resultado = new char[Math.min(cantidad, otro.cardinalidad())];
+            int n = 0;
+            if (otro instanceof ContenedorArreglo arreglo) {
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    if (otro.contiene(valores[i])) {
+                        resultado[n++] = valores[i];
+                    }
+                }
+            }
+            return new ContenedorArreglo(resultado, n);
+        }
+
+        @Override
+        Contenedor or(Contenedor otro) {
+            if (otro instanceof ContenedorBits) {
+                return otro.or(this);
+            }
+            ContenedorArreglo arreglo = (ContenedorArreglo) otro;
+            char[] resultado = new char[cantidad + arreglo.cantidad];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cantidad || j < arreglo.cantidad) {
+                if (j >= arreglo.cantidad || (i < cantidad && valores[i] < arreglo.valores[j])) {
+                    resultado[n++] = valores[i++];
+                } else if (i >= cantidad || valores[i] > arreglo.valores[j]) {
+                    resultado[n++] = arreglo.valores[j++];
+                } else {
+                    resultado[n++] = valores[i];
+                    i++;
+                    j++;
+                }
+            }
+            ContenedorArreglo union = new ContenedorArreglo(resultado, n);
+            return n > LIMITE_ARREGLO ? union.aBits() : union;
+        }
+
+        @Override
+        int cardinalidadAnd(Contenedor otro) {
+            int total = 0;
+            if (otro instanceof ContenedorArreglo arreglo) {
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        total++;
+                        i++;
+                        j++;
+                    }
+                }
+                return total;
+            }
+            for (int i = 0; i < cantidad; i++) {
+                if (otro.contiene(valores[i])) {
+                    total++;
+                }
+            }
+            return total;
+        }
+
+        @Override
+        void recorrer(int base, IntConsumer accion) {
+            for (int i = 0; i < cantidad; i++) {
+                accion.accept(base | valores[i]);
+            }
+        }
+
+        @Override
+        Contenedor copiar() {
+            return new ContenedorArreglo(Arrays.copyOf(valores, Math.max(cantidad, 1)), cantidad);
+        }
+
+        ContenedorBits aBits() {
+            ContenedorBits bits = new ContenedorBits();
+            for (int i = 0; i < cantidad; i++) {
+                bits.agregar(valores[i]);
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * Contenedor denso: mapa de 65536 bits.
+     */
+    private static final class ContenedorBits extends Contenedor {
+        final long[] palabras;
+        int cantidad;
+
+        ContenedorBits() {
+            this.palabras = new long[PALABRAS];
+        }
+
+        ContenedorBits(long[] palabras, int cantidad) {
+            this.palabras = palabras;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        Contenedor agregar(char valor) {
+            long antes = palabras[valor >>> 6];
+            long despues = antes | (1L << valor);
+            if (antes != despues) {
+                palabras[valor >>> 6] = despues;
+                cantidad++;
+            }
+            return this;
+        }
+
+        @Override
+        Contenedor quitar(char valor) {
+            long antes = palabras[valor >>> 6];
+            long despues = antes & ~(1L << valor);
+            if (antes != despues) {
+                palabras[valor >>> 6] = despues;
+                cantidad--;
+                if (cantidad <= LIMITE_ARREGLO) {
+                    return aArreglo();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contiene(char valor) {
+            return (palabras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        Contenedor and(Contenedor otro) {
+            if (otro instanceof ContenedorArreglo) {
+                return otro.and(this);
+            }
+            long[] otras = ((ContenedorBits) otro).palabras;
+            long[] resultado = new long[PALABRAS];
+            int total = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                resultado[i] = palabras[i] & otras[i];
+                total += Long.bitCount(resultado[i]);
+            }
+            ContenedorBits interseccion = new ContenedorBits(resultado, total);
+            return total <= LIMITE_ARREGLO ? interseccion.aArreglo() : interseccion;
+        }
+
+        @Override
+        Contenedor or(Contenedor otro) {
+            ContenedorBits union = (ContenedorBits) copiar();
+            if (otro instanceof ContenedorArreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    union.agregar(arreglo.valores[i]);
+                }
+                return union;
+            }
+            long[] otras = ((ContenedorBits) otro).palabras;
+            int total = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                union.palabras[i] |= otras[i];
+                total += Long.bitCount(union.palabras[i]);
+            }
+            union.cantidad = total;
+            return union;
+        }
+
+        @Override
+        int cardinalidadAnd(Contenedor otro) {
+            if (otro instanceof ContenedorArreglo) {
+                return otro.cardinalidadAnd(this);
+            }
+            long[] otras = ((ContenedorBits) otro).palabras;
+            int total = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                total += Long.bitCount(palabras[i] & otras[i]);
+            }
+            return total;
+        }
+
+        @Override
+        void recorrer(int base, IntConsumer accion) {
+            for (int i = 0; i < PALABRAS; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0) {
+                    accion.accept(base | (i << 6) | Long.numberOfTrailingZeros(palabra));
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+
+        @Override
+        Contenedor copiar() {
+            return new ContenedorBits(palabras.clone(), cantidad);
+        }
+
+        ContenedorArreglo aArreglo() {
+            char[] valores = new char[Math.max(cantidad, 1)];
+            int n = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0) {
+                    valores[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(palabra));
+                    palabra &= palabra - 1;
+                }
+            }
+            return new ContenedorArreglo(valores, n);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.colecciones;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa inmutable y persistente (hash array mapped trie).
+ * <p>
+ * Cada modificación devuelve un mapa nuevo que comparte con el anterior todos los nodos
+ * no afectados, por lo que agregar o quitar una entrada copia solo el camino desde la
+ * raíz (O(log32 n)). Los mapas nunca cambian después de creados, así que pueden leerse
+ * desde cualquier hilo sin sincronización.
+ * </p>
+ *
+ * @param <K> Tipo de las claves.
+ * @param <V> Tipo de los valores.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public final class MapaPersistente<K, V> {
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+    private static final MapaPersistente<?, ?> VACIO = new MapaPersistente<>(null, 0);
+
+    private final Nodo raiz;
+    private final int tamano;
+
+    private MapaPersistente(Nodo raiz, int tamano) {
+        this.raiz = raiz;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Devuelve el mapa vacío.
+     *
+     * @param <K> Tipo de las claves.
+     * @param <V> Tipo de los valores.
+     * @return Mapa vacío compartido.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> MapaPersistente<K, V> vacio() {
+        return (MapaPersistente<K, V>) VACIO;
+    }
+
+    /**
+     * Devuelve el valor asociado a la clave.
+     *
+     * @param clave Clave a buscar.
+     * @return Valor asociado, o {@code null} si no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V obtener(K clave) {
+        if (raiz == null) {
+            return null;
+        }
+        return (V) raiz.obtener(clave, hash(clave), 0);
+    }
+
+    /**
+     * Devuelve un mapa con la clave asociada al valor indicado.
+     *
+     * @param clave Clave.
+     * @param valor Valor.
+     * @return Mapa nuevo, o este mismo si no hubo cambios.
+     */
+    public MapaPersistente<K, V> con(K clave, V valor) {
+        boolean[] agregado = new boolean[1];
+        Nodo base = raiz == null ? NodoBitmap.VACIO : raiz;
+        Nodo nuevaRaiz = base.con(clave, hash(clave), valor, 0, agregado);
+        if (nuevaRaiz == raiz) {
+            return this;
+        }
+        return new MapaPersistente<>(nuevaRaiz, agregado[0] ? tamano + 1 : tamano);
+    }
+
+    /**
+     * Devuelve un mapa sin la clave indicada.
+     *
+     * @param clave Clave a quitar.
+     * @return Mapa nuevo, o este mismo si la clave no existía.
+     */
+    public MapaPersistente<K, V> sin(K clave) {
+        if (raiz == null) {
+            return this;
+        }
+        Nodo nuevaRaiz = raiz.sin(clave, hash(clave), 0);
+        if (nuevaRaiz == raiz) {
+            return this;
+        }
+        return new MapaPersistente<>(nuevaRaiz, tamano - 1);
+    }
+
+    /**
+     * Devuelve la cantidad de entradas.
+     *
+     * @return Número de entradas.
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Recorre todas las entradas del mapa, en un orden no especificado.
+     *
+     * @param accion Acción a ejecutar con cada clave y valor.
+     */
+    @SuppressWarnings("unchecked")
+    public void recorrer(BiConsumer<? super K, ? super V> accion) {
+        if (raiz != null) {
+            raiz.recorrer((BiConsumer<Object, Object>) accion);
+        }
+    }
+
+    /**
+     * Devuelve una lista con todos los valores.
+     *
+     * @return Lista nueva con los valores.
+     */
+    public List<V> valores() {
+        List<V> valores = new ArrayList<>(tamano);
+        recorrer((clave, valor) -> valores.add(valor));
+        return valores;
+    }
+
+    private static int hash(Object clave) {
+        int h = clave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Nodo del trie.
+     */
+    private abstract static class Nodo {
+        abstract Object obtener(Object clave, int hash, int desplazamiento);
+
+        abstract Nodo con(Object clave, int hash, Object valor, int desplazamiento, boolean[] agregado);
+
+        abstract Nodo sin(Object clave, int hash, int desplazamiento);
+
+        abstract void recorrer(BiConsumer<Object, Object> accion);
+    }
+
+    /**
+     * Nodo con hasta 32 hijos indexados por un mapa de bits. El arreglo guarda pares
+     * (clave, valor); si la clave es {@code null}, el valor es un subnodo.
+     */
+    private static final class NodoBitmap extends Nodo {
+        static final NodoBitmap VACIO = new NodoBitmap(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] arreglo;
+
+        NodoBitmap(int bitmap, Object[] arreglo) {
+            this.bitmap = bitmap;
+            this.arreglo = arreglo;
+        }
+
+        private int indice(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object obtener(Object clave, int hash, int desplazamiento) {
+            int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * indice(bit);
+            Object claveActual = arreglo[i];
+            Object valorActual = arreglo[i + 1];
+            if (claveActual == null) {
+                return ((Nodo) valorActual).obtener(clave, hash, desplazamiento + BITS);
+            }
+            return clave.equals(claveActual) ? valorActual : null;
+        }
+
+        @Override
+        Nodo con(Object clave, int hash, Object valor, int desplazamiento, boolean[] agregado) {
+            int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+            int i = 2 * indice(bit);
+
+            if ((bitmap & bit) == 0) {
+                agregado[0] = true;
+                Object[] nuevo = new Object[arreglo.length + 2];
+                System.arraycopy(arreglo, 0, nuevo, 0, i);
+                nuevo[i] = clave;
+                nuevo[i + 1] = valor;
+                System.arraycopy(arreglo, i, nuevo, i + 2, arreglo.length - i);
+                return new NodoBitmap(bitmap | bit, nuevo);
+            }
+
+            Object claveActual = arreglo[i];
+            Object valorActual = arreglo[i + 1];
+            if (claveActual == null) {
+                Nodo hijo = (Nodo) valorActual;
+                Nodo nuevoHijo = hijo.con(clave, hash, valor, desplazamiento + BITS, agregado);
+                return nuevoHijo == hijo ? this : reemplazar(i + 1, null, nuevoHijo);
+            }
+            if (clave.equals(claveActual)) {
+                return valorActual == valor ? this : reemplazar(i + 1, claveActual, valor);
+            }
+            agregado[0] = true;
+            Nodo hijo = crearHijo(desplazamiento + BITS, claveActual, valorActual, hash, clave, valor);
+            return reemplazar(i + 1, null, hijo);
+        }
+
+        @Override
+        Nodo sin(Object clave, int hash, int desplazamiento) {
+            int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * indice(bit);
+            Object claveActual = arreglo[i];
+            Object valorActual = arreglo[i + 1];
+            if (claveActual == null) {
+                Nodo hijo = (Nodo) valorActual;
+                Nodo nuevoHijo = hijo.sin(clave, hash, desplazamiento + BITS);
+                if (nuevoHijo == hijo) {
+                    return this;
+                }
+                if (nuevoHijo != null) {
+                    return reemplazar(i + 1, null, nuevoHijo);
+                }
+                return quitar(bit, i);
+            }
+            if (clave.equals(claveActual)) {
+                return quitar(bit, i);
+            }
+            return this;
+        }
+
+        @Override
+        void recorrer(BiConsumer<Object, Object> accion) {
+            for (int i = 0; i < arreglo.length; i += 2) {
+                if (arreglo[i] == null) {
+                    ((Nodo) arreglo[i + 1]).recorrer(accion);
+                } else {
+                    accion.accept(arreglo[i], arreglo[i + 1]);
+                }
+            }
+        }
+
+        private NodoBitmap reemplazar(int posicionValor, Object clave, Object valor) {
+            Object[] nuevo = arreglo.clone();
+            nuevo[posicionValor - 1] = clave;
+            nuevo[posicionValor] = valor;
+            return new NodoBitmap(bitmap, nuevo);
+        }
+
+        private NodoBitmap quitar(int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] nuevo = new Object[arreglo.length - 2];
+            System.arraycopy(arreglo, 0, nuevo, 0, i);
+            System.arraycopy(arreglo, i + 2, nuevo, i, arreglo.length - i - 2);
+            return new NodoBitmap(bitmap ^ bit, nuevo);
+        }
+
+        private static Nodo crearHijo(int desplazamiento, Object clave1, Object valor1,
+                                      int hash2, Object clave2, Object valor2) {
+            int hash1 = hash(clave1);
+            if (hash1 == hash2) {
+                return new NodoColision(hash1, new Object[] { clave1, valor1, clave2, valor2 });
+            }
+            boolean[] ignorado = new boolean[1];
+            return VACIO.con(clave1, hash1, valor1, desplazamiento, ignorado)
+                    .con(clave2, hash2, valor2, desplazamiento, ignorado);
+        }
+    }
+
+    /**
+     * Nodo para claves distintas con el mismo hash completo.
+     */
+    private static final class NodoColision extends Nodo {
+        final int hash;
+        final Object[] pares;
+
+        NodoColision(int hash, Object[] pares) {
+            this.hash = hash;
+            this.pares = pares;
+        }
+
+        private int buscar(Object clave) {
+            for (int i = 0; i < pares.length; i += 2) {
+                if (clave.equals(pares[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object obtener(Object clave, int hash, int desplazamiento) {
+            int i = buscar(clave);
+            return i < 0 ? null : pares[i + 1];
+        }
+
+        @Override
+        Nodo con(Object clave, int hash, Object valor, int desplazamiento, boolean[] agregado) {
+            if (hash != this.hash) {
+                // anidar este nodo bajo un nodo de mapa de bits y volver a insertar
+                NodoBitmap contenedor = new NodoBitmap(1 << ((this.hash >>> desplazamiento) & MASCARA),
+                        new Object[] { null, this });
+                return contenedor.con(clave, hash, valor, desplazamiento, agregado);
+            }
+            int i = buscar(clave);
+            if (i >= 0) {
+                if (pares[i + 1] == valor) {
+                    return this;
+                }
+                Object[] nuevo = pares.clone();
+                nuevo[i + 1] = valor;
+                return new NodoColision(hash, nuevo);
+            }
+            agregado[0] = true;
+            Object[] nuevo = new Object[pares.length + 2];
+            System.arraycopy(pares, 0, nuevo, 0, pares.length);
+            nuevo[pares.length] = clave;
+            nuevo[pares.length + 1] = valor;
+            return new NodoColision(hash, nuevo);
+        }
+
+        @Override
+        Nodo sin(Object clave, int hash, int desplazamiento) {
+            int i = buscar(clave);
+            if (i < 0) {
+                return this;
+            }
+            if (pares.length == 2) {
+                return null;
+            }
+            Object[] nuevo = new Object[pares.length - 2];
+            System.arraycopy(pares, 0, nuevo, 0, i);
+            System.arraycopy(pares, i + 2, nuevo, i, pares.length - i - 2);
+            return new NodoColision(hash, nuevo);
+        }
+
+        @Override
+        void recorrer(BiConsumer<Object, Object> accion) {
+            for (int i = 0; i < pares.length; i += 2) {
+                accion.accept(pares[i], pares[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.colecciones;
+
+import java.util.Arrays;
+
+/**
+ * Resumen acotado de los enteros más frecuentes de un flujo (algoritmo "space-saving").
+ * <p>
+ * Guarda a lo sumo {@code capacidad} claves con su conteo en arreglos primitivos. Una clave
+ * nueva con el resumen lleno reemplaza a la de menor conteo y hereda ese conteo más uno,
+ * que queda registrado como error máximo. Así, toda clave cuya frecuencia real supere
+ * {@code total / capacidad} está en el resumen, y el conteo de cada clave la sobreestima
+ * en a lo sumo su error. No es seguro para hilos.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ResumenFrecuentes {
+    private final int[] claves;
+    private final long[] conteos;
+    private final long[] errores;
+    private int cantidad;
+
+    /**
+     * Crea un resumen vacío.
+     *
+     * @param capacidad Cantidad máxima de claves guardadas.
+     */
+    public ResumenFrecuentes(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que cero.");
+        }
+        this.claves = new int[capacidad];
+        this.conteos = new long[capacidad];
+        this.errores = new long[capacidad];
+    }
+
+    /**
+     * Cuenta una aparición de la clave.
+     *
+     * @param clave Clave observada.
+     */
+    public void agregar(int clave) {
+        int minimo = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (claves[i] == clave) {
+                conteos[i]++;
+                return;
+            }
+            if (conteos[i] < conteos[minimo]) {
+                minimo = i;
+            }
+        }
+        if (cantidad < claves.length) {
+            claves[cantidad] = clave;
+            conteos[cantidad] = 1;
+            errores[cantidad] = 0;
+            cantidad++;
+            return;
+        }
+        errores[minimo] = conteos[minimo];
+        claves[minimo] = clave;
+        conteos[minimo]++;
+    }
+
+    /**
+     * Devuelve las claves de mayor conteo, de mayor a menor (a igual conteo, menor error primero).
+     *
+     * @param k Cantidad máxima de claves.
+     * @return Hasta {@code k} claves.
+     */
+    public int[] mayores(int k) {
+        Integer[] orden = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> conteos[a] != conteos[b] ? Long.compare(conteos[b], conteos[a])
+                : errores[a] != errores[b] ? Long.compare(errores[a], errores[b])
+                : Integer.compare(claves[a], claves[b]));
+        int[] mayores = new int[Math.min(k, cantidad)];
+        for (int i = 0; i < mayores.length; i++) {
+            mayores[i] = claves[orden[i]];
+        }
+        return mayores;
+    }
+
+    /**
+     * Devuelve el conteo estimado de una clave.
+     *
+     * @param clave Clave buscada.
+     * @return Conteo (cota superior de la frecuencia real), o 0 si no está en el resumen.
+     */
+    public long conteo(int clave) {
+        for (int i = 0; i < cantidad; i++) {
+            if (claves[i] == clave) {
+                return conteos[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Devuelve la cantidad de claves guardadas.
+     *
+     * @return Cantidad de claves.
+     */
+    public int cantidad() {
+        return cantidad;
+    }
+}
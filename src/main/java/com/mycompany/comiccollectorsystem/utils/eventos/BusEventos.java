@@ -0,0 +1,175 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus de eventos del dominio dentro del proceso.
+ * <p>
+ * Implementa el patrón Singleton. Cada suscriptor tiene una cola acotada y un hilo propio
+ * que consume los eventos en lotes, de modo que quien publica nunca espera por la E/S
+ * del suscriptor.
+ * </p>
+ * <p>
+ * Publicar nunca bloquea, porque se publica desde sesiones y tareas que no deben quedar
+ * detenidas por un suscriptor lento. Si la cola de un suscriptor está llena, el evento
+ * pasa a un desborde sin límite, y los siguientes también mientras el desborde tenga
+ * eventos. El hilo del suscriptor vacía la cola antes que el desborde, así que cada
+ * suscriptor sigue recibiendo los eventos de un mismo publicador en orden y ninguno se
+ * descarta.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class BusEventos {
+    /** Capacidad de la cola de cada suscriptor. */
+    private static final int CAPACIDAD = Integer.getInteger("comic.eventos.capacidad", 1024);
+    /** Máximo de eventos entregados en un solo lote. */
+    private static final int TAMANO_LOTE = Integer.getInteger("comic.eventos.lote", 256);
+    /** Evento interno que indica a un canal que debe terminar. */
+    private static final EventoDominio FIN = new EventoDominio() {
+    };
+    /** Evento interno que despierta a un canal que espera con la cola vacía y eventos en el desborde. */
+    private static final EventoDominio DESPERTAR = new EventoDominio() {
+    };
+
+    /** Instancia única de la clase (Singleton). */
+    private static BusEventos instancia;
+
+    private final List<Canal> canales;
+
+    /**
+     * Constructor privado (patrón Singleton).
+     */
+    private BusEventos() {
+        this.canales = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Devuelve la instancia única de {@code BusEventos}.
+     *
+     * @return instancia única del bus.
+     */
+    public static synchronized BusEventos getInstancia() {
+        if (instancia == null) {
+            instancia = new BusEventos();
+        }
+        return instancia;
+    }
+
+    /**
+     * Registra un suscriptor con su propia cola e hilo consumidor.
+     *
+     * @param nombre     Nombre del suscriptor, usado para nombrar su hilo.
+     * @param suscriptor Suscriptor a registrar.
+     */
+    public void suscribir(String nombre, SuscriptorEventos suscriptor) {
+        Canal canal = new Canal(nombre, suscriptor);
+        canales.add(canal);
+        canal.hilo.start();
+    }
+
+    /**
+     * Publica un evento para todos los suscriptores, sin bloquear.
+     *
+     * @param evento Evento a publicar.
+     */
+    public void publicar(EventoDominio evento) {
+        for (Canal canal : canales) {
+            canal.encolar(evento);
+        }
+    }
+
+    /**
+     * Cierra el bus: cada suscriptor procesa los eventos pendientes y su hilo termina.
+     * Bloquea hasta que todos los hilos hayan terminado.
+     */
+    public void cerrar() {
+        List<Canal> cerrados = new ArrayList<>(canales);
+        canales.clear();
+        for (Canal canal : cerrados) {
+            canal.encolar(FIN);
+        }
+        for (Canal canal : cerrados) {
+            try {
+                canal.hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cola acotada, desborde e hilo consumidor de un suscriptor.
+     */
+    private static class Canal {
+        private final BlockingQueue<EventoDominio> cola;
+        /** Eventos que no cupieron en la cola; todos son posteriores a los que están en ella. */
+        private final ConcurrentLinkedQueue<EventoDominio> desborde;
+        private final SuscriptorEventos suscriptor;
+        private final Thread hilo;
+
+        Canal(String nombre, SuscriptorEventos suscriptor) {
+            this.cola = new ArrayBlockingQueue<>(CAPACIDAD);
+            this.desborde = new ConcurrentLinkedQueue<>();
+            this.suscriptor = suscriptor;
+            this.hilo = new Thread(this::consumir, "eventos-" + nombre);
+            this.hilo.setDaemon(true);
+        }
+
+        void encolar(EventoDominio evento) {
+            if (desborde.isEmpty() && cola.offer(evento)) {
+                return;
+            }
+            desborde.add(evento);
+            // si el consumidor vació la cola justo antes, está esperando en ella: se lo despierta
+            cola.offer(DESPERTAR);
+        }
+
+        void consumir() {
+            List<EventoDominio> lote = new ArrayList<>(TAMANO_LOTE);
+            boolean activo = true;
+            while (activo) {
+                if (desborde.isEmpty()) {
+                    try {
+                        lote.add(cola.take());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                cola.drainTo(lote, TAMANO_LOTE - lote.size());
+                // si el lote no se llenó, la cola quedó vacía y sigue el desborde, cuyos eventos son posteriores
+                EventoDominio desbordado;
+                while (lote.size() < TAMANO_LOTE && (desbordado = desborde.poll()) != null) {
+                    lote.add(desbordado);
+                }
+                lote.removeIf(evento -> evento == DESPERTAR);
+
+                int fin = lote.indexOf(FIN);
+                if (fin >= 0) {
+                    lote.subList(fin, lote.size()).clear();
+                    activo = false;
+                }
+                if (!lote.isEmpty()) {
+                    try {
+                        suscriptor.procesar(lote);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error en el suscriptor " + hilo.getName() + ": " + e.getMessage());
+                    }
+                }
+                lote.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+
+/**
+ * Evento publicado cuando un administrador agrega un cómic al catálogo.
+ *
+ * @param comic            Cómic agregado.
+ * @param rutAdministrador RUT del administrador que lo agregó.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record ComicAgregado(Comic comic, String rutAdministrador) implements EventoDominio {
+}
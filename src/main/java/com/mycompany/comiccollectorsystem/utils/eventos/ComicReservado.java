@@ -0,0 +1,19 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+
+/**
+ * Evento publicado cuando un cliente reserva un cómic.
+ *
+ * @param comic      Cómic reservado.
+ * @param rutCliente RUT del cliente que lo reservó.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record ComicReservado(Comic comic, String rutCliente) implements EventoDominio {
+}
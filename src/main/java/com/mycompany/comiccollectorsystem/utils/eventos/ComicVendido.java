@@ -0,0 +1,21 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+
+/**
+ * Evento publicado por cada cómic vendido al completar una compra.
+ *
+ * @param comic        Cómic vendido.
+ * @param rutCliente   RUT del cliente que lo compró.
+ * @param montoCobrado Parte del total de la compra que corresponde a este cómic, ya descontadas
+ *                     las promociones.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record ComicVendido(Comic comic, String rutCliente, long montoCobrado) implements EventoDominio {
+}
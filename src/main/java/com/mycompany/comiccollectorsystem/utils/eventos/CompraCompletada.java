@@ -0,0 +1,28 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import java.util.List;
+
+/**
+ * Evento publicado una vez por compra, después de los {@link ComicVendido} de cada cómic.
+ *
+ * @param comics     Cómics comprados juntos.
+ * @param rutCliente RUT del cliente que compró.
+ * @param total      Monto cobrado por la compra completa, con las promociones aplicadas.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record CompraCompletada(List<Comic> comics, String rutCliente, long total) implements EventoDominio {
+
+    /**
+     * Copia la lista de cómics para que el evento no cambie después de publicado.
+     */
+    public CompraCompletada {
+        comics = List.copyOf(comics);
+    }
+}
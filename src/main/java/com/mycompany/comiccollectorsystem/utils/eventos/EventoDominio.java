@@ -0,0 +1,21 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+/**
+ * Evento del dominio publicado en el {@link BusEventos} por las operaciones de
+ * {@code Administrador} y {@code Cliente}.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public interface EventoDominio {
+    /**
+     * RUT con que se publican los cambios leídos al recargar {@code comic.csv}: el archivo ya
+     * los contiene, así que no hay que volver a escribirlos.
+     */
+    String ORIGEN_RECARGA = "recarga";
+}
@@ -0,0 +1,18 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+
+/**
+ * Evento publicado cuando una reserva vence y el cómic vuelve a estar disponible.
+ *
+ * @param comic Cómic liberado.
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public record ReservaExpirada(Comic comic) implements EventoDominio {
+}
@@ -0,0 +1,28 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos;
+
+import java.util.List;
+
+/**
+ * Consumidor de eventos del dominio.
+ * <p>
+ * Cada suscriptor recibe los eventos en lotes, en orden de publicación y siempre
+ * desde su propio hilo, por lo que no necesita sincronizar su estado interno.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public interface SuscriptorEventos {
+
+    /**
+     * Procesa un lote de eventos.
+     *
+     * @param lote Eventos en orden de publicación; nunca vacío.
+     */
+    void procesar(List<EventoDominio> lote);
+}
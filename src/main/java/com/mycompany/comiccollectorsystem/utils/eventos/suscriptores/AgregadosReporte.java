@@ -0,0 +1,274 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos.suscriptores;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicReservado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import com.mycompany.comiccollectorsystem.utils.eventos.UsuarioRegistrado;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suscriptor que acumula los totales de actividad usados en los reportes.
+ * <p>
+ * Solo el hilo del suscriptor escribe los contadores; cualquier otro hilo puede leerlos.
+ * </p>
+ * <p>
+ * Además agrega cada usuario registrado y cada cómic vendido, con el monto cobrado, a un
+ * diario en disco (una fila CSV por registro). El diario no se guarda en memoria: el reporte
+ * incremental recuerda hasta qué byte lo leyó y con {@link #leerDesde(long)} obtiene solo
+ * las filas nuevas, así que la actividad sobrevive a un reinicio y nada crece si no se
+ * piden reportes. Las filas de un lote se escriben de una vez y {@link #getConfirmado()}
+ * avanza solo cuando quedaron completas; si la escritura falla, el diario se corta de vuelta
+ * a la última fila completa.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class AgregadosReporte implements SuscriptorEventos {
+    private static final String USUARIO = "U";
+    private static final String VENTA = "V";
+
+    private final AtomicLong usuariosRegistrados = new AtomicLong();
+    private final AtomicLong comicsAgregados = new AtomicLong();
+    private final AtomicLong comicsEliminados = new AtomicLong();
+    private final AtomicLong reservas = new AtomicLong();
+    private final AtomicLong ventas = new AtomicLong();
+    private final AtomicLong montoVendido = new AtomicLong();
+    private final Path diario;
+    /** Bytes del diario que terminan en una fila completa. */
+    private volatile long confirmado;
+
+    /**
+     * Usuario registrado, tal como quedó en el diario.
+     *
+     * @param rut      RUT del usuario.
+     * @param nombre   Nombre.
+     * @param apellido Apellido.
+     * @param tipo     Tipo de usuario.
+     */
+    public record UsuarioReportado(String rut, String nombre, String apellido, String tipo) {
+    }
+
+    /**
+     * Cómic vendido, tal como quedó en el diario.
+     *
+     * @param codigo       Código del cómic.
+     * @param titulo       Título.
+     * @param autor        Autor.
+     * @param editorial    Editorial.
+     * @param montoCobrado Monto cobrado por el cómic.
+     * @param tipo         Tipo de cómic.
+     */
+    public record VentaReportada(String codigo, String titulo, String autor, String editorial, long montoCobrado,
+            String tipo) {
+    }
+
+    /**
+     * Filas del diario leídas entre dos posiciones.
+     *
+     * @param usuarios Usuarios registrados, en orden.
+     * @param ventas   Ventas, en orden.
+     * @param hasta    Posición del diario donde termina la lectura; la próxima empieza ahí.
+     */
+    public record Pendientes(List<UsuarioReportado> usuarios, List<VentaReportada> ventas, long hasta) {
+    }
+
+    /**
+     * Crea el suscriptor sobre un diario, que se crea si no existe. Si el sistema se detuvo a
+     * mitad de una escritura, la fila incompleta del final se descarta.
+     *
+     * @param diario Archivo del diario de actividad.
+     * @throws IOException Si el diario no se puede abrir.
+     */
+    public AgregadosReporte(Path diario) throws IOException {
+        this.diario = diario.toAbsolutePath();
+        try (FileChannel canal = FileChannel.open(this.diario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long tamano = canal.size();
+            long completo = tamano;
+            ByteBuffer byteFinal = ByteBuffer.allocate(1);
+            while (completo > 0) {
+                byteFinal.clear();
+                canal.read(byteFinal, completo - 1);
+                if (byteFinal.get(0) == '\n') {
+                    break;
+                }
+                completo--;
+            }
+            if (completo < tamano) {
+                canal.truncate(completo);
+            }
+            confirmado = completo;
+        }
+    }
+
+    /**
+     * Actualiza los contadores con los eventos del lote y agrega al diario los usuarios y
+     * ventas.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        StringWriter filas = new StringWriter();
+        boolean hayFilas = false;
+        try (CSVWriter writer = new CSVWriter(filas)) {
+            for (EventoDominio evento : lote) {
+                if (evento instanceof UsuarioRegistrado registrado) {
+                    usuariosRegistrados.incrementAndGet();
+                    Usuario usuario = registrado.usuario();
+                    writer.writeNext(limpiar(USUARIO, usuario.getRut(), usuario.getNombre(), usuario.getApellido(),
+                            usuario.getTipoUsuario()));
+                    hayFilas = true;
+                } else if (evento instanceof ComicAgregado) {
+                    comicsAgregados.incrementAndGet();
+                } else if (evento instanceof ComicEliminado) {
+                    comicsEliminados.incrementAndGet();
+                } else if (evento instanceof ComicReservado) {
+                    reservas.incrementAndGet();
+                } else if (evento instanceof ComicVendido vendido) {
+                    ventas.incrementAndGet();
+                    montoVendido.addAndGet(vendido.montoCobrado());
+                    Comic comic = vendido.comic();
+                    writer.writeNext(limpiar(VENTA, comic.getCodigo(), comic.getTitulo(), comic.getAutor(),
+                            comic.getEditorial(), String.valueOf(vendido.montoCobrado()), comic.getTipoComic()));
+                    hayFilas = true;
+                }
+            }
+        } catch (IOException e) {
+            // un StringWriter no falla al escribir ni al cerrar
+        }
+        if (hayFilas) {
+            anotar(filas.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Lee las filas del diario escritas desde una posición hasta la última fila completa. Si
+     * la posición es mayor que el diario (porque se borró), lee desde el principio.
+     *
+     * @param desde Posición donde terminó la lectura anterior, o 0.
+     * @return Usuarios y ventas leídos, y la posición donde terminó la lectura.
+     * @throws IOException Si el diario no se puede leer o tiene una fila inválida.
+     */
+    public Pendientes leerDesde(long desde) throws IOException {
+        long hasta = confirmado;
+        long inicio = desde > hasta ? 0 : desde;
+        ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(hasta - inicio));
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.READ)) {
+            while (bytes.hasRemaining()) {
+                if (canal.read(bytes, inicio + bytes.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        List<UsuarioReportado> usuarios = new ArrayList<>();
+        List<VentaReportada> vendidas = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new StringReader(
+                new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8)))) {
+            String[] fila;
+            while ((fila = reader.readNext()) != null) {
+                if (fila.length == 5 && USUARIO.equals(fila[0])) {
+                    usuarios.add(new UsuarioReportado(fila[1], fila[2], fila[3], fila[4]));
+                } else if (fila.length == 7 && VENTA.equals(fila[0])) {
+                    vendidas.add(new VentaReportada(fila[1], fila[2], fila[3], fila[4], Long.parseLong(fila[5]),
+                            fila[6]));
+                } else {
+                    throw new IOException("Fila invalida en " + diario.getFileName() + ", linea "
+                            + reader.getLinesRead());
+                }
+            }
+        } catch (CsvValidationException | NumberFormatException e) {
+            throw new IOException("El diario " + diario.getFileName() + " no es valido: " + e.getMessage(), e);
+        }
+        return new Pendientes(usuarios, vendidas, inicio + bytes.position());
+    }
+
+    /**
+     * Agrega las filas al diario y confirma su posición; si falla, vuelve a la última fila completa.
+     */
+    private void anotar(byte[] filas) {
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(filas);
+            try {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer, confirmado + buffer.position());
+                }
+                canal.force(false);
+                confirmado += filas.length;
+            } catch (IOException e) {
+                canal.truncate(confirmado);
+                throw e;
+            }
+        } catch (IOException e) {
+            System.err.println("Error al guardar la actividad para reportes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Arma una fila del diario; los saltos de línea se reemplazan para que cada registro ocupe
+     * una sola línea.
+     */
+    private static String[] limpiar(String... campos) {
+        for (int i = 0; i < campos.length; i++) {
+            campos[i] = campos[i] == null ? "" : campos[i].replace('\r', ' ').replace('\n', ' ');
+        }
+        return campos;
+    }
+
+    /**
+     * Devuelve la cantidad de bytes del diario que terminan en una fila completa.
+     *
+     * @return Posición hasta la que se puede leer el diario.
+     */
+    public long getConfirmado() {
+        return confirmado;
+    }
+
+    public long getUsuariosRegistrados() {
+        return usuariosRegistrados.get();
+    }
+
+    public long getComicsAgregados() {
+        return comicsAgregados.get();
+    }
+
+    public long getComicsEliminados() {
+        return comicsEliminados.get();
+    }
+
+    public long getReservas() {
+        return reservas.get();
+    }
+
+    public long getVentas() {
+        return ventas.get();
+    }
+
+    public long getMontoVendido() {
+        return montoVendido.get();
+    }
+}
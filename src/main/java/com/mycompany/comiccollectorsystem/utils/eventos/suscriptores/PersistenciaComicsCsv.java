@@ -0,0 +1,85 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.eventos.suscriptores;
+
+import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.utils.admision.ControlAdmision;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicVendido;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.SuscriptorEventos;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Suscriptor que mantiene {@code comic.csv} al día a partir de los eventos del catálogo.
+ * <p>
+ * Los cómics agregados se añaden al archivo; los eliminados y los vendidos se quitan.
+ * Las reservas no modifican el archivo porque son temporales, y los cambios que vienen de
+ * recargar el archivo ({@link EventoDominio#ORIGEN_RECARGA}) ya están en él. Todos los cambios de un
+ * lote se aplican en una sola reescritura del archivo. La reescritura ocupa un cupo de
+ * operación costosa de {@link ControlAdmision}; como los cambios no pueden descartarse,
+ * espera el cupo en vez de rechazarse.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class PersistenciaComicsCsv implements SuscriptorEventos {
+
+    /**
+     * Aplica al CSV los cambios de catálogo contenidos en el lote.
+     *
+     * @param lote Eventos a procesar.
+     */
+    @Override
+    public void procesar(List<EventoDominio> lote) {
+        LinkedHashMap<String, Comic> agregados = new LinkedHashMap<>();
+        Set<String> eliminados = new HashSet<>();
+
+        for (EventoDominio evento : lote) {
+            if (evento instanceof ComicAgregado agregado
+                    && !EventoDominio.ORIGEN_RECARGA.equals(agregado.rutAdministrador())) {
+                agregados.put(agregado.comic().getCodigo(), agregado.comic());
+                eliminados.remove(agregado.comic().getCodigo());
+            } else if (evento instanceof ComicEliminado eliminado
+                    && !EventoDominio.ORIGEN_RECARGA.equals(eliminado.rutAdministrador())) {
+                quitar(eliminado.comic(), agregados, eliminados);
+            } else if (evento instanceof ComicVendido vendido) {
+                quitar(vendido.comic(), agregados, eliminados);
+            }
+        }
+
+        if (agregados.isEmpty() && eliminados.isEmpty()) {
+            return;
+        }
+
+        try (ControlAdmision.Permiso _ = ControlAdmision.getInstancia().esperarCostosa()) {
+            Comic.aplicarCambiosEnCSV(agregados.values(), eliminados);
+        } catch (IOException e) {
+            System.err.println("Error al guardar los cambios: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Se interrumpio el guardado; los cambios no se escribieron en el archivo.");
+        }
+    }
+
+    /**
+     * Registra la salida de un cómic del archivo.
+     *
+     * @param comic      Cómic que sale del catálogo.
+     * @param agregados  Cómics pendientes de agregar en este lote.
+     * @param eliminados Códigos pendientes de eliminar en este lote.
+     */
+    private void quitar(Comic comic, LinkedHashMap<String, Comic> agregados, Set<String> eliminados) {
+        agregados.remove(comic.getCodigo());
+        eliminados.add(comic.getCodigo());
+    }
+}
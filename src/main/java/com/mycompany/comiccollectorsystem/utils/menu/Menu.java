@@ -4,21 +4,57 @@
  */
 package com.mycompany.comiccollectorsystem.utils.menu;
 
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicNoEncontradoException;
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaCompradoException;
-import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.ComicYaReservadoException;
+import com.mycompany.comiccollectorsystem.auditoria.AccionAuditoria;
+import com.mycompany.comiccollectorsystem.auditoria.RegistroAuditoria;
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoParticionado;
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoPerezoso;
+import com.mycompany.comiccollectorsystem.catalogo.CatalogoVersionado;
+import com.mycompany.comiccollectorsystem.catalogo.IndiceFacetas;
+import com.mycompany.comiccollectorsystem.catalogo.IndiceFacetas.Faceta;
+import com.mycompany.comiccollectorsystem.catalogo.IndiceNGramas;
+import com.mycompany.comiccollectorsystem.catalogo.RecargaCatalogo;
+import com.mycompany.comiccollectorsystem.catalogo.TrieTitulos;
+import com.mycompany.comiccollectorsystem.recomendaciones.MotorRecomendaciones;
+import com.mycompany.comiccollectorsystem.exceptions.comicexceptions.LimiteExcedidoException;
 import com.mycompany.comiccollectorsystem.manager.ComicSystemManager;
+import com.mycompany.comiccollectorsystem.manager.ExpiradorReservas;
 import com.mycompany.comiccollectorsystem.models.comic.Comic;
+import com.mycompany.comiccollectorsystem.models.resultado.Resultado;
 import com.mycompany.comiccollectorsystem.models.usuario.Usuario;
 import com.mycompany.comiccollectorsystem.models.usuario.tipos.Administrador;
 import com.mycompany.comiccollectorsystem.models.usuario.tipos.Cliente;
+import com.mycompany.comiccollectorsystem.notificaciones.DestinoArchivoNotificaciones;
+import com.mycompany.comiccollectorsystem.notificaciones.ListaDeseos;
+import com.mycompany.comiccollectorsystem.notificaciones.MotorNotificaciones;
+import com.mycompany.comiccollectorsystem.replicacion.LiderReplicacion;
+import com.mycompany.comiccollectorsystem.utils.admision.ControlAdmision;
+import com.mycompany.comiccollectorsystem.utils.colecciones.MapaPersistente;
+import com.mycompany.comiccollectorsystem.utils.eventos.BusEventos;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicAgregado;
+import com.mycompany.comiccollectorsystem.utils.eventos.ComicEliminado;
+import com.mycompany.comiccollectorsystem.utils.eventos.EventoDominio;
+import com.mycompany.comiccollectorsystem.utils.eventos.suscriptores.AgregadosReporte;
+import com.mycompany.comiccollectorsystem.utils.eventos.suscriptores.PersistenciaComicsCsv;
+import com.mycompany.comiccollectorsystem.utils.reportes.GeneradorReportes;
+import com.mycompany.comiccollectorsystem.utils.reportes.ReporteIncremental;
+import com.mycompany.comiccollectorsystem.utils.reportes.TrabajoReporte;
 import com.opencsv.exceptions.CsvValidationException;
-import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.InputMismatchException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Scanner;
-import java.util.TreeSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Clase principal que representa el menú del sistema Comic Collector.
@@ -26,20 +62,61 @@ import java.util.TreeSet;
  * Permite registrar usuarios, gestionar cómics (agregar, eliminar, buscar), realizar reservas y compras.
  * Usa una consola de texto como interfaz.
  * </p>
+ * <p>
+ * El {@link ServidorConsola} crea una sesión por conexión con {@link #nuevaSesion}: cada
+ * sesión tiene su entrada y usuario activo, y comparte con las demás el
+ * {@link CatalogoParticionado}, los usuarios y las ventas. Reservar, agregar y eliminar van
+ * solo a la partición del cómic, y comprar solo a las particiones donde el cliente tiene
+ * reservas, así que las sesiones que usan cómics distintos no se esperan entre sí. Las
+ * ventas se publican además como una versión inmutable ({@link CatalogoVersionado}) que los
+ * listados leen sin esperar. Antes de llegar al catálogo, las operaciones que lo cambian
+ * pasan por {@link ControlAdmision}, de modo que las solicitudes que exceden los límites se
+ * rechazan sin ocupar las particiones.
+ * </p>
  *
  * @author ambar
  * @version 1.0
  * @since 2025-06-30
  */
 public class Menu {
+    private static final int MAXIMO_RESULTADOS = 50;
+    private static final int MAXIMO_VALORES_FACETA = 10;
+    private static final int MAXIMO_SUGERENCIAS = 5;
+    /** Formato de RUT aceptado al registrar, por ejemplo 11.111.111-1. */
+    private static final String FORMATO_RUT = "\\d{1,2}\\.\\d{3}\\.\\d{3}[-][0-9kK]{1}";
 
     private Scanner scanner;
     private Usuario usuarioActivo;
     private ComicSystemManager comicSystemManager;
-    private ArrayList<Comic> comics = new ArrayList<>();;
+    /** Usuarios registrados desde el menú; el alta se sincroniza sobre este mapa. */
     private HashMap<String, Usuario> usuarios = new HashMap<>();
-    private ArrayList<Comic> reservas = new ArrayList<>();;
-    private ArrayList<Comic> ventas = new ArrayList<>();;
+    /** Disponibles y reservas de todas las sesiones, repartidos por código entre particiones. */
+    private CatalogoParticionado catalogo;
+    /** Cómics vendidos por código normalizado. */
+    private CatalogoVersionado ventasPublicadas = new CatalogoVersionado();
+    private ExpiradorReservas expiradorReservas;
+    private BusEventos busEventos;
+    private AgregadosReporte agregadosReporte;
+    private GeneradorReportes generadorReportes;
+    private ReporteIncremental reporteIncremental;
+    private LiderReplicacion liderReplicacion;
+    private int puertoReplicacion;
+    /** Catálogo leído bajo demanda; {@code null} si el catálogo se cargó completo. */
+    private CatalogoPerezoso catalogoPerezoso;
+    /** Códigos (normalizados) ya traídos del catálogo perezoso: para ellos manda el catálogo particionado. */
+    private ConcurrentHashMap<String, Boolean> materializados = new ConcurrentHashMap<>();
+    /** Índice de editorial, autor y tipo; {@code null} en modo perezoso. */
+    private IndiceFacetas indiceFacetas;
+    /** Árbol para autocompletar títulos y autores; {@code null} en modo perezoso. */
+    private TrieTitulos trieTitulos;
+    /** Índice de trigramas para búsquedas con errores de tipeo; {@code null} en modo perezoso. */
+    private IndiceNGramas indiceNGramas;
+    private MotorRecomendaciones motorRecomendaciones;
+    private ListaDeseos listaDeseos;
+    private MotorNotificaciones motorNotificaciones;
+    private ControlAdmision controlAdmision;
+    /** Recarga de {@code comic.csv} al cambiar; solo en el menú base y con el catálogo completo. */
+    private RecargaCatalogo recargaCatalogo;
 
     /**
      * Constructor del menú principal. Inicializa dependencias del sistema.
@@ -48,19 +125,83 @@ public class Menu {
         scanner = new Scanner(System.in);
         comicSystemManager = comicSystemManager.getInstancia();
         usuarioActivo = null;
+        catalogo = new CatalogoParticionado(Integer.getInteger("comic.catalogo.particiones",
+                Runtime.getRuntime().availableProcessors()));
+        long ttlMinutos = Long.getLong("comic.reserva.ttlMinutos", 15);
+        expiradorReservas = new ExpiradorReservas(TimeUnit.MINUTES.toMillis(ttlMinutos),
+                comic -> catalogo.liberar(comic.getCodigo()));
+        busEventos = BusEventos.getInstancia();
+        try {
+            agregadosReporte = new AgregadosReporte(ReporteIncremental.diario(Path.of("")));
+            reporteIncremental = new ReporteIncremental(Path.of(""), agregadosReporte);
+        } catch (IOException e) {
+            System.out.println("Error al abrir el diario de reportes, no se generaran reportes: " + e.getMessage());
+        }
+        generadorReportes = new GeneradorReportes();
+        controlAdmision = ControlAdmision.getInstancia();
+    }
+
+    /**
+     * Crea una sesión que comparte el estado del menú base y tiene su propia entrada y
+     * usuario activo.
+     *
+     * @param base    Menú ya iniciado cuyo estado se comparte.
+     * @param scanner Entrada de la sesión.
+     */
+    private Menu(Menu base, Scanner scanner) {
+        this.scanner = scanner;
+        this.usuarioActivo = null;
+        this.comicSystemManager = base.comicSystemManager;
+        this.usuarios = base.usuarios;
+        this.catalogo = base.catalogo;
+        this.ventasPublicadas = base.ventasPublicadas;
+        this.expiradorReservas = base.expiradorReservas;
+        this.busEventos = base.busEventos;
+        this.agregadosReporte = base.agregadosReporte;
+        this.generadorReportes = base.generadorReportes;
+        this.reporteIncremental = base.reporteIncremental;
+        this.liderReplicacion = base.liderReplicacion;
+        this.controlAdmision = base.controlAdmision;
+        this.listaDeseos = base.listaDeseos;
+        this.motorNotificaciones = base.motorNotificaciones;
+        this.puertoReplicacion = base.puertoReplicacion;
+        this.catalogoPerezoso = base.catalogoPerezoso;
+        this.materializados = base.materializados;
+        this.indiceFacetas = base.indiceFacetas;
+        this.trieTitulos = base.trieTitulos;
+        this.indiceNGramas = base.indiceNGramas;
+        this.motorRecomendaciones = base.motorRecomendaciones;
+    }
+
+    /**
+     * Crea una sesión nueva sobre el estado de este menú, que debe estar iniciado.
+     *
+     * @param entrada Entrada de la sesión.
+     * @return Menú de la sesión.
+     */
+    Menu nuevaSesion(InputStream entrada) {
+        return new Menu(this, new Scanner(entrada, StandardCharsets.UTF_8));
     }
 
     /**
      * Muestra el menú principal y gestiona la navegación de opciones del sistema.
+     * Aunque la entrada se termine o falle una opción, al salir se finaliza el sistema para
+     * no perder las escrituras pendientes del bus de eventos.
      */
     public void mostrarMenu() {
-
+        iniciar();
         try {
-            this.comics = Comic.cargarComicsDesdeCSV();
-        } catch (CsvValidationException ex) {
-            System.out.println("Error al cargar los comics desde CSV: " + ex.getMessage());
+            atender();
+        } finally {
+            finalizar();
         }
-        java.util.Scanner scanner = new java.util.Scanner(System.in);
+    }
+
+    /**
+     * Muestra el menú y atiende opciones hasta que el usuario elige salir. No inicia ni
+     * finaliza el sistema, para poder usarse en cada sesión del servidor de consola.
+     */
+    void atender() {
         int opcion;
         do {
             System.out.println("\n===== COMIC COLLECTOR SYSTEM =====");
@@ -70,15 +211,21 @@ public class Menu {
             System.out.println("2. Buscar comic");
             System.out.println("3. Ver informacion usuario");
             System.out.println("4. Ver comics");
+            System.out.println("13. Filtrar comics por editorial, autor y tipo");
             System.out.println("\n===== OPCIONES CLIENTE =====");
             System.out.println("5. Reservar comic");
             System.out.println("6. Comprar comic");
+            System.out.println("14. Avisarme cuando un comic vuelva a estar disponible");
             System.out.println("\n===== OPCIONES ADMIN =====");
             System.out.println("7. Agregar comic");
             System.out.println("8. Eliminar comic");
             System.out.println("9. Generar reporte TXT");
+            System.out.println("12. Ver estado de reportes");
             System.out.println("\n===== SIGN OUT =====");
             System.out.println("10. Salir");
+            if (liderReplicacion != null) {
+                System.out.println("11. Ver estado de replicacion");
+            }
             System.out.println("\n=======================================");
             System.out.println("Seleccione una opcion: ");
 
@@ -88,6 +235,8 @@ public class Menu {
                 opcion = 0;
             }
 
+            procesarReservasVencidas();
+
             switch (opcion) {
                 case 1:
                     registrarUsuario();
@@ -119,6 +268,22 @@ public class Menu {
                 case 10:
                     System.out.println("Gracias por utilizar la app de biblioteca DUOC UC.");
                     break;
+                case 11:
+                    if (liderReplicacion != null) {
+                        System.out.println(liderReplicacion.metricas());
+                        break;
+                    }
+                    System.out.println("La opcion seleccionada no es valida.");
+                    break;
+                case 12:
+                    verEstadoReportes();
+                    break;
+                case 13:
+                    filtrarPorFacetas();
+                    break;
+                case 14:
+                    desearComic();
+                    break;
 
                 default:
                     System.out.println("La opcion seleccionada no es valida.");
@@ -128,6 +293,271 @@ public class Menu {
         } while (opcion != 10);
     }
 
+    /**
+     * Carga el catálogo y registra los suscriptores del bus de eventos.
+     * Lo usan tanto el menú interactivo como el modo por comandos.
+     */
+    void iniciar() {
+        List<Comic> cargados = new ArrayList<>();
+        if (!Boolean.getBoolean("comic.catalogo.perezoso") || !abrirCatalogoPerezoso()) {
+            try {
+                cargados = Comic.cargarComicsDesdeCSV();
+            } catch (CsvValidationException ex) {
+                System.out.println("Error al cargar los comics desde CSV: " + ex.getMessage());
+            }
+        }
+        catalogo.cargar(cargados);
+        if (catalogoPerezoso == null) {
+            indiceFacetas = new IndiceFacetas();
+            indiceFacetas.cargar(cargados);
+            busEventos.suscribir("facetas", indiceFacetas);
+            trieTitulos = new TrieTitulos();
+            trieTitulos.cargar(cargados);
+            busEventos.suscribir("titulos", trieTitulos);
+            indiceNGramas = new IndiceNGramas();
+            indiceNGramas.cargar(cargados);
+            busEventos.suscribir("ngramas", indiceNGramas);
+        }
+        busEventos.suscribir("csv", new PersistenciaComicsCsv());
+        if (agregadosReporte != null) {
+            busEventos.suscribir("reportes", agregadosReporte);
+        }
+        motorRecomendaciones = new MotorRecomendaciones();
+        busEventos.suscribir("recomendaciones", motorRecomendaciones);
+        listaDeseos = new ListaDeseos();
+        motorNotificaciones = new MotorNotificaciones(listaDeseos, new DestinoArchivoNotificaciones(
+                Path.of(System.getProperty("comic.notificaciones.archivo", "notificaciones.txt"))));
+        busEventos.suscribir("notificaciones", motorNotificaciones);
+        iniciarReplicacion(cargados);
+        iniciarRecarga(cargados);
+    }
+
+    /**
+     * Abre el catálogo en modo perezoso: solo se indexa el CSV y cada cómic se lee cuando
+     * se usa por primera vez.
+     *
+     * @return {@code true} si se abrió; {@code false} si hay que cargar el catálogo completo.
+     */
+    private boolean abrirCatalogoPerezoso() {
+        if (puertoReplicacion > 0) {
+            System.out.println("La replicacion necesita el catalogo completo; se desactiva el modo perezoso.");
+            return false;
+        }
+        try {
+            catalogoPerezoso = CatalogoPerezoso.abrir(Path.of(Comic.ARCHIVO_CSV));
+            System.out.println("Catalogo perezoso: " + catalogoPerezoso.getCantidad() + " comics indexados.");
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error al indexar el catalogo, se carga completo: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Normaliza un código para usarlo como clave de las ventas y de los materializados.
+     *
+     * @param codigo Código del cómic.
+     * @return Código sin espacios en los extremos y en mayúsculas.
+     */
+    private static String clave(String codigo) {
+        return codigo.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Agrega cómics a una versión publicada.
+     *
+     * @param mapa   Cómics vigentes por código normalizado.
+     * @param nuevos Cómics a agregar o reemplazar.
+     * @return Mapa con los cómics agregados.
+     */
+    private static MapaPersistente<String, Comic> conComics(MapaPersistente<String, Comic> mapa, List<Comic> nuevos) {
+        for (Comic comic : nuevos) {
+            mapa = mapa.con(clave(comic.getCodigo()), comic);
+        }
+        return mapa;
+    }
+
+    /**
+     * En modo perezoso, trae al catálogo particionado el cómic con el código indicado la
+     * primera vez que se usa. Desde entonces el cómic vive en memoria (disponible, reservado
+     * o vendido) y no se vuelve a leer del archivo.
+     * <p>
+     * El texto se busca primero en el catálogo perezoso (filtro de Bloom e índice), así que
+     * solo se recuerdan los códigos que el archivo realmente tiene. Si dos sesiones traen el
+     * mismo cómic a la vez, una lo agrega y la otra espera a que esté en su partición.
+     * </p>
+     *
+     * @param codigo Código del cómic.
+     */
+    private void materializar(String codigo) {
+        if (catalogoPerezoso == null || codigo == null || codigo.isBlank()
+                || materializados.containsKey(clave(codigo))) {
+            return;
+        }
+        Optional<Comic> leido;
+        try {
+            leido = catalogoPerezoso.buscar(codigo);
+        } catch (IOException e) {
+            System.out.println("Error al leer el catalogo: " + e.getMessage());
+            return;
+        }
+        if (leido.isEmpty()) {
+            return;
+        }
+        Comic comic = leido.get();
+        materializados.computeIfAbsent(clave(comic.getCodigo()), clave -> {
+            catalogo.agregar(comic);
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * Deja de vigilar {@code comic.csv}, espera los reportes en curso y cierra el bus de eventos
+     * (esperando las escrituras pendientes), la auditoría, la replicación y las particiones del
+     * catálogo.
+     */
+    void finalizar() {
+        if (recargaCatalogo != null) {
+            recargaCatalogo.cerrar();
+        }
+        generadorReportes.cerrar();
+        busEventos.cerrar();
+        RegistroAuditoria.getInstancia().cerrar();
+        if (motorNotificaciones != null) {
+            motorNotificaciones.cerrar();
+        }
+        if (liderReplicacion != null) {
+            liderReplicacion.cerrar();
+        }
+        catalogo.cerrar();
+    }
+
+    /**
+     * Devuelve a disponibles los cómics cuya reserva venció. Si ninguna venció todavía
+     * vuelve sin sincronizar con el expirador.
+     */
+    void procesarReservasVencidas() {
+        if (expiradorReservas.hayVencidas(System.currentTimeMillis())) {
+            expiradorReservas.procesarVencidas();
+        }
+    }
+
+    /**
+     * Cambia el usuario activo a uno ya registrado.
+     *
+     * @param rut RUT del usuario.
+     * @return {@code true} si el usuario existe.
+     */
+    boolean identificarUsuario(String rut) {
+        Usuario usuario = comicSystemManager.buscarUsuario(rut);
+        if (usuario == null) {
+            System.out.println("Error: no existe un usuario con ese RUT.");
+            return false;
+        }
+        usuarioActivo = usuario;
+        return true;
+    }
+
+    /**
+     * Habilita la replicación del catálogo hacia procesos seguidores.
+     * Debe llamarse antes de {@link #mostrarMenu()}.
+     *
+     * @param puerto Puerto TCP en el que el líder acepta seguidores.
+     */
+    public void habilitarReplicacion(int puerto) {
+        this.puertoReplicacion = puerto;
+    }
+
+    /**
+     * Inicia el líder de replicación con el catálogo recién cargado, si fue habilitado.
+     *
+     * @param cargados Cómics leídos de {@code comic.csv}.
+     */
+    private void iniciarReplicacion(List<Comic> cargados) {
+        if (puertoReplicacion <= 0) {
+            return;
+        }
+        LiderReplicacion lider = new LiderReplicacion(cargados);
+        try {
+            lider.iniciar(puertoReplicacion);
+            busEventos.suscribir("replicacion", lider);
+            liderReplicacion = lider;
+        } catch (IOException e) {
+            System.out.println("Error al iniciar la replicacion: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Empieza a vigilar {@code comic.csv} para recargarlo al cambiar, salvo en modo perezoso o
+     * con {@code -Dcomic.recarga=false}.
+     *
+     * @param cargados Cómics leídos de {@code comic.csv}, de los que se parte para comparar.
+     */
+    private void iniciarRecarga(List<Comic> cargados) {
+        if (catalogoPerezoso != null || !Boolean.parseBoolean(System.getProperty("comic.recarga", "true"))) {
+            return;
+        }
+        RecargaCatalogo recarga = new RecargaCatalogo(Path.of(Comic.ARCHIVO_CSV), cargados, this::aplicarRecarga);
+        try {
+            recarga.iniciar();
+            recargaCatalogo = recarga;
+        } catch (IOException e) {
+            System.out.println("Error al vigilar el catalogo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica los cambios de una recarga de {@code comic.csv} sobre el catálogo particionado.
+     * Cada cambio lo hace la partición del cómic, así que un listado puede ver la recarga a
+     * medias, igual que ve a medias las reservas de otras sesiones. Las reservas y las ventas
+     * se respetan: un cómic reservado no se modifica ni se elimina (queda pendiente para la
+     * próxima recarga), y un código ya vendido no vuelve a estar disponible. Los índices y
+     * demás suscriptores se actualizan con eventos publicados con
+     * {@link EventoDominio#ORIGEN_RECARGA}.
+     *
+     * @param diferencia Cambios leídos del archivo.
+     * @return Códigos que quedaron pendientes por estar reservados.
+     */
+    private Set<String> aplicarRecarga(RecargaCatalogo.Diferencia diferencia) {
+        Set<String> pendientes = new HashSet<>();
+        List<EventoDominio> eventos = new ArrayList<>();
+        for (String codigo : diferencia.eliminados()) {
+            Optional<Comic> eliminado = catalogo.eliminar(codigo);
+            if (eliminado.isPresent()) {
+                eventos.add(new ComicEliminado(eliminado.get(), EventoDominio.ORIGEN_RECARGA));
+            } else if (catalogo.estaReservado(codigo)) {
+                pendientes.add(codigo);
+            }
+        }
+        for (Comic nuevo : diferencia.modificados()) {
+            Optional<Comic> anterior = catalogo.reemplazar(nuevo);
+            if (anterior.isPresent()) {
+                eventos.add(new ComicEliminado(anterior.get(), EventoDominio.ORIGEN_RECARGA));
+                eventos.add(new ComicAgregado(nuevo, EventoDominio.ORIGEN_RECARGA));
+            } else if (catalogo.estaReservado(nuevo.getCodigo())) {
+                pendientes.add(nuevo.getCodigo());
+            }
+        }
+        MapaPersistente<String, Comic> vendidos = ventasPublicadas.instantanea().comics();
+        for (Comic nuevo : diferencia.agregados()) {
+            // ya en el catálogo (por ejemplo, agregado desde el menú), reservado o vendido
+            if (vendidos.obtener(clave(nuevo.getCodigo())) == null && catalogo.agregarSiLibre(nuevo)) {
+                eventos.add(new ComicAgregado(nuevo, EventoDominio.ORIGEN_RECARGA));
+            }
+        }
+        for (EventoDominio evento : eventos) {
+            busEventos.publicar(evento);
+            if (evento instanceof ComicAgregado agregado) {
+                RegistroAuditoria.getInstancia().registrar(AccionAuditoria.ALTA, EventoDominio.ORIGEN_RECARGA,
+                        agregado.comic().getCodigo(), agregado.comic().getPrecio());
+            } else if (evento instanceof ComicEliminado eliminado) {
+                RegistroAuditoria.getInstancia().registrar(AccionAuditoria.BAJA, EventoDominio.ORIGEN_RECARGA,
+                        eliminado.comic().getCodigo(), eliminado.comic().getPrecio());
+            }
+        }
+        return pendientes;
+    }
+
     /**
      * Permite registrar un nuevo usuario (Administrador o Cliente).
      * Realiza validaciones de campos y formato de RUT.
@@ -146,12 +576,12 @@ public class Menu {
             }
 
             // Validar RUT y su formato
-            if (!rut.matches("\\d{1,2}\\.\\d{3}\\.\\d{3}[-][0-9kK]{1}")) {
+            if (!rut.matches(FORMATO_RUT)) {
                 System.out.println("Error: Formato de RUT no válido, debe ser 11.111.111-1");
                 continue;
             }
 
-            // Verificar si el cliente ya existe
+            // Verificar si el cliente ya existe; se vuelve a verificar al registrar
             if (comicSystemManager.buscarUsuario(rut) != null) {
                 System.out.println("Error: Ya existe un cliente con ese RUT");
                 continue;
@@ -203,25 +633,55 @@ public class Menu {
 
         }
 
-        try {
-            if (opcion == 1) {
-                Usuario nuevoUsuario = new Administrador(rut, nombre, apellido, opcion);
-                comicSystemManager.agregarUsuario(nuevoUsuario);
-                usuarioActivo = nuevoUsuario;
-                usuarioActivo.registrarUsuario(rut, nuevoUsuario, usuarios);
-                System.out.println("Registro exitoso.");
-            }
+        registrarUsuario(rut, nombre, apellido, opcion);
+    }
 
-            if (opcion == 2) {
-                Usuario nuevoUsuario = new Cliente(rut, nombre, apellido, opcion);
+    /**
+     * Registra un usuario y lo deja como usuario activo. Lo usan el menú interactivo y el
+     * modo por comandos, así que valida el formato del RUT y que no esté registrado.
+     * <p>
+     * La verificación de duplicados y el alta se sincronizan sobre el mapa de usuarios, de modo
+     * que dos sesiones no pueden registrar el mismo RUT; el catálogo y las demás sesiones no
+     * esperan por un registro. El usuario solo se agrega al
+     * {@link ComicSystemManager} y pasa a estar activo si el registro del dominio lo acepta.
+     * </p>
+     *
+     * @param rut      RUT del usuario.
+     * @param nombre   Nombre del usuario.
+     * @param apellido Apellido del usuario.
+     * @param opcion   1 para Administrador, 2 para Cliente.
+     * @return {@code true} si el usuario quedó registrado.
+     */
+    boolean registrarUsuario(String rut, String nombre, String apellido, int opcion) {
+        if (rut == null || !rut.matches(FORMATO_RUT)) {
+            System.out.println("Error: Formato de RUT no válido, debe ser 11.111.111-1");
+            return false;
+        }
+        if (opcion != 1 && opcion != 2) {
+            System.out.println("Error: el perfil no es valido.");
+            return false;
+        }
+        Usuario nuevoUsuario;
+        try {
+            synchronized (usuarios) {
+                if (comicSystemManager.buscarUsuario(rut) != null) {
+                    System.out.println("Error: Ya existe un cliente con ese RUT");
+                    return false;
+                }
+                nuevoUsuario = opcion == 1 ? new Administrador(rut, nombre, apellido, opcion)
+                        : new Cliente(rut, nombre, apellido, opcion);
+                if (!nuevoUsuario.registrarUsuario(rut, nuevoUsuario, usuarios)) {
+                    return false;
+                }
                 comicSystemManager.agregarUsuario(nuevoUsuario);
-                usuarioActivo = nuevoUsuario;
-                usuarioActivo.registrarUsuario(rut, nuevoUsuario, usuarios);
-                System.out.println("Registro exitoso.");
             }
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
+            return false;
         }
+        usuarioActivo = nuevoUsuario;
+        System.out.println("Registro exitoso.");
+        return true;
     }
 
     /**
@@ -241,13 +701,67 @@ public class Menu {
             return;
         }
 
-        // buscar por codigo
-        try {
-            Comic comic = Comic.buscarComicPorCodigo(comics, busqueda);
+        buscarComic(busqueda);
+    }
+
+    /**
+     * Busca un cómic por el texto indicado y muestra el resultado. Si no hay un cómic con
+     * ese código, sugiere los disponibles cuyo título o autor empieza con el texto y, si
+     * tampoco los hay, los que más se le parecen.
+     *
+     * @param busqueda Código del cómic o comienzo de su título o autor.
+     */
+    void buscarComic(String busqueda) {
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+
+        materializar(busqueda);
+
+        // buscar por codigo en la partición del cómic, sin pasar por su cola
+        Comic comic = catalogo.buscar(busqueda).orElse(null);
+        if (comic != null) {
             System.out.println("Comic encontrado.");
             System.out.println(comic.mostrarInformacionComic());
-        } catch (ComicNoEncontradoException e) {
-            System.out.println("Error: " + e.getMessage());
+            List<Comic> recomendados = motorRecomendaciones.recomendar(comic);
+            if (!recomendados.isEmpty()) {
+                System.out.println("Quienes compraron este comic tambien compraron:");
+                for (Comic recomendado : recomendados) {
+                    System.out.println("- " + recomendado.getTitulo() + " | " + recomendado.getAutor());
+                }
+            }
+            return;
+        }
+
+        List<Comic> sugerencias = trieTitulos == null ? List.of() : trieTitulos.completar(busqueda);
+        if (!sugerencias.isEmpty()) {
+            System.out.println("No hay un comic con ese codigo. Sugerencias:");
+            mostrarSugerencias(sugerencias);
+            return;
+        }
+        List<Comic> parecidos = new ArrayList<>();
+        if (indiceNGramas != null) {
+            for (IndiceNGramas.Coincidencia coincidencia : indiceNGramas.buscar(busqueda, MAXIMO_SUGERENCIAS)) {
+                parecidos.add(coincidencia.comic());
+            }
+        }
+        if (parecidos.isEmpty()) {
+            System.out.println("Error: " + (catalogo.cantidadDisponibles() == 0 ? "No hay comics en la lista"
+                    : "Comic llamado " + busqueda + " no encontrado."));
+            return;
+        }
+        System.out.println("No se encontro \"" + busqueda + "\". Quizas quiso decir:");
+        mostrarSugerencias(parecidos);
+    }
+
+    /**
+     * Muestra una línea por cómic sugerido.
+     */
+    private void mostrarSugerencias(List<Comic> sugerencias) {
+        for (Comic sugerencia : sugerencias) {
+            System.out.println("- " + sugerencia.getCodigo() + " | " + sugerencia.getTitulo() + " | "
+                    + sugerencia.getAutor());
         }
     }
 
@@ -265,7 +779,8 @@ public class Menu {
     }
 
     /**
-     * Muestra todos los cómics disponibles, los reservados y los vendidos.
+     * Muestra todos los cómics disponibles, los reservados por el usuario y los vendidos,
+     * ordenados por título. Los disponibles se leen de la versión vigente de cada partición.
      */
     private void verComics() {
         if (usuarioActivo == null) {
@@ -275,21 +790,120 @@ public class Menu {
 
         System.out.println("\n===== LISTA DE COMICS =====");
 
-        if (comics.isEmpty()) {
-            System.out.println("No hay comics disponibles.");
+        List<Comic> disponibles = catalogo.listarDisponibles();
+        int mostrados = 0;
+        for (Comic comic : disponibles) {
+            System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
+                    + comic.getEditorial() + " - " + comic.getTipoComic());
+            mostrados++;
+        }
+        if (catalogoPerezoso != null) {
+            mostrados += listarNoMaterializados();
         }
 
-        if (!comics.isEmpty()) {
-            for (Comic comic : comics) {
-                System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
-                        + comic.getEditorial() + " - " + comic.getTipoComic());
-            }
+        if (mostrados == 0) {
+            System.out.println("No hay comics disponibles.");
         }
-        
+
         listarComicsReservados();
         listarComicsVendidos();
     }
 
+    /**
+     * En modo perezoso, muestra los cómics del archivo que todavía no se han usado,
+     * leyéndolos en orden sin guardarlos en memoria.
+     *
+     * @return Cantidad de cómics mostrados.
+     */
+    private int listarNoMaterializados() {
+        int[] mostrados = new int[1];
+        try {
+            catalogoPerezoso.recorrer(comic -> {
+                if (!materializados.containsKey(clave(comic.getCodigo()))) {
+                    System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor()
+                            + " - " + comic.getEditorial() + " - " + comic.getTipoComic());
+                    mostrados[0]++;
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("Error al leer el catalogo: " + e.getMessage());
+        }
+        return mostrados[0];
+    }
+
+    /**
+     * Pide los valores de cada faceta y muestra los cómics disponibles que los cumplen.
+     */
+    private void filtrarPorFacetas() {
+        System.out.println("Valores separados por coma; deje vacio para no filtrar.");
+        System.out.println("Editoriales: ");
+        String editoriales = scanner.nextLine();
+        System.out.println("Autores: ");
+        String autores = scanner.nextLine();
+        System.out.println("Tipos: ");
+        String tipos = scanner.nextLine();
+        filtrarPorFacetas(editoriales, autores, tipos);
+    }
+
+    /**
+     * Muestra los cómics disponibles que cumplen los filtros y, para cada faceta, cuántos
+     * cómics hay por valor con los demás filtros aplicados.
+     *
+     * @param editoriales Editoriales separadas por coma (vacío: cualquiera).
+     * @param autores     Autores separados por coma (vacío: cualquiera).
+     * @param tipos       Tipos separados por coma (vacío: cualquiera).
+     */
+    void filtrarPorFacetas(String editoriales, String autores, String tipos) {
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+        if (indiceFacetas == null) {
+            System.out.println("El filtro por facetas no esta disponible en modo perezoso.");
+            return;
+        }
+
+        EnumMap<Faceta, List<String>> seleccion = new EnumMap<>(Faceta.class);
+        seleccion.put(Faceta.EDITORIAL, valoresFaceta(editoriales));
+        seleccion.put(Faceta.AUTOR, valoresFaceta(autores));
+        seleccion.put(Faceta.TIPO, valoresFaceta(tipos));
+
+        System.out.println("\n===== COMICS FILTRADOS =====");
+        List<Comic> encontrados = indiceFacetas.filtrar(seleccion);
+        int mostrados = Math.min(encontrados.size(), MAXIMO_RESULTADOS);
+        for (Comic comic : encontrados.subList(0, mostrados)) {
+            System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
+                    + comic.getEditorial() + " - " + comic.getTipoComic());
+        }
+        if (encontrados.size() > mostrados) {
+            System.out.println("... y " + (encontrados.size() - mostrados) + " mas.");
+        }
+        System.out.println("Total: " + encontrados.size());
+
+        for (Faceta faceta : Faceta.values()) {
+            StringBuilder linea = new StringBuilder(faceta.name()).append(": ");
+            int valores = 0;
+            for (Map.Entry<String, Integer> conteo : indiceFacetas.contar(faceta, seleccion).entrySet()) {
+                if (valores++ == MAXIMO_VALORES_FACETA) {
+                    linea.append("...");
+                    break;
+                }
+                linea.append(conteo.getKey()).append(" (").append(conteo.getValue()).append(")  ");
+            }
+            System.out.println(linea.toString().trim());
+        }
+    }
+
+    private static List<String> valoresFaceta(String texto) {
+        List<String> valores = new ArrayList<>();
+        for (String valor : texto.split(",")) {
+            if (!valor.isBlank()) {
+                valores.add(valor.trim());
+            }
+        }
+        return valores;
+    }
+
     /**
      * Permite a un administrador agregar un nuevo cómic al sistema.
      */
@@ -388,13 +1002,37 @@ public class Menu {
                 System.out.println("Entrada invalida. Ingrese un numero.");
             }
         }
-        try{
-            usuarioActivo.agregarComic(comics, titulo, autor, editorial, precio, tipoComic);
-            guardarCambios();
-        } catch(InputMismatchException e ){
-            System.out.println("Error: " + e.getMessage());
+        agregarComic(titulo, autor, editorial, precio, tipoComic);
+    }
+
+    /**
+     * Agrega un cómic con datos ya ingresados, usando los permisos del usuario activo.
+     *
+     * @param titulo    Título del cómic.
+     * @param autor     Autor del cómic.
+     * @param editorial Editorial del cómic.
+     * @param precio    Precio del cómic.
+     * @param tipoComic Tipo de cómic.
+     */
+    void agregarComic(String titulo, String autor, String editorial, int precio, String tipoComic) {
+        if (!admitir("agregar")) {
+            return;
         }
-        
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+
+        Resultado<Comic> resultado = usuarioActivo.intentarAgregarComic(catalogo, titulo, autor, editorial, precio,
+                tipoComic);
+        if (resultado instanceof Resultado.Fallo<Comic> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
+        }
+        if (catalogoPerezoso != null) {
+            materializados.put(clave(((Resultado.Exito<Comic>) resultado).valor().getCodigo()), Boolean.TRUE);
+        }
+        System.out.println("Comic agregado correctamente.");
     }
 
     /**
@@ -423,14 +1061,30 @@ public class Menu {
             }
         } while(codigo.isEmpty());
 
-        try {
-            usuarioActivo.eliminarComic(comics, codigo);
-            guardarCambios();
+        eliminarComic(codigo);
+    }
 
-        } catch (InputMismatchException e) {
-            System.out.println("Error: " + e.getMessage());
+    /**
+     * Elimina un cómic por código, usando los permisos del usuario activo.
+     *
+     * @param codigo Código del cómic.
+     */
+    void eliminarComic(String codigo) {
+        if (!admitir("eliminar")) {
+            return;
         }
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+        materializar(codigo);
 
+        Resultado<Comic> resultado = usuarioActivo.intentarEliminarComic(catalogo, codigo);
+        if (resultado instanceof Resultado.Fallo<Comic> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
+        }
+        System.out.println("El comic con el codigo " + codigo + " fue eliminado.");
     }
 
     /**
@@ -452,56 +1106,139 @@ public class Menu {
             System.out.println("Ingrese el codigo del libro que quiere reservar: ");
             codigo = scanner.nextLine();           
       
-        try{
-            usuarioActivo.reservarComic(comics, reservas, codigo);
-            System.out.println("Reserva exitosa.");
-        
-            for (Comic comic: reservas){
-                System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
-                        + comic.getEditorial() + " - " + comic.getTipoComic());
-            }
-        } catch(ComicYaReservadoException e){
-            System.out.println("Error: " + e.getMessage());
+        reservarComic(codigo);
+    }
+
+    /**
+     * Reserva un cómic por código para el usuario activo.
+     *
+     * @param codigo Código del cómic.
+     */
+    void reservarComic(String codigo) {
+        if (!admitir("reservar")) {
+            return;
+        }
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+        materializar(codigo);
+
+        Resultado<Comic> resultado = usuarioActivo.intentarReservar(catalogo, codigo);
+        if (resultado instanceof Resultado.Fallo<Comic> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
+        }
+        System.out.println("Reserva exitosa.");
+        Comic reservado = ((Resultado.Exito<Comic>) resultado).valor();
+        expiradorReservas.registrarReserva(reservado);
+        System.out.println("La reserva vence en "
+                + TimeUnit.MILLISECONDS.toMinutes(expiradorReservas.getTtlMs()) + " minutos.");
+
+        for (Comic comic: catalogo.reservasDe(usuarioActivo.getRut())){
+            System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
+                    + comic.getEditorial() + " - " + comic.getTipoComic());
         }
     }
     
     /**
      * Permite a un cliente comprar todos los cómics actualmente reservados.
      */
-    private void comprarComic() {
-    
+    void comprarComic() {
+        if (!admitir("comprar")) {
+            return;
+        }
         if (usuarioActivo == null) {
             System.out.println("Error: registrese o identifiquese.");
             return;
         }
-        
+
         if (usuarioActivo.getTipoUsuario() == "Administrador") {
             System.out.println("Este usuario no tiene permisos para comprar comics.");
             return;
         }        
-        
-        try{
-            usuarioActivo.comprarComic(reservas, ventas);
-            System.out.println("Usted ha comprado los siguientes comics: .");
-        
-            for (Comic comic: ventas){
-                System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
-                        + comic.getEditorial() + " - " + comic.getTipoComic());
-            }
-        } catch (ComicYaCompradoException e){
-             System.out.println("Error: " + e.getMessage());
+
+        Resultado<List<Comic>> resultado = usuarioActivo.intentarComprar(catalogo);
+        if (resultado instanceof Resultado.Fallo<List<Comic>> fallo) {
+            System.out.println("Error: " + fallo.mensaje());
+            return;
         }
-        
+        List<Comic> comprados = ((Resultado.Exito<List<Comic>>) resultado).valor();
+        for (Comic comic : comprados) {
+            expiradorReservas.confirmarCompra(comic);
+        }
+        ventasPublicadas.actualizar(vigentes -> conComics(vigentes, comprados));
+        System.out.println("Usted ha comprado los siguientes comics: .");
+
+        for (Comic comic: comprados){
+            System.out.println(comic.getCodigo() + " - " + comic.getTitulo() + " - " + comic.getAutor() + " - "
+                    + comic.getEditorial() + " - " + comic.getTipoComic());
+        }
+    }
+    /**
+     * Permite a un cliente pedir un aviso cuando un cómic vuelva a estar disponible.
+     */
+    private void desearComic() {
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+        System.out.println("Ingrese el codigo del comic que quiere esperar: ");
+        desearComic(scanner.nextLine().trim());
     }
+
+    /**
+     * Agrega un cómic a la lista de deseos del usuario activo. Se le avisará (ver
+     * {@link MotorNotificaciones}) cuando ese cómic u otro ejemplar del mismo título quede
+     * disponible.
+     *
+     * @param codigo Código del cómic.
+     */
+    void desearComic(String codigo) {
+        if (usuarioActivo == null) {
+            System.out.println("Error: registrese o identifiquese.");
+            return;
+        }
+
+        if (usuarioActivo.getTipoUsuario() == "Administrador") {
+            System.out.println("Este usuario no tiene permisos para esperar comics.");
+            return;
+        }
+
+        if (codigo == null || codigo.isEmpty()) {
+            System.out.println("Error: el codigo no puede estar vacio.");
+            return;
+        }
+
+        materializar(codigo);
+
+        if (catalogo.buscar(codigo).isPresent()) {
+            System.out.println("El comic ya esta disponible; puede reservarlo.");
+            return;
+        }
+        if (Comic.buscarPorCodigo(catalogo.reservasDe(usuarioActivo.getRut()), codigo).isPresent()) {
+            System.out.println("Usted ya tiene reservado ese comic.");
+            return;
+        }
+        // si ya se vendió se conoce su título y también sirve una reposición
+        Comic vendido = ventasPublicadas.instantanea().comics().obtener(clave(codigo));
+        if (listaDeseos.desear(usuarioActivo.getRut(), codigo, vendido)) {
+            System.out.println("Le avisaremos cuando " + (vendido != null ? "\"" + vendido.getTitulo() + "\""
+                    : "el comic " + codigo) + " vuelva a estar disponible.");
+        } else {
+            System.out.println("Ese comic ya estaba en su lista de deseos.");
+        }
+    }
+
     /**
      * Muestra todos los cómics actualmente reservados por el cliente.
      */
     
     private void listarComicsReservados(){
         System.out.println("\n===== LISTA DE COMICS RESERVADOS =====");
-        TreeSet<Comic> comicsOrdenados = new TreeSet<>(reservas);
+        List<Comic> comicsOrdenados = catalogo.reservasDe(usuarioActivo.getRut());
         
-        if (reservas == null || reservas.isEmpty()) {
+        if (comicsOrdenados.isEmpty()) {
             System.out.println("No hay comics reservados.");
         }
         
@@ -515,104 +1252,89 @@ public class Menu {
      */
     private void listarComicsVendidos() {
         System.out.println("\n===== LISTA DE COMICS VENDIDOS =====");  
+        List<Comic> vendidos = ventasPublicadas.instantanea().comics().valores();
+        vendidos.sort(null);
         
-        if (ventas.isEmpty()) {
+        if (vendidos.isEmpty()) {
             System.out.println("No hay comics vendidos.");
         }
         
-        for(Comic comic: ventas){
+        for(Comic comic: vendidos){
             System.out.println( comic.mostrarInformacionComic() );
         }
     }
 
     /**
-     * Guarda la lista actual de cómics en el archivo CSV.
-     */
-    private void guardarCambios() {
-
-        try {
-            Comic.guardarComicsenCSV(comics);
-            System.out.println("Cambios guardados exitosamente.");
-        } catch (Exception e) {
-            System.out.println("Error al guardar los cambios: " + e.getMessage());
-        }
-    }
-    
-    /**
-    * Exporta un reporte en formato TXT que incluye la lista de usuarios y ventas del sistema.
+    * Encola un reporte en formato TXT con los usuarios y ventas nuevos desde el reporte anterior.
     * <p>
-    * El archivo generado tiene el nombre: <code>reporte_usuarios_ventas_AAAA‑MM‑DD.txt</code>,
-    * donde la fecha corresponde al día que se genero el reporte.
+    * El reporte se genera en segundo plano (ver {@link GeneradorReportes}), así que la sesión
+    * sigue atendiendo mientras se escribe. Cada reporte agrega un bloque al archivo del día,
+    * <code>reporte_usuarios_ventas_AAAA-MM-DD.txt</code>, con los totales del día y acumulados
+    * (ver {@link ReporteIncremental}); su estado se consulta con {@link #verEstadoReportes()}.
     * </p>
     * <p>
     * Solo un usuario autenticado con rol de administrador puede ejecutar este método.
     * Si no hay usuario autenticado o el usuario es de tipo Cliente, se muestra un mensaje de error
     * y no se genera el archivo.
     * </p>
-    *
-    * @throws IOException si ocurre un error durante la escritura del archivo.
     */
     public void exportarReporteTxtUsuariosYVentas() {
         if (usuarioActivo == null) {
             System.out.println("Error: registrese o identifiquese.");
             return;
         }
-        
+
         if (usuarioActivo.getTipoUsuario() == "Cliente") {
             System.out.println("Este usuario no tiene permisos para generar reportes.");
             return;
         }
-        
-        String fecha = java.time.LocalDate.now().toString();
-        String rutaArchivo = "reporte_usuarios_ventas_" + fecha + ".txt";
-
-        try (BufferedWriter writer = new BufferedWriter(new java.io.FileWriter(rutaArchivo))) {
-            // Sección de Usuarios
-            writer.write("===== Reporte de Usuarios =====");
-            writer.newLine();
 
-            if (usuarios.isEmpty()) {
-                writer.write("No hay usuarios registrados.");
-                writer.newLine();
-            } else {
-                for (Usuario usuario : usuarios.values()) {
-                    writer.write(usuario.getRut() + " - " + usuario.getNombre() + " - " 
-                            + usuario.getApellido() + " - " + usuario.getTipoUsuario());
-                    writer.newLine();
-                }
-                writer.write("Total de usuarios registrados: " + usuarios.size());
-                writer.newLine();
-            }
-
-            writer.newLine();
+        if (reporteIncremental == null) {
+            System.out.println("Error: los reportes no estan disponibles.");
+            return;
+        }
 
-            // Sección de Ventas
-            writer.write("===== Reporte de Ventas =====");
-            writer.newLine();
+        ControlAdmision.Permiso permiso;
+        try {
+            permiso = controlAdmision.intentarCostosa("el reporte");
+        } catch (LimiteExcedidoException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
 
-            if (ventas.isEmpty()) {
-                writer.write("No hay ventas registradas.");
-                writer.newLine();
-            } else {
-         
-                for (Comic comic : ventas) {
-                    writer.write(comic.getCodigo()+ " - " +comic.getTitulo()+ " - " +comic.getAutor()
-                            + " - " +comic.getEditorial()+ " - " +comic.getPrecio()+ " - " +comic.getTipoComic());
-                    writer.newLine();
-                
-                }
-                writer.write("Total de ventas realizadas: " + ventas.size());
-                writer.newLine();          
-            }
+        // la actividad nueva está en el diario del suscriptor de reportes, así que no se lee el catálogo
+        TrabajoReporte trabajo = generadorReportes.enviarIncremental(reporteIncremental, permiso);
+        System.out.println("Reporte #" + trabajo.getNumero() + " en preparacion. Consulte su estado en el menu.");
+    }
 
-            writer.newLine();
-            writer.write("Fecha de generación del reporte: " + fecha);
+    /**
+     * Pasa una operación del usuario activo por el control de admisión.
+     *
+     * @param operacion Nombre de la operación.
+     * @return {@code true} si se admitió; si no, ya se mostró el error.
+     */
+    private boolean admitir(String operacion) {
+        try {
+            controlAdmision.admitir(usuarioActivo != null ? usuarioActivo.getRut() : null, operacion);
+            return true;
+        } catch (LimiteExcedidoException e) {
+            System.out.println("Error: " + e.getMessage());
+            return false;
+        }
+    }
 
-            System.out.println("Reporte exportado exitosamente a: " + rutaArchivo);
-        } catch (Exception e) {
-            System.err.println("Error al exportar el reporte: " + e.getMessage());
+    /**
+     * Muestra el estado de los reportes enviados en esta sesión.
+     */
+    void verEstadoReportes() {
+        List<TrabajoReporte> trabajos = generadorReportes.getTrabajos();
+        if (trabajos.isEmpty()) {
+            System.out.println("No se han generado reportes.");
+            return;
+        }
+        for (TrabajoReporte trabajo : trabajos) {
+            System.out.println(trabajo.describir());
         }
-    
     }  
    
 }
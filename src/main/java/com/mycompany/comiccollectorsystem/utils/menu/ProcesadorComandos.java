@@ -0,0 +1,230 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.menu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ejecuta las operaciones del {@link Menu} a partir de un flujo de comandos, sin interacción.
+ * <p>
+ * Cada línea es un comando con sus campos separados por {@code ;}. Las líneas vacías y las
+ * que comienzan con {@code #} se ignoran. Comandos disponibles:
+ * </p>
+ * <ul>
+ * <li>{@code registrar;rut;nombre;apellido;admin|cliente}</li>
+ * <li>{@code usar;rut} — cambia el usuario activo a uno ya registrado</li>
+ * <li>{@code buscar;codigo}</li>
+ * <li>{@code reservar;codigo}</li>
+ * <li>{@code comprar}</li>
+ * <li>{@code agregar;titulo;autor;editorial;precio;tipoComic}</li>
+ * <li>{@code eliminar;codigo}</li>
+ * <li>{@code facetas;editoriales;autores;tipos} — valores separados por coma, vacío para no filtrar</li>
+ * <li>{@code reporte} — encola un reporte en segundo plano</li>
+ * <li>{@code reportes} — muestra el estado de los reportes encolados</li>
+ * <li>{@code desear;codigo} — avisa al cliente activo cuando el cómic vuelva a estar disponible</li>
+ * </ul>
+ * <p>
+ * Al terminar muestra un resumen con la cantidad de comandos, los que fallaron (por ejemplo, un
+ * registro con un RUT ya usado), el tiempo total y el rendimiento.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ProcesadorComandos {
+    private final Menu menu;
+    private final boolean silencioso;
+    /** Cantidad y tiempo acumulado (ns) por comando, en orden de aparición. */
+    private final Map<String, long[]> estadisticas;
+    private long errores;
+    /** Comandos válidos cuya operación fue rechazada. */
+    private long fallidos;
+
+    /**
+     * Crea un procesador sobre el menú indicado.
+     *
+     * @param menu       Menú cuyas operaciones se ejecutan.
+     * @param silencioso Si es {@code true}, se descarta la salida de las operaciones y solo se muestra el resumen.
+     */
+    public ProcesadorComandos(Menu menu, boolean silencioso) {
+        this.menu = menu;
+        this.silencioso = silencioso;
+        this.estadisticas = new LinkedHashMap<>();
+    }
+
+    /**
+     * Ejecuta todos los comandos del flujo y muestra el resumen de rendimiento.
+     *
+     * @param entrada Flujo de comandos.
+     * @throws IOException Si ocurre un error al leer el flujo.
+     */
+    public void ejecutar(BufferedReader entrada) throws IOException {
+        PrintStream salidaOriginal = System.out;
+        menu.iniciar();
+        if (silencioso) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        long inicio = System.nanoTime();
+        int numeroLinea = 0;
+        try {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                numeroLinea++;
+                linea = linea.trim();
+                if (linea.isEmpty() || linea.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linea.split(";", -1);
+                String comando = campos[0].trim().toLowerCase(Locale.ROOT);
+
+                long inicioComando = System.nanoTime();
+                boolean valido = ejecutarComando(comando, campos);
+                long duracion = System.nanoTime() - inicioComando;
+
+                if (!valido) {
+                    errores++;
+                    System.err.println("Linea " + numeroLinea + ": comando no valido: " + linea);
+                    continue;
+                }
+                long[] estadistica = estadisticas.computeIfAbsent(comando, c -> new long[2]);
+                estadistica[0]++;
+                estadistica[1] += duracion;
+            }
+        } finally {
+            menu.finalizar();
+            System.setOut(salidaOriginal);
+        }
+        mostrarResumen(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Ejecuta un comando.
+     *
+     * @param comando Nombre del comando.
+     * @param campos  Campos de la línea, incluido el nombre.
+     * @return {@code false} si el comando no existe o sus campos no son válidos.
+     */
+    private boolean ejecutarComando(String comando, String[] campos) {
+        menu.procesarReservasVencidas();
+        switch (comando) {
+            case "registrar":
+                if (campos.length != 5) {
+                    return false;
+                }
+                int opcion = tipoUsuario(campos[4].trim());
+                if (opcion == 0) {
+                    return false;
+                }
+                if (!menu.registrarUsuario(campos[1].trim(), campos[2].trim(), campos[3].trim(), opcion)) {
+                    fallidos++;
+                }
+                return true;
+            case "usar":
+                if (campos.length != 2) {
+                    return false;
+                }
+                if (!menu.identificarUsuario(campos[1].trim())) {
+                    fallidos++;
+                }
+                return true;
+            case "buscar":
+                if (campos.length != 2) {
+                    return false;
+                }
+                menu.buscarComic(campos[1].trim());
+                return true;
+            case "reservar":
+                if (campos.length != 2) {
+                    return false;
+                }
+                menu.reservarComic(campos[1].trim());
+                return true;
+            case "comprar":
+                menu.comprarComic();
+                return true;
+            case "agregar":
+                if (campos.length != 6) {
+                    return false;
+                }
+                int precio;
+                try {
+                    precio = Integer.parseInt(campos[4].trim());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                menu.agregarComic(campos[1].trim(), campos[2].trim(), campos[3].trim(), precio, campos[5].trim());
+                return true;
+            case "eliminar":
+                if (campos.length != 2) {
+                    return false;
+                }
+                menu.eliminarComic(campos[1].trim());
+                return true;
+            case "reporte":
+                menu.exportarReporteTxtUsuariosYVentas();
+                return true;
+            case "facetas":
+                if (campos.length != 4) {
+                    return false;
+                }
+                menu.filtrarPorFacetas(campos[1], campos[2], campos[3]);
+                return true;
+            case "reportes":
+                menu.verEstadoReportes();
+                return true;
+            case "desear":
+                if (campos.length != 2) {
+                    return false;
+                }
+                menu.desearComic(campos[1].trim());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int tipoUsuario(String tipo) {
+        switch (tipo.toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "admin":
+            case "administrador":
+                return 1;
+            case "2":
+            case "cliente":
+                return 2;
+            default:
+                return 0;
+        }
+    }
+
+    private void mostrarResumen(long duracionTotalNs) {
+        long total = 0;
+        for (long[] estadistica : estadisticas.values()) {
+            total += estadistica[0];
+        }
+        double segundos = duracionTotalNs / 1_000_000_000.0;
+
+        System.out.println("\n===== RESUMEN DE EJECUCION =====");
+        for (Map.Entry<String, long[]> entrada : estadisticas.entrySet()) {
+            long cantidad = entrada.getValue()[0];
+            double promedioUs = entrada.getValue()[1] / 1000.0 / cantidad;
+            System.out.printf(Locale.ROOT, "%-10s %10d comandos  %12.1f us promedio%n",
+                    entrada.getKey(), cantidad, promedioUs);
+        }
+        System.out.println("Comandos ejecutados: " + total);
+        System.out.println("Comandos no validos: " + errores);
+        System.out.println("Comandos fallidos: " + fallidos);
+        System.out.printf(Locale.ROOT, "Tiempo total: %.3f s%n", segundos);
+        System.out.printf(Locale.ROOT, "Rendimiento: %.1f comandos/s%n", segundos > 0 ? total / segundos : 0.0);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.menu;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Salida estándar que envía lo escrito por cada hilo a la salida de su sesión.
+ * <p>
+ * El menú y las clases del dominio escriben en {@code System.out}. Con esta clase instalada
+ * como {@code System.out}, lo que escribe el hilo de una sesión del servidor de consola va a
+ * su conexión, y lo que escriben los demás hilos (bus de eventos, servidor) sigue yendo a la
+ * salida original. Los métodos de texto se delegan enteros a la salida de la sesión, para
+ * que las sesiones no compartan el búfer ni el cerrojo de esta clase.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+class SalidaSesiones extends PrintStream {
+    private static final ThreadLocal<PrintStream> SALIDA = new ThreadLocal<>();
+    private static SalidaSesiones instalada;
+
+    private final PrintStream original;
+
+    private SalidaSesiones(PrintStream original) {
+        super(original, true);
+        this.original = original;
+    }
+
+    /**
+     * Instala la salida por sesión como {@code System.out}, si no estaba instalada.
+     */
+    static synchronized void instalar() {
+        if (instalada == null) {
+            instalada = new SalidaSesiones(System.out);
+            System.setOut(instalada);
+        }
+    }
+
+    /**
+     * Dirige la salida del hilo actual a la de su sesión.
+     *
+     * @param salida Salida de la sesión.
+     */
+    static void asignar(PrintStream salida) {
+        SALIDA.set(salida);
+    }
+
+    /**
+     * Devuelve la salida del hilo actual a la salida original.
+     */
+    static void liberar() {
+        SALIDA.remove();
+    }
+
+    private PrintStream actual() {
+        PrintStream salida = SALIDA.get();
+        return salida != null ? salida : original;
+    }
+
+    @Override
+    public void write(int b) {
+        actual().write(b);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+        actual().write(buf, off, len);
+    }
+
+    @Override
+    public void flush() {
+        actual().flush();
+    }
+
+    @Override
+    public void print(String s) {
+        actual().print(s);
+    }
+
+    @Override
+    public void print(Object obj) {
+        actual().print(obj);
+    }
+
+    @Override
+    public void println() {
+        actual().println();
+    }
+
+    @Override
+    public void println(String x) {
+        actual().println(x);
+    }
+
+    @Override
+    public void println(Object x) {
+        actual().println(x);
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        actual().printf(format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+        actual().printf(l, format, args);
+        return this;
+    }
+}
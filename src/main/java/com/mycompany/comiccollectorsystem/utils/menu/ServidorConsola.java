@@ -0,0 +1,167 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.menu;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor de consola por TCP: cada conexión es una sesión del menú.
+ * <p>
+ * El protocolo es el mismo menú de texto, línea por línea (UTF-8), así que basta con
+ * {@code telnet} o {@code nc} para usarlo. Cada conexión se atiende en su propio hilo
+ * virtual con un {@link Menu} de sesión: entrada, usuario activo y reservas propios, sobre
+ * el catálogo, los usuarios y las ventas compartidos (ver {@link Menu#nuevaSesion}). Lo que
+ * la sesión escribe en {@code System.out} llega a su conexión gracias a {@link SalidaSesiones}.
+ * </p>
+ * <p>
+ * La sesión termina cuando el usuario elige salir o cierra la conexión. Al cerrar el
+ * servidor se cortan las sesiones abiertas y se finaliza el menú (reportes, bus de eventos
+ * y replicación).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ServidorConsola {
+    private final Menu menu;
+    private final Set<Socket> conexiones = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sesionesAtendidas = new AtomicInteger();
+    private ServerSocket servidor;
+    private volatile boolean activo;
+
+    /**
+     * Crea el servidor sobre un menú todavía no iniciado.
+     *
+     * @param menu Menú cuyo estado comparten todas las sesiones.
+     */
+    public ServidorConsola(Menu menu) {
+        this.menu = menu;
+    }
+
+    /**
+     * Carga el catálogo y abre el puerto.
+     *
+     * @param puerto Puerto TCP; 0 para elegir uno libre.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public void iniciar(int puerto) throws IOException {
+        menu.iniciar();
+        SalidaSesiones.instalar();
+        servidor = new ServerSocket();
+        servidor.setReuseAddress(true);
+        servidor.bind(new InetSocketAddress(puerto), 1024);
+        activo = true;
+        System.out.println("Servidor de consola escuchando en el puerto " + getPuerto() + ".");
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierra el servidor. Cada conexión se atiende en un hilo
+     * virtual nuevo.
+     */
+    public void aceptar() {
+        while (activo) {
+            try {
+                Socket conexion = servidor.accept();
+                conexion.setTcpNoDelay(true);
+                conexiones.add(conexion);
+                Thread.ofVirtual().name("sesion-" + sesionesAtendidas.incrementAndGet())
+                        .start(() -> atender(conexion));
+            } catch (IOException e) {
+                if (activo) {
+                    System.out.println("Error al aceptar una conexion: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve el puerto en el que escucha el servidor.
+     *
+     * @return Puerto TCP.
+     */
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Devuelve la cantidad de sesiones abiertas.
+     *
+     * @return Sesiones abiertas.
+     */
+    public int getSesionesAbiertas() {
+        return conexiones.size();
+    }
+
+    /**
+     * Deja de aceptar conexiones, corta las sesiones abiertas y finaliza el menú.
+     */
+    public void cerrar() {
+        if (!activo) {
+            return;
+        }
+        activo = false;
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            System.out.println("Error al cerrar el servidor: " + e.getMessage());
+        }
+        for (Socket conexion : conexiones) {
+            cerrar(conexion);
+        }
+        menu.finalizar();
+    }
+
+    /**
+     * Atiende una sesión hasta que el usuario sale o se corta la conexión.
+     */
+    private void atender(Socket conexion) {
+        try (conexion; PrintStream salida = new PrintStream(new BufferedOutputStream(conexion.getOutputStream()),
+                false, StandardCharsets.UTF_8)) {
+            // la salida se acumula y se envía cuando la sesión se pone a esperar una línea,
+            // en vez de hacer una escritura al socket por cada println del menú
+            InputStream entrada = new FilterInputStream(conexion.getInputStream()) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    salida.flush();
+                    return super.read(b, off, len);
+                }
+            };
+            SalidaSesiones.asignar(salida);
+            try {
+                menu.nuevaSesion(entrada).atender();
+            } finally {
+                SalidaSesiones.liberar();
+            }
+        } catch (NoSuchElementException | SocketException e) {
+            // el cliente cerró la conexión
+        } catch (IOException e) {
+            System.out.println("Error en la sesion: " + e.getMessage());
+        } finally {
+            conexiones.remove(conexion);
+        }
+    }
+
+    private static void cerrar(Socket conexion) {
+        try {
+            conexion.close();
+        } catch (IOException e) {
+            // ya estaba cerrada
+        }
+    }
+}
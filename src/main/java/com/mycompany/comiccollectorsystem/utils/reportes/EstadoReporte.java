@@ -0,0 +1,16 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.reportes;
+
+/**
+ * Estados por los que pasa un trabajo de reporte.
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public enum EstadoReporte {
+    PENDIENTE, EN_CURSO, COMPLETADO, FALLIDO
+}
@@ -0,0 +1,102 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.reportes;
+
+import com.mycompany.comiccollectorsystem.utils.admision.ControlAdmision;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera reportes de usuarios y ventas en segundo plano.
+ * <p>
+ * {@link #enviarIncremental} encola un {@link ReporteIncremental}, que agrega al archivo del
+ * día solo la actividad nueva, y devuelve de inmediato un {@link TrabajoReporte} cuyo estado
+ * puede consultarse. Cada trabajo corre en su propio hilo virtual; {@link #getTrabajos}
+ * conserva todos los enviados, en orden.
+ * </p>
+ * <p>
+ * Cada reporte es un solo bloque pequeño que se agrega al archivo del día, así que ya no se
+ * arma en secciones paralelas ni se escribe en un archivo propio con nombre único. Los
+ * trabajos no se pisan porque {@link ReporteIncremental#generar()} está sincronizado, y lo
+ * que sí se reemplaza de forma atómica es su punto de control.
+ * </p>
+ * <p>
+ * Quien envía un reporte puede pasarle un cupo de operación costosa de
+ * {@link ControlAdmision}; el trabajo lo libera al terminar, también si falla o si no se
+ * pudo encolar.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class GeneradorReportes {
+    private final ExecutorService trabajos;
+    private final AtomicInteger contador;
+    private final List<TrabajoReporte> historial;
+
+    /**
+     * Crea un generador sin trabajos.
+     */
+    public GeneradorReportes() {
+        this.trabajos = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("reporte-", 0).factory());
+        this.contador = new AtomicInteger();
+        this.historial = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Encola un reporte incremental que ocupa un cupo de operación costosa.
+     *
+     * @param reporte Reporte incremental a generar.
+     * @param permiso Cupo que se libera cuando termina el trabajo; puede ser {@code null}.
+     * @return Trabajo enviado.
+     */
+    public TrabajoReporte enviarIncremental(ReporteIncremental reporte, ControlAdmision.Permiso permiso) {
+        try {
+            TrabajoReporte trabajo = new TrabajoReporte(contador.incrementAndGet());
+            historial.add(trabajo);
+            trabajos.execute(() -> {
+                try {
+                    trabajo.iniciar();
+                    trabajo.completar(reporte.generar());
+                } catch (IOException e) {
+                    trabajo.fallar(e.getMessage());
+                } finally {
+                    liberar(permiso);
+                }
+            });
+            return trabajo;
+        } catch (RuntimeException e) {
+            liberar(permiso);
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve todos los trabajos enviados, en orden.
+     *
+     * @return Copia de la lista de trabajos.
+     */
+    public List<TrabajoReporte> getTrabajos() {
+        return List.copyOf(historial);
+    }
+
+    /**
+     * Espera a que terminen los reportes en curso y detiene los hilos.
+     */
+    public void cerrar() {
+        trabajos.close();
+    }
+
+    private static void liberar(ControlAdmision.Permiso permiso) {
+        if (permiso != null) {
+            permiso.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.reportes;
+
+import com.mycompany.comiccollectorsystem.catalogo.precios.ColumnaPrecios;
+import com.mycompany.comiccollectorsystem.utils.eventos.suscriptores.AgregadosReporte;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * Reporte diario de usuarios y ventas que se genera por incrementos.
+ * <p>
+ * Cada ejecución lee del diario de {@link AgregadosReporte}
+ * ({@code reporte_usuarios_ventas.diario}) solo los usuarios y ventas escritos desde la
+ * anterior y agrega un bloque al final del archivo del día
+ * ({@code reporte_usuarios_ventas_AAAA-MM-DD.txt}), con los totales del día y los acumulados.
+ * Los totales y la posición del diario hasta la que se reportó se guardan juntos en un punto
+ * de control ({@code reporte_usuarios_ventas.punto}), que se reemplaza de forma atómica
+ * después de escribir el bloque. Así, tras un reinicio, los totales guardados corresponden
+ * exactamente a las filas del diario anteriores a esa posición, y la actividad registrada
+ * antes de detenerse entra en el siguiente reporte. Al cambiar de día los totales del día
+ * vuelven a cero.
+ * </p>
+ * <p>
+ * El costo de un reporte depende de la actividad nueva, no del historial. Los reportes se
+ * generan de a uno. Si el bloque no se puede escribir, la actividad queda pendiente para el
+ * siguiente; si el sistema se detiene entre el bloque y el punto de control, el bloque puede
+ * repetirse (lleva el mismo número).
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class ReporteIncremental {
+    private static final String PREFIJO = "reporte_usuarios_ventas";
+
+    private final Path directorio;
+    private final AgregadosReporte fuente;
+
+    /**
+     * Totales guardados en el punto de control.
+     */
+    private record PuntoControl(LocalDate fecha, long bloque, long posicion, long usuariosDia, long ventasDia,
+            long montoDia, long usuariosTotal, long ventasTotal, long montoTotal) {
+    }
+
+    /**
+     * Crea el reporte sobre la actividad acumulada por {@code fuente}.
+     *
+     * @param directorio Directorio del archivo del día y del punto de control.
+     * @param fuente     Suscriptor que escribe el diario de actividad, en {@link #diario(Path)}.
+     */
+    public ReporteIncremental(Path directorio, AgregadosReporte fuente) {
+        this.directorio = directorio.toAbsolutePath();
+        this.fuente = fuente;
+    }
+
+    /**
+     * Devuelve el archivo del diario de actividad que corresponde a un directorio de reportes.
+     *
+     * @param directorio Directorio de los reportes.
+     * @return Archivo del diario.
+     */
+    public static Path diario(Path directorio) {
+        return directorio.resolve(PREFIJO + ".diario");
+    }
+
+    /**
+     * Agrega al archivo del día un bloque con la actividad nueva y actualiza el punto de control.
+     *
+     * @return Archivo del día.
+     * @throws IOException Si no se puede leer el punto de control o escribir el reporte.
+     */
+    public synchronized Path generar() throws IOException {
+        LocalDateTime ahora = LocalDateTime.now();
+        PuntoControl anterior = leerPunto();
+        AgregadosReporte.Pendientes pendientes = fuente.leerDesde(anterior.posicion());
+        ColumnaPrecios cobrados = new ColumnaPrecios(pendientes.ventas().size());
+        for (AgregadosReporte.VentaReportada venta : pendientes.ventas()) {
+            cobrados.agregar(Math.toIntExact(venta.montoCobrado()));
+        }
+        long monto = cobrados.suma();
+        boolean mismoDia = ahora.toLocalDate().equals(anterior.fecha());
+        int usuarios = pendientes.usuarios().size();
+        int ventas = pendientes.ventas().size();
+        PuntoControl punto = new PuntoControl(ahora.toLocalDate(), anterior.bloque() + 1, pendientes.hasta(),
+                (mismoDia ? anterior.usuariosDia() : 0) + usuarios,
+                (mismoDia ? anterior.ventasDia() : 0) + ventas,
+                (mismoDia ? anterior.montoDia() : 0) + monto,
+                anterior.usuariosTotal() + usuarios, anterior.ventasTotal() + ventas,
+                anterior.montoTotal() + monto);
+
+        Path archivo = directorio.resolve(PREFIJO + "_" + ahora.toLocalDate() + ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            escribirBloque(writer, ahora, punto, pendientes, monto);
+        }
+        escribirPunto(punto);
+        return archivo;
+    }
+
+    private static void escribirBloque(Writer writer, LocalDateTime ahora, PuntoControl punto,
+            AgregadosReporte.Pendientes pendientes, long monto) throws IOException {
+        String fin = System.lineSeparator();
+        StringBuilder texto = new StringBuilder();
+        texto.append("===== Reporte #").append(punto.bloque()).append(" - ").append(ahora.toLocalDate())
+                .append(' ').append(ahora.toLocalTime().withNano(0)).append(" =====").append(fin);
+        texto.append("===== Usuarios nuevos =====").append(fin);
+        if (pendientes.usuarios().isEmpty()) {
+            texto.append("No hay usuarios nuevos.").append(fin);
+        }
+        for (AgregadosReporte.UsuarioReportado usuario : pendientes.usuarios()) {
+            texto.append(usuario.rut()).append(" - ").append(usuario.nombre()).append(" - ")
+                    .append(usuario.apellido()).append(" - ").append(usuario.tipo()).append(fin);
+        }
+        texto.append("===== Ventas nuevas =====").append(fin);
+        if (pendientes.ventas().isEmpty()) {
+            texto.append("No hay ventas nuevas.").append(fin);
+        }
+        for (AgregadosReporte.VentaReportada venta : pendientes.ventas()) {
+            texto.append(venta.codigo()).append(" - ").append(venta.titulo()).append(" - ")
+                    .append(venta.autor()).append(" - ").append(venta.editorial()).append(" - ")
+                    .append(venta.montoCobrado()).append(" - ").append(venta.tipo()).append(fin);
+        }
+        texto.append("Usuarios registrados: ").append(pendientes.usuarios().size())
+                .append(" | del dia: ").append(punto.usuariosDia())
+                .append(" | acumulado: ").append(punto.usuariosTotal()).append(fin);
+        texto.append("Ventas realizadas: ").append(pendientes.ventas().size())
+                .append(" | del dia: ").append(punto.ventasDia())
+                .append(" | acumulado: ").append(punto.ventasTotal()).append(fin);
+        texto.append("Monto vendido: ").append(monto)
+                .append(" | del dia: ").append(punto.montoDia())
+                .append(" | acumulado: ").append(punto.montoTotal()).append(fin);
+        texto.append(fin);
+        writer.write(texto.toString());
+    }
+
+    private PuntoControl leerPunto() throws IOException {
+        Path archivo = directorio.resolve(PREFIJO + ".punto");
+        if (!Files.exists(archivo)) {
+            return new PuntoControl(null, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        Properties valores = new Properties();
+        try (Reader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            valores.load(reader);
+        }
+        try {
+            return new PuntoControl(LocalDate.parse(valores.getProperty("fecha")),
+                    numero(valores, "bloque"), numero(valores, "posicion"), numero(valores, "usuariosDia"),
+                    numero(valores, "ventasDia"), numero(valores, "montoDia"), numero(valores, "usuariosTotal"),
+                    numero(valores, "ventasTotal"), numero(valores, "montoTotal"));
+        } catch (RuntimeException e) {
+            throw new IOException("El punto de control " + archivo.getFileName() + " no es valido: "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static long numero(Properties valores, String clave) {
+        return Long.parseLong(valores.getProperty(clave, "0").trim());
+    }
+
+    private void escribirPunto(PuntoControl punto) throws IOException {
+        Properties valores = new Properties();
+        valores.setProperty("fecha", punto.fecha().toString());
+        valores.setProperty("bloque", String.valueOf(punto.bloque()));
+        valores.setProperty("posicion", String.valueOf(punto.posicion()));
+        valores.setProperty("usuariosDia", String.valueOf(punto.usuariosDia()));
+        valores.setProperty("ventasDia", String.valueOf(punto.ventasDia()));
+        valores.setProperty("montoDia", String.valueOf(punto.montoDia()));
+        valores.setProperty("usuariosTotal", String.valueOf(punto.usuariosTotal()));
+        valores.setProperty("ventasTotal", String.valueOf(punto.ventasTotal()));
+        valores.setProperty("montoTotal", String.valueOf(punto.montoTotal()));
+        Path destino = directorio.resolve(PREFIJO + ".punto");
+        Path temporal = Files.createTempFile(directorio, "punto", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                valores.store(writer, "Punto de control del reporte incremental");
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.reportes;
+
+import java.nio.file.Path;
+
+/**
+ * Trabajo de generación de un reporte en segundo plano.
+ * <p>
+ * Lo actualiza el hilo que genera el reporte y puede consultarse desde cualquier hilo.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class TrabajoReporte {
+    private final int numero;
+    private final long enviadoMs;
+    private volatile EstadoReporte estado;
+    private volatile long terminadoMs;
+    private volatile Path archivo;
+    private volatile String error;
+
+    TrabajoReporte(int numero) {
+        this.numero = numero;
+        this.enviadoMs = System.currentTimeMillis();
+        this.estado = EstadoReporte.PENDIENTE;
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public EstadoReporte getEstado() {
+        return estado;
+    }
+
+    /**
+     * Devuelve el archivo generado.
+     *
+     * @return Ruta del reporte, o {@code null} si todavía no se completó.
+     */
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Devuelve el motivo del fallo.
+     *
+     * @return Mensaje de error, o {@code null} si no falló.
+     */
+    public String getError() {
+        return error;
+    }
+
+    void iniciar() {
+        estado = EstadoReporte.EN_CURSO;
+    }
+
+    void completar(Path archivo) {
+        this.archivo = archivo;
+        this.terminadoMs = System.currentTimeMillis();
+        this.estado = EstadoReporte.COMPLETADO;
+    }
+
+    void fallar(String error) {
+        this.error = error;
+        this.terminadoMs = System.currentTimeMillis();
+        this.estado = EstadoReporte.FALLIDO;
+    }
+
+    /**
+     * Describe el trabajo en una línea.
+     *
+     * @return Número, estado, duración y archivo o error.
+     */
+    public String describir() {
+        EstadoReporte actual = estado;
+        StringBuilder texto = new StringBuilder("Reporte #").append(numero).append(": ").append(actual);
+        if (actual == EstadoReporte.COMPLETADO || actual == EstadoReporte.FALLIDO) {
+            texto.append(" en ").append(terminadoMs - enviadoMs).append(" ms");
+        }
+        if (actual == EstadoReporte.COMPLETADO) {
+            texto.append(" - ").append(archivo);
+        } else if (actual == EstadoReporte.FALLIDO) {
+            texto.append(" - ").append(error);
+        }
+        return texto.toString();
+    }
+}
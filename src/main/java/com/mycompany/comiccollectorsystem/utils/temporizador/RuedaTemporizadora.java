@@ -0,0 +1,203 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.temporizador;
+
+/**
+ * Rueda de temporización jerárquica para programar tareas con vencimiento.
+ * <p>
+ * Tiene cuatro niveles de 64 ranuras. El nivel 0 avanza una ranura por tick y cada nivel
+ * superior cubre 64 veces el rango del anterior. Las entradas de los niveles superiores se
+ * redistribuyen (cascada) hacia los inferiores a medida que avanza el tiempo, de modo que
+ * nunca se recorren todas las entradas pendientes. Programar y cancelar son O(1).
+ * </p>
+ * <p>
+ * No es segura para hilos: debe usarse siempre desde el mismo hilo.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class RuedaTemporizadora {
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int RANURAS = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = RANURAS - 1;
+    private static final int NIVELES = 4;
+    private static final long RANGO_MAXIMO = 1L << (BITS_POR_NIVEL * NIVELES);
+
+    /** Duración de un tick en milisegundos. */
+    private final long duracionTickMs;
+    /** Instante (ms) que corresponde al tick 0. */
+    private final long inicioMs;
+    /** Nodos centinela de cada ranura, indexados por nivel y ranura. */
+    private final Temporizador[][] ranuras;
+    private long tickActual;
+    private int pendientes;
+
+    /**
+     * Crea una rueda cuyo tick 0 corresponde al instante indicado.
+     *
+     * @param duracionTickMs Resolución de la rueda en milisegundos.
+     * @param inicioMs       Instante inicial en milisegundos.
+     */
+    public RuedaTemporizadora(long duracionTickMs, long inicioMs) {
+        if (duracionTickMs <= 0) {
+            throw new IllegalArgumentException("La duracion del tick debe ser mayor que cero.");
+        }
+        this.duracionTickMs = duracionTickMs;
+        this.inicioMs = inicioMs;
+        this.ranuras = new Temporizador[NIVELES][RANURAS];
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            for (int i = 0; i < RANURAS; i++) {
+                ranuras[nivel][i] = new Temporizador();
+            }
+        }
+    }
+
+    /**
+     * Programa una tarea para ejecutarse tras el retardo indicado.
+     *
+     * @param retardoMs Retardo en milisegundos desde el tick actual.
+     * @param tarea     Acción a ejecutar al vencer.
+     * @return Temporizador que permite cancelar la tarea.
+     */
+    public Temporizador programar(long retardoMs, Runnable tarea) {
+        long ticks = Math.max(1, (retardoMs + duracionTickMs - 1) / duracionTickMs);
+        Temporizador temporizador = new Temporizador(this, tickActual + ticks, tarea);
+        insertar(temporizador);
+        pendientes++;
+        return temporizador;
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado, ejecutando las tareas vencidas.
+     *
+     * @param ahoraMs Instante actual en milisegundos.
+     * @return Cantidad de tareas ejecutadas.
+     */
+    public int avanzarHasta(long ahoraMs) {
+        long objetivo = (ahoraMs - inicioMs) / duracionTickMs;
+        int ejecutadas = 0;
+        while (tickActual < objetivo) {
+            if (pendientes == 0) {
+                tickActual = objetivo;
+                break;
+            }
+            ejecutadas += avanzarUnTick();
+        }
+        return ejecutadas;
+    }
+
+    /**
+     * Devuelve el primer instante en que {@link #avanzarHasta} ejecutaría la tarea del
+     * temporizador.
+     *
+     * @param temporizador Temporizador programado en esta rueda.
+     * @return Instante de vencimiento en milisegundos.
+     */
+    public long instanteVencimiento(Temporizador temporizador) {
+        return inicioMs + temporizador.vencimientoTick * duracionTickMs;
+    }
+
+    /**
+     * Devuelve la cantidad de tareas pendientes.
+     *
+     * @return Número de temporizadores dentro de la rueda.
+     */
+    public int getPendientes() {
+        return pendientes;
+    }
+
+    /**
+     * Retira un temporizador cancelado de su ranura.
+     *
+     * @param temporizador Temporizador a retirar.
+     */
+    void retirar(Temporizador temporizador) {
+        temporizador.desenlazar();
+        temporizador.liberar();
+        pendientes--;
+    }
+
+    /**
+     * Avanza un tick: primero redistribuye los niveles superiores que cumplen vuelta
+     * y luego ejecuta las entradas de la ranura actual del nivel 0.
+     *
+     * @return Cantidad de tareas ejecutadas en este tick.
+     */
+    private int avanzarUnTick() {
+        tickActual++;
+
+        int nivel = 1;
+        while (nivel < NIVELES && (tickActual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) == 0) {
+            nivel++;
+        }
+        for (int n = nivel - 1; n >= 1; n--) {
+            cascada(n, (int) ((tickActual >>> (BITS_POR_NIVEL * n)) & MASCARA));
+        }
+
+        Temporizador centinela = ranuras[0][(int) (tickActual & MASCARA)];
+        int ejecutadas = 0;
+        while (centinela.siguiente != centinela) {
+            Temporizador temporizador = centinela.siguiente;
+            temporizador.desenlazar();
+            if (temporizador.vencimientoTick > tickActual) {
+                insertar(temporizador);
+                continue;
+            }
+            temporizador.liberar();
+            pendientes--;
+            temporizador.tarea.run();
+            ejecutadas++;
+        }
+        return ejecutadas;
+    }
+
+    /**
+     * Vacía una ranura de un nivel superior y reinserta sus entradas según el tiempo restante.
+     *
+     * @param nivel  Nivel de la ranura.
+     * @param ranura Índice de la ranura.
+     */
+    private void cascada(int nivel, int ranura) {
+        Temporizador centinela = ranuras[nivel][ranura];
+        Temporizador actual = centinela.siguiente;
+        centinela.siguiente = centinela;
+        centinela.anterior = centinela;
+        while (actual != centinela) {
+            Temporizador siguiente = actual.siguiente;
+            actual.anterior = null;
+            actual.siguiente = null;
+            insertar(actual);
+            actual = siguiente;
+        }
+    }
+
+    /**
+     * Enlaza un temporizador en la ranura que le corresponde según su vencimiento.
+     *
+     * @param temporizador Temporizador a insertar.
+     */
+    private void insertar(Temporizador temporizador) {
+        long vencimiento = Math.max(temporizador.vencimientoTick, tickActual);
+        long delta = vencimiento - tickActual;
+        if (delta >= RANGO_MAXIMO) {
+            vencimiento = tickActual + RANGO_MAXIMO - 1;
+            delta = RANGO_MAXIMO - 1;
+        }
+
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && delta >= (1L << (BITS_POR_NIVEL * (nivel + 1)))) {
+            nivel++;
+        }
+        int ranura = (int) ((vencimiento >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+
+        Temporizador centinela = ranuras[nivel][ranura];
+        temporizador.siguiente = centinela;
+        temporizador.anterior = centinela.anterior;
+        centinela.anterior.siguiente = temporizador;
+        centinela.anterior = temporizador;
+    }
+}
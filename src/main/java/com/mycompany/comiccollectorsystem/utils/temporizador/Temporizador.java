@@ -0,0 +1,85 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.comiccollectorsystem.utils.temporizador;
+
+/**
+ * Tarea programada dentro de una {@link RuedaTemporizadora}.
+ * <p>
+ * Cada temporizador es a la vez un nodo de la lista doblemente enlazada de su ranura,
+ * lo que permite cancelarlo en tiempo constante sin recorrer la rueda.
+ * </p>
+ *
+ * @author ambar
+ * @version 1.0
+ * @since 2025-06-30
+ */
+public class Temporizador {
+    Temporizador anterior;
+    Temporizador siguiente;
+    long vencimientoTick;
+    final Runnable tarea;
+    private RuedaTemporizadora rueda;
+
+    /**
+     * Constructor usado para los nodos centinela de cada ranura.
+     */
+    Temporizador() {
+        this.anterior = this;
+        this.siguiente = this;
+        this.tarea = null;
+    }
+
+    /**
+     * Constructor de un temporizador real.
+     *
+     * @param rueda           Rueda a la que pertenece.
+     * @param vencimientoTick Tick en que debe ejecutarse la tarea.
+     * @param tarea           Acción a ejecutar al vencer.
+     */
+    Temporizador(RuedaTemporizadora rueda, long vencimientoTick, Runnable tarea) {
+        this.rueda = rueda;
+        this.vencimientoTick = vencimientoTick;
+        this.tarea = tarea;
+    }
+
+    /**
+     * Indica si el temporizador sigue pendiente (no vencido ni cancelado).
+     *
+     * @return {@code true} si aún está dentro de la rueda.
+     */
+    public boolean estaPendiente() {
+        return rueda != null;
+    }
+
+    /**
+     * Cancela el temporizador en tiempo constante.
+     *
+     * @return {@code true} si estaba pendiente y fue cancelado; {@code false} si ya había vencido o sido cancelado.
+     */
+    public boolean cancelar() {
+        if (rueda == null) {
+            return false;
+        }
+        rueda.retirar(this);
+        return true;
+    }
+
+    /**
+     * Desenlaza el nodo de su ranura actual.
+     */
+    void desenlazar() {
+        anterior.siguiente = siguiente;
+        siguiente.anterior = anterior;
+        anterior = null;
+        siguiente = null;
+    }
+
+    /**
+     * Marca el temporizador como fuera de la rueda.
+     */
+    void liberar() {
+        rueda = null;
+    }
+}